@@ -0,0 +1,90 @@
+package dev.leons.ward;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Fixtures loads data recorded from a workstation, so benchmarks run against the same input on every host
+ *
+ * @version 1.0.0
+ */
+public final class Fixtures
+{
+    /**
+     * Constant for determine classpath directory of fixtures
+     */
+    private static final String DIRECTORY = "/fixtures/";
+
+    /**
+     * Utility class
+     */
+    private Fixtures()
+    {
+    }
+
+    /**
+     * Reads fixture as bytes
+     *
+     * @param name fixture path relative to fixtures directory, such as info.json
+     * @return byte array with fixture content
+     */
+    public static byte[] readBytes(final String name)
+    {
+        try (InputStream inputStream = Fixtures.class.getResourceAsStream(DIRECTORY + name))
+        {
+            if (inputStream == null)
+            {
+                throw new IllegalArgumentException("Missing fixture: " + name);
+            }
+
+            return inputStream.readAllBytes();
+        }
+        catch (IOException exception)
+        {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Reads fixture as lines
+     *
+     * @param name fixture path relative to fixtures directory, such as intel_gpu_top.txt
+     * @return List of lines
+     */
+    public static List<String> readLines(final String name)
+    {
+        return new String(readBytes(name), StandardCharsets.UTF_8).lines().toList();
+    }
+
+    /**
+     * Copies fixtures into a fresh pseudo file system root, for components reading procfs and sysfs
+     *
+     * @param names fixture paths relative to fixtures directory, such as proc/stat, kept relative to root
+     * @return Path of root directory
+     */
+    public static Path extract(final String... names)
+    {
+        try
+        {
+            Path root = Files.createTempDirectory("ward-fixtures");
+
+            for (String name : names)
+            {
+                Path target = root.resolve(name);
+                Files.createDirectories(target.getParent());
+                Files.write(target, readBytes(name));
+            }
+
+            return root;
+        }
+        catch (IOException exception)
+        {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
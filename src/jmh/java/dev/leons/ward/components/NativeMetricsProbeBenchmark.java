@@ -0,0 +1,133 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import oshi.hardware.CentralProcessor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NativeMetricsProbeBenchmark measures parsing of recorded procfs files, done by the sampler on every tick
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NativeMetricsProbeBenchmark
+{
+    /**
+     * Constant for determine block devices of the recorded workstation
+     */
+    private static final String[] BLOCK_DEVICES = {"nvme0n1", "sda", "loop0", "zram0"};
+
+    /**
+     * Probe reading fixtures
+     */
+    private NativeMetricsProbe nativeMetricsProbe;
+
+    /**
+     * Reused ticks buffer
+     */
+    private final long[] ticks = new long[CentralProcessor.TickType.values().length];
+
+    /**
+     * Reused per logical processor ticks buffer
+     */
+    private long[][] coreTicks;
+
+    /**
+     * Reused memory buffer
+     */
+    private final long[] memory = new long[MetricsProbe.MEMORY_SIZE];
+
+    /**
+     * Extracts fixtures into a pseudo file system root
+     */
+    @Setup
+    public void setup() throws IOException
+    {
+        Path root = Fixtures.extract("proc/stat", "proc/meminfo", "proc/net/dev", "proc/diskstats");
+
+        for (String blockDevice : BLOCK_DEVICES)
+        {
+            Files.createDirectories(root.resolve("sys/block").resolve(blockDevice));
+        }
+
+        nativeMetricsProbe = new NativeMetricsProbe(new PseudoFileComponent(root.toString()));
+        coreTicks = new long[nativeMetricsProbe.readCoreTicks(new long[0][])][ticks.length];
+    }
+
+    /**
+     * Measures reading of aggregated processor ticks
+     *
+     * @return long array with ticks
+     */
+    @Benchmark
+    public long[] readProcessorTicks()
+    {
+        nativeMetricsProbe.readProcessorTicks(ticks);
+        return ticks;
+    }
+
+    /**
+     * Measures reading of per logical processor ticks
+     *
+     * @return int with amount of logical processors
+     */
+    @Benchmark
+    public int readCoreTicks()
+    {
+        return nativeMetricsProbe.readCoreTicks(coreTicks);
+    }
+
+    /**
+     * Measures reading of memory amounts
+     *
+     * @return long array with memory amounts
+     */
+    @Benchmark
+    public long[] readMemory()
+    {
+        nativeMetricsProbe.readMemory(memory);
+        return memory;
+    }
+
+    /**
+     * Measures reading of disk counters
+     *
+     * @param blackhole consumes counters
+     */
+    @Benchmark
+    public void readDisks(final Blackhole blackhole)
+    {
+        nativeMetricsProbe.readDisks((name, reads, readBytes, readMillis, writes, writeBytes, writeMillis, queueLength, ioMillis, weightedMillis) ->
+        {
+            blackhole.consume(reads + readBytes + readMillis + writes + writeBytes + writeMillis + queueLength + ioMillis + weightedMillis);
+        });
+    }
+
+    /**
+     * Measures reading of network counters
+     *
+     * @param blackhole consumes counters
+     */
+    @Benchmark
+    public void readNetwork(final Blackhole blackhole)
+    {
+        nativeMetricsProbe.readNetwork((name, bytesRecv, packetsRecv, inErrors, inDrops, bytesSent, packetsSent, outErrors, outDrops) ->
+        {
+            blackhole.consume(bytesRecv + packetsRecv + inErrors + inDrops + bytesSent + packetsSent + outErrors + outDrops);
+        });
+    }
+}
@@ -0,0 +1,50 @@
+package dev.leons.ward.components;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UnitFormatterBenchmark measures formatting of amounts, done for inventory and every sample of disks and network
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UnitFormatterBenchmark
+{
+    /**
+     * Formatted amount, covering every unit branch, in bytes
+     */
+    @Param({"512", "734003", "8589934592", "2000398934016"})
+    private long bytes;
+
+    /**
+     * Measures capacity formatting, used for inventory and graphics memory
+     *
+     * @return String with formatted capacity
+     */
+    @Benchmark
+    public String capacity()
+    {
+        return UnitFormatter.capacity(bytes);
+    }
+
+    /**
+     * Measures size formatting, used for disk and network counters on every sample
+     *
+     * @return String with formatted size
+     */
+    @Benchmark
+    public String size()
+    {
+        return UnitFormatter.size(bytes);
+    }
+}
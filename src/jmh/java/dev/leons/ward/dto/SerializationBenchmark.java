@@ -0,0 +1,102 @@
+package dev.leons.ward.dto;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.leons.ward.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SerializationBenchmark measures Jackson serialization of dtos, which are sent on every tick
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SerializationBenchmark
+{
+    /**
+     * Mapper, shared like the one of application context
+     */
+    private ObjectMapper objectMapper;
+
+    /**
+     * Recorded info
+     */
+    private InfoDto infoDto;
+
+    /**
+     * Recorded usage
+     */
+    private UsageDto usageDto;
+
+    /**
+     * Snapshot built from recorded info and usage
+     */
+    private SnapshotDto snapshotDto;
+
+    /**
+     * Loads fixtures
+     */
+    @Setup
+    public void setup() throws IOException
+    {
+        objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        infoDto = objectMapper.readValue(Fixtures.readBytes("info.json"), InfoDto.class);
+        usageDto = objectMapper.readValue(Fixtures.readBytes("usage.json"), UsageDto.class);
+
+        UptimeDto uptimeDto = new UptimeDto();
+        uptimeDto.setDays("14");
+        uptimeDto.setHours("06");
+        uptimeDto.setMinutes("42");
+        uptimeDto.setSeconds("17");
+
+        snapshotDto = new SnapshotDto();
+        snapshotDto.setSequence(123_456);
+        snapshotDto.setUsage(usageDto);
+        snapshotDto.setInfo(infoDto);
+        snapshotDto.setUptime(uptimeDto);
+    }
+
+    /**
+     * Measures serialization of info
+     *
+     * @return byte array with json
+     */
+    @Benchmark
+    public byte[] serializeInfo() throws IOException
+    {
+        return objectMapper.writeValueAsBytes(infoDto);
+    }
+
+    /**
+     * Measures serialization of usage
+     *
+     * @return byte array with json
+     */
+    @Benchmark
+    public byte[] serializeUsage() throws IOException
+    {
+        return objectMapper.writeValueAsBytes(usageDto);
+    }
+
+    /**
+     * Measures serialization of snapshot, which is encoded once per tick
+     *
+     * @return byte array with json
+     */
+    @Benchmark
+    public byte[] serializeSnapshot() throws IOException
+    {
+        return objectMapper.writeValueAsBytes(snapshotDto);
+    }
+}
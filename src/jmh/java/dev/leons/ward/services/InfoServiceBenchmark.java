@@ -0,0 +1,72 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InfoServiceBenchmark measures parsing done by InfoService on every sample
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InfoServiceBenchmark
+{
+    /**
+     * Service under measurement, only pure methods are called, so dependencies stay unset
+     */
+    private InfoService infoService;
+
+    /**
+     * Recorded output of intel_gpu_top
+     */
+    private List<String> gpuTopLines;
+
+    /**
+     * Graphics card name, as reported by OSHI
+     */
+    private String graphicsName;
+
+    /**
+     * Loads fixtures
+     */
+    @Setup
+    public void setup()
+    {
+        infoService = new InfoService();
+        gpuTopLines = Fixtures.readLines("intel_gpu_top.txt");
+        graphicsName = "Intel Corporation AlderLake-S GT1 [UHD Graphics 770]";
+    }
+
+    /**
+     * Measures extraction of bracketed graphics card name
+     *
+     * @return String with extracted name
+     */
+    @Benchmark
+    public String extractFirstOrSelf()
+    {
+        return infoService.extractFirstOrSelf(graphicsName);
+    }
+
+    /**
+     * Measures regex parsing of intel_gpu_top output
+     *
+     * @return int with graphics usage
+     */
+    @Benchmark
+    public int parseGraphicsUsage()
+    {
+        return infoService.parseGraphicsUsage(gpuTopLines);
+    }
+}
@@ -0,0 +1,55 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.dto.UptimeDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UptimeServiceBenchmark measures splitting and formatting of uptime, done on every tick
+ *
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UptimeServiceBenchmark
+{
+    /**
+     * Uptime, in seconds
+     */
+    @Param({"59", "3723", "1234567"})
+    private long uptimeInSeconds;
+
+    /**
+     * Service under measurement, only pure methods are called, so dependencies stay unset
+     */
+    private UptimeService uptimeService;
+
+    /**
+     * Creates service
+     */
+    @Setup
+    public void setup()
+    {
+        uptimeService = new UptimeService();
+    }
+
+    /**
+     * Measures uptime formatting
+     *
+     * @return UptimeDto with filled fields
+     */
+    @Benchmark
+    public UptimeDto getUptime()
+    {
+        return uptimeService.getUptime(uptimeInSeconds);
+    }
+}
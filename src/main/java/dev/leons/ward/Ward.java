@@ -7,6 +7,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.web.servlet.support.SpringBootServletInitializer;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.io.File;
 
@@ -17,6 +18,7 @@ import java.io.File;
  * @version 1.0.4
  */
 @SpringBootApplication
+@EnableScheduling
 public class Ward extends SpringBootServletInitializer {
     /**
      * Constant for determine settings file name
@@ -0,0 +1,388 @@
+package dev.leons.ward.components;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * AgentComponent turns Ward into an agent, which buffers a compact sample on every sampler tick and pushes
+ * buffered samples as a single gzipped SampleBatch to a central Ward instance on a much longer interval.
+ * Samples are kept in primitive rings until the central instance accepts them, so pushes rejected under load
+ * or lost to network failures are sent again with the next batch. Pushes are asynchronous, so a slow central
+ * instance never delays sampling
+ *
+ * @version 1.0.0
+ */
+@Component
+public class AgentComponent
+{
+    /**
+     * Constant for determine ingestion endpoint of the central instance
+     */
+    private static final String INGEST_PATH = "/api/ingest";
+
+    /**
+     * Constant for determine header which carries ingestion token, and refresh token of the inventory
+     */
+    public static final String TOKEN_HEADER = "X-Ward-Token";
+
+    /**
+     * Constant for determine name of the loopback interface, left out of network throughput
+     */
+    private static final String LOOPBACK = "lo";
+
+    /**
+     * Constant for determine maximal amount of samples of a push, so a backlog after an outage is sent
+     * in batches the central instance accepts
+     */
+    private static final int PUSH_SAMPLES = 1024;
+
+    /**
+     * Autowired SamplerComponent object
+     * Used for getting latest processor, memory, network and disk usage
+     */
+    @Autowired
+    private SamplerComponent samplerComponent;
+
+    /**
+     * Autowired FileSystemComponent object
+     * Used for getting cached storage usage
+     */
+    @Autowired
+    private FileSystemComponent fileSystemComponent;
+
+    /**
+     * Base url of the central Ward instance, empty disables agent mode
+     */
+    @Value("${ward.agent.target:}")
+    private String target;
+
+    /**
+     * Name the agent reports under, empty for host name
+     */
+    @Value("${ward.agent.name:}")
+    private String configuredName;
+
+    /**
+     * How often buffered samples are pushed, in milliseconds
+     */
+    @Value("${ward.agent.interval:10000}")
+    private long interval;
+
+    /**
+     * Maximal amount of buffered samples, the oldest ones are dropped while the central instance is unreachable
+     */
+    @Value("${ward.agent.buffer:8640}")
+    private int capacity;
+
+    /**
+     * Timeout of connecting and of every push, in milliseconds
+     */
+    @Value("${ward.agent.timeout:5000}")
+    private long timeout;
+
+    /**
+     * Token sent with every push, empty to send none
+     */
+    @Value("${ward.agent.token:}")
+    private String token;
+
+    /**
+     * Ingestion endpoint, null if agent mode is disabled
+     */
+    private URI endpoint;
+
+    /**
+     * Name the agent reports under
+     */
+    private String name;
+
+    /**
+     * Sample timestamps ring, in epoch milliseconds
+     */
+    private long[] timestamps;
+
+    /**
+     * Quantized values ring, SampleBatch.FIELDS per sample
+     */
+    private long[] values;
+
+    /**
+     * Sequence number of the next sample, its ring index is sequence modulo capacity
+     */
+    private long head;
+
+    /**
+     * Sequence number of the oldest sample not accepted by the central instance
+     */
+    private long tail;
+
+    /**
+     * Whether a push is in flight, pushes never overlap
+     */
+    private boolean pushing;
+
+    /**
+     * Amount of failed pushes in a row, only the first failure of a row is logged
+     */
+    private int failures;
+
+    /**
+     * Whether the latest failure was a rejection which pushing again can not fix, a change of kind is logged again
+     */
+    private boolean rejected;
+
+    /**
+     * Runs pushes on virtual threads, null if agent mode is disabled
+     */
+    private ExecutorService executor;
+
+    /**
+     * Client of the central instance, null if agent mode is disabled
+     */
+    private HttpClient httpClient;
+
+    /**
+     * Parses configured target and allocates sample rings
+     */
+    @PostConstruct
+    public void initialize()
+    {
+        if (target.isBlank())
+        {
+            return;
+        }
+
+        try
+        {
+            URI uri = URI.create(target.trim().replaceAll("/+$", "") + INGEST_PATH);
+
+            if ((uri.getScheme() == null) || (uri.getHost() == null))
+            {
+                throw new IllegalArgumentException("no scheme or host");
+            }
+
+            endpoint = uri;
+        }
+        catch (IllegalArgumentException exception)
+        {
+            System.out.println("中心节点地址无效: " + target + " " + exception.getMessage());
+            return;
+        }
+
+        name = configuredName.isBlank() ? getHostName() : configuredName.trim();
+
+        if (name.getBytes(StandardCharsets.UTF_8).length > SampleBatch.MAX_AGENT_LENGTH)
+        {
+            System.out.println("代理名称过长: " + name);
+            endpoint = null;
+            return;
+        }
+
+        capacity = Math.max(1, Math.min(capacity, SampleBatch.MAX_SAMPLES));
+        timestamps = new long[capacity];
+        values = new long[capacity * SampleBatch.FIELDS];
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(timeout))
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * Aborts push in flight, samples which were not accepted yet are lost
+     */
+    @PreDestroy
+    public void close()
+    {
+        if (httpClient != null)
+        {
+            httpClient.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Buffers latest usage as a sample, dropping the oldest sample if the ring is full
+     */
+    @Scheduled(fixedRateString = "${ward.sampler.interval:1000}")
+    public void sample()
+    {
+        if (endpoint == null)
+        {
+            return;
+        }
+
+        double[] network = new double[2];
+
+        samplerComponent.readNetworkRates((interfaceName, rates) ->
+        {
+            if (!LOOPBACK.equals(interfaceName))
+            {
+                network[0] += Double.isNaN(rates[0]) ? 0 : rates[0];
+                network[1] += Double.isNaN(rates[4]) ? 0 : rates[4];
+            }
+        });
+
+        double diskRead = 0;
+        double diskWrite = 0;
+
+        for (SamplerComponent.DiskActivity activity : samplerComponent.getDiskActivity().values())
+        {
+            diskRead += Double.isNaN(activity.readBytesPerSecond()) ? 0 : activity.readBytesPerSecond();
+            diskWrite += Double.isNaN(activity.writeBytesPerSecond()) ? 0 : activity.writeBytesPerSecond();
+        }
+
+        double storage = fileSystemComponent.getUsagePercent();
+        long timestamp = System.currentTimeMillis();
+
+        synchronized (this)
+        {
+            int index = (int) (head % capacity);
+            int offset = index * SampleBatch.FIELDS;
+
+            timestamps[index] = timestamp;
+            values[offset + SampleBatch.PROCESSOR] = SampleBatch.quantize(SampleBatch.PROCESSOR, samplerComponent.getProcessorUsagePercent());
+            values[offset + SampleBatch.RAM] = SampleBatch.quantize(SampleBatch.RAM, samplerComponent.getRamUsagePercent());
+            values[offset + SampleBatch.STORAGE] = SampleBatch.quantize(SampleBatch.STORAGE, storage);
+            values[offset + SampleBatch.NETWORK_RECEIVE] = SampleBatch.quantize(SampleBatch.NETWORK_RECEIVE, network[0]);
+            values[offset + SampleBatch.NETWORK_SEND] = SampleBatch.quantize(SampleBatch.NETWORK_SEND, network[1]);
+            values[offset + SampleBatch.DISK_READ] = SampleBatch.quantize(SampleBatch.DISK_READ, diskRead);
+            values[offset + SampleBatch.DISK_WRITE] = SampleBatch.quantize(SampleBatch.DISK_WRITE, diskWrite);
+
+            head++;
+            tail = Math.max(tail, head - capacity);
+        }
+    }
+
+    /**
+     * Pushes the oldest buffered samples as a single batch, unless the previous push is still in flight
+     */
+    @Scheduled(fixedRateString = "${ward.agent.interval:10000}", initialDelayString = "${ward.agent.interval:10000}")
+    public void push()
+    {
+        if (endpoint == null)
+        {
+            return;
+        }
+
+        SampleBatch sampleBatch;
+        long pushedHead;
+
+        synchronized (this)
+        {
+            if (pushing || (head == tail))
+            {
+                return;
+            }
+
+            int count = (int) Math.min(head - tail, PUSH_SAMPLES);
+            long[] batchTimestamps = new long[count];
+            long[] batchValues = new long[count * SampleBatch.FIELDS];
+
+            for (int sample = 0; sample < count; sample++)
+            {
+                int index = (int) ((tail + sample) % capacity);
+                batchTimestamps[sample] = timestamps[index];
+                System.arraycopy(values, index * SampleBatch.FIELDS, batchValues, sample * SampleBatch.FIELDS, SampleBatch.FIELDS);
+            }
+
+            sampleBatch = new SampleBatch(name, interval, count, batchTimestamps, batchValues);
+            pushedHead = tail + count;
+            pushing = true;
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(endpoint)
+                .timeout(Duration.ofMillis(timeout))
+                .header("Content-Type", "application/octet-stream")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(sampleBatch.encode()));
+
+        if (!token.isBlank())
+        {
+            builder.header(TOKEN_HEADER, token);
+        }
+
+        try
+        {
+            httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, exception) -> complete(pushedHead, response, exception));
+        }
+        catch (RuntimeException exception)
+        {
+            complete(pushedHead, null, exception);
+        }
+    }
+
+    /**
+     * Releases samples accepted by the central instance, rejected samples stay buffered for the next push
+     *
+     * @param pushedHead sequence number following the last pushed sample
+     * @param response   response of the central instance, null if push failed
+     * @param exception  cause of the failure, null if central instance responded
+     */
+    private synchronized void complete(final long pushedHead, final HttpResponse<Void> response, final Throwable exception)
+    {
+        pushing = false;
+
+        if ((response != null) && (response.statusCode() / 100 == 2))
+        {
+            tail = Math.max(tail, pushedHead);
+            failures = 0;
+            rejected = false;
+            return;
+        }
+
+        int status = (response != null) ? response.statusCode() : 0;
+
+        // Client errors other than timeout and rate limiting mean wrong token or configuration, not a passing outage
+        boolean rejection = (status / 100 == 4) && (status != 408) && (status != 429);
+
+        if ((failures++ == 0) || (rejection != rejected))
+        {
+            if (rejection)
+            {
+                System.out.println("中心节点拒绝推送, 重试无效, 请检查令牌和配置: " + endpoint + " HTTP " + status);
+            }
+            else
+            {
+                String cause = (response != null) ? "HTTP " + status
+                        : ((exception.getMessage() != null) ? exception.getMessage() : exception.getClass().getSimpleName());
+                System.out.println("推送样本到中心节点失败: " + endpoint + " " + cause);
+            }
+        }
+
+        rejected = rejection;
+    }
+
+    /**
+     * Gets host name, used as agent name if none is configured
+     *
+     * @return String with host name, "ward" if it cannot be resolved
+     */
+    private static String getHostName()
+    {
+        try
+        {
+            return InetAddress.getLocalHost().getHostName();
+        }
+        catch (UnknownHostException exception)
+        {
+            return "ward";
+        }
+    }
+}
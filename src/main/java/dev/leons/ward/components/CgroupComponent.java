@@ -0,0 +1,410 @@
+package dev.leons.ward.components;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.util.Locale;
+
+/**
+ * CgroupComponent reads limits and usage of the cgroup v2 which Ward runs in, so usage inside a container is
+ * reported relative to its effective limits instead of the whole host. Cgroup is detected once from
+ * /proc/self/cgroup and /proc/self/mountinfo, its interface files are read on every sampler tick.
+ * In auto mode limits replace host usage only inside a container, as a systemd service or session with a limit on a bare
+ * host is still better reported against the host.
+ * Files are read through PseudoFileComponent, and the cgroup directory can be configured, so a fake tree
+ * can stand in for the real one
+ *
+ * @version 1.0.0
+ */
+@Component
+public class CgroupComponent
+{
+    /**
+     * Constant for determine index of consumed processor time in cpu.stat counters
+     */
+    private static final int USAGE_USEC = 0;
+
+    /**
+     * Constant for determine index of elapsed enforcement periods in cpu.stat counters
+     */
+    private static final int NR_PERIODS = 1;
+
+    /**
+     * Constant for determine index of throttled enforcement periods in cpu.stat counters
+     */
+    private static final int NR_THROTTLED = 2;
+
+    /**
+     * Constant for determine index of throttled time in cpu.stat counters
+     */
+    private static final int THROTTLED_USEC = 3;
+
+    /**
+     * Constant for determine files which container runtimes create in the root of a container, Docker and Podman
+     */
+    private static final String[] CONTAINER_MARKERS = {"/.dockerenv", "/run/.containerenv"};
+
+    /**
+     * Autowired PseudoFileComponent object
+     * Used for reading cgroup interface files
+     */
+    @Autowired
+    private PseudoFileComponent pseudoFileComponent;
+
+    /**
+     * Whether usage is reported relative to cgroup limits: auto when Ward runs in a container or in a configured cgroup
+     * which has a limit, on or off
+     */
+    @Value("${ward.cgroup.mode:auto}")
+    private String mode;
+
+    /**
+     * Cgroup directory, such as /sys/fs/cgroup, empty to detect the cgroup of Ward
+     */
+    @Value("${ward.cgroup.path:}")
+    private String path;
+
+    /**
+     * Detected cgroup directory, null if there is no cgroup v2
+     */
+    private String directory;
+
+    /**
+     * Whether auto mode may replace host usage, true inside a container or with a configured cgroup directory
+     */
+    private boolean contained;
+
+    /**
+     * Counters of cpu.stat from the previous tick, indexed by cpu.stat constants
+     */
+    private final long[] previousCounters = new long[4];
+
+    /**
+     * Counters of cpu.stat from the current tick, reused between ticks
+     */
+    private final long[] currentCounters = new long[4];
+
+    /**
+     * Processor quota and period of cpu.max from the current tick, quota is -1 if unlimited
+     */
+    private final long[] quota = new long[2];
+
+    /**
+     * Inactive file cache of memory.stat from the current tick
+     */
+    private long inactiveFile;
+
+    /**
+     * Time of the previous tick, in nanoseconds, 0 before the first tick
+     */
+    private long sampledAt;
+
+    /**
+     * Latest usage, null before the first tick or if there is no cgroup v2
+     */
+    private volatile CgroupUsage usage;
+
+    /**
+     * Whether latest usage replaces host usage
+     */
+    private volatile boolean active;
+
+    /**
+     * Detects cgroup directory
+     */
+    @PostConstruct
+    public void initialize()
+    {
+        if ("off".equals(mode.toLowerCase(Locale.ROOT)))
+        {
+            return;
+        }
+
+        String detected = path.isBlank() ? detect() : path;
+        contained = !path.isBlank() || isContainer();
+
+        if ((detected != null) && Files.isRegularFile(pseudoFileComponent.resolve(detected + "/cgroup.controllers")))
+        {
+            directory = detected;
+        }
+    }
+
+    /**
+     * Reads limits and usage of the cgroup and publishes usage calculated from the delta with the previous tick
+     *
+     * @param hostProcessors amount of logical processors of the host, used if cgroup has no processor limit
+     * @param hostMemory     total memory of the host, in bytes, used if cgroup has no memory limit
+     */
+    public synchronized void sample(final int hostProcessors, final long hostMemory)
+    {
+        if (directory == null)
+        {
+            return;
+        }
+
+        long now = System.nanoTime();
+
+        System.arraycopy(currentCounters, 0, previousCounters, 0, currentCounters.length);
+        readCpuStat();
+        readCpuMax();
+
+        long memoryLimit = pseudoFileComponent.readLong(directory + "/memory.max", -1);
+        long memoryUsed = pseudoFileComponent.readLong(directory + "/memory.current", 0);
+        readMemoryStat();
+
+        double cpuLimit = (quota[0] >= 0) && (quota[1] > 0) ? (double) quota[0] / quota[1] : Double.NaN;
+        int cpusetProcessors = countProcessors(pseudoFileComponent.readString(directory + "/cpuset.cpus.effective"));
+        double processors = (cpusetProcessors > 0) ? cpusetProcessors : hostProcessors;
+        double effectiveProcessors = Double.isNaN(cpuLimit) ? processors : Math.min(cpuLimit, processors);
+
+        double cpuPercent = Double.NaN;
+        double throttledPercent = Double.NaN;
+        double throttledMillisPerSecond = Double.NaN;
+
+        if (sampledAt != 0)
+        {
+            double elapsedMicros = (now - sampledAt) / 1E+3;
+            long periods = currentCounters[NR_PERIODS] - previousCounters[NR_PERIODS];
+
+            cpuPercent = Math.max(0, currentCounters[USAGE_USEC] - previousCounters[USAGE_USEC]) / (elapsedMicros * effectiveProcessors) * 100;
+            throttledPercent = (periods > 0) ? (double) (currentCounters[NR_THROTTLED] - previousCounters[NR_THROTTLED]) / periods * 100 : 0;
+            throttledMillisPerSecond = Math.max(0, currentCounters[THROTTLED_USEC] - previousCounters[THROTTLED_USEC]) / elapsedMicros * 1_000;
+        }
+
+        // Page cache which can be reclaimed without pressure does not count, as docker stats and kubelet do
+        long workingSet = Math.max(0, memoryUsed - inactiveFile);
+        long effectiveMemory = (memoryLimit >= 0) ? ((hostMemory > 0) ? Math.min(memoryLimit, hostMemory) : memoryLimit) : hostMemory;
+        double memoryPercent = (effectiveMemory > 0) ? Math.min(100, (double) workingSet / effectiveMemory * 100) : Double.NaN;
+
+        sampledAt = now;
+        usage = new CgroupUsage(directory, cpuLimit, effectiveProcessors, cpuPercent, throttledPercent, throttledMillisPerSecond,
+                currentCounters[USAGE_USEC], currentCounters[THROTTLED_USEC], currentCounters[NR_THROTTLED],
+                (memoryLimit >= 0) ? memoryLimit : -1, memoryUsed, workingSet, memoryPercent);
+
+        String configuredMode = mode.toLowerCase(Locale.ROOT);
+        active = "on".equals(configuredMode)
+                || (!"off".equals(configuredMode) && contained && (!Double.isNaN(cpuLimit) || (memoryLimit >= 0)));
+    }
+
+    /**
+     * Gets latest usage of the cgroup
+     *
+     * @return CgroupUsage of the latest tick, null if there is no cgroup v2 or it was not read yet
+     */
+    public CgroupUsage getUsage()
+    {
+        return usage;
+    }
+
+    /**
+     * Gets latest usage of the cgroup, if it replaces host usage
+     *
+     * @return CgroupUsage of the latest tick, null if usage is reported for the host
+     */
+    public CgroupUsage getActiveUsage()
+    {
+        return active ? usage : null;
+    }
+
+    /**
+     * Reads consumed processor time and throttling of cpu.stat
+     */
+    private void readCpuStat()
+    {
+        pseudoFileComponent.parse(directory + "/cpu.stat", cursor ->
+        {
+            while (cursor.hasRemaining())
+            {
+                int index = cursor.startsWith("usage_usec ") ? USAGE_USEC
+                        : cursor.startsWith("nr_periods ") ? NR_PERIODS
+                        : cursor.startsWith("nr_throttled ") ? NR_THROTTLED
+                        : cursor.startsWith("throttled_usec ") ? THROTTLED_USEC : -1;
+
+                if (index >= 0)
+                {
+                    currentCounters[index] = Math.max(0, cursor.nextLong());
+                }
+
+                cursor.nextLine();
+            }
+        });
+    }
+
+    /**
+     * Reads processor quota and period of cpu.max, which contains either "max 100000" or "200000 100000"
+     */
+    private void readCpuMax()
+    {
+        quota[0] = -1;
+        quota[1] = 0;
+
+        pseudoFileComponent.parse(directory + "/cpu.max", cursor ->
+        {
+            if (cursor.startsWith("max"))
+            {
+                cursor.skip(3);
+            }
+            else
+            {
+                quota[0] = cursor.nextLong();
+            }
+
+            quota[1] = cursor.nextLong();
+        });
+    }
+
+    /**
+     * Reads inactive file cache of memory.stat
+     */
+    private void readMemoryStat()
+    {
+        inactiveFile = 0;
+
+        pseudoFileComponent.parse(directory + "/memory.stat", cursor ->
+        {
+            while (cursor.hasRemaining())
+            {
+                if (cursor.startsWith("inactive_file "))
+                {
+                    inactiveFile = Math.max(0, cursor.nextLong());
+                    return;
+                }
+
+                cursor.nextLine();
+            }
+        });
+    }
+
+    /**
+     * Checks if Ward runs in a container, either with a cgroup namespace, which shows the own cgroup as "/",
+     * or with a marker file of a container runtime, or with the service environment of Kubernetes
+     *
+     * @return true if Ward runs in a container
+     */
+    private boolean isContainer()
+    {
+        if (pseudoFileComponent.readLines("/proc/self/cgroup").contains("0::/") || (System.getenv("KUBERNETES_SERVICE_HOST") != null))
+        {
+            return true;
+        }
+
+        for (String marker : CONTAINER_MARKERS)
+        {
+            if (Files.exists(pseudoFileComponent.resolve(marker)))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Finds directory of the cgroup v2 which Ward runs in, by joining its path with the mount point of the hierarchy
+     *
+     * @return String with absolute directory, null if there is no cgroup v2
+     */
+    private String detect()
+    {
+        String cgroup = null;
+
+        for (String line : pseudoFileComponent.readLines("/proc/self/cgroup"))
+        {
+            if (line.startsWith("0::"))
+            {
+                cgroup = line.substring(3);
+            }
+        }
+
+        if (cgroup == null)
+        {
+            return null;
+        }
+
+        for (String line : pseudoFileComponent.readLines("/proc/self/mountinfo"))
+        {
+            int separator = line.indexOf(" - ");
+
+            if ((separator < 0) || !line.startsWith("cgroup2 ", separator + 3))
+            {
+                continue;
+            }
+
+            // Fields are mount id, parent id, device, root of the mount and mount point
+            String[] fields = line.substring(0, separator).split(" ");
+
+            if (fields.length < 5)
+            {
+                continue;
+            }
+
+            String root = fields[3];
+            String mountPoint = fields[4];
+
+            // With a cgroup namespace, the mount root is the cgroup itself and /proc/self/cgroup shows "/"
+            String relative = (root.equals("/") || !cgroup.startsWith(root)) ? cgroup : cgroup.substring(root.length());
+            String candidate = (mountPoint + relative).replaceAll("/+$", "");
+
+            return Files.isDirectory(pseudoFileComponent.resolve(candidate)) ? candidate : mountPoint;
+        }
+
+        return null;
+    }
+
+    /**
+     * Counts processors of a cpuset list, such as 0-3,8,10-11
+     *
+     * @param cpuset cpuset list, may be null
+     * @return int with amount of processors, 0 if list is empty or unreadable
+     */
+    private static int countProcessors(final String cpuset)
+    {
+        if ((cpuset == null) || cpuset.isBlank())
+        {
+            return 0;
+        }
+
+        int count = 0;
+
+        try
+        {
+            for (String range : cpuset.split(","))
+            {
+                int dash = range.indexOf('-');
+                count += (dash < 0) ? 1 : Integer.parseInt(range.substring(dash + 1).trim()) - Integer.parseInt(range.substring(0, dash).trim()) + 1;
+            }
+        }
+        catch (NumberFormatException exception)
+        {
+            return 0;
+        }
+
+        return count;
+    }
+
+    /**
+     * CgroupUsage is limits and usage of a cgroup at its latest tick, NaN if unknown
+     *
+     * @param path                     cgroup directory
+     * @param cpuLimit                 processor quota, in logical processors, NaN if unlimited
+     * @param effectiveProcessors      processors usage is relative to, quota or cpuset or host processors
+     * @param cpuPercent               processor usage, in percents of effective processors
+     * @param throttledPercent         share of enforcement periods in which the cgroup was throttled, in percents
+     * @param throttledMillisPerSecond time the cgroup was throttled, in milliseconds per second
+     * @param usageMicros              cumulative processor time, in microseconds
+     * @param throttledMicros          cumulative throttled time, in microseconds
+     * @param throttledPeriods         cumulative amount of throttled enforcement periods
+     * @param memoryLimit              memory limit, in bytes, -1 if unlimited
+     * @param memoryUsed               used memory including page cache, in bytes
+     * @param memoryWorkingSet         used memory without inactive page cache, in bytes
+     * @param memoryPercent            working set, in percents of memory limit or host memory
+     */
+    public record CgroupUsage(String path, double cpuLimit, double effectiveProcessors, double cpuPercent, double throttledPercent,
+                              double throttledMillisPerSecond, long usageMicros, long throttledMicros, long throttledPeriods,
+                              long memoryLimit, long memoryUsed, long memoryWorkingSet, double memoryPercent)
+    {
+    }
+}
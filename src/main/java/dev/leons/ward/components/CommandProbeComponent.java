@@ -0,0 +1,191 @@
+package dev.leons.ward.components;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * CommandProbeComponent caches output of external command probes.
+ * Stale output is returned immediately, while the command is refreshed on a bounded background executor,
+ * so process forks do not scale with request rate
+ *
+ * @version 1.0.0
+ */
+@Component
+public class CommandProbeComponent
+{
+    /**
+     * Constant for determine maximum amount of commands running in background at once
+     */
+    private static final int MAX_THREADS = 2;
+
+    /**
+     * Constant for determine maximum amount of refreshes waiting for a thread
+     */
+    private static final int MAX_QUEUED = 16;
+
+    /**
+     * Autowired CommandRunner object
+     * Used for running commands, can be replaced with a fake runner
+     */
+    @Autowired
+    private CommandRunner commandRunner;
+
+    /**
+     * Autowired ProbeStatsComponent object
+     * Used for measuring latency and failures of probes
+     */
+    @Autowired
+    private ProbeStatsComponent probeStatsComponent;
+
+    /**
+     * Cached probes by command
+     */
+    private final Map<String, Probe> probes = new ConcurrentHashMap<>();
+
+    /**
+     * Bounded executor for background refreshes, refreshes that do not fit are skipped until next request
+     */
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(MAX_QUEUED), runnable ->
+    {
+        Thread thread = new Thread(runnable, "command-probe");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Allows idle refresh threads to stop
+     */
+    public CommandProbeComponent()
+    {
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Gets command output, running command only if there is no cached output yet.
+     * If cached output is older than ttl, it is still returned and refresh is started in background
+     *
+     * @param command       command with arguments, separated by spaces
+     * @param ttlMillis     time for which output is considered fresh
+     * @param timeoutMillis time after which command is killed
+     * @return List of output lines
+     */
+    public List<String> probe(final String command, final long ttlMillis, final long timeoutMillis)
+    {
+        Probe probe = probes.computeIfAbsent(command, key -> new Probe());
+        List<String> output = probe.output;
+
+        if (output == null)
+        {
+            synchronized (probe)
+            {
+                if (probe.output == null)
+                {
+                    probe.store(run(command, timeoutMillis));
+                }
+
+                return probe.output;
+            }
+        }
+
+        if ((System.currentTimeMillis() - probe.sampledAt > ttlMillis) && probe.refreshing.compareAndSet(false, true))
+        {
+            try
+            {
+                executor.execute(() ->
+                {
+                    try
+                    {
+                        probe.store(run(command, timeoutMillis));
+                    }
+                    finally
+                    {
+                        probe.refreshing.set(false);
+                    }
+                });
+            }
+            catch (RejectedExecutionException exception)
+            {
+                probe.refreshing.set(false);
+            }
+        }
+
+        return output;
+    }
+
+    /**
+     * Runs command, recording its latency. Runners report failures and timeouts as empty output, so empty output is a failure
+     *
+     * @param command       command with arguments, separated by spaces
+     * @param timeoutMillis time after which command is killed
+     * @return List of output lines
+     */
+    private List<String> run(final String command, final long timeoutMillis)
+    {
+        String probeName = "command." + command;
+        long start = System.nanoTime();
+        List<String> output = commandRunner.run(command, timeoutMillis);
+
+        if (output.isEmpty())
+        {
+            probeStatsComponent.recordFailure(probeName, start, "No output, command failed or timed out");
+        }
+        else
+        {
+            probeStatsComponent.record(probeName, start);
+        }
+
+        return output;
+    }
+
+    /**
+     * Stops background refreshes, when application context is closed
+     */
+    @PreDestroy
+    public void shutdown()
+    {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Probe holds cached output of a single command
+     */
+    private static final class Probe
+    {
+        /**
+         * Latest command output
+         */
+        private volatile List<String> output;
+
+        /**
+         * Time of latest command run
+         */
+        private volatile long sampledAt;
+
+        /**
+         * Flag for determine running background refresh
+         */
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        /**
+         * Stores new output
+         *
+         * @param newOutput command output
+         */
+        private void store(final List<String> newOutput)
+        {
+            sampledAt = System.currentTimeMillis();
+            output = newOutput;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package dev.leons.ward.components;
+
+import java.util.List;
+
+/**
+ * CommandRunner executes external commands for probes, and can be replaced with a fake runner,
+ * when real binaries are not available
+ *
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface CommandRunner
+{
+    /**
+     * Runs command and collects its standard output
+     *
+     * @param command       command with arguments, separated by spaces
+     * @param timeoutMillis time after which command is killed
+     * @return List of output lines, empty if command failed or timed out
+     */
+    List<String> run(String command, long timeoutMillis);
+}
@@ -0,0 +1,617 @@
+package dev.leons.ward.components;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.leons.ward.dto.ContainerDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SecureDirectoryStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ContainerComponent reports resources of every container on the host from the cgroup v2 hierarchy, without the
+ * Docker socket. Container cgroups are found by walking the hierarchy, and their directories are kept open, so every
+ * tick reads cpu.stat, memory.current, io.stat and pids.current relative to an open handle into the reused buffer.
+ * The hierarchy is walked again only when a listing of a directory containing containers changes, or after the
+ * rescan interval, which catches containers appearing in new places
+ *
+ * @version 1.0.0
+ */
+@Component
+public class ContainerComponent
+{
+    /**
+     * Constant for determine container cgroup names of docker, podman, containerd and cri-o, with the container id
+     */
+    private static final Pattern CONTAINER_PATTERN = Pattern.compile("(?:docker-|libpod-|cri-containerd-|crio-)?([0-9a-f]{64})(?:\\.scope)?");
+
+    /**
+     * Constant for determine prefixes of cgroup interface files, which are skipped while walking
+     */
+    private static final Set<String> CONTROLLERS = Set.of("cgroup", "cpu", "cpuset", "io", "memory", "pids", "rdma", "hugetlb", "misc");
+
+    /**
+     * Constant for determine maximal depth of walked cgroups, kubernetes pods are nested about five levels deep
+     */
+    private static final int MAX_DEPTH = 8;
+
+    /**
+     * Constant for determine length of short container id, as shown by docker ps
+     */
+    private static final int SHORT_ID = 12;
+
+    /**
+     * Constant for determine name of processor statistics file
+     */
+    private static final Path CPU_STAT = Path.of("cpu.stat");
+
+    /**
+     * Constant for determine name of io statistics file
+     */
+    private static final Path IO_STAT = Path.of("io.stat");
+
+    /**
+     * Constant for determine name of used memory file
+     */
+    private static final Path MEMORY_CURRENT = Path.of("memory.current");
+
+    /**
+     * Constant for determine name of process count file
+     */
+    private static final Path PIDS_CURRENT = Path.of("pids.current");
+
+    /**
+     * Autowired PseudoFileComponent object
+     * Used for reading cgroup interface files
+     */
+    @Autowired
+    private PseudoFileComponent pseudoFileComponent;
+
+    /**
+     * Autowired ProbeStatsComponent object
+     * Used for measuring latency and failures of probes
+     */
+    @Autowired
+    private ProbeStatsComponent probeStatsComponent;
+
+    /**
+     * Autowired ObjectMapper object
+     * Used for reading container names from docker configuration
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Root of cgroup v2 hierarchy of the host, mounted into the container if Ward runs in one
+     */
+    @Value("${ward.containers.cgroup-root:/sys/fs/cgroup}")
+    private String cgroupRoot;
+
+    /**
+     * Docker data directory, container names are read from its configuration if readable
+     */
+    @Value("${ward.containers.docker-root:/var/lib/docker}")
+    private String dockerRoot;
+
+    /**
+     * How long the hierarchy is trusted without walking it again, in milliseconds
+     */
+    @Value("${ward.containers.rescan:60000}")
+    private long rescanInterval;
+
+    /**
+     * Time constant of rate smoothing, in milliseconds, 0 disables smoothing
+     */
+    @Value("${ward.sampler.smoothing:3000}")
+    private long smoothingMillis;
+
+    /**
+     * Known containers by container id
+     */
+    private final Map<String, Container> containers = new LinkedHashMap<>();
+
+    /**
+     * Listings of the root and every directory on the way to containers, compared on every tick
+     */
+    private Map<String, String[]> listings = Map.of();
+
+    /**
+     * Time of the latest walk, in epoch milliseconds, 0 before the first one
+     */
+    private long walkedAt;
+
+    /**
+     * Smoothed rates by container id, of processor time, read bytes and written bytes
+     */
+    private CounterRates rates;
+
+    /**
+     * Counters of the container being read, of processor time, read bytes and written bytes, reused between containers
+     */
+    private final long[] counters = new long[3];
+
+    /**
+     * Parser of cpu.stat, created once, so reading allocates nothing
+     */
+    private final PseudoFileComponent.Parser cpuStatParser = this::parseCpuStat;
+
+    /**
+     * Parser of io.stat, created once, so reading allocates nothing
+     */
+    private final PseudoFileComponent.Parser ioStatParser = this::parseIoStat;
+
+    /**
+     * Block devices already checked for being stacked, major number in the upper and minor in the lower 32 bits
+     */
+    private long[] checkedDevices = new long[16];
+
+    /**
+     * Whether each checked device is stacked on other devices, indexed like checkedDevices
+     */
+    private boolean[] stackedDevices = new boolean[16];
+
+    /**
+     * Amount of checked devices, reset on every walk as devices may have been created meanwhile
+     */
+    private int checkedCount;
+
+    /**
+     * Creates rates with configured smoothing
+     */
+    @PostConstruct
+    public void initialize()
+    {
+        rates = new CounterRates(counters.length, smoothingMillis);
+        cgroupRoot = cgroupRoot.replaceAll("/+$", "");
+    }
+
+    /**
+     * Closes directory handles of all containers
+     */
+    @PreDestroy
+    public synchronized void close()
+    {
+        containers.values().forEach(Container::close);
+        containers.clear();
+    }
+
+    /**
+     * Reads every container, walking the hierarchy first if containers may have appeared or disappeared
+     */
+    @Scheduled(fixedRateString = "${ward.sampler.interval:1000}")
+    public void sample()
+    {
+        probeStatsComponent.run("containers", this::read);
+    }
+
+    /**
+     * Copies latest resources of every container
+     *
+     * @return List of ContainerDto, in order of names
+     */
+    public synchronized List<ContainerDto> getContainers()
+    {
+        List<ContainerDto> containerDtos = new ArrayList<>(containers.size());
+
+        rates.read((id, containerRates) ->
+        {
+            Container container = containers.get(id);
+
+            if (container != null)
+            {
+                containerDtos.add(toDto(container, containerRates));
+            }
+        });
+
+        containerDtos.sort(Comparator.comparing(ContainerDto::getName, String.CASE_INSENSITIVE_ORDER));
+        return containerDtos;
+    }
+
+    /**
+     * Reads counters of every container relative to its directory handle, containers which were removed are dropped
+     */
+    private synchronized void read()
+    {
+        long now = System.currentTimeMillis();
+
+        if ((walkedAt == 0) || (now - walkedAt >= rescanInterval) || isChanged())
+        {
+            walk();
+            walkedAt = now;
+        }
+
+        rates.begin(System.nanoTime());
+
+        for (Iterator<Container> iterator = containers.values().iterator(); iterator.hasNext(); )
+        {
+            Container container = iterator.next();
+            counters[0] = -1;
+
+            // Files of a removed cgroup are gone even though its handle is still open
+            if (!pseudoFileComponent.parse(container.directory, CPU_STAT, cpuStatParser))
+            {
+                container.close();
+                iterator.remove();
+                continue;
+            }
+
+            counters[1] = 0;
+            counters[2] = 0;
+
+            if (!pseudoFileComponent.parse(container.directory, IO_STAT, ioStatParser))
+            {
+                counters[1] = -1;
+                counters[2] = -1;
+            }
+
+            container.readBytes = counters[1];
+            container.writtenBytes = counters[2];
+            container.memoryBytes = pseudoFileComponent.readLong(container.directory, MEMORY_CURRENT, -1);
+            container.pids = pseudoFileComponent.readLong(container.directory, PIDS_CURRENT, -1);
+
+            rates.update(container.id, counters);
+        }
+
+        rates.end();
+    }
+
+    /**
+     * Parses consumed processor time of cpu.stat
+     *
+     * @param cursor cursor at the beginning of cpu.stat
+     */
+    private void parseCpuStat(final PseudoFileComponent.Cursor cursor)
+    {
+        while (cursor.hasRemaining())
+        {
+            if (cursor.startsWith("usage_usec "))
+            {
+                counters[0] = cursor.nextLong();
+                return;
+            }
+
+            cursor.nextLine();
+        }
+    }
+
+    /**
+     * Sums read and written bytes of every device in io.stat, lines look like "8:0 rbytes=1 wbytes=2 rios=3 ...".
+     * Stacked devices are left out, as their I/O is counted again on the devices below them
+     *
+     * @param cursor cursor at the beginning of io.stat
+     */
+    private void parseIoStat(final PseudoFileComponent.Cursor cursor)
+    {
+        while (cursor.hasRemaining())
+        {
+            // Major and minor device numbers come first, the kernel always writes rbytes and wbytes next
+            long major = cursor.nextLong();
+            long minor = cursor.nextLong();
+
+            long readBytes = cursor.nextLong();
+            long writtenBytes = cursor.nextLong();
+
+            if (!isStacked(major, minor))
+            {
+                counters[1] += Math.max(0, readBytes);
+                counters[2] += Math.max(0, writtenBytes);
+            }
+
+            cursor.nextLine();
+        }
+    }
+
+    /**
+     * Checks if a block device is stacked on other devices, such as device mapper or md raid, by its slaves in sysfs.
+     * Major numbers of such drivers are allocated dynamically, so they can not be compared to known values.
+     * Result is cached until the next walk, so steady ticks touch sysfs for no device
+     *
+     * @param major major device number
+     * @param minor minor device number
+     * @return true if device has slaves, false if it has none or sysfs is unreadable
+     */
+    private boolean isStacked(final long major, final long minor)
+    {
+        long device = (major << 32) | minor;
+
+        for (int i = 0; i < checkedCount; i++)
+        {
+            if (checkedDevices[i] == device)
+            {
+                return stackedDevices[i];
+            }
+        }
+
+        String[] slaves = list("/sys/dev/block/" + major + ":" + minor + "/slaves");
+        boolean stacked = (slaves != null) && (slaves.length > 0);
+
+        if (checkedCount == checkedDevices.length)
+        {
+            checkedDevices = Arrays.copyOf(checkedDevices, checkedCount * 2);
+            stackedDevices = Arrays.copyOf(stackedDevices, checkedCount * 2);
+        }
+
+        checkedDevices[checkedCount] = device;
+        stackedDevices[checkedCount] = stacked;
+        checkedCount++;
+
+        return stacked;
+    }
+
+    /**
+     * Checks if any watched directory was listed differently than during the latest walk
+     *
+     * @return true if the hierarchy has to be walked again
+     */
+    private boolean isChanged()
+    {
+        for (Map.Entry<String, String[]> entry : listings.entrySet())
+        {
+            if (!Arrays.equals(list(entry.getKey()), entry.getValue()))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Walks the hierarchy, opens handles of new containers and closes handles of removed ones
+     */
+    private void walk()
+    {
+        Map<String, String> found = new LinkedHashMap<>();
+        Map<String, String[]> walkedListings = new HashMap<>();
+
+        checkedCount = 0;
+        walk(cgroupRoot, 0, found, walkedListings);
+
+        for (Iterator<Container> iterator = containers.values().iterator(); iterator.hasNext(); )
+        {
+            Container container = iterator.next();
+
+            if (!container.path.equals(found.get(container.id)))
+            {
+                container.close();
+                iterator.remove();
+            }
+        }
+
+        for (Map.Entry<String, String> entry : found.entrySet())
+        {
+            if (!containers.containsKey(entry.getKey()))
+            {
+                SecureDirectoryStream<Path> directory = pseudoFileComponent.openDirectory(entry.getValue());
+
+                if (directory != null)
+                {
+                    containers.put(entry.getKey(), new Container(entry.getKey(), readName(entry.getKey()), entry.getValue(), directory));
+                }
+            }
+        }
+
+        listings = walkedListings;
+    }
+
+    /**
+     * Walks a cgroup and its children, collecting containers and listings of directories on the way to them
+     *
+     * @param path     absolute cgroup directory
+     * @param depth    depth below the root
+     * @param found    receives container directories by container id
+     * @param listings receives listings of the root and directories containing containers below them
+     * @return true if the cgroup contains containers
+     */
+    private boolean walk(final String path, final int depth, final Map<String, String> found, final Map<String, String[]> listings)
+    {
+        String[] names = list(path);
+
+        if (names == null)
+        {
+            return false;
+        }
+
+        // Hierarchies of cgroup v1 on hybrid hosts have no cgroup.controllers, containers are found in the unified one
+        boolean unified = Arrays.asList(names).contains("cgroup.controllers");
+
+        if (!unified && (depth > 0))
+        {
+            return false;
+        }
+
+        boolean watched = (depth == 0);
+
+        for (String name : names)
+        {
+            int dot = name.indexOf('.');
+
+            if ((dot > 0) && CONTROLLERS.contains(name.substring(0, dot)))
+            {
+                continue;
+            }
+
+            String child = path + "/" + name;
+            Matcher matcher = CONTAINER_PATTERN.matcher(name);
+
+            if (matcher.matches())
+            {
+                if (unified)
+                {
+                    found.putIfAbsent(matcher.group(1), child);
+                    watched = true;
+                }
+            }
+            else if ((depth < MAX_DEPTH) && Files.isDirectory(pseudoFileComponent.resolve(child)))
+            {
+                watched |= walk(child, depth + 1, found, listings);
+            }
+        }
+
+        if (watched)
+        {
+            listings.put(path, names);
+        }
+
+        return watched;
+    }
+
+    /**
+     * Lists names in a directory
+     *
+     * @param path absolute directory
+     * @return String array in order of the file system, null if directory is unreadable
+     */
+    private String[] list(final String path)
+    {
+        return pseudoFileComponent.resolve(path).toFile().list();
+    }
+
+    /**
+     * Reads container name from docker configuration, which Ward can read only if docker data is mounted
+     *
+     * @param id container id
+     * @return String with container name, short id if name is unknown
+     */
+    private String readName(final String id)
+    {
+        Path configuration = pseudoFileComponent.resolve(dockerRoot + "/containers/" + id + "/config.v2.json");
+
+        if (Files.isReadable(configuration))
+        {
+            try
+            {
+                JsonNode name = objectMapper.readTree(configuration.toFile()).path("Name");
+
+                if (name.isTextual() && !name.asText().isBlank())
+                {
+                    return name.asText().startsWith("/") ? name.asText().substring(1) : name.asText();
+                }
+            }
+            catch (IOException exception)
+            {
+                System.out.println("容器配置读取失败: " + configuration + " " + exception.getMessage());
+            }
+        }
+
+        return id.substring(0, SHORT_ID);
+    }
+
+    /**
+     * Maps container to dto
+     *
+     * @param container      container with latest counters
+     * @param containerRates smoothed rates of processor time, read bytes and written bytes, NaN until two readings exist
+     * @return ContainerDto with filled fields
+     */
+    private ContainerDto toDto(final Container container, final double[] containerRates)
+    {
+        ContainerDto containerDto = new ContainerDto();
+        containerDto.setId(container.id.substring(0, SHORT_ID));
+        containerDto.setName(container.name);
+        containerDto.setCpuPercent(Double.isNaN(containerRates[0]) ? 0 : containerRates[0] / 1E+4);
+        containerDto.setMemoryBytes(container.memoryBytes);
+        containerDto.setReadBytes(container.readBytes);
+        containerDto.setWrittenBytes(container.writtenBytes);
+        containerDto.setReadBytesPerSecond(Double.isNaN(containerRates[1]) ? 0 : containerRates[1]);
+        containerDto.setWriteBytesPerSecond(Double.isNaN(containerRates[2]) ? 0 : containerRates[2]);
+        containerDto.setPids(container.pids);
+
+        return containerDto;
+    }
+
+    /**
+     * Container keeps the open directory handle and latest counters of a container cgroup
+     */
+    private static final class Container
+    {
+        /**
+         * Full container id
+         */
+        private final String id;
+
+        /**
+         * Container name, or short id if unknown
+         */
+        private final String name;
+
+        /**
+         * Absolute cgroup directory
+         */
+        private final String path;
+
+        /**
+         * Open handle of cgroup directory
+         */
+        private final SecureDirectoryStream<Path> directory;
+
+        /**
+         * Read bytes of all devices, -1 if io controller is disabled
+         */
+        private long readBytes;
+
+        /**
+         * Written bytes of all devices, -1 if io controller is disabled
+         */
+        private long writtenBytes;
+
+        /**
+         * Used memory including page cache, in bytes, -1 if memory controller is disabled
+         */
+        private long memoryBytes;
+
+        /**
+         * Amount of processes and threads, -1 if pids controller is disabled
+         */
+        private long pids;
+
+        /**
+         * Creates container without readings
+         *
+         * @param id        full container id
+         * @param name      container name
+         * @param path      absolute cgroup directory
+         * @param directory open handle of cgroup directory
+         */
+        private Container(final String id, final String name, final String path, final SecureDirectoryStream<Path> directory)
+        {
+            this.id = id;
+            this.name = name;
+            this.path = path;
+            this.directory = directory;
+        }
+
+        /**
+         * Closes directory handle
+         */
+        private void close()
+        {
+            try
+            {
+                directory.close();
+            }
+            catch (IOException exception)
+            {
+                System.out.println("容器目录关闭失败: " + path + " " + exception.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package dev.leons.ward.components;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * CounterRates turns cumulative per device counters into per second rates, smoothed with an exponentially weighted
+ * moving average. Counters going backwards are treated as a 32 bit wrap when the previous value was in the top quarter
+ * of 32 bits, and as a reset of the device otherwise, which produces NaN for that tick. Negative counters mean unsupported
+ * and produce NaN.
+ * Buffers are reused between ticks, so a tick costs O(devices) without allocation once devices are known.
+ * Not thread-safe, callers guard it with their own lock
+ *
+ * @version 1.0.0
+ */
+public final class CounterRates
+{
+    /**
+     * Constant for determine modulus of counters kept in 32 bits by drivers or the kernel
+     */
+    private static final long WRAP_32 = 1L << 32;
+
+    /**
+     * Constant for determine lowest previous value, from which a counter going backwards is taken for a 32 bit wrap
+     */
+    private static final long WRAP_32_THRESHOLD = WRAP_32 - (WRAP_32 >> 2);
+
+    /**
+     * Amount of counters per device
+     */
+    private final int width;
+
+    /**
+     * Time constant of smoothing, in nanoseconds, 0 disables smoothing
+     */
+    private final double smoothingNanos;
+
+    /**
+     * Device states by device name, in order of appearance
+     */
+    private final Map<String, Device> devices = new LinkedHashMap<>();
+
+    /**
+     * Timestamp of the current tick, in nanoseconds
+     */
+    private long tickNanos;
+
+    /**
+     * Elapsed time between the previous and the current tick, in seconds, 0 on the first tick
+     */
+    private double elapsedSeconds;
+
+    /**
+     * Weight of the current tick in smoothed rates
+     */
+    private double weight;
+
+    /**
+     * Generation of the current tick, used to drop devices which disappeared
+     */
+    private long generation;
+
+    /**
+     * Creates rates of devices with a fixed amount of counters
+     *
+     * @param width           amount of counters per device
+     * @param smoothingMillis time constant of smoothing, in milliseconds, 0 disables smoothing
+     */
+    public CounterRates(final int width, final long smoothingMillis)
+    {
+        this.width = width;
+        this.smoothingNanos = Math.max(0, smoothingMillis) * 1_000_000.0;
+    }
+
+    /**
+     * Starts a tick, every device read during the tick has to be passed to update before end is called
+     *
+     * @param nanos monotonic timestamp of the reading, such as System.nanoTime
+     */
+    public void begin(final long nanos)
+    {
+        long elapsedNanos = (generation == 0) ? 0 : nanos - tickNanos;
+
+        tickNanos = nanos;
+        elapsedSeconds = elapsedNanos / 1E+9;
+        weight = (smoothingNanos == 0) ? 1 : 1 - Math.exp(-elapsedNanos / smoothingNanos);
+        generation++;
+    }
+
+    /**
+     * Updates rates of a device from its current counters
+     *
+     * @param name     device name
+     * @param counters current cumulative counters, at least width long, negative if unsupported
+     */
+    public void update(final String name, final long[] counters)
+    {
+        Device device = devices.get(name);
+
+        if (device == null)
+        {
+            device = new Device(width);
+            devices.put(name, device);
+        }
+        else if ((device.generation == generation - 1) && (elapsedSeconds > 0))
+        {
+            for (int i = 0; i < width; i++)
+            {
+                double rate = delta(device.counters[i], counters[i]) / elapsedSeconds;
+                double previousRate = device.rates[i];
+
+                device.rates[i] = (Double.isNaN(previousRate) || Double.isNaN(rate)) ? rate : previousRate + weight * (rate - previousRate);
+            }
+        }
+
+        System.arraycopy(counters, 0, device.counters, 0, width);
+        device.generation = generation;
+    }
+
+    /**
+     * Ends a tick and drops devices which were not updated during it
+     */
+    public void end()
+    {
+        for (Iterator<Device> iterator = devices.values().iterator(); iterator.hasNext(); )
+        {
+            if (iterator.next().generation != generation)
+            {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Passes smoothed rates of every device to consumer
+     *
+     * @param consumer receives rates per second, indexed like counters, NaN until two readings exist
+     */
+    public void read(final RateConsumer consumer)
+    {
+        for (Map.Entry<String, Device> entry : devices.entrySet())
+        {
+            consumer.accept(entry.getKey(), entry.getValue().rates);
+        }
+    }
+
+    /**
+     * Calculates increase of a counter between two readings
+     *
+     * @param previous previous reading
+     * @param current  current reading
+     * @return double with increase, NaN if counter is unsupported or was reset
+     */
+    static double delta(final long previous, final long current)
+    {
+        if ((previous < 0) || (current < 0))
+        {
+            return Double.NaN;
+        }
+
+        if (current >= previous)
+        {
+            return current - previous;
+        }
+
+        // Only a counter close to 2^32 can have wrapped, otherwise device was reset at an unknown moment since previous reading
+        return ((previous >= WRAP_32_THRESHOLD) && (previous < WRAP_32)) ? current + WRAP_32 - previous : Double.NaN;
+    }
+
+    /**
+     * RateConsumer receives smoothed rates of a device
+     */
+    @FunctionalInterface
+    public interface RateConsumer
+    {
+        /**
+         * Accepts rates of a device
+         *
+         * @param name  device name
+         * @param rates rates per second, indexed like counters, only valid during the call
+         */
+        void accept(String name, double[] rates);
+    }
+
+    /**
+     * Device keeps the previous reading and smoothed rates of a single device
+     */
+    private static final class Device
+    {
+        /**
+         * Previous counters
+         */
+        private final long[] counters;
+
+        /**
+         * Smoothed rates per second, NaN until two readings exist
+         */
+        private final double[] rates;
+
+        /**
+         * Generation of the tick which updated the device last
+         */
+        private long generation;
+
+        /**
+         * Creates device without readings
+         *
+         * @param width amount of counters
+         */
+        private Device(final int width)
+        {
+            counters = new long[width];
+            rates = new double[width];
+            Arrays.fill(rates, Double.NaN);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package dev.leons.ward.components;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * DownsamplingComponent reduces series to a fixed amount of points, keeping their visual shape
+ *
+ * @version 1.0.0
+ */
+@Component
+public class DownsamplingComponent
+{
+    /**
+     * Reduces series with Largest-Triangle-Three-Buckets in a single pass over primitive arrays.
+     * First and last points are always kept, from every bucket in between the point forming the largest triangle
+     * with the previously selected point and the average of the next bucket is selected
+     *
+     * @param timestamps    source timestamps, ascending
+     * @param values        source values
+     * @param size          amount of source points
+     * @param threshold     requested amount of points, at least 3
+     * @param outTimestamps buffer for selected timestamps, at least min(size, threshold) long
+     * @param outValues     buffer for selected values, at least min(size, threshold) long
+     * @return int with amount of selected points
+     */
+    public int lttb(final long[] timestamps, final float[] values, final int size, final int threshold,
+                    final long[] outTimestamps, final float[] outValues)
+    {
+        if (threshold < 3)
+        {
+            throw new IllegalArgumentException("Threshold must be at least 3");
+        }
+
+        if (threshold >= size)
+        {
+            System.arraycopy(timestamps, 0, outTimestamps, 0, size);
+            System.arraycopy(values, 0, outValues, 0, size);
+            return size;
+        }
+
+        long origin = timestamps[0];
+        double every = (double) (size - 2) / (threshold - 2);
+        int selected = 0;
+        int count = 0;
+
+        outTimestamps[count] = timestamps[0];
+        outValues[count++] = values[0];
+
+        for (int i = 0; i < threshold - 2; i++)
+        {
+            // Average of the next bucket is the third vertex of the triangle
+            int averageFrom = (int) ((i + 1) * every) + 1;
+            int averageTo = Math.min((int) ((i + 2) * every) + 1, size);
+            double averageX = 0;
+            double averageY = 0;
+
+            for (int j = averageFrom; j < averageTo; j++)
+            {
+                averageX += timestamps[j] - origin;
+                averageY += values[j];
+            }
+
+            int averageLength = averageTo - averageFrom;
+            averageX /= averageLength;
+            averageY /= averageLength;
+
+            int bucketFrom = (int) (i * every) + 1;
+            int bucketTo = (int) ((i + 1) * every) + 1;
+            double selectedX = timestamps[selected] - origin;
+            double selectedY = values[selected];
+            double maxArea = -1;
+            int next = bucketFrom;
+
+            for (int j = bucketFrom; j < bucketTo; j++)
+            {
+                double area = Math.abs((selectedX - averageX) * (values[j] - selectedY)
+                        - (selectedX - (timestamps[j] - origin)) * (averageY - selectedY));
+
+                if (area > maxArea)
+                {
+                    maxArea = area;
+                    next = j;
+                }
+            }
+
+            outTimestamps[count] = timestamps[next];
+            outValues[count++] = values[next];
+            selected = next;
+        }
+
+        outTimestamps[count] = timestamps[size - 1];
+        outValues[count++] = values[size - 1];
+
+        return count;
+    }
+}
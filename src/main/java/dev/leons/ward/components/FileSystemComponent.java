@@ -0,0 +1,315 @@
+package dev.leons.ward.components;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import oshi.SystemInfo;
+import oshi.software.os.OSFileStore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * FileSystemComponent keeps a model of mounted file systems, which counts every backing device once.
+ * Pseudo and virtual types are filtered through include and exclude lists, bind mounts of the same device are
+ * collapsed to the shortest mount point. Mounts are enumerated rarely, while space of each mount is read with
+ * a single statvfs and cached for its own refresh interval
+ *
+ * @version 1.0.0
+ */
+@Component
+public class FileSystemComponent
+{
+    /**
+     * Autowired SystemInfo object
+     * Used for enumerating mounted file stores
+     */
+    @Autowired
+    private SystemInfo systemInfo;
+
+    /**
+     * Autowired ProbeStatsComponent object
+     * Used for measuring latency and failures of probes
+     */
+    @Autowired
+    private ProbeStatsComponent probeStatsComponent;
+
+    /**
+     * File system types to keep, empty keeps every type which is not excluded
+     */
+    @Value("${ward.filesystems.include-types:}")
+    private String[] includeTypes;
+
+    /**
+     * File system types to drop, such as pseudo file systems and read-only images
+     */
+    @Value("${ward.filesystems.exclude-types:tmpfs,devtmpfs,overlay,squashfs,proc,sysfs,cgroup,cgroup2,devpts,mqueue,"
+            + "debugfs,tracefs,securityfs,pstore,bpf,autofs,configfs,fusectl,hugetlbfs,ramfs,nsfs,efivarfs,binfmt_misc,"
+            + "rpc_pipefs,iso9660,fuse.lxcfs,fuse.snapfuse,fuse.gvfsd-fuse,fuse.portal}")
+    private String[] excludeTypes;
+
+    /**
+     * How long enumerated mounts are reused, in milliseconds
+     */
+    @Value("${ward.filesystems.mounts-refresh:60000}")
+    private long mountsRefresh;
+
+    /**
+     * How long space of a mount is reused, in milliseconds
+     */
+    @Value("${ward.filesystems.usage-refresh:5000}")
+    private long usageRefresh;
+
+    /**
+     * Latest enumerated mounts, one per backing device
+     */
+    private List<Mount> mounts = List.of();
+
+    /**
+     * Time of the latest enumeration, in epoch milliseconds
+     */
+    private long mountsReadAt;
+
+    /**
+     * Gets usage of every kept file system, refreshing mounts and space which are older than their refresh interval
+     *
+     * @return List of FileSystemUsage, one per backing device
+     */
+    public synchronized List<FileSystemUsage> getUsage()
+    {
+        long now = System.currentTimeMillis();
+
+        if ((mountsReadAt == 0) || (now - mountsReadAt >= mountsRefresh))
+        {
+            mounts = probeStatsComponent.measure("filesystems.mounts", this::readMounts);
+            mountsReadAt = now;
+        }
+
+        List<FileSystemUsage> usage = new ArrayList<>(mounts.size());
+
+        for (Mount mount : mounts)
+        {
+            if ((mount.readAt == 0) || (now - mount.readAt >= usageRefresh))
+            {
+                // Failed reading waits for the refresh interval as well, so a broken mount is not statted on every call
+                mount.readAt = now;
+
+                try
+                {
+                    mount.usage = probeStatsComponent.measure("filesystems.usage", () -> readUsage(mount));
+                    mount.failing = false;
+                }
+                catch (RuntimeException exception)
+                {
+                    // Stale space is kept, file store is opened again on next reading, only first failure in a row is logged
+                    if (!mount.failing)
+                    {
+                        System.out.println("文件系统读取失败: " + mount.path + " " + exception.getMessage());
+                        mount.failing = true;
+                    }
+
+                    mount.fileStore = null;
+                }
+            }
+
+            if (mount.usage != null)
+            {
+                usage.add(mount.usage);
+            }
+        }
+
+        return usage;
+    }
+
+    /**
+     * Gets used space of all kept file systems together
+     *
+     * @return double with storage usage in percents, 0 if there are no file systems
+     */
+    public double getUsagePercent()
+    {
+        return getUsagePercent(getUsage());
+    }
+
+    /**
+     * Calculates used space of file systems together
+     *
+     * @param usage usage of file systems
+     * @return double with storage usage in percents, 0 if there are no file systems
+     */
+    public double getUsagePercent(final List<FileSystemUsage> usage)
+    {
+        long total = 0;
+        long free = 0;
+
+        for (FileSystemUsage fileSystemUsage : usage)
+        {
+            total += fileSystemUsage.total();
+            free += fileSystemUsage.free();
+        }
+
+        // Handle possible division by zero
+        return (total == 0) ? 0 : (double) (total - free) / total * 100;
+    }
+
+    /**
+     * Enumerates local file stores, drops filtered types and keeps the shortest mount point of every device
+     *
+     * @return List of Mount in order of enumeration
+     */
+    private List<Mount> readMounts()
+    {
+        Set<String> included = toTypes(includeTypes);
+        Set<String> excluded = toTypes(excludeTypes);
+        Map<String, Mount> byDevice = new LinkedHashMap<>();
+
+        for (OSFileStore fileStore : systemInfo.getOperatingSystem().getFileSystem().getFileStores(true))
+        {
+            String type = fileStore.getType().toLowerCase(Locale.ROOT);
+
+            if (excluded.contains(type) || (!included.isEmpty() && !included.contains(type)))
+            {
+                continue;
+            }
+
+            // Bind mounts share the volume, file stores without volume can't be matched and are kept as they are
+            String device = fileStore.getVolume().isBlank() ? fileStore.getMount() : fileStore.getVolume();
+            Mount mount = byDevice.get(device);
+
+            if ((mount == null) || (fileStore.getMount().length() < mount.path.length()))
+            {
+                byDevice.put(device, new Mount(fileStore.getMount(), device, fileStore.getType()));
+            }
+        }
+
+        // Keep cached space of mounts which are still there
+        Map<String, Mount> previous = mounts.stream().collect(Collectors.toMap(mount -> mount.path, mount -> mount, (first, second) -> first));
+        List<Mount> readMounts = new ArrayList<>(byDevice.size());
+
+        for (Mount mount : byDevice.values())
+        {
+            Mount previousMount = previous.get(mount.path);
+            readMounts.add(((previousMount != null) && previousMount.device.equals(mount.device)) ? previousMount : mount);
+        }
+
+        return List.copyOf(readMounts);
+    }
+
+    /**
+     * Reads space of a mount with a single statvfs
+     *
+     * @param mount mount to read
+     * @return FileSystemUsage with filled fields
+     */
+    private FileSystemUsage readUsage(final Mount mount)
+    {
+        try
+        {
+            FileStore fileStore = mount.fileStore;
+
+            if (fileStore == null)
+            {
+                fileStore = Files.getFileStore(Path.of(mount.path));
+                mount.fileStore = fileStore;
+            }
+
+            return new FileSystemUsage(mount.path, mount.device, mount.type, fileStore.getTotalSpace(),
+                    fileStore.getUnallocatedSpace(), fileStore.getUsableSpace());
+        }
+        catch (IOException exception)
+        {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Normalizes configured types
+     *
+     * @param types configured types
+     * @return Set of lower-case types without blanks
+     */
+    private Set<String> toTypes(final String[] types)
+    {
+        return Arrays.stream(types).map(type -> type.trim().toLowerCase(Locale.ROOT)).filter(type -> !type.isEmpty()).collect(Collectors.toSet());
+    }
+
+    /**
+     * FileSystemUsage is space of a file system at its latest reading
+     *
+     * @param mount  mount point
+     * @param device backing device, or mount point if unknown
+     * @param type   file system type
+     * @param total  total space in bytes
+     * @param free   free space in bytes, including space reserved for root
+     * @param usable space available to unprivileged users, in bytes
+     */
+    public record FileSystemUsage(String mount, String device, String type, long total, long free, long usable)
+    {
+    }
+
+    /**
+     * Mount keeps a kept file system with its cached space
+     */
+    private static final class Mount
+    {
+        /**
+         * Mount point
+         */
+        private final String path;
+
+        /**
+         * Backing device, or mount point if unknown
+         */
+        private final String device;
+
+        /**
+         * File system type
+         */
+        private final String type;
+
+        /**
+         * Opened file store, reused for every statvfs
+         */
+        private FileStore fileStore;
+
+        /**
+         * Latest read space, null before the first reading
+         */
+        private FileSystemUsage usage;
+
+        /**
+         * Time of the latest reading, successful or not, in epoch milliseconds
+         */
+        private long readAt;
+
+        /**
+         * Whether the latest reading failed
+         */
+        private boolean failing;
+
+        /**
+         * Creates mount without readings
+         *
+         * @param path   mount point
+         * @param device backing device
+         * @param type   file system type
+         */
+        private Mount(final String path, final String device, final String type)
+        {
+            this.path = path;
+            this.device = device;
+            this.type = type;
+        }
+    }
+}
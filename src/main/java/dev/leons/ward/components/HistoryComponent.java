@@ -0,0 +1,466 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.dto.HistoryDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HistoryComponent keeps history of sampled metrics in fixed-size primitive rings at several resolutions.
+ * Every insert updates min, avg and max of the open bucket of each resolution, so queries never aggregate raw samples.
+ * Memory is bounded by the amount of metrics, every metric costs the same
+ *
+ * @version 1.0.0
+ */
+@Component
+public class HistoryComponent
+{
+    /**
+     * Constant for determine bucket length of each resolution, in milliseconds
+     */
+    private static final long[] STEPS = {1_000, 10_000, 60_000};
+
+    /**
+     * Constant for determine amount of buckets of each resolution, 15 minutes, 6 hours and 7 days
+     */
+    private static final int[] CAPACITIES = {900, 2_160, 10_080};
+
+    /**
+     * Maximal amount of tracked metrics, further metrics are ignored
+     */
+    private final int maxMetrics;
+
+    /**
+     * Histories by metric name
+     */
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    /**
+     * Creates component with configured limit
+     *
+     * @param maxMetrics maximal amount of tracked metrics
+     */
+    public HistoryComponent(@Value("${ward.history.max-metrics:64}") final int maxMetrics)
+    {
+        this.maxMetrics = maxMetrics;
+    }
+
+    /**
+     * Records value of a metric at current time
+     *
+     * @param metric metric name, such as processor
+     * @param value  sampled value, NaN is ignored
+     */
+    public void record(final String metric, final double value)
+    {
+        record(metric, System.currentTimeMillis(), value);
+    }
+
+    /**
+     * Records value of a metric at given time, values older than the open bucket are ignored
+     *
+     * @param metric    metric name, such as processor
+     * @param timestamp sample time, in epoch milliseconds
+     * @param value     sampled value, NaN is ignored
+     */
+    public void record(final String metric, final long timestamp, final double value)
+    {
+        if (Double.isNaN(value))
+        {
+            return;
+        }
+
+        Series metricSeries = series.get(metric);
+
+        if (metricSeries == null)
+        {
+            if (series.size() >= maxMetrics)
+            {
+                return;
+            }
+
+            metricSeries = series.computeIfAbsent(metric, name -> new Series());
+        }
+
+        metricSeries.add(timestamp, (float) value);
+    }
+
+    /**
+     * Gets names of tracked metrics
+     *
+     * @return List of metric names, sorted
+     */
+    public List<String> getMetrics()
+    {
+        return series.keySet().stream().sorted().toList();
+    }
+
+    /**
+     * Gets longest range, which can be queried
+     *
+     * @return long with range in milliseconds
+     */
+    public long getMaxRange()
+    {
+        return STEPS[STEPS.length - 1] * CAPACITIES[CAPACITIES.length - 1];
+    }
+
+    /**
+     * Gets history of a metric from the finest resolution, which covers requested range
+     *
+     * @param metric metric name, such as processor
+     * @param range  range ending now, in milliseconds
+     * @return HistoryDto with filled fields, null if metric is not tracked
+     */
+    public HistoryDto getHistory(final String metric, final long range)
+    {
+        Series metricSeries = series.get(metric);
+
+        if (metricSeries == null)
+        {
+            return null;
+        }
+
+        HistoryDto historyDto = metricSeries.query(getTier(range), System.currentTimeMillis(), range);
+        historyDto.setMetric(metric);
+        historyDto.setRange(range);
+
+        return historyDto;
+    }
+
+    /**
+     * Gets averages of non-empty buckets of a metric from the finest resolution, which covers requested range
+     *
+     * @param metric metric name, such as processor
+     * @param range  range ending now, in milliseconds
+     * @return Samples with bucket timestamps and averages, null if metric is not tracked
+     */
+    public Samples getSamples(final String metric, final long range)
+    {
+        Series metricSeries = series.get(metric);
+
+        return (metricSeries != null) ? metricSeries.samples(getTier(range), System.currentTimeMillis(), range) : null;
+    }
+
+    /**
+     * Finds the finest resolution, which covers range
+     *
+     * @param range range ending now, in milliseconds
+     * @return int with index of resolution
+     */
+    private int getTier(final long range)
+    {
+        int tier = 0;
+
+        while ((tier < STEPS.length - 1) && (STEPS[tier] * CAPACITIES[tier] < range))
+        {
+            tier++;
+        }
+
+        return tier;
+    }
+
+    /**
+     * Samples are timestamps and values of non-empty buckets, in primitive arrays
+     *
+     * @param timestamps bucket start timestamps, ascending
+     * @param values     bucket averages
+     * @param size       amount of filled elements
+     */
+    public record Samples(long[] timestamps, float[] values, int size)
+    {
+    }
+
+    /**
+     * Series keeps all resolutions of a single metric
+     */
+    private static final class Series
+    {
+        /**
+         * Resolutions, finest first
+         */
+        private final Tier[] tiers = new Tier[STEPS.length];
+
+        /**
+         * Allocates all resolutions up front, so memory does not grow with uptime
+         */
+        private Series()
+        {
+            for (int i = 0; i < tiers.length; i++)
+            {
+                tiers[i] = new Tier(STEPS[i], CAPACITIES[i]);
+            }
+        }
+
+        /**
+         * Adds value to every resolution
+         *
+         * @param timestamp sample time, in epoch milliseconds
+         * @param value     sampled value
+         */
+        private synchronized void add(final long timestamp, final float value)
+        {
+            for (Tier tier : tiers)
+            {
+                tier.add(timestamp, value);
+            }
+        }
+
+        /**
+         * Copies buckets of a resolution
+         *
+         * @param tier  index of resolution
+         * @param now   current time, in epoch milliseconds
+         * @param range range ending now, in milliseconds
+         * @return HistoryDto with filled points
+         */
+        private synchronized HistoryDto query(final int tier, final long now, final long range)
+        {
+            return tiers[tier].query(now, range);
+        }
+
+        /**
+         * Copies averages of non-empty buckets of a resolution
+         *
+         * @param tier  index of resolution
+         * @param now   current time, in epoch milliseconds
+         * @param range range ending now, in milliseconds
+         * @return Samples with filled arrays
+         */
+        private synchronized Samples samples(final int tier, final long now, final long range)
+        {
+            return tiers[tier].samples(now, range);
+        }
+    }
+
+    /**
+     * Tier is a ring of buckets of a single resolution, plus the open bucket which is being filled
+     */
+    private static final class Tier
+    {
+        /**
+         * Bucket length, in milliseconds
+         */
+        private final long step;
+
+        /**
+         * Amount of buckets in ring
+         */
+        private final int capacity;
+
+        /**
+         * Minimal values of closed buckets, NaN for buckets without samples
+         */
+        private final float[] min;
+
+        /**
+         * Average values of closed buckets, NaN for buckets without samples
+         */
+        private final float[] avg;
+
+        /**
+         * Maximal values of closed buckets, NaN for buckets without samples
+         */
+        private final float[] max;
+
+        /**
+         * Slot of the newest closed bucket, -1 if there is none
+         */
+        private long headSlot = -1;
+
+        /**
+         * Slot of the open bucket, -1 if there is none
+         */
+        private long openSlot = -1;
+
+        /**
+         * Amount of samples in the open bucket
+         */
+        private int openCount;
+
+        /**
+         * Sum of samples in the open bucket
+         */
+        private double openSum;
+
+        /**
+         * Minimal sample in the open bucket
+         */
+        private float openMin;
+
+        /**
+         * Maximal sample in the open bucket
+         */
+        private float openMax;
+
+        /**
+         * Allocates ring
+         *
+         * @param step     bucket length, in milliseconds
+         * @param capacity amount of buckets
+         */
+        private Tier(final long step, final int capacity)
+        {
+            this.step = step;
+            this.capacity = capacity;
+
+            min = new float[capacity];
+            avg = new float[capacity];
+            max = new float[capacity];
+
+            Arrays.fill(min, Float.NaN);
+            Arrays.fill(avg, Float.NaN);
+            Arrays.fill(max, Float.NaN);
+        }
+
+        /**
+         * Adds value to the open bucket, closing it first if value belongs to a later bucket
+         *
+         * @param timestamp sample time, in epoch milliseconds
+         * @param value     sampled value
+         */
+        private void add(final long timestamp, final float value)
+        {
+            long slot = timestamp / step;
+
+            if (slot != openSlot)
+            {
+                if (slot < openSlot)
+                {
+                    return;
+                }
+
+                close();
+
+                openSlot = slot;
+                openCount = 0;
+                openSum = 0;
+                openMin = Float.POSITIVE_INFINITY;
+                openMax = Float.NEGATIVE_INFINITY;
+            }
+
+            openCount++;
+            openSum += value;
+            openMin = Math.min(openMin, value);
+            openMax = Math.max(openMax, value);
+        }
+
+        /**
+         * Writes the open bucket into ring, buckets skipped since the previous one are marked empty
+         */
+        private void close()
+        {
+            if ((openSlot < 0) || (openCount == 0))
+            {
+                return;
+            }
+
+            if (headSlot >= 0)
+            {
+                for (long slot = Math.max(headSlot + 1, openSlot - capacity + 1); slot < openSlot; slot++)
+                {
+                    int index = (int) (slot % capacity);
+                    min[index] = Float.NaN;
+                    avg[index] = Float.NaN;
+                    max[index] = Float.NaN;
+                }
+            }
+
+            int index = (int) (openSlot % capacity);
+            min[index] = openMin;
+            avg[index] = (float) (openSum / openCount);
+            max[index] = openMax;
+            headSlot = openSlot;
+        }
+
+        /**
+         * Copies buckets covering range, the open bucket is included as the latest point
+         *
+         * @param now   current time, in epoch milliseconds
+         * @param range range ending now, in milliseconds
+         * @return HistoryDto with filled points
+         */
+        private HistoryDto query(final long now, final long range)
+        {
+            long lastSlot = now / step;
+            long firstSlot = Math.max((now - range) / step + 1, lastSlot - capacity + 1);
+            int size = (int) (lastSlot - firstSlot + 1);
+
+            Float[] minPoints = new Float[size];
+            Float[] avgPoints = new Float[size];
+            Float[] maxPoints = new Float[size];
+
+            for (int i = 0; i < size; i++)
+            {
+                long slot = firstSlot + i;
+
+                if ((slot == openSlot) && (openCount > 0))
+                {
+                    minPoints[i] = openMin;
+                    avgPoints[i] = (float) (openSum / openCount);
+                    maxPoints[i] = openMax;
+                }
+                else if ((slot <= headSlot) && (slot > headSlot - capacity))
+                {
+                    int index = (int) (slot % capacity);
+                    minPoints[i] = Float.isNaN(min[index]) ? null : min[index];
+                    avgPoints[i] = Float.isNaN(avg[index]) ? null : avg[index];
+                    maxPoints[i] = Float.isNaN(max[index]) ? null : max[index];
+                }
+            }
+
+            HistoryDto historyDto = new HistoryDto();
+            historyDto.setStep(step);
+            historyDto.setStart(firstSlot * step);
+            historyDto.setMin(minPoints);
+            historyDto.setAvg(avgPoints);
+            historyDto.setMax(maxPoints);
+
+            return historyDto;
+        }
+
+        /**
+         * Copies averages of non-empty buckets covering range, the open bucket is included as the latest point
+         *
+         * @param now   current time, in epoch milliseconds
+         * @param range range ending now, in milliseconds
+         * @return Samples with filled arrays
+         */
+        private Samples samples(final long now, final long range)
+        {
+            long lastSlot = now / step;
+            long firstSlot = Math.max((now - range) / step + 1, lastSlot - capacity + 1);
+            int length = (int) (lastSlot - firstSlot + 1);
+
+            long[] timestamps = new long[length];
+            float[] values = new float[length];
+            int size = 0;
+
+            for (long slot = firstSlot; slot <= lastSlot; slot++)
+            {
+                float value = Float.NaN;
+
+                if ((slot == openSlot) && (openCount > 0))
+                {
+                    value = (float) (openSum / openCount);
+                }
+                else if ((slot <= headSlot) && (slot > headSlot - capacity))
+                {
+                    value = avg[(int) (slot % capacity)];
+                }
+
+                if (!Float.isNaN(value))
+                {
+                    timestamps[size] = slot * step;
+                    values[size++] = value;
+                }
+            }
+
+            return new Samples(timestamps, values, size);
+        }
+    }
+}
@@ -0,0 +1,526 @@
+package dev.leons.ward.components;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.leons.ward.dto.FleetDto;
+import dev.leons.ward.dto.PeerDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HubComponent turns Ward into a hub, which polls usage and info of peer Ward instances and serves them from cache.
+ * Every peer has its own jittered timer, so polls of a large fleet are spread instead of firing at once.
+ * A single platform thread only dispatches timers, every poll runs on its own virtual thread with per request
+ * timeouts, so a slow or dead peer holds nothing but its own virtual thread. Peers failing in a row are polled
+ * with growing backoff. Info rarely changes and is refreshed on a much longer interval than usage
+ *
+ * @version 1.0.0
+ */
+@Component
+public class HubComponent
+{
+    /**
+     * Constant for determine maximal backoff of failing peers, as a multiplier of poll interval
+     */
+    private static final int MAX_BACKOFF = 16;
+
+    /**
+     * Constant for determine status of a peer, which replied to the latest poll
+     */
+    public static final String UP = "up";
+
+    /**
+     * Constant for determine status of a peer, which failed the latest poll
+     */
+    public static final String DOWN = "down";
+
+    /**
+     * Constant for determine status of a peer, which was not polled yet
+     */
+    private static final String PENDING = "pending";
+
+    /**
+     * Autowired ObjectMapper object
+     * Used for parsing responses of peers
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Peer Ward instances, as base url or name=url, empty disables hub mode
+     */
+    @Value("${ward.hub.peers:}")
+    private String[] peerEntries;
+
+    /**
+     * How often usage of every peer is polled, in milliseconds
+     */
+    @Value("${ward.hub.interval:5000}")
+    private long interval;
+
+    /**
+     * How often info of every peer is polled, in milliseconds
+     */
+    @Value("${ward.hub.info-interval:300000}")
+    private long infoInterval;
+
+    /**
+     * Timeout of connecting and of every request to a peer, in milliseconds
+     */
+    @Value("${ward.hub.timeout:2000}")
+    private long timeout;
+
+    /**
+     * Random deviation of poll interval, as a fraction of it
+     */
+    @Value("${ward.hub.jitter:0.2}")
+    private double jitter;
+
+    /**
+     * Configured peers, in configuration order
+     */
+    private List<Peer> peers = List.of();
+
+    /**
+     * Dispatches timers of peers to virtual threads, null if hub mode is disabled
+     */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Runs every poll on its own virtual thread, null if hub mode is disabled
+     */
+    private ExecutorService executor;
+
+    /**
+     * Client shared by all peers, running on virtual threads
+     */
+    private HttpClient httpClient;
+
+    /**
+     * Parses configured peers and starts their timers, spread over the first interval
+     */
+    @PostConstruct
+    public void initialize()
+    {
+        List<Peer> configuredPeers = new ArrayList<>();
+
+        for (String entry : peerEntries)
+        {
+            String trimmed = entry.trim();
+
+            if (trimmed.isEmpty())
+            {
+                continue;
+            }
+
+            int separator = trimmed.indexOf('=');
+            String url = ((separator > 0) ? trimmed.substring(separator + 1) : trimmed).trim().replaceAll("/+$", "");
+
+            try
+            {
+                URI uri = URI.create(url);
+
+                if ((uri.getScheme() == null) || (uri.getHost() == null))
+                {
+                    throw new IllegalArgumentException("no scheme or host");
+                }
+
+                String name = (separator > 0) ? trimmed.substring(0, separator).trim() : uri.getAuthority();
+                configuredPeers.add(new Peer(name, url));
+            }
+            catch (IllegalArgumentException exception)
+            {
+                System.out.println("集群节点地址无效: " + entry + " " + exception.getMessage());
+            }
+        }
+
+        peers = List.copyOf(configuredPeers);
+
+        if (peers.isEmpty())
+        {
+            return;
+        }
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("ward-hub").daemon().factory());
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(timeout))
+                .executor(executor)
+                .build();
+
+        for (Peer peer : peers)
+        {
+            schedule(peer, ThreadLocalRandom.current().nextLong(Math.max(1, interval)));
+        }
+    }
+
+    /**
+     * Stops timers and interrupts polls in flight
+     */
+    @PreDestroy
+    public void close()
+    {
+        if (scheduler != null)
+        {
+            // Closing the client would wait for slow peers, so requests in flight are aborted instead
+            scheduler.shutdownNow();
+            httpClient.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Copies cached state of every peer, without waiting for any of them
+     *
+     * @return FleetDto with peers in configuration order
+     */
+    public FleetDto getFleet()
+    {
+        List<PeerDto> peerDtos = new ArrayList<>(peers.size());
+        int up = 0;
+        int down = 0;
+
+        for (Peer peer : peers)
+        {
+            PeerDto peerDto = peer.toDto();
+            peerDtos.add(peerDto);
+
+            if (UP.equals(peerDto.getStatus()))
+            {
+                up++;
+            }
+            else if (DOWN.equals(peerDto.getStatus()))
+            {
+                down++;
+            }
+        }
+
+        FleetDto fleetDto = new FleetDto();
+        fleetDto.setUp(up);
+        fleetDto.setDown(down);
+        fleetDto.setPending(peerDtos.size() - up - down);
+        fleetDto.setPeers(peerDtos);
+
+        return fleetDto;
+    }
+
+    /**
+     * Starts timer of the next poll of a peer
+     *
+     * @param peer  polled peer
+     * @param delay delay in milliseconds
+     */
+    private void schedule(final Peer peer, final long delay)
+    {
+        try
+        {
+            scheduler.schedule(() -> executor.execute(() -> poll(peer)), delay, TimeUnit.MILLISECONDS);
+        }
+        catch (RejectedExecutionException exception)
+        {
+            // Hub is stopping, so the peer is not polled anymore
+        }
+    }
+
+    /**
+     * Waits for info polled alongside usage
+     *
+     * @param info pending info, null if info was not due
+     * @return JsonNode with info, null if it was not due or failed, failed info is polled again next time
+     */
+    private JsonNode await(final Future<JsonNode> info) throws InterruptedException
+    {
+        if (info == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            return info.get();
+        }
+        catch (ExecutionException exception)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Polls usage of a peer, and info if its cached copy is outdated, concurrently, then schedules the next poll,
+     * even if the poll failed with an Error
+     *
+     * @param peer polled peer
+     */
+    private void poll(final Peer peer)
+    {
+        long start = System.nanoTime();
+        boolean infoDue = peer.isInfoDue(System.currentTimeMillis(), infoInterval);
+        boolean interrupted = false;
+
+        // Error which escapes the poll before the peer recorded it still backs off like a single failure
+        int failures = 1;
+
+        try
+        {
+            Future<JsonNode> info = infoDue ? executor.submit(() -> get(peer, "/api/info")) : null;
+            JsonNode usage;
+
+            try
+            {
+                usage = get(peer, "/api/usage");
+            }
+            catch (IOException | RuntimeException | Error exception)
+            {
+                if (info != null)
+                {
+                    info.cancel(true);
+                }
+
+                throw exception;
+            }
+
+            failures = peer.succeed(usage, await(info), (System.nanoTime() - start) / 1_000_000);
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            interrupted = true;
+        }
+        catch (IOException | RuntimeException exception)
+        {
+            failures = peer.fail(exception);
+        }
+        catch (Error error)
+        {
+            failures = peer.fail(error);
+            throw error;
+        }
+        finally
+        {
+            // Interrupted poll means hub is stopping, any other outcome, even an Error, keeps the peer polled
+            if (!interrupted)
+            {
+                // Failing peers are polled less often, so a dead part of the fleet costs little
+                long backoff = interval * Math.min(1L << Math.min(failures, 30), MAX_BACKOFF);
+                double deviation = jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+
+                schedule(peer, Math.max(1, Math.round(backoff * (1 + deviation))));
+            }
+        }
+    }
+
+    /**
+     * Requests an endpoint of a peer
+     *
+     * @param peer requested peer
+     * @param path endpoint path, such as /api/usage
+     * @return JsonNode with parsed response
+     * @throws IOException if peer is unreachable, too slow or replies with an error
+     */
+    private JsonNode get(final Peer peer, final String path) throws IOException, InterruptedException
+    {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(peer.url + path))
+                .timeout(Duration.ofMillis(timeout))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        if (response.statusCode() != 200)
+        {
+            throw new IOException("HTTP " + response.statusCode() + " from " + path);
+        }
+
+        return objectMapper.readTree(response.body());
+    }
+
+    /**
+     * Peer keeps cached usage and info of a peer Ward instance, guarded by its own lock
+     */
+    private static final class Peer
+    {
+        /**
+         * Peer name
+         */
+        private final String name;
+
+        /**
+         * Base url without trailing slash
+         */
+        private final String url;
+
+        /**
+         * Latest usage, null before the first successful poll
+         */
+        private JsonNode usage;
+
+        /**
+         * Latest info, null before the first successful poll of info
+         */
+        private JsonNode info;
+
+        /**
+         * Time of the latest successful poll of info, in epoch milliseconds
+         */
+        private long infoAt;
+
+        /**
+         * Time of the latest successful poll, in epoch milliseconds, 0 before the first one
+         */
+        private long updatedAt;
+
+        /**
+         * Duration of the latest successful poll, in milliseconds
+         */
+        private long latency;
+
+        /**
+         * Amount of failed polls in a row
+         */
+        private int failures;
+
+        /**
+         * Message of the latest failure, null after a successful poll
+         */
+        private String error;
+
+        /**
+         * Creates peer without state
+         *
+         * @param name peer name
+         * @param url  base url
+         */
+        private Peer(final String name, final String url)
+        {
+            this.name = name;
+            this.url = url;
+        }
+
+        /**
+         * Checks if cached info has to be refreshed
+         *
+         * @param now          current time, in epoch milliseconds
+         * @param infoInterval interval of info polls, in milliseconds
+         * @return true if info is missing or outdated
+         */
+        private synchronized boolean isInfoDue(final long now, final long infoInterval)
+        {
+            return (info == null) || (now - infoAt >= infoInterval);
+        }
+
+        /**
+         * Stores result of a successful poll
+         *
+         * @param usage   polled usage
+         * @param info    polled info, null if info was not due
+         * @param latency duration of the poll, in milliseconds
+         * @return int with amount of failed polls in a row, always 0
+         */
+        private synchronized int succeed(final JsonNode usage, final JsonNode info, final long latency)
+        {
+            long now = System.currentTimeMillis();
+
+            if (info != null)
+            {
+                this.info = info;
+                this.infoAt = now;
+            }
+
+            this.usage = usage;
+            this.updatedAt = now;
+            this.latency = latency;
+            this.failures = 0;
+            this.error = null;
+
+            return failures;
+        }
+
+        /**
+         * Stores failure of a poll, cached values are kept and shown as stale
+         *
+         * @param cause cause of the failure
+         * @return int with amount of failed polls in a row
+         */
+        private synchronized int fail(final Throwable cause)
+        {
+            error = (cause.getMessage() != null) ? cause.getMessage() : cause.getClass().getSimpleName();
+            return ++failures;
+        }
+
+        /**
+         * Maps cached state to dto
+         *
+         * @return PeerDto with filled fields
+         */
+        private synchronized PeerDto toDto()
+        {
+            PeerDto peerDto = new PeerDto();
+            peerDto.setName(name);
+            peerDto.setUrl(url);
+            peerDto.setStatus((failures > 0) ? DOWN : ((updatedAt == 0) ? PENDING : UP));
+            peerDto.setError(error);
+
+            if (updatedAt != 0)
+            {
+                peerDto.setUpdatedAt(updatedAt);
+                peerDto.setLatency(latency);
+                peerDto.setProcessor(toInteger(usage.path("processor")));
+                peerDto.setRam(toInteger(usage.path("ram")));
+                peerDto.setStorage(toInteger(usage.path("storage")));
+            }
+
+            if (info != null)
+            {
+                peerDto.setProcessorName(toText(info.path("processor").path("name")));
+                peerDto.setCoreCount(toText(info.path("processor").path("coreCount")));
+                peerDto.setTotalRam(toText(info.path("machine").path("totalRam")));
+                peerDto.setTotalStorage(toText(info.path("storage").path("total")));
+            }
+
+            return peerDto;
+        }
+
+        /**
+         * Reads integer of a response field
+         *
+         * @param node response field
+         * @return Integer with value, null if field is missing
+         */
+        private static Integer toInteger(final JsonNode node)
+        {
+            return node.isNumber() ? node.asInt() : null;
+        }
+
+        /**
+         * Reads text of a response field
+         *
+         * @param node response field
+         * @return String with value, null if field is missing
+         */
+        private static String toText(final JsonNode node)
+        {
+            return (node.isMissingNode() || node.isNull()) ? null : node.asText();
+        }
+    }
+}
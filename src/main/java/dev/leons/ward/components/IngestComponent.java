@@ -0,0 +1,495 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.dto.AgentDto;
+import dev.leons.ward.dto.IngestDto;
+import dev.leons.ward.dto.PeerDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * IngestComponent turns Ward into a central instance, which receives sample batches pushed by agents.
+ * Request threads only enqueue the raw body into a queue bounded by both batches and bytes and reply at once, a full
+ * queue rejects the batch,
+ * so agents keep it and push it again later instead of the receiver piling up work. A single decoder thread drains
+ * the queue and keeps the latest sample of every agent in a per-agent table, so receiving many agents costs one
+ * core at most and reading the table never waits for decoding
+ *
+ * @version 1.0.0
+ */
+@Component
+public class IngestComponent
+{
+    /**
+     * Constant for determine after how many missed push intervals an agent is shown as down
+     */
+    private static final int STALE_INTERVALS = 3;
+
+    /**
+     * Constant for determine maximal amount of batches taken from the queue at once
+     */
+    private static final int DRAIN_SIZE = 64;
+
+    /**
+     * Whether batches of agents are accepted
+     */
+    @Value("${ward.ingest.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * Token agents have to send, empty to accept any agent
+     */
+    @Value("${ward.ingest.token:}")
+    private String token;
+
+    /**
+     * Maximal amount of batches waiting for decoding
+     */
+    @Value("${ward.ingest.queue:1024}")
+    private int capacity;
+
+    /**
+     * Maximal total size of batches waiting for decoding, in bytes
+     */
+    @Value("${ward.ingest.queue-bytes:16777216}")
+    private long capacityBytes;
+
+    /**
+     * Maximal size of a batch, in bytes
+     */
+    @Value("${ward.ingest.max-batch:65536}")
+    private int maxBatch;
+
+    /**
+     * Maximal amount of tracked agents, batches of further agents are rejected
+     */
+    @Value("${ward.ingest.max-agents:10000}")
+    private int maxAgents;
+
+    /**
+     * Batches waiting for decoding, null if ingestion is disabled
+     */
+    private BlockingQueue<QueuedBatch> queue;
+
+    /**
+     * Total size of batches waiting for decoding, in bytes
+     */
+    private final AtomicLong queuedBytes = new AtomicLong();
+
+    /**
+     * Thread decoding queued batches, null if ingestion is disabled
+     */
+    private Thread decoder;
+
+    /**
+     * Agent states by agent name
+     */
+    private final Map<String, AgentState> agents = new ConcurrentHashMap<>();
+
+    /**
+     * Amount of queued batches
+     */
+    private final LongAdder accepted = new LongAdder();
+
+    /**
+     * Amount of batches rejected because the queue was full or too many agents are tracked
+     */
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Amount of batches which could not be decoded
+     */
+    private final LongAdder malformed = new LongAdder();
+
+    /**
+     * Amount of decoded samples
+     */
+    private final LongAdder samples = new LongAdder();
+
+    /**
+     * Allocates queue and starts decoder thread, if ingestion is enabled
+     */
+    @PostConstruct
+    public void initialize()
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        decoder = Thread.ofPlatform().name("ward-ingest").daemon().start(this::decode);
+    }
+
+    /**
+     * Stops decoder thread, queued batches are dropped
+     */
+    @PreDestroy
+    public void close()
+    {
+        if (decoder != null)
+        {
+            decoder.interrupt();
+        }
+    }
+
+    /**
+     * Checks if batches of agents are accepted
+     *
+     * @return true if ingestion is enabled
+     */
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Checks token sent by an agent, in constant time
+     *
+     * @param agentToken token sent by the agent, may be null
+     * @return true if no token is configured or tokens match
+     */
+    public boolean isAuthorized(final String agentToken)
+    {
+        return token.isEmpty() || ((agentToken != null)
+                && MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), agentToken.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Gets maximal size of a batch
+     *
+     * @return int with maximal size, in bytes
+     */
+    public int getMaxBatch()
+    {
+        return maxBatch;
+    }
+
+    /**
+     * Queues a batch for decoding without waiting. Bytes are reserved before the batch is queued,
+     * so bodies waiting for decoding never hold more than the configured amount of heap
+     *
+     * @param body    gzipped SampleBatch
+     * @param address address of the agent
+     * @return true if batch was queued, false if the queue is full
+     */
+    public boolean offer(final byte[] body, final String address)
+    {
+        if (queuedBytes.addAndGet(body.length) <= capacityBytes)
+        {
+            if (queue.offer(new QueuedBatch(body, address, System.currentTimeMillis())))
+            {
+                accepted.increment();
+                return true;
+            }
+        }
+
+        queuedBytes.addAndGet(-body.length);
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Copies ingestion counters and state of every agent, without waiting for decoding
+     *
+     * @return IngestDto with agents ordered by name
+     */
+    public IngestDto getIngest()
+    {
+        long now = System.currentTimeMillis();
+        List<AgentDto> agentDtos = new ArrayList<>(agents.size());
+
+        for (AgentState agentState : agents.values())
+        {
+            agentDtos.add(agentState.toDto(now));
+        }
+
+        agentDtos.sort(Comparator.comparing(AgentDto::getName));
+
+        IngestDto ingestDto = new IngestDto();
+        ingestDto.setQueued((queue != null) ? queue.size() : 0);
+        ingestDto.setCapacity((queue != null) ? queue.size() + queue.remainingCapacity() : 0);
+        ingestDto.setAccepted(accepted.sum());
+        ingestDto.setRejected(rejected.sum());
+        ingestDto.setMalformed(malformed.sum());
+        ingestDto.setSamples(samples.sum());
+        ingestDto.setAgents(agentDtos);
+
+        return ingestDto;
+    }
+
+    /**
+     * Maps state of every agent to a fleet peer, so agents are shown next to polled peers
+     *
+     * @return List of PeerDto, ordered by name
+     */
+    public List<PeerDto> getPeers()
+    {
+        long now = System.currentTimeMillis();
+        List<PeerDto> peerDtos = new ArrayList<>(agents.size());
+
+        for (AgentState agentState : agents.values())
+        {
+            peerDtos.add(agentState.toPeerDto(now));
+        }
+
+        peerDtos.sort(Comparator.comparing(PeerDto::getName));
+        return peerDtos;
+    }
+
+    /**
+     * Takes queued batches in chunks and decodes them, until interrupted
+     */
+    private void decode()
+    {
+        List<QueuedBatch> chunk = new ArrayList<>(DRAIN_SIZE);
+
+        try
+        {
+            while (!Thread.currentThread().isInterrupted())
+            {
+                chunk.add(queue.take());
+                queue.drainTo(chunk, DRAIN_SIZE - 1);
+
+                for (QueuedBatch queuedBatch : chunk)
+                {
+                    queuedBytes.addAndGet(-queuedBatch.body().length);
+                    ingest(queuedBatch);
+                }
+
+                chunk.clear();
+            }
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Decodes a batch and updates state of its agent
+     *
+     * @param queuedBatch batch to decode
+     */
+    private void ingest(final QueuedBatch queuedBatch)
+    {
+        SampleBatch sampleBatch;
+
+        try
+        {
+            sampleBatch = SampleBatch.decode(queuedBatch.body());
+        }
+        catch (IOException | RuntimeException exception)
+        {
+            malformed.increment();
+            return;
+        }
+
+        AgentState agentState = agents.get(sampleBatch.getAgent());
+
+        if (agentState == null)
+        {
+            if (agents.size() >= maxAgents)
+            {
+                rejected.increment();
+                return;
+            }
+
+            agentState = agents.computeIfAbsent(sampleBatch.getAgent(), AgentState::new);
+        }
+
+        agentState.update(sampleBatch, queuedBatch.address(), queuedBatch.receivedAt());
+        samples.add(sampleBatch.getCount());
+    }
+
+    /**
+     * QueuedBatch is a raw batch waiting for decoding
+     *
+     * @param body       gzipped SampleBatch
+     * @param address    address of the agent
+     * @param receivedAt time the batch was received, in epoch milliseconds
+     */
+    private record QueuedBatch(byte[] body, String address, long receivedAt)
+    {
+    }
+
+    /**
+     * AgentState keeps the latest sample of an agent, written by the decoder thread and read by request threads
+     */
+    private static final class AgentState
+    {
+        /**
+         * Agent name
+         */
+        private final String name;
+
+        /**
+         * Quantized values of the latest sample, indexed by SampleBatch fields
+         */
+        private final long[] latest = new long[SampleBatch.FIELDS];
+
+        /**
+         * Address of the latest push
+         */
+        private String address;
+
+        /**
+         * Time of the latest push, in epoch milliseconds
+         */
+        private long updatedAt;
+
+        /**
+         * Time of the latest sample, in epoch milliseconds, 0 before the first sample
+         */
+        private long sampledAt;
+
+        /**
+         * Push interval of the agent, in milliseconds
+         */
+        private long pushInterval;
+
+        /**
+         * Amount of received batches
+         */
+        private long batches;
+
+        /**
+         * Amount of received samples
+         */
+        private long samples;
+
+        /**
+         * Creates state of a newly seen agent
+         *
+         * @param name agent name
+         */
+        private AgentState(final String name)
+        {
+            this.name = name;
+        }
+
+        /**
+         * Stores the newest sample of a batch, batches delayed behind newer ones only add to counters
+         *
+         * @param sampleBatch decoded batch
+         * @param address     address of the agent
+         * @param receivedAt  time the batch was received, in epoch milliseconds
+         */
+        private synchronized void update(final SampleBatch sampleBatch, final String address, final long receivedAt)
+        {
+            int count = sampleBatch.getCount();
+
+            if ((count > 0) && (sampleBatch.getTimestamp(count - 1) >= sampledAt))
+            {
+                sampledAt = sampleBatch.getTimestamp(count - 1);
+
+                for (int field = 0; field < SampleBatch.FIELDS; field++)
+                {
+                    latest[field] = sampleBatch.getValue(count - 1, field);
+                }
+            }
+
+            this.address = address;
+            this.updatedAt = receivedAt;
+            this.pushInterval = sampleBatch.getPushInterval();
+            this.batches++;
+            this.samples += count;
+        }
+
+        /**
+         * Gets status of the agent
+         *
+         * @param now current time, in epoch milliseconds
+         * @return String with up, or down if the agent missed several pushes
+         */
+        private String getStatus(final long now)
+        {
+            return (now - updatedAt > STALE_INTERVALS * Math.max(pushInterval, 1_000)) ? HubComponent.DOWN : HubComponent.UP;
+        }
+
+        /**
+         * Maps state to dto
+         *
+         * @param now current time, in epoch milliseconds
+         * @return AgentDto with filled fields
+         */
+        private synchronized AgentDto toDto(final long now)
+        {
+            AgentDto agentDto = new AgentDto();
+            agentDto.setName(name);
+            agentDto.setAddress(address);
+            agentDto.setStatus(getStatus(now));
+            agentDto.setUpdatedAt(updatedAt);
+            agentDto.setSampledAt(sampledAt);
+            agentDto.setPushInterval(pushInterval);
+            agentDto.setBatches(batches);
+            agentDto.setSamples(samples);
+            agentDto.setProcessor(getValue(SampleBatch.PROCESSOR));
+            agentDto.setRam(getValue(SampleBatch.RAM));
+            agentDto.setStorage(getValue(SampleBatch.STORAGE));
+            agentDto.setNetworkReceive(getValue(SampleBatch.NETWORK_RECEIVE));
+            agentDto.setNetworkSend(getValue(SampleBatch.NETWORK_SEND));
+            agentDto.setDiskRead(getValue(SampleBatch.DISK_READ));
+            agentDto.setDiskWrite(getValue(SampleBatch.DISK_WRITE));
+
+            return agentDto;
+        }
+
+        /**
+         * Maps state to fleet peer
+         *
+         * @param now current time, in epoch milliseconds
+         * @return PeerDto with filled fields
+         */
+        private synchronized PeerDto toPeerDto(final long now)
+        {
+            PeerDto peerDto = new PeerDto();
+            peerDto.setName(name);
+            peerDto.setUrl(address);
+            peerDto.setStatus(getStatus(now));
+            peerDto.setUpdatedAt(updatedAt);
+            peerDto.setProcessor(toPercent(getValue(SampleBatch.PROCESSOR)));
+            peerDto.setRam(toPercent(getValue(SampleBatch.RAM)));
+            peerDto.setStorage(toPercent(getValue(SampleBatch.STORAGE)));
+
+            return peerDto;
+        }
+
+        /**
+         * Restores value of a field of the latest sample
+         *
+         * @param field field index, such as SampleBatch.PROCESSOR
+         * @return Double with value, null if unknown or no sample was received
+         */
+        private Double getValue(final int field)
+        {
+            double value = SampleBatch.restore(field, latest[field]);
+            return ((sampledAt == 0) || Double.isNaN(value)) ? null : value;
+        }
+
+        /**
+         * Truncates percents the way usage of polled peers is truncated
+         *
+         * @param value percents, may be null
+         * @return Integer with truncated percents, null if unknown
+         */
+        private static Integer toPercent(final Double value)
+        {
+            return (value != null) ? value.intValue() : null;
+        }
+    }
+}
@@ -0,0 +1,513 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.dto.HistoryDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MetricStoreComponent persists sampled metrics into compressed, memory-mapped segment files, one directory per metric.
+ * Segments are rotated by time, deleted after retention period and replayed into history on startup,
+ * so history survives restarts of the application
+ *
+ * @version 1.0.0
+ */
+@Component
+public class MetricStoreComponent
+{
+    /**
+     * Constant for determine segment file extension
+     */
+    private static final String SEGMENT_EXTENSION = ".seg";
+
+    /**
+     * Constant for determine size of a segment file, which stays sparse until written
+     */
+    private static final int SEGMENT_CAPACITY = 1024 * 1024;
+
+    /**
+     * Constant for determine longest segment duration, so timestamp deltas always fit into 32 bits
+     */
+    private static final long MAX_SEGMENT_DURATION = 7 * 86_400_000L;
+
+    /**
+     * Constant for determine amount of points returned for ranges read from disk
+     */
+    private static final int MAX_POINTS = 2_000;
+
+    /**
+     * Autowired HistoryComponent object
+     * Used for replaying persisted samples
+     */
+    @Autowired
+    private HistoryComponent historyComponent;
+
+    /**
+     * Is persistence enabled
+     */
+    @Value("${ward.store.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Directory with metric directories
+     */
+    @Value("${ward.store.directory:data}")
+    private Path directory;
+
+    /**
+     * Duration of a segment in hours
+     */
+    @Value("${ward.store.segment-hours:24}")
+    private long segmentHours;
+
+    /**
+     * Retention period in days, older segments are deleted
+     */
+    @Value("${ward.store.retention-days:28}")
+    private long retentionDays;
+
+    /**
+     * Open writers by metric name
+     */
+    private final Map<String, Writer> writers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates directory, removes expired segments and replays the rest into history
+     */
+    @PostConstruct
+    public void initialize()
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        try
+        {
+            Files.createDirectories(directory);
+        }
+        catch (IOException exception)
+        {
+            System.out.println("无法创建数据目录: " + exception.getMessage());
+            enabled = false;
+            return;
+        }
+
+        deleteExpired();
+
+        long now = System.currentTimeMillis();
+
+        for (Path metricDirectory : list(directory, "*"))
+        {
+            String metric = metricDirectory.getFileName().toString();
+            read(metric, now - historyComponent.getMaxRange(), now, (timestamp, value) -> historyComponent.record(metric, timestamp, value));
+        }
+    }
+
+    /**
+     * Appends sample of a metric at current time
+     *
+     * @param metric metric name, such as processor
+     * @param value  sampled value, NaN is ignored
+     */
+    public void append(final String metric, final double value)
+    {
+        if (!enabled || Double.isNaN(value))
+        {
+            return;
+        }
+
+        Writer writer = writers.computeIfAbsent(getFileName(metric), Writer::new);
+        writer.append(System.currentTimeMillis(), value);
+    }
+
+    /**
+     * Checks if persisted samples can serve given range
+     *
+     * @param range range ending now, in milliseconds
+     * @return true if store is enabled and range is within retention period
+     */
+    public boolean covers(final long range)
+    {
+        return enabled && (range <= retentionDays * 86_400_000L);
+    }
+
+    /**
+     * Aggregates persisted samples of a metric into at most MAX_POINTS buckets
+     *
+     * @param metric metric name, such as processor
+     * @param range  range ending now, in milliseconds
+     * @return HistoryDto with filled fields, null if metric was never persisted
+     */
+    public HistoryDto getHistory(final String metric, final long range)
+    {
+        String fileName = getFileName(metric);
+
+        if (!Files.isDirectory(directory.resolve(fileName)))
+        {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        long step = Math.max(60_000L, ((range / MAX_POINTS) / 60_000L + 1) * 60_000L);
+        long firstSlot = (now - range) / step + 1;
+        int size = (int) (now / step - firstSlot + 1);
+
+        float[] min = new float[size];
+        float[] max = new float[size];
+        double[] sum = new double[size];
+        int[] count = new int[size];
+
+        read(fileName, firstSlot * step, now, (timestamp, value) ->
+        {
+            int index = (int) (timestamp / step - firstSlot);
+            min[index] = (count[index] == 0) ? (float) value : Math.min(min[index], (float) value);
+            max[index] = (count[index] == 0) ? (float) value : Math.max(max[index], (float) value);
+            sum[index] += value;
+            count[index]++;
+        });
+
+        Float[] minPoints = new Float[size];
+        Float[] avgPoints = new Float[size];
+        Float[] maxPoints = new Float[size];
+
+        for (int i = 0; i < size; i++)
+        {
+            if (count[i] > 0)
+            {
+                minPoints[i] = min[i];
+                avgPoints[i] = (float) (sum[i] / count[i]);
+                maxPoints[i] = max[i];
+            }
+        }
+
+        HistoryDto historyDto = new HistoryDto();
+        historyDto.setMetric(metric);
+        historyDto.setRange(range);
+        historyDto.setStep(step);
+        historyDto.setStart(firstSlot * step);
+        historyDto.setMin(minPoints);
+        historyDto.setAvg(avgPoints);
+        historyDto.setMax(maxPoints);
+
+        return historyDto;
+    }
+
+    /**
+     * Deletes segments, which ended before retention period
+     */
+    @Scheduled(fixedRateString = "${ward.store.cleanup-interval:3600000}", initialDelayString = "${ward.store.cleanup-interval:3600000}")
+    public void deleteExpired()
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        long threshold = System.currentTimeMillis() - retentionDays * 86_400_000L - getSegmentDuration();
+
+        for (Path metricDirectory : list(directory, "*"))
+        {
+            for (Path segment : list(metricDirectory, "*" + SEGMENT_EXTENSION))
+            {
+                if (getSegmentStart(segment) < threshold)
+                {
+                    try
+                    {
+                        Files.deleteIfExists(segment);
+                    }
+                    catch (IOException exception)
+                    {
+                        System.out.println("无法删除过期数据: " + segment);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Flushes and trims open segments, the next instance starts new ones
+     */
+    @PreDestroy
+    public void close()
+    {
+        writers.values().forEach(Writer::close);
+        writers.clear();
+    }
+
+    /**
+     * Decodes persisted samples of a metric within range. The segment being appended is decoded from its mapping,
+     * other segments are read into a buffer reused across segments of the query
+     *
+     * @param fileName metric directory name
+     * @param from     first timestamp, inclusive
+     * @param to       last timestamp, inclusive
+     * @param consumer receives samples in time order
+     */
+    private void read(final String fileName, final long from, final long to, final SeriesSegment.SampleConsumer consumer)
+    {
+        List<Path> segments = list(directory.resolve(fileName), "*" + SEGMENT_EXTENSION);
+        Writer writer = writers.get(fileName);
+        ByteBuffer buffer = null;
+
+        for (int i = 0; i < segments.size(); i++)
+        {
+            // Segment can not contain samples in range, if the next one starts before range
+            if ((i + 1 < segments.size()) && (getSegmentStart(segments.get(i + 1)) <= from))
+            {
+                continue;
+            }
+
+            if (getSegmentStart(segments.get(i)) > to)
+            {
+                break;
+            }
+
+            if (writer != null)
+            {
+                synchronized (writer)
+                {
+                    if (segments.get(i).equals(writer.segmentPath) && (writer.segment != null))
+                    {
+                        readSegment(segments.get(i), writer.segment, from, to, consumer);
+                        continue;
+                    }
+                }
+            }
+
+            buffer = readSegment(segments.get(i), buffer, from, to, consumer);
+        }
+    }
+
+    /**
+     * Reads a closed segment into a reused buffer and decodes it
+     *
+     * @param path     segment file
+     * @param buffer   buffer of the previously read segment, may be null
+     * @param from     first timestamp, inclusive
+     * @param to       last timestamp, inclusive
+     * @param consumer receives samples in time order
+     * @return ByteBuffer to reuse for the next segment
+     */
+    private ByteBuffer readSegment(final Path path, final ByteBuffer buffer, final long from, final long to,
+                                   final SeriesSegment.SampleConsumer consumer)
+    {
+        try
+        {
+            SeriesSegment segment = SeriesSegment.open(path, buffer);
+
+            if (segment == null)
+            {
+                return buffer;
+            }
+
+            readSegment(path, segment, from, to, consumer);
+            return segment.getBuffer();
+        }
+        catch (IOException exception)
+        {
+            System.out.println("无法读取数据文件: " + path);
+            return buffer;
+        }
+    }
+
+    /**
+     * Decodes a single segment, a corrupt segment is logged and skipped from the damaged sample on
+     *
+     * @param path     segment file
+     * @param segment  segment to decode
+     * @param from     first timestamp, inclusive
+     * @param to       last timestamp, inclusive
+     * @param consumer receives samples in time order
+     */
+    private void readSegment(final Path path, final SeriesSegment segment, final long from, final long to,
+                             final SeriesSegment.SampleConsumer consumer)
+    {
+        try
+        {
+            segment.read(from, to, consumer);
+        }
+        catch (IllegalStateException exception)
+        {
+            System.out.println("数据文件已损坏: " + path + " " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Gets segment duration, bounded so deltas fit into encoding
+     *
+     * @return long with duration in milliseconds
+     */
+    private long getSegmentDuration()
+    {
+        return Math.min(Math.max(segmentHours, 1) * 3_600_000L, MAX_SEGMENT_DURATION);
+    }
+
+    /**
+     * Parses start timestamp from segment file name
+     *
+     * @param segment segment file
+     * @return long with epoch milliseconds, 0 for foreign files
+     */
+    private long getSegmentStart(final Path segment)
+    {
+        String name = segment.getFileName().toString();
+
+        try
+        {
+            return Long.parseLong(name.substring(0, name.length() - SEGMENT_EXTENSION.length()));
+        }
+        catch (NumberFormatException exception)
+        {
+            return 0;
+        }
+    }
+
+    /**
+     * Converts metric name to a safe directory name
+     *
+     * @param metric metric name
+     * @return String with letters, digits, dots, dashes and underscores only
+     */
+    private String getFileName(final String metric)
+    {
+        return metric.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    /**
+     * Lists directory entries matching glob
+     *
+     * @param path directory
+     * @param glob glob for entry names
+     * @return List of entries, sorted by name
+     */
+    private List<Path> list(final Path path, final String glob)
+    {
+        List<Path> entries = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(path, glob))
+        {
+            stream.forEach(entries::add);
+        }
+        catch (IOException exception)
+        {
+            return entries;
+        }
+
+        entries.sort(null);
+        return entries;
+    }
+
+    /**
+     * Writer appends samples of a single metric, rotating segments by time and size
+     */
+    private final class Writer
+    {
+        /**
+         * Metric directory
+         */
+        private final Path metricDirectory;
+
+        /**
+         * Segment being appended, null until the first sample
+         */
+        private SeriesSegment segment;
+
+        /**
+         * Path of segment being appended
+         */
+        private Path segmentPath;
+
+        /**
+         * Timestamp of the latest sample
+         */
+        private long lastTimestamp;
+
+        /**
+         * Creates writer for a metric directory
+         *
+         * @param fileName metric directory name
+         */
+        private Writer(final String fileName)
+        {
+            this.metricDirectory = directory.resolve(fileName);
+        }
+
+        /**
+         * Appends sample, rotating segment if it is full or too old
+         *
+         * @param timestamp sample time, in epoch milliseconds
+         * @param value     sampled value
+         */
+        private synchronized void append(final long timestamp, final double value)
+        {
+            if (timestamp < lastTimestamp)
+            {
+                return;
+            }
+
+            try
+            {
+                if ((segment != null) && ((timestamp - segment.getStart() >= getSegmentDuration()) || !segment.append(timestamp, value)))
+                {
+                    close();
+                }
+
+                if (segment == null)
+                {
+                    Files.createDirectories(metricDirectory);
+
+                    segmentPath = metricDirectory.resolve(String.format("%013d", timestamp) + SEGMENT_EXTENSION);
+                    segment = SeriesSegment.create(segmentPath, timestamp, SEGMENT_CAPACITY);
+                    segment.append(timestamp, value);
+                }
+
+                lastTimestamp = timestamp;
+            }
+            catch (IOException exception)
+            {
+                System.out.println("无法写入数据文件: " + exception.getMessage());
+                segment = null;
+            }
+        }
+
+        /**
+         * Flushes segment and trims its file to used length
+         */
+        private synchronized void close()
+        {
+            if (segment == null)
+            {
+                return;
+            }
+
+            segment.force();
+
+            try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.WRITE))
+            {
+                channel.truncate(segment.getUsedBytes());
+            }
+            catch (IOException exception)
+            {
+                // Some platforms refuse to truncate mapped files, the segment then just stays sparse
+            }
+
+            segment = null;
+        }
+    }
+}
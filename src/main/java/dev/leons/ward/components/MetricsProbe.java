@@ -0,0 +1,175 @@
+package dev.leons.ward.components;
+
+/**
+ * MetricsProbe reads frequently sampled metrics into caller owned buffers.
+ * Backend is chosen with ward.probe property, "oshi" by default or "native" for procfs parsing on Linux
+ *
+ * @version 1.0.0
+ */
+public interface MetricsProbe
+{
+    /**
+     * Constant for determine index of total memory in memory buffer
+     */
+    int MEMORY_TOTAL = 0;
+
+    /**
+     * Constant for determine index of available memory in memory buffer
+     */
+    int MEMORY_AVAILABLE = 1;
+
+    /**
+     * Constant for determine index of total swap in memory buffer
+     */
+    int SWAP_TOTAL = 2;
+
+    /**
+     * Constant for determine index of used swap in memory buffer
+     */
+    int SWAP_USED = 3;
+
+    /**
+     * Constant for determine memory buffer size
+     */
+    int MEMORY_SIZE = 4;
+
+    /**
+     * Reads aggregated processor ticks, in CentralProcessor.TickType order
+     *
+     * @param ticks buffer with at least CentralProcessor.TickType.values().length elements
+     */
+    void readProcessorTicks(long[] ticks);
+
+    /**
+     * Reads ticks of every logical processor, in CentralProcessor.TickType order
+     *
+     * @param ticks buffer with a row for every logical processor
+     * @return int with amount of logical processors, buffer contents are undefined if it does not match
+     */
+    int readCoreTicks(long[][] ticks);
+
+    /**
+     * Reads current frequency of every logical processor
+     *
+     * @param hertz buffer with an element for every logical processor
+     */
+    void readCoreFrequency(long[] hertz);
+
+    /**
+     * Reads memory and swap amounts in bytes, indexed by MEMORY_ and SWAP_ constants
+     *
+     * @param memory buffer with at least MEMORY_SIZE elements
+     */
+    void readMemory(long[] memory);
+
+    /**
+     * Reads cumulative counters of every network interface
+     *
+     * @param consumer receives counters of each interface
+     */
+    void readNetwork(NetworkConsumer consumer);
+
+    /**
+     * Reads cumulative counters of every disk
+     *
+     * @param consumer receives counters of each disk
+     */
+    void readDisks(DiskConsumer consumer);
+
+    /**
+     * Reads cumulative processor time and memory of every running process
+     *
+     * @param table    state of processes kept by the caller between reads
+     * @param consumer receives values of each read process
+     */
+    void readProcesses(ProcessTable table, ProcessConsumer consumer);
+
+    /**
+     * Enumerates devices again, used after hardware was hot-plugged
+     */
+    default void refresh()
+    {
+    }
+
+    /**
+     * NetworkConsumer receives cumulative counters of a network interface
+     */
+    @FunctionalInterface
+    interface NetworkConsumer
+    {
+        /**
+         * Accepts counters of a network interface, unknown counters are -1
+         *
+         * @param name        interface name, such as eth0
+         * @param bytesRecv   received bytes
+         * @param packetsRecv received packets
+         * @param inErrors    receive errors
+         * @param inDrops     dropped incoming packets
+         * @param bytesSent   sent bytes
+         * @param packetsSent sent packets
+         * @param outErrors   send errors
+         * @param outDrops    dropped outgoing packets
+         */
+        void accept(String name, long bytesRecv, long packetsRecv, long inErrors, long inDrops,
+                    long bytesSent, long packetsSent, long outErrors, long outDrops);
+    }
+
+    /**
+     * DiskConsumer receives cumulative counters of a disk
+     */
+    @FunctionalInterface
+    interface DiskConsumer
+    {
+        /**
+         * Accepts counters of a disk, unknown counters are -1
+         *
+         * @param name           disk name without /dev/ prefix, such as sda
+         * @param reads          completed reads
+         * @param readBytes      read bytes
+         * @param readMillis     time spent reading, in milliseconds
+         * @param writes         completed writes
+         * @param writeBytes     written bytes
+         * @param writeMillis    time spent writing, in milliseconds
+         * @param queueLength    requests currently in flight
+         * @param ioMillis       time the disk was busy, in milliseconds
+         * @param weightedMillis time spent in queue and service, weighted by queue length, in milliseconds
+         */
+        void accept(String name, long reads, long readBytes, long readMillis, long writes, long writeBytes,
+                    long writeMillis, long queueLength, long ioMillis, long weightedMillis);
+    }
+
+    /**
+     * ProcessTable is state of processes kept by the caller between reads of processes
+     */
+    @FunctionalInterface
+    interface ProcessTable
+    {
+        /**
+         * Gets name of a process from its previous read, which probes return again if name did not change
+         *
+         * @param pid process id
+         * @return String with previous name, null if process was not read yet
+         */
+        String getName(int pid);
+    }
+
+    /**
+     * ProcessConsumer receives cumulative values of a process
+     */
+    @FunctionalInterface
+    interface ProcessConsumer
+    {
+        /**
+         * Accepts values of a process
+         *
+         * @param pid           process id
+         * @param name          process name, such as java
+         * @param state         state letter as shown by ps, such as R, S or Z
+         * @param cpuMillis     processor time spent in user and kernel mode, in milliseconds
+         * @param startTime     start time in probe specific units, only compared to detect reused process ids
+         * @param residentBytes resident memory, in bytes
+         * @param threads       amount of threads
+         */
+        void accept(int pid, String name, char state, long cpuMillis, long startTime, long residentBytes, int threads);
+    }
+}
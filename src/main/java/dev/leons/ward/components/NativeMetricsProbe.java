@@ -0,0 +1,518 @@
+package dev.leons.ward.components;
+
+import oshi.software.os.linux.LinuxOperatingSystem;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * NativeMetricsProbe parses /proc/stat, /proc/meminfo, /proc/net/dev and /proc/diskstats directly, Linux only.
+ * Numbers are parsed in place from the reused pseudo file buffer and parsed values are kept in reused arrays,
+ * so steady state reads create no garbage. Proc and sys root follows ward.pseudo-fs.root.
+ * Class is final, as its constructor calls refresh
+ *
+ * @version 1.0.0
+ */
+public final class NativeMetricsProbe implements MetricsProbe
+{
+    /**
+     * Constant for determine size of a sector in /proc/diskstats, which is always 512 bytes
+     */
+    private static final long SECTOR_SIZE = 512;
+
+    /**
+     * Constant for determine amount of tick types, same order as CentralProcessor.TickType
+     */
+    private static final int TICK_TYPES = 8;
+
+    /**
+     * Constant for determine amount of parsed network counters
+     */
+    private static final int NETWORK_COUNTERS = 8;
+
+    /**
+     * Constant for determine amount of parsed disk counters
+     */
+    private static final int DISK_COUNTERS = 9;
+
+    /**
+     * PseudoFileComponent object, used for reading procfs and sysfs
+     */
+    private final PseudoFileComponent pseudoFileComponent;
+
+    /**
+     * Clock ticks per second of procfs counters, USER_HZ
+     */
+    private final long userHz;
+
+    /**
+     * Size of a memory page, in which resident memory of processes is counted
+     */
+    private final long pageSize;
+
+    /**
+     * Paths of frequency files, by logical processor
+     */
+    private String[] frequencyPaths = new String[0];
+
+    /**
+     * Names of whole disks from /sys/block, partitions and virtual devices are skipped
+     */
+    private volatile Set<String> disks = Set.of();
+
+    /**
+     * Reused interface names
+     */
+    private String[] networkNames = new String[8];
+
+    /**
+     * Reused interface counters
+     */
+    private long[][] networkCounters = new long[8][NETWORK_COUNTERS];
+
+    /**
+     * Reused disk names
+     */
+    private String[] diskNames = new String[8];
+
+    /**
+     * Reused disk counters
+     */
+    private long[][] diskCounters = new long[8][DISK_COUNTERS];
+
+    /**
+     * Creates probe and enumerates disks. USER_HZ and page size are read from sysconf through OSHI only here,
+     * so Linux classes of OSHI are not touched unless this probe is selected
+     *
+     * @param pseudoFileComponent PseudoFileComponent object
+     */
+    public NativeMetricsProbe(final PseudoFileComponent pseudoFileComponent)
+    {
+        this(pseudoFileComponent, LinuxOperatingSystem.getHz(), LinuxOperatingSystem.getPageSize());
+    }
+
+    /**
+     * Creates probe with given USER_HZ and page size and enumerates disks, used with fake trees
+     *
+     * @param pseudoFileComponent PseudoFileComponent object
+     * @param userHz              clock ticks per second of procfs counters
+     * @param pageSize            size of a memory page, in bytes
+     */
+    NativeMetricsProbe(final PseudoFileComponent pseudoFileComponent, final long userHz, final long pageSize)
+    {
+        this.pseudoFileComponent = pseudoFileComponent;
+        this.userHz = userHz;
+        this.pageSize = pageSize;
+
+        refresh();
+    }
+
+    @Override
+    public void readProcessorTicks(final long[] ticks)
+    {
+        pseudoFileComponent.parse("/proc/stat", cursor ->
+        {
+            if (cursor.startsWith("cpu "))
+            {
+                readTicks(cursor, ticks);
+            }
+        });
+    }
+
+    @Override
+    public int readCoreTicks(final long[][] ticks)
+    {
+        int[] count = new int[1];
+
+        pseudoFileComponent.parse("/proc/stat", cursor ->
+        {
+            cursor.nextLine();
+
+            // Per processor lines follow the aggregated line, offline processors have no line
+            while (cursor.startsWith("cpu"))
+            {
+                cursor.skip(3);
+                int processor = (int) cursor.nextLong();
+                count[0] = Math.max(count[0], processor + 1);
+
+                if (processor < ticks.length)
+                {
+                    readTicks(cursor, ticks[processor]);
+                }
+
+                cursor.nextLine();
+            }
+        });
+
+        return count[0];
+    }
+
+    @Override
+    public synchronized void readCoreFrequency(final long[] hertz)
+    {
+        if (frequencyPaths.length != hertz.length)
+        {
+            frequencyPaths = new String[hertz.length];
+
+            for (int i = 0; i < hertz.length; i++)
+            {
+                frequencyPaths[i] = "/sys/devices/system/cpu/cpu" + i + "/cpufreq/scaling_cur_freq";
+            }
+        }
+
+        boolean complete = true;
+
+        for (int i = 0; i < hertz.length; i++)
+        {
+            hertz[i] = Math.max(pseudoFileComponent.readLong(frequencyPaths[i], 0), 0) * 1000;
+            complete &= hertz[i] > 0;
+        }
+
+        if (!complete)
+        {
+            readCpuinfoFrequency(hertz);
+        }
+    }
+
+    /**
+     * Reads frequencies from /proc/cpuinfo, used on hosts without cpufreq, such as virtual machines
+     *
+     * @param hertz buffer with an element for every logical processor
+     */
+    private void readCpuinfoFrequency(final long[] hertz)
+    {
+        pseudoFileComponent.parse("/proc/cpuinfo", cursor ->
+        {
+            int processor = -1;
+
+            while (cursor.hasRemaining())
+            {
+                if (cursor.startsWith("processor"))
+                {
+                    processor = (int) cursor.nextLong();
+                }
+                else if (cursor.startsWith("cpu MHz") && (processor >= 0) && (processor < hertz.length) && (hertz[processor] == 0))
+                {
+                    hertz[processor] = Math.max(cursor.nextLong(), 0) * 1_000_000;
+                }
+
+                cursor.nextLine();
+            }
+        });
+    }
+
+    /**
+     * Reads /proc/meminfo. Kernels older than 3.14 have no MemAvailable, there available memory is estimated
+     * as free memory plus buffers and page cache, as free does
+     *
+     * @param memory buffer with at least MEMORY_SIZE elements
+     */
+    @Override
+    public void readMemory(final long[] memory)
+    {
+        // SwapFree, MemFree, Buffers plus Cached, MemAvailable or -1 if missing
+        long[] values = {0, 0, 0, -1};
+
+        pseudoFileComponent.parse("/proc/meminfo", cursor ->
+        {
+            while (cursor.hasRemaining())
+            {
+                if (cursor.startsWith("MemTotal:"))
+                {
+                    memory[MEMORY_TOTAL] = cursor.nextLong() * 1024;
+                }
+                else if (cursor.startsWith("MemAvailable:"))
+                {
+                    values[3] = cursor.nextLong() * 1024;
+                }
+                else if (cursor.startsWith("MemFree:"))
+                {
+                    values[1] = cursor.nextLong() * 1024;
+                }
+                else if (cursor.startsWith("Buffers:") || cursor.startsWith("Cached:"))
+                {
+                    values[2] += cursor.nextLong() * 1024;
+                }
+                else if (cursor.startsWith("SwapTotal:"))
+                {
+                    memory[SWAP_TOTAL] = cursor.nextLong() * 1024;
+                }
+                else if (cursor.startsWith("SwapFree:"))
+                {
+                    values[0] = cursor.nextLong() * 1024;
+                }
+
+                cursor.nextLine();
+            }
+        });
+
+        memory[MEMORY_AVAILABLE] = (values[3] >= 0) ? values[3] : values[1] + values[2];
+        memory[SWAP_USED] = memory[SWAP_TOTAL] - values[0];
+    }
+
+    @Override
+    public synchronized void readNetwork(final NetworkConsumer consumer)
+    {
+        int[] count = new int[1];
+
+        pseudoFileComponent.parse("/proc/net/dev", cursor ->
+        {
+            // Two header lines
+            cursor.nextLine();
+            cursor.nextLine();
+
+            while (cursor.hasRemaining())
+            {
+                int index = count[0]++;
+                ensureNetworkCapacity(index + 1);
+
+                networkNames[index] = cursor.nextToken(networkNames[index]);
+                long[] counters = networkCounters[index];
+
+                // Receive: bytes packets errs drop fifo frame compressed multicast
+                counters[0] = cursor.nextLong();
+                counters[1] = cursor.nextLong();
+                counters[2] = cursor.nextLong();
+                counters[3] = cursor.nextLong();
+                cursor.nextLong();
+                cursor.nextLong();
+                cursor.nextLong();
+                cursor.nextLong();
+
+                // Transmit: bytes packets errs drop fifo colls carrier compressed
+                counters[4] = cursor.nextLong();
+                counters[5] = cursor.nextLong();
+                counters[6] = cursor.nextLong();
+                counters[7] = cursor.nextLong();
+
+                cursor.nextLine();
+            }
+        });
+
+        for (int i = 0; i < count[0]; i++)
+        {
+            long[] counters = networkCounters[i];
+            consumer.accept(networkNames[i], counters[0], counters[1], counters[2], counters[3], counters[4], counters[5], counters[6], counters[7]);
+        }
+    }
+
+    @Override
+    public synchronized void readDisks(final DiskConsumer consumer)
+    {
+        int[] count = new int[1];
+        Set<String> wholeDisks = disks;
+
+        pseudoFileComponent.parse("/proc/diskstats", cursor ->
+        {
+            while (cursor.hasRemaining())
+            {
+                int index = count[0];
+                ensureDiskCapacity(index + 1);
+
+                // Major and minor numbers
+                cursor.nextLong();
+                cursor.nextLong();
+
+                String name = cursor.nextToken(diskNames[index]);
+
+                if (!wholeDisks.contains(name))
+                {
+                    cursor.nextLine();
+                    continue;
+                }
+
+                diskNames[index] = name;
+                long[] counters = diskCounters[index];
+
+                // reads merged sectors millis writes merged sectors millis in-flight io-millis weighted-millis
+                counters[0] = cursor.nextLong();
+                cursor.nextLong();
+                counters[1] = cursor.nextLong() * SECTOR_SIZE;
+                counters[2] = cursor.nextLong();
+                counters[3] = cursor.nextLong();
+                cursor.nextLong();
+                counters[4] = cursor.nextLong() * SECTOR_SIZE;
+                counters[5] = cursor.nextLong();
+                counters[6] = cursor.nextLong();
+                counters[7] = cursor.nextLong();
+                counters[8] = cursor.nextLong();
+
+                count[0]++;
+                cursor.nextLine();
+            }
+        });
+
+        for (int i = 0; i < count[0]; i++)
+        {
+            long[] counters = diskCounters[i];
+            consumer.accept(diskNames[i], counters[0], counters[1], counters[2], counters[3], counters[4], counters[5],
+                    counters[6], counters[7], counters[8]);
+        }
+    }
+
+    /**
+     * Reads /proc/[pid]/stat of every listed process, processes which exit meanwhile are skipped.
+     * Names of processes are reused from the previous read, so steady processes create no strings
+     *
+     * @param table    state of processes kept by the caller between reads
+     * @param consumer receives values of each read process
+     */
+    @Override
+    public synchronized void readProcesses(final ProcessTable table, final ProcessConsumer consumer)
+    {
+        String[] entries = pseudoFileComponent.resolve("/proc").toFile().list();
+
+        if (entries == null)
+        {
+            return;
+        }
+
+        for (String entry : entries)
+        {
+            if (!isProcessId(entry))
+            {
+                continue;
+            }
+
+            String previousName = table.getName(Integer.parseInt(entry));
+
+            pseudoFileComponent.parse("/proc/" + entry + "/stat", cursor ->
+            {
+                // pid (comm) state ppid pgrp session tty_nr tpgid flags minflt cminflt majflt cmajflt utime stime
+                // cutime cstime priority nice num_threads itrealvalue starttime vsize rss
+                int pid = (int) cursor.nextLong();
+                String name = cursor.nextEnclosed(previousName);
+                char state = cursor.nextChar();
+
+                for (int i = 0; i < 10; i++)
+                {
+                    cursor.nextLong();
+                }
+
+                long ticks = cursor.nextLong() + cursor.nextLong();
+
+                for (int i = 0; i < 4; i++)
+                {
+                    cursor.nextLong();
+                }
+
+                int threads = (int) cursor.nextLong();
+                cursor.nextLong();
+                long startTime = cursor.nextLong();
+                cursor.nextLong();
+                long residentPages = cursor.nextLong();
+
+                if (residentPages >= 0)
+                {
+                    consumer.accept(pid, name, state, ticks * 1000 / userHz, startTime, residentPages * pageSize, threads);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void refresh()
+    {
+        Set<String> blockDevices = new HashSet<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(pseudoFileComponent.resolve("/sys/block")))
+        {
+            for (Path block : stream)
+            {
+                String name = block.getFileName().toString();
+
+                if (!name.startsWith("loop") && !name.startsWith("ram"))
+                {
+                    blockDevices.add(name);
+                }
+            }
+        }
+        catch (IOException exception)
+        {
+            blockDevices.clear();
+        }
+
+        disks = Set.copyOf(blockDevices);
+    }
+
+    /**
+     * Checks if /proc entry is a process directory
+     *
+     * @param entry name of /proc entry
+     * @return true if name consists of digits only
+     */
+    private static boolean isProcessId(final String entry)
+    {
+        for (int i = 0; i < entry.length(); i++)
+        {
+            if ((entry.charAt(i) < '0') || (entry.charAt(i) > '9'))
+            {
+                return false;
+            }
+        }
+
+        return !entry.isEmpty();
+    }
+
+    /**
+     * Reads tick columns of a /proc/stat processor line
+     *
+     * @param cursor cursor after processor name
+     * @param ticks  buffer for ticks
+     */
+    private void readTicks(final PseudoFileComponent.Cursor cursor, final long[] ticks)
+    {
+        for (int i = 0; i < TICK_TYPES; i++)
+        {
+            long value = cursor.nextLong();
+
+            if (i < ticks.length)
+            {
+                ticks[i] = Math.max(value, 0) * 1000 / userHz;
+            }
+        }
+    }
+
+    /**
+     * Grows reused network arrays
+     *
+     * @param capacity required amount of interfaces
+     */
+    private void ensureNetworkCapacity(final int capacity)
+    {
+        if (capacity > networkNames.length)
+        {
+            networkNames = Arrays.copyOf(networkNames, capacity * 2);
+            networkCounters = Arrays.copyOf(networkCounters, capacity * 2);
+
+            for (int i = 0; i < networkCounters.length; i++)
+            {
+                networkCounters[i] = (networkCounters[i] != null) ? networkCounters[i] : new long[NETWORK_COUNTERS];
+            }
+        }
+    }
+
+    /**
+     * Grows reused disk arrays
+     *
+     * @param capacity required amount of disks
+     */
+    private void ensureDiskCapacity(final int capacity)
+    {
+        if (capacity > diskNames.length)
+        {
+            diskNames = Arrays.copyOf(diskNames, capacity * 2);
+            diskCounters = Arrays.copyOf(diskCounters, capacity * 2);
+
+            for (int i = 0; i < diskCounters.length; i++)
+            {
+                diskCounters[i] = (diskCounters[i] != null) ? diskCounters[i] : new long[DISK_COUNTERS];
+            }
+        }
+    }
+}
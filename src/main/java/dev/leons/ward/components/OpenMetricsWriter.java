@@ -0,0 +1,434 @@
+package dev.leons.ward.components;
+
+import java.util.Arrays;
+
+/**
+ * OpenMetricsWriter encodes metric families in OpenMetrics text format into a reusable byte buffer.
+ * Numbers and labels are written directly as UTF-8 bytes, so an exposition does not allocate once the buffer has grown.
+ * Instances are not thread-safe and are meant to be reused by a single owner
+ *
+ * @version 1.0.0
+ */
+public final class OpenMetricsWriter
+{
+    /**
+     * Constant for determine initial buffer size, in bytes
+     */
+    private static final int INITIAL_CAPACITY = 16_384;
+
+    /**
+     * Constant for determine amount of written fraction digits
+     */
+    private static final int FRACTION_DIGITS = 6;
+
+    /**
+     * Constant for determine scale of fraction digits
+     */
+    private static final long FRACTION_SCALE = 1_000_000;
+
+    /**
+     * Constant for determine magnitude above which doubles are written in scientific notation
+     */
+    private static final double PLAIN_LIMIT = 1E+15;
+
+    /**
+     * Encoded exposition
+     */
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+
+    /**
+     * Amount of written bytes
+     */
+    private int size;
+
+    /**
+     * Whether the current sample already has a label
+     */
+    private boolean labelled;
+
+    /**
+     * Discards written exposition, keeping the buffer
+     */
+    public void reset()
+    {
+        size = 0;
+        labelled = false;
+    }
+
+    /**
+     * Writes metadata of a metric family, must precede all samples of the family
+     *
+     * @param name family name, counters without _total postfix
+     * @param type counter, gauge, info or other OpenMetrics type
+     * @param unit unit, which is also the postfix of family name, null if family has no unit
+     * @param help description
+     */
+    public void family(final String name, final String type, final String unit, final String help)
+    {
+        writeAscii("# TYPE ");
+        writeAscii(name);
+        write(' ');
+        writeAscii(type);
+        write('\n');
+
+        if (unit != null)
+        {
+            writeAscii("# UNIT ");
+            writeAscii(name);
+            write(' ');
+            writeAscii(unit);
+            write('\n');
+        }
+
+        writeAscii("# HELP ");
+        writeAscii(name);
+        write(' ');
+        writeEscaped(help, false);
+        write('\n');
+    }
+
+    /**
+     * Starts a sample line
+     *
+     * @param name sample name, counters with _total postfix
+     * @return OpenMetricsWriter for chaining labels and value
+     */
+    public OpenMetricsWriter sample(final String name)
+    {
+        writeAscii(name);
+        labelled = false;
+
+        return this;
+    }
+
+    /**
+     * Starts a sample line, which name is family name with postfix, such as _total of counters
+     *
+     * @param name    family name
+     * @param postfix sample name postfix
+     * @return OpenMetricsWriter for chaining labels and value
+     */
+    public OpenMetricsWriter sample(final String name, final String postfix)
+    {
+        writeAscii(name);
+        writeAscii(postfix);
+        labelled = false;
+
+        return this;
+    }
+
+    /**
+     * Adds label to the started sample, null values are skipped
+     *
+     * @param name  label name
+     * @param value label value
+     * @return OpenMetricsWriter for chaining labels and value
+     */
+    public OpenMetricsWriter label(final String name, final String value)
+    {
+        if (value == null)
+        {
+            return this;
+        }
+
+        write(labelled ? ',' : '{');
+        writeAscii(name);
+        write('=');
+        write('"');
+        writeEscaped(value, true);
+        write('"');
+        labelled = true;
+
+        return this;
+    }
+
+    /**
+     * Adds label with an integer value to the started sample
+     *
+     * @param name  label name
+     * @param value label value
+     * @return OpenMetricsWriter for chaining labels and value
+     */
+    public OpenMetricsWriter label(final String name, final long value)
+    {
+        write(labelled ? ',' : '{');
+        writeAscii(name);
+        write('=');
+        write('"');
+        writeLong(value);
+        write('"');
+        labelled = true;
+
+        return this;
+    }
+
+    /**
+     * Finishes the started sample with an integer value
+     *
+     * @param value sample value
+     */
+    public void value(final long value)
+    {
+        closeLabels();
+        writeLong(value);
+        write('\n');
+    }
+
+    /**
+     * Finishes the started sample with a floating point value
+     *
+     * @param value sample value
+     */
+    public void value(final double value)
+    {
+        closeLabels();
+        writeDouble(value);
+        write('\n');
+    }
+
+    /**
+     * Writes terminating line, which OpenMetrics requires at the end of exposition
+     */
+    public void eof()
+    {
+        writeAscii("# EOF\n");
+    }
+
+    /**
+     * Gets amount of written bytes
+     *
+     * @return int with size in bytes
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Copies written exposition
+     *
+     * @return byte array with UTF-8 text
+     */
+    public byte[] toByteArray()
+    {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * Closes label set of the started sample, if it has one
+     */
+    private void closeLabels()
+    {
+        if (labelled)
+        {
+            write('}');
+            labelled = false;
+        }
+
+        write(' ');
+    }
+
+    /**
+     * Writes decimal digits of a long
+     *
+     * @param value written value
+     */
+    private void writeLong(final long value)
+    {
+        if (value == Long.MIN_VALUE)
+        {
+            writeAscii("-9223372036854775808");
+            return;
+        }
+
+        long remaining = value;
+
+        if (remaining < 0)
+        {
+            write('-');
+            remaining = -remaining;
+        }
+
+        int length = 1;
+
+        for (long limit = 10; (length < 19) && (remaining >= limit); limit *= 10)
+        {
+            length++;
+        }
+
+        ensureCapacity(length);
+
+        for (int i = size + length - 1; i >= size; i--)
+        {
+            buffer[i] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+
+        size += length;
+    }
+
+    /**
+     * Writes double with up to six fraction digits, trailing zeros are dropped
+     *
+     * @param value written value
+     */
+    private void writeDouble(final double value)
+    {
+        if (Double.isNaN(value))
+        {
+            writeAscii("NaN");
+            return;
+        }
+
+        if (Double.isInfinite(value))
+        {
+            writeAscii((value > 0) ? "+Inf" : "-Inf");
+            return;
+        }
+
+        if (Math.abs(value) >= PLAIN_LIMIT)
+        {
+            // Rare magnitudes do not justify a hand-written scientific encoder
+            writeAscii(Double.toString(value));
+            return;
+        }
+
+        double magnitude = Math.abs(value);
+        long integer = (long) magnitude;
+        long fraction = Math.round((magnitude - integer) * FRACTION_SCALE);
+
+        if (fraction == FRACTION_SCALE)
+        {
+            integer++;
+            fraction = 0;
+        }
+
+        if ((value < 0) && ((integer != 0) || (fraction != 0)))
+        {
+            write('-');
+        }
+
+        writeLong(integer);
+
+        if (fraction == 0)
+        {
+            return;
+        }
+
+        int digits = FRACTION_DIGITS;
+
+        while (fraction % 10 == 0)
+        {
+            fraction /= 10;
+            digits--;
+        }
+
+        write('.');
+        ensureCapacity(digits);
+
+        for (int i = size + digits - 1; i >= size; i--)
+        {
+            buffer[i] = (byte) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+
+        size += digits;
+    }
+
+    /**
+     * Writes text as UTF-8, escaping backslashes, line feeds and optionally double quotes
+     *
+     * @param text        written text
+     * @param escapeQuote whether double quotes are escaped, as required in label values
+     */
+    private void writeEscaped(final String text, final boolean escapeQuote)
+    {
+        for (int i = 0; i < text.length(); i++)
+        {
+            char character = text.charAt(i);
+
+            if (character == '\\')
+            {
+                write('\\');
+                write('\\');
+            }
+            else if (character == '\n')
+            {
+                write('\\');
+                write('n');
+            }
+            else if ((character == '"') && escapeQuote)
+            {
+                write('\\');
+                write('"');
+            }
+            else if (character < 0x80)
+            {
+                write(character);
+            }
+            else if (character < 0x800)
+            {
+                write(0xC0 | (character >> 6));
+                write(0x80 | (character & 0x3F));
+            }
+            else if (Character.isHighSurrogate(character) && (i + 1 < text.length()) && Character.isLowSurrogate(text.charAt(i + 1)))
+            {
+                int codePoint = Character.toCodePoint(character, text.charAt(++i));
+                write(0xF0 | (codePoint >> 18));
+                write(0x80 | ((codePoint >> 12) & 0x3F));
+                write(0x80 | ((codePoint >> 6) & 0x3F));
+                write(0x80 | (codePoint & 0x3F));
+            }
+            else if (Character.isSurrogate(character))
+            {
+                write('?');
+            }
+            else
+            {
+                write(0xE0 | (character >> 12));
+                write(0x80 | ((character >> 6) & 0x3F));
+                write(0x80 | (character & 0x3F));
+            }
+        }
+    }
+
+    /**
+     * Writes text, which is known to be ASCII, such as metric names
+     *
+     * @param text written text
+     */
+    private void writeAscii(final String text)
+    {
+        int length = text.length();
+        ensureCapacity(length);
+
+        for (int i = 0; i < length; i++)
+        {
+            buffer[size++] = (byte) text.charAt(i);
+        }
+    }
+
+    /**
+     * Writes a single byte
+     *
+     * @param value written byte
+     */
+    private void write(final int value)
+    {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Grows buffer, so it has room for more bytes
+     *
+     * @param length amount of bytes about to be written
+     */
+    private void ensureCapacity(final int length)
+    {
+        if (size + length > buffer.length)
+        {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + length));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package dev.leons.ward.components;
+
+import oshi.SystemInfo;
+import oshi.hardware.CentralProcessor;
+import oshi.hardware.GlobalMemory;
+import oshi.hardware.HWDiskStore;
+import oshi.hardware.NetworkIF;
+import oshi.hardware.VirtualMemory;
+import oshi.software.os.OSProcess;
+
+import java.util.List;
+
+/**
+ * OshiMetricsProbe reads metrics through OSHI, works on every operating system supported by OSHI.
+ * Disk and network handles are kept between reads and only updated. Class is final, as its constructor calls refresh
+ *
+ * @version 1.0.0
+ */
+public final class OshiMetricsProbe implements MetricsProbe
+{
+    /**
+     * SystemInfo object, used for getting hardware
+     */
+    private final SystemInfo systemInfo;
+
+    /**
+     * Processor, which ticks and frequencies are read
+     */
+    private final CentralProcessor centralProcessor;
+
+    /**
+     * Memory, which amounts are read
+     */
+    private final GlobalMemory globalMemory;
+
+    /**
+     * Disk handles, updated on every read
+     */
+    private volatile List<HWDiskStore> hwDiskStores;
+
+    /**
+     * Network interface handles, updated on every read
+     */
+    private volatile List<NetworkIF> networkIFs;
+
+    /**
+     * Creates probe and enumerates devices
+     *
+     * @param systemInfo SystemInfo object
+     */
+    public OshiMetricsProbe(final SystemInfo systemInfo)
+    {
+        this.systemInfo = systemInfo;
+        this.centralProcessor = systemInfo.getHardware().getProcessor();
+        this.globalMemory = systemInfo.getHardware().getMemory();
+
+        refresh();
+    }
+
+    @Override
+    public void readProcessorTicks(final long[] ticks)
+    {
+        long[] systemTicks = centralProcessor.getSystemCpuLoadTicks();
+        System.arraycopy(systemTicks, 0, ticks, 0, Math.min(systemTicks.length, ticks.length));
+    }
+
+    @Override
+    public int readCoreTicks(final long[][] ticks)
+    {
+        long[][] processorTicks = centralProcessor.getProcessorCpuLoadTicks();
+
+        if (processorTicks.length == ticks.length)
+        {
+            for (int i = 0; i < processorTicks.length; i++)
+            {
+                System.arraycopy(processorTicks[i], 0, ticks[i], 0, Math.min(processorTicks[i].length, ticks[i].length));
+            }
+        }
+
+        return processorTicks.length;
+    }
+
+    @Override
+    public void readCoreFrequency(final long[] hertz)
+    {
+        long[] currentFrequency = centralProcessor.getCurrentFreq();
+
+        for (int i = 0; i < hertz.length; i++)
+        {
+            hertz[i] = (i < currentFrequency.length) ? currentFrequency[i] : 0;
+        }
+    }
+
+    @Override
+    public void readMemory(final long[] memory)
+    {
+        VirtualMemory virtualMemory = globalMemory.getVirtualMemory();
+
+        memory[MEMORY_TOTAL] = globalMemory.getTotal();
+        memory[MEMORY_AVAILABLE] = globalMemory.getAvailable();
+        memory[SWAP_TOTAL] = virtualMemory.getSwapTotal();
+        memory[SWAP_USED] = virtualMemory.getSwapUsed();
+    }
+
+    @Override
+    public void readNetwork(final NetworkConsumer consumer)
+    {
+        for (NetworkIF networkIF : networkIFs)
+        {
+            networkIF.updateAttributes();
+
+            consumer.accept(networkIF.getName(), networkIF.getBytesRecv(), networkIF.getPacketsRecv(), networkIF.getInErrors(),
+                    networkIF.getInDrops(), networkIF.getBytesSent(), networkIF.getPacketsSent(), networkIF.getOutErrors(), -1);
+        }
+    }
+
+    @Override
+    public void readDisks(final DiskConsumer consumer)
+    {
+        for (HWDiskStore hwDiskStore : hwDiskStores)
+        {
+            hwDiskStore.updateAttributes();
+
+            String name = hwDiskStore.getName();
+            consumer.accept(name.startsWith("/dev/") ? name.substring(5) : name, hwDiskStore.getReads(), hwDiskStore.getReadBytes(), -1,
+                    hwDiskStore.getWrites(), hwDiskStore.getWriteBytes(), -1, hwDiskStore.getCurrentQueueLength(),
+                    hwDiskStore.getTransferTime(), -1);
+        }
+    }
+
+    @Override
+    public void readProcesses(final ProcessTable table, final ProcessConsumer consumer)
+    {
+        for (OSProcess osProcess : systemInfo.getOperatingSystem().getProcesses())
+        {
+            char state = switch (osProcess.getState())
+            {
+                case RUNNING -> 'R';
+                case SLEEPING -> 'S';
+                case WAITING -> 'D';
+                case ZOMBIE -> 'Z';
+                case STOPPED, SUSPENDED -> 'T';
+                default -> '?';
+            };
+
+            consumer.accept(osProcess.getProcessID(), osProcess.getName(), state, osProcess.getKernelTime() + osProcess.getUserTime(),
+                    osProcess.getStartTime(), osProcess.getResidentSetSize(), osProcess.getThreadCount());
+        }
+    }
+
+    @Override
+    public void refresh()
+    {
+        hwDiskStores = systemInfo.getHardware().getDiskStores();
+        networkIFs = systemInfo.getHardware().getNetworkIFs();
+    }
+}
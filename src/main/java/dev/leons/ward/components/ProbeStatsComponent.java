@@ -0,0 +1,336 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.dto.ProbeStatsDto;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * ProbeStatsComponent measures latency and failures of every probe, which collects data from the host.
+ * Latencies are kept in log-linear histograms with fixed relative precision, so percentiles stay accurate
+ * from microseconds to minutes while every probe costs the same amount of memory
+ *
+ * @version 1.0.0
+ */
+@Component
+public class ProbeStatsComponent
+{
+    /**
+     * Constant for determine amount of linear sub-buckets in every power of two, as bits, about 3% precision
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * Constant for determine amount of linear sub-buckets in every power of two
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Constant for determine highest tracked power of two, in nanoseconds, about 18 minutes
+     */
+    private static final int MAX_EXPONENT = 40;
+
+    /**
+     * Constant for determine amount of buckets in histogram
+     */
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    /**
+     * Constant for determine maximal amount of tracked probes, further probes are ignored
+     */
+    private static final int MAX_PROBES = 128;
+
+    /**
+     * Statistics by probe name
+     */
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Runs probe, recording its latency and failure
+     *
+     * @param probe    probe name, such as info.processor
+     * @param supplier probe body
+     * @param <T>      type of probe result
+     * @return T returned by probe
+     */
+    public <T> T measure(final String probe, final Supplier<T> supplier)
+    {
+        long start = System.nanoTime();
+
+        try
+        {
+            T result = supplier.get();
+            record(probe, start);
+            return result;
+        }
+        catch (RuntimeException | Error exception)
+        {
+            recordFailure(probe, start, exception.toString());
+            throw exception;
+        }
+    }
+
+    /**
+     * Runs probe without result, recording its latency and failure
+     *
+     * @param probe    probe name, such as sampler.memory
+     * @param runnable probe body
+     */
+    public void run(final String probe, final Runnable runnable)
+    {
+        long start = System.nanoTime();
+
+        try
+        {
+            runnable.run();
+            record(probe, start);
+        }
+        catch (RuntimeException | Error exception)
+        {
+            recordFailure(probe, start, exception.toString());
+            throw exception;
+        }
+    }
+
+    /**
+     * Records successful run of a probe
+     *
+     * @param probe probe name
+     * @param start System.nanoTime() taken before probe started
+     */
+    public void record(final String probe, final long start)
+    {
+        Stats probeStats = getStats(probe);
+
+        if (probeStats != null)
+        {
+            probeStats.add(System.nanoTime() - start, null);
+        }
+    }
+
+    /**
+     * Records failed run of a probe, failures are also included in latencies
+     *
+     * @param probe probe name
+     * @param start System.nanoTime() taken before probe started
+     * @param error description of failure
+     */
+    public void recordFailure(final String probe, final long start, final String error)
+    {
+        Stats probeStats = getStats(probe);
+
+        if (probeStats != null)
+        {
+            probeStats.add(System.nanoTime() - start, error);
+        }
+    }
+
+    /**
+     * Copies statistics of all probes
+     *
+     * @return List of ProbeStatsDto, sorted by probe name
+     */
+    public List<ProbeStatsDto> getStats()
+    {
+        List<ProbeStatsDto> probeStatsDtos = new ArrayList<>(stats.size());
+
+        for (Map.Entry<String, Stats> entry : stats.entrySet())
+        {
+            ProbeStatsDto probeStatsDto = entry.getValue().copy();
+            probeStatsDto.setName(entry.getKey());
+            probeStatsDtos.add(probeStatsDto);
+        }
+
+        probeStatsDtos.sort((first, second) -> first.getName().compareTo(second.getName()));
+
+        return probeStatsDtos;
+    }
+
+    /**
+     * Returns statistics of a probe, creating them on first use
+     *
+     * @param probe probe name
+     * @return Stats of probe, null if limit of probes was reached
+     */
+    private Stats getStats(final String probe)
+    {
+        Stats probeStats = stats.get(probe);
+
+        if ((probeStats == null) && (stats.size() < MAX_PROBES))
+        {
+            probeStats = stats.computeIfAbsent(probe, name -> new Stats());
+        }
+
+        return probeStats;
+    }
+
+    /**
+     * Finds histogram bucket of a latency
+     *
+     * @param nanos latency in nanoseconds
+     * @return int with bucket index
+     */
+    private static int getBucket(final long nanos)
+    {
+        long value = Math.min(Math.max(nanos, 0), (1L << (MAX_EXPONENT + 1)) - 1);
+
+        if (value < SUB_BUCKET_COUNT)
+        {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKET_COUNT;
+
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Finds highest latency, which falls into a bucket
+     *
+     * @param bucket bucket index
+     * @return long with latency in nanoseconds
+     */
+    private static long getBucketLimit(final int bucket)
+    {
+        if (bucket < SUB_BUCKET_COUNT)
+        {
+            return bucket;
+        }
+
+        int shift = bucket / SUB_BUCKET_COUNT - 1;
+        long mantissa = SUB_BUCKET_COUNT + bucket % SUB_BUCKET_COUNT;
+
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    /**
+     * Stats keeps histogram, counters and last failure of a single probe
+     */
+    private static final class Stats
+    {
+        /**
+         * Amount of runs in every latency bucket
+         */
+        private final long[] buckets = new long[BUCKET_COUNT];
+
+        /**
+         * Amount of runs
+         */
+        private long count;
+
+        /**
+         * Amount of failed runs
+         */
+        private long errors;
+
+        /**
+         * Sum of all latencies, in nanoseconds
+         */
+        private long totalNanos;
+
+        /**
+         * Highest latency, in nanoseconds
+         */
+        private long maxNanos;
+
+        /**
+         * Latest latency, in nanoseconds
+         */
+        private long lastNanos;
+
+        /**
+         * Description of the latest failure, null if probe never failed
+         */
+        private String lastError;
+
+        /**
+         * Time of the latest failure, in epoch milliseconds
+         */
+        private long lastErrorAt;
+
+        /**
+         * Adds run of probe
+         *
+         * @param nanos latency in nanoseconds
+         * @param error description of failure, null if probe succeeded
+         */
+        private synchronized void add(final long nanos, final String error)
+        {
+            buckets[getBucket(nanos)]++;
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            lastNanos = nanos;
+
+            if (error != null)
+            {
+                errors++;
+                lastError = error;
+                lastErrorAt = System.currentTimeMillis();
+            }
+        }
+
+        /**
+         * Copies counters and percentiles
+         *
+         * @return ProbeStatsDto without name
+         */
+        private synchronized ProbeStatsDto copy()
+        {
+            ProbeStatsDto probeStatsDto = new ProbeStatsDto();
+            probeStatsDto.setCount(count);
+            probeStatsDto.setErrors(errors);
+            probeStatsDto.setLast(toMillis(lastNanos));
+            probeStatsDto.setMean(toMillis((count == 0) ? 0 : totalNanos / count));
+            probeStatsDto.setP50(toMillis(getPercentile(0.50)));
+            probeStatsDto.setP90(toMillis(getPercentile(0.90)));
+            probeStatsDto.setP99(toMillis(getPercentile(0.99)));
+            probeStatsDto.setMax(toMillis(maxNanos));
+            probeStatsDto.setTotal(toMillis(totalNanos));
+            probeStatsDto.setLastError(lastError);
+            probeStatsDto.setLastErrorAt((lastError != null) ? lastErrorAt : null);
+
+            return probeStatsDto;
+        }
+
+        /**
+         * Finds latency, below which given share of runs completed
+         *
+         * @param percentile share of runs, between 0 and 1
+         * @return long with latency in nanoseconds, never above the highest recorded latency
+         */
+        private long getPercentile(final double percentile)
+        {
+            long rank = (long) Math.ceil(percentile * count);
+            long seen = 0;
+
+            for (int i = 0; i < buckets.length; i++)
+            {
+                seen += buckets[i];
+
+                if ((seen >= rank) && (seen > 0))
+                {
+                    return Math.min(getBucketLimit(i), maxNanos);
+                }
+            }
+
+            return maxNanos;
+        }
+
+        /**
+         * Converts nanoseconds to milliseconds with microsecond precision
+         *
+         * @param nanos duration in nanoseconds
+         * @return double with duration in milliseconds
+         */
+        private static double toMillis(final long nanos)
+        {
+            return Math.round(nanos / 1_000.0) / 1_000.0;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package dev.leons.ward.components;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ProcessCommandRunner runs commands as native processes and kills them after timeout.
+ * Output of commands which were killed or exited with a failure is dropped, so partial output is never parsed
+ *
+ * @version 1.0.0
+ */
+public class ProcessCommandRunner implements CommandRunner
+{
+    /**
+     * Flag for determine Windows host, where locale variables are not applied
+     */
+    private static final boolean IS_WINDOWS = System.getProperty("os.name").startsWith("Windows");
+
+    /**
+     * Constant for determine exit status of the timeout utility, when it stopped the command it runs
+     */
+    private static final int TIMEOUT_STATUS = 124;
+
+    /**
+     * Runs command and collects its standard output
+     *
+     * @param command       command with arguments, separated by spaces
+     * @param timeoutMillis time after which command is killed
+     * @return List of output lines, empty if command failed, exited with non-zero status or timed out
+     */
+    @Override
+    public List<String> run(final String command, final long timeoutMillis)
+    {
+        String[] arguments = command.split(" ");
+        ProcessBuilder processBuilder = new ProcessBuilder(arguments);
+        processBuilder.redirectError(ProcessBuilder.Redirect.DISCARD);
+
+        if (!IS_WINDOWS)
+        {
+            processBuilder.environment().put("LC_ALL", "C");
+        }
+
+        Process process;
+
+        try
+        {
+            process = processBuilder.start();
+        }
+        catch (IOException exception)
+        {
+            return List.of();
+        }
+
+        // Reading blocks until output is closed, so hung commands are killed from the side
+        AtomicBoolean killed = new AtomicBoolean();
+        Thread.ofVirtual().start(() -> killAfterTimeout(process, timeoutMillis, killed));
+
+        try (BufferedReader reader = process.inputReader())
+        {
+            List<String> output = reader.lines().toList();
+
+            // Killer ends the process at timeout, so waiting is bounded as well
+            int status = process.waitFor();
+
+            // Commands which limit their own run time with the timeout utility, such as sampling tools, end this way
+            boolean limited = (status == TIMEOUT_STATUS) && Arrays.asList(arguments).contains("timeout");
+
+            return (killed.get() || ((status != 0) && !limited)) ? List.of() : output;
+        }
+        catch (IOException | UncheckedIOException exception)
+        {
+            return List.of();
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            return List.of();
+        }
+        finally
+        {
+            process.destroyForcibly();
+        }
+    }
+
+    /**
+     * Kills process, if it is still alive after timeout
+     *
+     * @param process       started process
+     * @param timeoutMillis time after which process is killed
+     * @param killed        set if process was killed on timeout
+     */
+    private void killAfterTimeout(final Process process, final long timeoutMillis, final AtomicBoolean killed)
+    {
+        try
+        {
+            if (!process.waitFor(timeoutMillis, TimeUnit.MILLISECONDS))
+            {
+                killed.set(true);
+                process.destroyForcibly();
+            }
+        }
+        catch (InterruptedException exception)
+        {
+            process.destroyForcibly();
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.dto.ProcessDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProcessComponent keeps state of every process between ticks, so processor usage is the delta of two scans.
+ * Scanning runs on its own thread only while process table is queried, after the idle timeout state is dropped until
+ * next query. Every listed process is read on every scan, names of steady processes are reused between scans.
+ * Top processes are selected with a heap bounded by the requested limit, instead of sorting every process
+ *
+ * @version 1.0.0
+ */
+@Component
+public class ProcessComponent
+{
+    /**
+     * Constant for determine gap between the two scans of the first query, in milliseconds
+     */
+    private static final long FIRST_SCAN_GAP = 250;
+
+    /**
+     * Autowired MetricsProbe object
+     * Used for reading processes
+     */
+    @Autowired
+    private MetricsProbe metricsProbe;
+
+    /**
+     * Autowired SamplerComponent object
+     * Used for getting total memory
+     */
+    @Autowired
+    private SamplerComponent samplerComponent;
+
+    /**
+     * Autowired ProbeStatsComponent object
+     * Used for measuring latency and failures of probes
+     */
+    @Autowired
+    private ProbeStatsComponent probeStatsComponent;
+
+    /**
+     * How long scanning continues after the latest query, in milliseconds
+     */
+    @Value("${ward.processes.idle-timeout:60000}")
+    private long idleTimeout;
+
+    /**
+     * How often processes are scanned, in milliseconds
+     */
+    @Value("${ward.sampler.interval:1000}")
+    private long interval;
+
+    /**
+     * Process states by process id
+     */
+    private final Map<Integer, ProcessState> processes = new HashMap<>();
+
+    /**
+     * Generation of the latest scan, used to drop processes which exited
+     */
+    private long generation;
+
+    /**
+     * Time of the latest scan, in nanoseconds, 0 while scanning is idle
+     */
+    private long scannedAt;
+
+    /**
+     * Runs scans, so a slow process table never delays the shared scheduler
+     */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Time of the latest query, in epoch milliseconds, 0 while scanning is idle
+     */
+    private long queriedAt;
+
+    /**
+     * Starts scanning timer, which does nothing until process table is queried
+     */
+    @PostConstruct
+    public void initialize()
+    {
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("ward-processes").daemon().factory());
+        scheduler.scheduleAtFixedRate(this::sample, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops scanning timer
+     */
+    @PreDestroy
+    public void close()
+    {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Scans processes while process table is queried
+     */
+    private synchronized void sample()
+    {
+        if (queriedAt == 0)
+        {
+            return;
+        }
+
+        if (System.currentTimeMillis() - queriedAt > idleTimeout)
+        {
+            processes.clear();
+            scannedAt = 0;
+            queriedAt = 0;
+            return;
+        }
+
+        probeStatsComponent.run("processes", this::scan);
+    }
+
+    /**
+     * Selects top processes, starting to scan if scanning was idle
+     *
+     * @param order order of processes
+     * @param limit maximal amount of processes
+     * @return List of ProcessDto, in descending order
+     */
+    public synchronized List<ProcessDto> getTop(final Order order, final int limit)
+    {
+        queriedAt = System.currentTimeMillis();
+
+        if (scannedAt == 0)
+        {
+            // Processor usage needs two scans
+            probeStatsComponent.run("processes", this::scan);
+
+            try
+            {
+                // Unlike sleep, wait releases the lock meanwhile
+                wait(FIRST_SCAN_GAP);
+            }
+            catch (InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            probeStatsComponent.run("processes", this::scan);
+        }
+
+        Comparator<ProcessState> comparator = (order == Order.MEMORY)
+                ? Comparator.comparingLong((ProcessState process) -> process.residentBytes)
+                : Comparator.comparingDouble((ProcessState process) -> process.cpuPercent);
+        comparator = comparator.thenComparing(Comparator.comparingInt((ProcessState process) -> process.pid).reversed());
+
+        // Smallest of the kept processes is at the head, so every further process is compared once
+        PriorityQueue<ProcessState> heap = new PriorityQueue<>(limit + 1, comparator);
+
+        for (ProcessState process : processes.values())
+        {
+            if (heap.size() < limit)
+            {
+                heap.add(process);
+            }
+            else if (comparator.compare(process, heap.peek()) > 0)
+            {
+                heap.poll();
+                heap.add(process);
+            }
+        }
+
+        long totalMemory = samplerComponent.getMemory()[MetricsProbe.MEMORY_TOTAL];
+        List<ProcessDto> top = new ArrayList<>(heap.size());
+
+        while (!heap.isEmpty())
+        {
+            top.add(toDto(heap.poll(), totalMemory));
+        }
+
+        Collections.reverse(top);
+        return top;
+    }
+
+    /**
+     * Reads processes and updates their processor usage from the delta with their previous read, processes which
+     * exited are dropped
+     */
+    private void scan()
+    {
+        long now = System.nanoTime();
+        long scanGeneration = ++generation;
+
+        metricsProbe.readProcesses(pid ->
+        {
+            ProcessState process = processes.get(pid);
+            return (process == null) ? null : process.name;
+        }, (pid, name, state, cpuMillis, startTime, residentBytes, threads) ->
+        {
+            ProcessState process = processes.get(pid);
+
+            // Process id was reused by another process, so previous processor time does not belong to it
+            if ((process == null) || (process.startTime != startTime))
+            {
+                process = new ProcessState(pid, startTime, cpuMillis);
+                processes.put(pid, process);
+            }
+            else
+            {
+                long cpuDelta = Math.max(0, cpuMillis - process.cpuMillis);
+
+                process.cpuPercent = cpuDelta / ((now - process.readAt) / 1E+6) * 100;
+                process.cpuMillis = cpuMillis;
+            }
+
+            process.name = name;
+            process.state = state;
+            process.residentBytes = residentBytes;
+            process.threads = threads;
+            process.readAt = now;
+            process.generation = scanGeneration;
+        });
+
+        processes.values().removeIf(process -> process.generation != scanGeneration);
+        scannedAt = now;
+    }
+
+    /**
+     * Maps process state to dto
+     *
+     * @param process     process state
+     * @param totalMemory total memory, in bytes
+     * @return ProcessDto with filled fields
+     */
+    private ProcessDto toDto(final ProcessState process, final long totalMemory)
+    {
+        ProcessDto processDto = new ProcessDto();
+        processDto.setPid(process.pid);
+        processDto.setName(process.name);
+        processDto.setState(String.valueOf(process.state));
+        processDto.setCpuPercent(process.cpuPercent);
+        processDto.setMemoryBytes(process.residentBytes);
+        processDto.setMemoryPercent((totalMemory == 0) ? 0 : (double) process.residentBytes / totalMemory * 100);
+        processDto.setThreads(process.threads);
+
+        return processDto;
+    }
+
+    /**
+     * Order of top processes
+     */
+    public enum Order
+    {
+        /**
+         * By processor usage
+         */
+        CPU,
+
+        /**
+         * By resident memory
+         */
+        MEMORY
+    }
+
+    /**
+     * ProcessState keeps values of a process between scans
+     */
+    private static final class ProcessState
+    {
+        /**
+         * Process id
+         */
+        private final int pid;
+
+        /**
+         * Start time, in probe specific units
+         */
+        private final long startTime;
+
+        /**
+         * Processor time at the previous read, in milliseconds
+         */
+        private long cpuMillis;
+
+        /**
+         * Processor usage between the two latest reads, in percents of a logical processor
+         */
+        private double cpuPercent;
+
+        /**
+         * Process name
+         */
+        private String name;
+
+        /**
+         * State letter
+         */
+        private char state;
+
+        /**
+         * Resident memory, in bytes
+         */
+        private long residentBytes;
+
+        /**
+         * Amount of threads
+         */
+        private int threads;
+
+        /**
+         * Generation of the scan which listed the process last
+         */
+        private long generation;
+
+        /**
+         * Time of the latest read, in nanoseconds
+         */
+        private long readAt;
+
+        /**
+         * Creates state of a newly seen process
+         *
+         * @param pid       process id
+         * @param startTime start time, in probe specific units
+         * @param cpuMillis processor time, in milliseconds
+         */
+        private ProcessState(final int pid, final long startTime, final long cpuMillis)
+        {
+            this.pid = pid;
+            this.startTime = startTime;
+            this.cpuMillis = cpuMillis;
+        }
+    }
+}
@@ -0,0 +1,675 @@
+package dev.leons.ward.components;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.SecureDirectoryStream;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * PseudoFileComponent reads small pseudo files from sysfs, procfs and debugfs without forking processes.
+ * Files are read into a reused direct buffer and numbers are parsed straight from ASCII bytes.
+ * Files of a directory which is read repeatedly can be opened relative to an open directory handle, skipping
+ * lookup of the whole path. Root path is configurable, so a fake tree in a temporary directory can stand in for the real one
+ *
+ * @version 1.0.0
+ */
+@Component
+public class PseudoFileComponent
+{
+    /**
+     * Constant for determine initial buffer size, enough for most pseudo files
+     */
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+
+    /**
+     * Constant for determine maximum buffer size, larger files are truncated
+     */
+    private static final int MAXIMUM_CAPACITY = 4 * 1024 * 1024;
+
+    /**
+     * Constant for determine options of files opened relative to a directory handle
+     */
+    private static final Set<OpenOption> READ_OPTIONS = Set.of(StandardOpenOption.READ);
+
+    /**
+     * Root, against which all absolute pseudo file paths are resolved
+     */
+    private final Path root;
+
+    /**
+     * Guards reused buffer
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Reused direct buffer, grows if a file does not fit
+     */
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_CAPACITY);
+
+    /**
+     * Creates component with configured root
+     *
+     * @param root root path, "/" for the real host
+     */
+    public PseudoFileComponent(@Value("${ward.pseudo-fs.root:/}") final String root)
+    {
+        this.root = Path.of(root);
+    }
+
+    /**
+     * Resolves absolute pseudo file path against configured root
+     *
+     * @param path absolute path, such as /sys/class/thermal
+     * @return Path inside configured root
+     */
+    public Path resolve(final String path)
+    {
+        return root.resolve(path.startsWith("/") ? path.substring(1) : path);
+    }
+
+    /**
+     * Reads first integer from a pseudo file
+     *
+     * @param path         absolute path, such as /sys/class/thermal/thermal_zone0/temp
+     * @param defaultValue value returned if file is unreadable or contains no integer
+     * @return long parsed value
+     */
+    public long readLong(final String path, final long defaultValue)
+    {
+        lock.lock();
+
+        try
+        {
+            if (!fill(path))
+            {
+                return defaultValue;
+            }
+
+            return parseLong(buffer, 0, buffer.limit(), defaultValue);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads whole pseudo file as trimmed string
+     *
+     * @param path absolute path, such as /sys/class/hwmon/hwmon0/name
+     * @return String with file content, null if file is unreadable
+     */
+    public String readString(final String path)
+    {
+        lock.lock();
+
+        try
+        {
+            return fill(path) ? decode(0, buffer.limit()).trim() : null;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads pseudo file line by line
+     *
+     * @param path absolute path, such as /sys/kernel/debug/dri/0/i915_gem_objects
+     * @return List of lines, empty if file is unreadable
+     */
+    public List<String> readLines(final String path)
+    {
+        lock.lock();
+
+        try
+        {
+            if (!fill(path))
+            {
+                return List.of();
+            }
+
+            List<String> lines = new ArrayList<>();
+            int limit = buffer.limit();
+            int start = 0;
+
+            for (int i = 0; i < limit; i++)
+            {
+                if (buffer.get(i) == '\n')
+                {
+                    lines.add(decode(start, i));
+                    start = i + 1;
+                }
+            }
+
+            if (start < limit)
+            {
+                lines.add(decode(start, limit));
+            }
+
+            return lines;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads pseudo file and hands its content to parser, while the reused buffer is locked.
+     * Parser must not read other pseudo files, as the buffer would be overwritten
+     *
+     * @param path   absolute path, such as /proc/stat
+     * @param parser parser of file content
+     * @return true if file was read and parsed
+     */
+    public boolean parse(final String path, final Parser parser)
+    {
+        lock.lock();
+
+        try
+        {
+            if (!fill(path))
+            {
+                return false;
+            }
+
+            parser.parse(new Cursor(buffer));
+            return true;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Opens a directory handle, files of which are then opened relative to it
+     *
+     * @param path absolute path, such as /sys/fs/cgroup/system.slice
+     * @return SecureDirectoryStream, which caller has to close, null if directory is unreadable or platform has no such handles
+     */
+    public SecureDirectoryStream<Path> openDirectory(final String path)
+    {
+        try
+        {
+            DirectoryStream<Path> directory = Files.newDirectoryStream(resolve(path));
+
+            if (directory instanceof SecureDirectoryStream<Path> secureDirectory)
+            {
+                return secureDirectory;
+            }
+
+            directory.close();
+            return null;
+        }
+        catch (IOException | SecurityException exception)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Reads first integer from a file of an open directory
+     *
+     * @param directory    directory handle
+     * @param name         relative file name, such as pids.current
+     * @param defaultValue value returned if file is unreadable or contains no integer
+     * @return long parsed value
+     */
+    public long readLong(final SecureDirectoryStream<Path> directory, final Path name, final long defaultValue)
+    {
+        lock.lock();
+
+        try
+        {
+            if (!fill(directory, name))
+            {
+                return defaultValue;
+            }
+
+            return parseLong(buffer, 0, buffer.limit(), defaultValue);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads file of an open directory and hands its content to parser, like parse with an absolute path
+     *
+     * @param directory directory handle
+     * @param name      relative file name, such as cpu.stat
+     * @param parser    parser of file content
+     * @return true if file was read and parsed
+     */
+    public boolean parse(final SecureDirectoryStream<Path> directory, final Path name, final Parser parser)
+    {
+        lock.lock();
+
+        try
+        {
+            if (!fill(directory, name))
+            {
+                return false;
+            }
+
+            parser.parse(new Cursor(buffer));
+            return true;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Parses first integer between two positions of a buffer, without creating strings
+     *
+     * @param source       buffer with ASCII content
+     * @param from         first position, inclusive
+     * @param to           last position, exclusive
+     * @param defaultValue value returned if there is no integer
+     * @return long parsed value
+     */
+    public static long parseLong(final ByteBuffer source, final int from, final int to, final long defaultValue)
+    {
+        int position = from;
+
+        while ((position < to) && !isDigit(source.get(position)))
+        {
+            position++;
+        }
+
+        if (position == to)
+        {
+            return defaultValue;
+        }
+
+        boolean negative = (position > from) && (source.get(position - 1) == '-');
+        long value = 0;
+
+        while ((position < to) && isDigit(source.get(position)))
+        {
+            value = value * 10 + (source.get(position) - '0');
+            position++;
+        }
+
+        return negative ? -value : value;
+    }
+
+    /**
+     * Checks if byte is an ASCII digit
+     *
+     * @param value byte to check
+     * @return true if byte is a digit
+     */
+    private static boolean isDigit(final byte value)
+    {
+        return (value >= '0') && (value <= '9');
+    }
+
+    /**
+     * Reads pseudo file into reused buffer, buffer is flipped for reading afterwards
+     *
+     * @param path absolute path
+     * @return true if file was read
+     */
+    private boolean fill(final String path)
+    {
+        try (FileChannel channel = FileChannel.open(resolve(path), StandardOpenOption.READ))
+        {
+            fill(channel);
+            return true;
+        }
+        catch (IOException | SecurityException exception)
+        {
+            buffer.clear().flip();
+            return false;
+        }
+    }
+
+    /**
+     * Reads file of an open directory into reused buffer, buffer is flipped for reading afterwards
+     *
+     * @param directory directory handle
+     * @param name      relative file name
+     * @return true if file was read
+     */
+    private boolean fill(final SecureDirectoryStream<Path> directory, final Path name)
+    {
+        try (ReadableByteChannel channel = directory.newByteChannel(name, READ_OPTIONS))
+        {
+            fill(channel);
+            return true;
+        }
+        catch (IOException | SecurityException exception)
+        {
+            buffer.clear().flip();
+            return false;
+        }
+    }
+
+    /**
+     * Reads channel into reused buffer until its end, buffer is flipped for reading afterwards
+     *
+     * @param channel opened channel
+     */
+    private void fill(final ReadableByteChannel channel) throws IOException
+    {
+        buffer.clear();
+
+        while (channel.read(buffer) >= 0)
+        {
+            if (!buffer.hasRemaining())
+            {
+                if (buffer.capacity() >= MAXIMUM_CAPACITY)
+                {
+                    break;
+                }
+
+                // Pseudo files report no real size, so the buffer grows only after it was filled
+                ByteBuffer grown = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+                buffer.flip();
+                grown.put(buffer);
+                buffer = grown;
+            }
+        }
+
+        buffer.flip();
+    }
+
+    /**
+     * Decodes part of the buffer as string
+     *
+     * @param from first position, inclusive
+     * @param to   last position, exclusive
+     * @return String with decoded content
+     */
+    private String decode(final int from, final int to)
+    {
+        byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parser parses pseudo file content through a cursor
+     */
+    @FunctionalInterface
+    public interface Parser
+    {
+        /**
+         * Parses pseudo file content
+         *
+         * @param cursor cursor at the beginning of file content
+         */
+        void parse(Cursor cursor);
+    }
+
+    /**
+     * Cursor walks ASCII content of a buffer line by line, parsing numbers and tokens in place
+     */
+    public static final class Cursor
+    {
+        /**
+         * Buffer with file content
+         */
+        private final ByteBuffer content;
+
+        /**
+         * Position of next byte to read
+         */
+        private int position;
+
+        /**
+         * Creates cursor at the beginning of buffer
+         *
+         * @param content buffer with file content, flipped for reading
+         */
+        private Cursor(final ByteBuffer content)
+        {
+            this.content = content;
+        }
+
+        /**
+         * Checks if there is unread content
+         *
+         * @return true if cursor is not at the end
+         */
+        public boolean hasRemaining()
+        {
+            return position < content.limit();
+        }
+
+        /**
+         * Moves cursor to the beginning of next line
+         */
+        public void nextLine()
+        {
+            while ((position < content.limit()) && (content.get(position) != '\n'))
+            {
+                position++;
+            }
+
+            position = Math.min(position + 1, content.limit());
+        }
+
+        /**
+         * Checks if unread content of current line starts with prefix, without moving cursor
+         *
+         * @param prefix ASCII prefix
+         * @return true if content starts with prefix
+         */
+        public boolean startsWith(final String prefix)
+        {
+            if (position + prefix.length() > content.limit())
+            {
+                return false;
+            }
+
+            for (int i = 0; i < prefix.length(); i++)
+            {
+                if (content.get(position + i) != prefix.charAt(i))
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Skips given amount of bytes on current line
+         *
+         * @param count amount of bytes to skip
+         */
+        public void skip(final int count)
+        {
+            position = Math.min(position + count, content.limit());
+        }
+
+        /**
+         * Parses next unsigned integer on current line, skipping everything before it
+         *
+         * @return long parsed value, -1 if there are no more integers on current line
+         */
+        public long nextLong()
+        {
+            while ((position < content.limit()) && !isDigit(content.get(position)))
+            {
+                if (content.get(position) == '\n')
+                {
+                    return -1;
+                }
+
+                position++;
+            }
+
+            if (position == content.limit())
+            {
+                return -1;
+            }
+
+            long value = 0;
+
+            while ((position < content.limit()) && isDigit(content.get(position)))
+            {
+                value = value * 10 + (content.get(position) - '0');
+                position++;
+            }
+
+            return value;
+        }
+
+        /**
+         * Reads next token on current line, which ends with whitespace or colon.
+         * If token equals previous value, previous string is returned, so steady content creates no strings
+         *
+         * @param previous previously read token at the same place, may be null
+         * @return String with token, empty if there are no more tokens on current line
+         */
+        public String nextToken(final String previous)
+        {
+            while ((position < content.limit()) && ((content.get(position) == ' ') || (content.get(position) == '\t')))
+            {
+                position++;
+            }
+
+            int start = position;
+
+            while ((position < content.limit()) && !isDelimiter(content.get(position)))
+            {
+                position++;
+            }
+
+            if ((previous != null) && (previous.length() == position - start))
+            {
+                boolean equal = true;
+
+                for (int i = 0; equal && (i < previous.length()); i++)
+                {
+                    equal = content.get(start + i) == previous.charAt(i);
+                }
+
+                if (equal)
+                {
+                    return previous;
+                }
+            }
+
+            byte[] bytes = new byte[position - start];
+            content.get(start, bytes);
+            return new String(bytes, StandardCharsets.US_ASCII);
+        }
+
+        /**
+         * Reads text between the first opening and the last closing parenthesis on current line, such as process name
+         * in /proc/[pid]/stat, which may contain spaces and parentheses itself. Cursor is moved after the closing parenthesis.
+         * If text equals previous value, previous string is returned, like with nextToken
+         *
+         * @param previous previously read text at the same place, may be null
+         * @return String with enclosed text, empty if current line has no parentheses
+         */
+        public String nextEnclosed(final String previous)
+        {
+            int end = position;
+
+            while ((end < content.limit()) && (content.get(end) != '\n'))
+            {
+                end++;
+            }
+
+            int open = -1;
+            int close = -1;
+
+            for (int i = position; i < end; i++)
+            {
+                if ((open < 0) && (content.get(i) == '('))
+                {
+                    open = i;
+                }
+                else if ((open >= 0) && (content.get(i) == ')'))
+                {
+                    close = i;
+                }
+            }
+
+            if (close < 0)
+            {
+                return "";
+            }
+
+            position = close + 1;
+
+            if ((previous != null) && (previous.length() == close - open - 1))
+            {
+                boolean equal = true;
+
+                for (int i = 0; equal && (i < previous.length()); i++)
+                {
+                    equal = content.get(open + 1 + i) == previous.charAt(i);
+                }
+
+                if (equal)
+                {
+                    return previous;
+                }
+            }
+
+            byte[] bytes = new byte[close - open - 1];
+            content.get(open + 1, bytes);
+
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Reads first character of next token on current line, such as process state letter, without creating a string
+         *
+         * @return char with first character of the token, '?' if there are no more tokens on current line
+         */
+        public char nextChar()
+        {
+            while ((position < content.limit()) && ((content.get(position) == ' ') || (content.get(position) == '\t')))
+            {
+                position++;
+            }
+
+            char value = ((position < content.limit()) && !isDelimiter(content.get(position))) ? (char) content.get(position) : '?';
+
+            while ((position < content.limit()) && !isDelimiter(content.get(position)))
+            {
+                position++;
+            }
+
+            return value;
+        }
+
+        /**
+         * Checks if byte ends a token
+         *
+         * @param value byte to check
+         * @return true if byte is whitespace or colon
+         */
+        private static boolean isDelimiter(final byte value)
+        {
+            return (value == ' ') || (value == '\t') || (value == '\n') || (value == ':');
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package dev.leons.ward.components;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * SampleBatch is a batch of samples pushed by an agent to a central Ward instance, in compact binary form.
+ * Values are quantized to longs, percents in hundredths and rates in bytes per second, then timestamps and values
+ * are stored as zigzag varint deltas from the previous sample, so a steady sample costs about a byte per field
+ * before gzip. Field count is part of the batch, so receivers skip fields added by newer agents
+ *
+ * @version 1.0.0
+ */
+final class SampleBatch
+{
+    /**
+     * Constant for determine batch signature, "WSB1"
+     */
+    private static final int MAGIC = 0x57534231;
+
+    /**
+     * Constant for determine maximal amount of samples of a batch, larger batches are rejected as malformed
+     */
+    static final int MAX_SAMPLES = 100_000;
+
+    /**
+     * Constant for determine maximal amount of fields of a sample, larger samples are rejected as malformed
+     */
+    private static final int MAX_FIELDS = 64;
+
+    /**
+     * Constant for determine maximal length of an agent name, in bytes of its encoded form
+     */
+    static final int MAX_AGENT_LENGTH = 255;
+
+    /**
+     * Constant for determine initial capacity of decoded samples, arrays grow as samples are actually read
+     */
+    private static final int INITIAL_SAMPLES = 64;
+
+    /**
+     * Constant for determine index of processor usage, in percents
+     */
+    static final int PROCESSOR = 0;
+
+    /**
+     * Constant for determine index of memory usage, in percents
+     */
+    static final int RAM = 1;
+
+    /**
+     * Constant for determine index of storage usage, in percents
+     */
+    static final int STORAGE = 2;
+
+    /**
+     * Constant for determine index of network receive throughput, in bytes per second
+     */
+    static final int NETWORK_RECEIVE = 3;
+
+    /**
+     * Constant for determine index of network send throughput, in bytes per second
+     */
+    static final int NETWORK_SEND = 4;
+
+    /**
+     * Constant for determine index of disk read throughput, in bytes per second
+     */
+    static final int DISK_READ = 5;
+
+    /**
+     * Constant for determine index of disk write throughput, in bytes per second
+     */
+    static final int DISK_WRITE = 6;
+
+    /**
+     * Constant for determine amount of fields of a sample
+     */
+    static final int FIELDS = 7;
+
+    /**
+     * Constant for determine quantized value of an unknown field
+     */
+    static final long UNKNOWN = -1;
+
+    /**
+     * Agent name
+     */
+    private final String agent;
+
+    /**
+     * Push interval of the agent, in milliseconds
+     */
+    private final long pushInterval;
+
+    /**
+     * Amount of samples
+     */
+    private final int count;
+
+    /**
+     * Sample timestamps, in epoch milliseconds
+     */
+    private final long[] timestamps;
+
+    /**
+     * Quantized values, FIELDS per sample
+     */
+    private final long[] values;
+
+    /**
+     * Creates batch of quantized samples
+     *
+     * @param agent        agent name
+     * @param pushInterval push interval of the agent, in milliseconds
+     * @param count        amount of samples
+     * @param timestamps   sample timestamps, at least count long
+     * @param values       quantized values, at least count * FIELDS long
+     */
+    SampleBatch(final String agent, final long pushInterval, final int count, final long[] timestamps, final long[] values)
+    {
+        this.agent = agent;
+        this.pushInterval = pushInterval;
+        this.count = count;
+        this.timestamps = timestamps;
+        this.values = values;
+    }
+
+    /**
+     * Gets agent name
+     *
+     * @return String with agent name
+     */
+    String getAgent()
+    {
+        return agent;
+    }
+
+    /**
+     * Gets push interval of the agent
+     *
+     * @return long with interval, in milliseconds
+     */
+    long getPushInterval()
+    {
+        return pushInterval;
+    }
+
+    /**
+     * Gets amount of samples
+     *
+     * @return int with amount of samples
+     */
+    int getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Gets timestamp of a sample
+     *
+     * @param sample sample index
+     * @return long with timestamp, in epoch milliseconds
+     */
+    long getTimestamp(final int sample)
+    {
+        return timestamps[sample];
+    }
+
+    /**
+     * Gets quantized value of a sample field
+     *
+     * @param sample sample index
+     * @param field  field index, such as PROCESSOR
+     * @return long with quantized value, UNKNOWN if unknown
+     */
+    long getValue(final int sample, final int field)
+    {
+        return values[sample * FIELDS + field];
+    }
+
+    /**
+     * Quantizes value of a field
+     *
+     * @param field field index, such as PROCESSOR
+     * @param value value, NaN if unknown
+     * @return long with quantized value, UNKNOWN if unknown
+     */
+    static long quantize(final int field, final double value)
+    {
+        if (Double.isNaN(value) || (value < 0))
+        {
+            return UNKNOWN;
+        }
+
+        return Math.round((field <= STORAGE) ? value * 100 : value);
+    }
+
+    /**
+     * Restores value of a field from its quantized form
+     *
+     * @param field     field index, such as PROCESSOR
+     * @param quantized quantized value
+     * @return double with value, NaN if unknown
+     */
+    static double restore(final int field, final long quantized)
+    {
+        if (quantized < 0)
+        {
+            return Double.NaN;
+        }
+
+        return (field <= STORAGE) ? quantized / 100.0 : quantized;
+    }
+
+    /**
+     * Encodes batch and gzips it
+     *
+     * @return byte array with encoded batch
+     */
+    byte[] encode()
+    {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(64 + count * 4);
+
+        // Varints are written byte by byte, so deflater is fed through a buffer
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(byteArrayOutputStream))))
+        {
+            output.writeInt(MAGIC);
+            output.writeUTF(agent);
+            writeVarLong(output, pushInterval);
+            writeVarLong(output, count);
+            writeVarLong(output, FIELDS);
+            output.writeLong((count > 0) ? timestamps[0] : 0);
+
+            long previousTimestamp = (count > 0) ? timestamps[0] : 0;
+            long[] previous = new long[FIELDS];
+
+            for (int sample = 0; sample < count; sample++)
+            {
+                writeVarLong(output, zigzag(timestamps[sample] - previousTimestamp));
+                previousTimestamp = timestamps[sample];
+
+                for (int field = 0; field < FIELDS; field++)
+                {
+                    long value = values[sample * FIELDS + field];
+                    writeVarLong(output, zigzag(value - previous[field]));
+                    previous[field] = value;
+                }
+            }
+        }
+        catch (IOException exception)
+        {
+            // Writing into memory does not fail
+            throw new IllegalStateException(exception);
+        }
+
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    /**
+     * Decodes gzipped batch. Only as much is inflated as the batch structure declares, so a small body
+     * which inflates to a huge stream costs no more than a valid batch. Arrays grow with samples actually read,
+     * so a header claiming many samples costs nothing until they arrive
+     *
+     * @param body encoded batch
+     * @return SampleBatch with decoded samples
+     * @throws IOException if body is not a valid batch
+     */
+    static SampleBatch decode(final byte[] body) throws IOException
+    {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new ByteArrayInputStream(body)))))
+        {
+            if (input.readInt() != MAGIC)
+            {
+                throw new IOException("Unknown batch signature");
+            }
+
+            String agent = readAgent(input);
+            long pushInterval = readVarLong(input);
+            long count = readVarLong(input);
+            long fields = readVarLong(input);
+
+            if (agent.isBlank() || (count < 0) || (count > MAX_SAMPLES) || (fields < 0) || (fields > MAX_FIELDS))
+            {
+                throw new IOException("Malformed batch header");
+            }
+
+            long[] timestamps = new long[(int) Math.min(count, INITIAL_SAMPLES)];
+            long[] values = new long[timestamps.length * FIELDS];
+            long[] previous = new long[(int) fields];
+            long timestamp = input.readLong();
+
+            for (int sample = 0; sample < count; sample++)
+            {
+                if (sample == timestamps.length)
+                {
+                    timestamps = Arrays.copyOf(timestamps, (int) Math.min(count, sample * 2L));
+                    values = Arrays.copyOf(values, timestamps.length * FIELDS);
+                }
+
+                timestamp += unzigzag(readVarLong(input));
+                timestamps[sample] = timestamp;
+
+                for (int field = 0; field < fields; field++)
+                {
+                    previous[field] += unzigzag(readVarLong(input));
+                }
+
+                for (int field = 0; field < FIELDS; field++)
+                {
+                    // Fields unknown to older agents stay unknown
+                    values[sample * FIELDS + field] = (field < fields) ? previous[field] : UNKNOWN;
+                }
+            }
+
+            return new SampleBatch(agent.trim(), Math.max(0, pushInterval), (int) count, timestamps, values);
+        }
+    }
+
+    /**
+     * Maps signed value to unsigned, so small negative deltas take as few bytes as small positive ones
+     *
+     * @param value signed value
+     * @return long with zigzag encoded value
+     */
+    private static long zigzag(final long value)
+    {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Maps zigzag encoded value back to signed
+     *
+     * @param value zigzag encoded value
+     * @return long with signed value
+     */
+    private static long unzigzag(final long value)
+    {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Writes value as varint, seven bits per byte with continuation bit
+     *
+     * @param output target output
+     * @param value  unsigned value
+     * @throws IOException if output fails
+     */
+    private static void writeVarLong(final DataOutput output, final long value) throws IOException
+    {
+        long remaining = value;
+
+        while ((remaining & ~0x7FL) != 0)
+        {
+            output.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+
+        output.writeByte((int) remaining);
+    }
+
+    /**
+     * Reads agent name written by writeUTF, checking its length before the name is read
+     *
+     * @param input source input
+     * @return String with agent name
+     * @throws IOException if input ends or name is longer than MAX_AGENT_LENGTH
+     */
+    private static String readAgent(final DataInput input) throws IOException
+    {
+        int length = input.readUnsignedShort();
+
+        if (length > MAX_AGENT_LENGTH)
+        {
+            throw new IOException("Agent name is longer than " + MAX_AGENT_LENGTH + " bytes");
+        }
+
+        byte[] encoded = new byte[length + 2];
+        encoded[0] = (byte) (length >>> 8);
+        encoded[1] = (byte) length;
+        input.readFully(encoded, 2, length);
+
+        return DataInputStream.readUTF(new DataInputStream(new ByteArrayInputStream(encoded)));
+    }
+
+    /**
+     * Reads varint written by writeVarLong
+     *
+     * @param input source input
+     * @return long with unsigned value
+     * @throws IOException if input ends or varint is longer than ten bytes
+     */
+    private static long readVarLong(final DataInput input) throws IOException
+    {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7)
+        {
+            int current = input.readUnsignedByte();
+            value |= (long) (current & 0x7F) << shift;
+
+            if ((current & 0x80) == 0)
+            {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,598 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.dto.CoresDto;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import oshi.hardware.CentralProcessor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SamplerComponent samples processor ticks, memory, disk and network counters through MetricsProbe in background
+ * and publishes the latest values, so request threads never have to wait between two tick readings.
+ * Inside a limited cgroup, processor and ram usage are published relative to the cgroup limits
+ *
+ * @version 1.0.0
+ */
+@Component
+public class SamplerComponent
+{
+    /**
+     * Constant for determine amount of cumulative disk counters, for which rates are derived
+     */
+    private static final int DISK_COUNTERS = 8;
+
+    /**
+     * Constant for determine index of queue length in disk values, a gauge which is published as it is read
+     */
+    private static final int DISK_QUEUE_LENGTH = DISK_COUNTERS;
+
+    /**
+     * Autowired MetricsProbe object
+     * Used for reading processor ticks, frequencies and memory
+     */
+    @Autowired
+    private MetricsProbe metricsProbe;
+
+    /**
+     * Autowired ProbeStatsComponent object
+     * Used for measuring latency and failures of probes
+     */
+    @Autowired
+    private ProbeStatsComponent probeStatsComponent;
+
+    /**
+     * Autowired CgroupComponent object
+     * Used for reporting usage relative to limits of the container
+     */
+    @Autowired
+    private CgroupComponent cgroupComponent;
+
+    /**
+     * Ticks from the previous sample, reused between samples
+     */
+    private long[] previousTicks = new long[CentralProcessor.TickType.values().length];
+
+    /**
+     * Ticks from the current sample, reused between samples
+     */
+    private long[] currentTicks = new long[CentralProcessor.TickType.values().length];
+
+    /**
+     * Latest processor usage in percents, published for request threads
+     */
+    private volatile double processorUsage;
+
+    /**
+     * Per logical processor ticks from the previous sample, reused between samples
+     */
+    private long[][] previousCoreTicks;
+
+    /**
+     * Per logical processor ticks from the current sample, reused between samples
+     */
+    private long[][] currentCoreTicks;
+
+    /**
+     * Per logical processor usage in percents, reused between samples
+     */
+    private double[] coreUsage;
+
+    /**
+     * Per logical processor frequency in hertz, reused between samples
+     */
+    private long[] coreFrequency;
+
+    /**
+     * Guards per logical processor buffers, while they are written or copied
+     */
+    private final Object coreLock = new Object();
+
+    /**
+     * Memory amounts, indexed by MetricsProbe memory constants, reused between samples
+     */
+    private final long[] memory = new long[MetricsProbe.MEMORY_SIZE];
+
+    /**
+     * Latest ram usage in percents, published for request threads
+     */
+    private volatile double ramUsage;
+
+    /**
+     * Guards processor ticks, while they are swapped or copied
+     */
+    private final Object tickLock = new Object();
+
+    /**
+     * Guards disk and network counters, while they are written or passed to consumers
+     */
+    private final Object deviceLock = new Object();
+
+    /**
+     * Disk values by disk name, reused between samples. Cumulative counters come first in DiskConsumer parameter order
+     * without queue length, only they are passed to disk rates. Queue length follows as a gauge, then sample generation
+     */
+    private final Map<String, long[]> diskCounters = new LinkedHashMap<>();
+
+    /**
+     * Network counters by interface name, in NetworkConsumer parameter order followed by sample generation, reused between samples
+     */
+    private final Map<String, long[]> networkCounters = new LinkedHashMap<>();
+
+    /**
+     * Generation of the latest sample, used to drop devices which disappeared
+     */
+    private long generation;
+
+    /**
+     * Time constant of rate smoothing, in milliseconds, 0 disables smoothing
+     */
+    @Value("${ward.sampler.smoothing:3000}")
+    private long smoothingMillis;
+
+    /**
+     * Smoothed network rates by interface name, in NetworkConsumer parameter order
+     */
+    private CounterRates networkRates;
+
+    /**
+     * Smoothed disk rates by disk name, in DiskConsumer parameter order without queue length, which is no counter
+     */
+    private CounterRates diskRates;
+
+    /**
+     * Takes the first reading, so the first scheduled sample already has a delta
+     */
+    @PostConstruct
+    public void initialize()
+    {
+        networkRates = new CounterRates(8, smoothingMillis);
+        diskRates = new CounterRates(DISK_COUNTERS, smoothingMillis);
+
+        metricsProbe.readProcessorTicks(currentTicks);
+
+        allocateCoreBuffers(metricsProbe.readCoreTicks(new long[0][]));
+        metricsProbe.readCoreTicks(currentCoreTicks);
+
+        sampleMemory();
+        sampleCgroup();
+        sampleDevices();
+    }
+
+    /**
+     * Reads processor ticks and publishes usage calculated from the delta with the previous reading
+     */
+    @Scheduled(fixedRateString = "${ward.sampler.interval:1000}")
+    public void sample()
+    {
+        // Cgroup is read first, so processor and memory usage are published from the same tick
+        probeStatsComponent.run("sampler.cgroup", this::sampleCgroup);
+        probeStatsComponent.run("sampler.processor", this::sampleProcessor);
+        probeStatsComponent.run("sampler.cores", this::sampleCores);
+        probeStatsComponent.run("sampler.memory", this::sampleMemory);
+        probeStatsComponent.run("sampler.devices", this::sampleDevices);
+    }
+
+    /**
+     * Reads processor ticks into reused buffers and publishes usage
+     */
+    private void sampleProcessor()
+    {
+        synchronized (tickLock)
+        {
+            long[] swap = previousTicks;
+            previousTicks = currentTicks;
+            currentTicks = swap;
+            metricsProbe.readProcessorTicks(currentTicks);
+
+            double usage = getUsage(previousTicks, currentTicks);
+            CgroupComponent.CgroupUsage cgroupUsage = cgroupComponent.getActiveUsage();
+
+            processorUsage = ((cgroupUsage != null) && !Double.isNaN(cgroupUsage.cpuPercent())) ? cgroupUsage.cpuPercent() : usage;
+        }
+    }
+
+    /**
+     * Reads limits and usage of the cgroup, with amounts of the host as fallback for missing limits
+     */
+    private void sampleCgroup()
+    {
+        int logicalProcessorCount;
+
+        synchronized (coreLock)
+        {
+            logicalProcessorCount = currentCoreTicks.length;
+        }
+
+        long totalMemory;
+
+        synchronized (memory)
+        {
+            totalMemory = memory[MetricsProbe.MEMORY_TOTAL];
+        }
+
+        cgroupComponent.sample(logicalProcessorCount, totalMemory);
+    }
+
+    /**
+     * Reads disk and network counters into reused buffers, devices missing from the reading are dropped
+     */
+    private void sampleDevices()
+    {
+        synchronized (deviceLock)
+        {
+            long sampleGeneration = ++generation;
+            long sampleNanos = System.nanoTime();
+
+            diskRates.begin(sampleNanos);
+            metricsProbe.readDisks((name, reads, readBytes, readMillis, writes, writeBytes, writeMillis, queueLength, ioMillis, weightedMillis) ->
+            {
+                long[] counters = diskCounters.computeIfAbsent(name, key -> new long[DISK_COUNTERS + 2]);
+                counters[0] = reads;
+                counters[1] = readBytes;
+                counters[2] = readMillis;
+                counters[3] = writes;
+                counters[4] = writeBytes;
+                counters[5] = writeMillis;
+                counters[6] = ioMillis;
+                counters[7] = weightedMillis;
+                counters[DISK_QUEUE_LENGTH] = queueLength;
+                counters[DISK_COUNTERS + 1] = sampleGeneration;
+                diskRates.update(name, counters);
+            });
+            diskCounters.values().removeIf(counters -> counters[DISK_COUNTERS + 1] != sampleGeneration);
+            diskRates.end();
+
+            networkRates.begin(sampleNanos);
+            metricsProbe.readNetwork((name, bytesRecv, packetsRecv, inErrors, inDrops, bytesSent, packetsSent, outErrors, outDrops) ->
+            {
+                long[] counters = networkCounters.computeIfAbsent(name, key -> new long[9]);
+                counters[0] = bytesRecv;
+                counters[1] = packetsRecv;
+                counters[2] = inErrors;
+                counters[3] = inDrops;
+                counters[4] = bytesSent;
+                counters[5] = packetsSent;
+                counters[6] = outErrors;
+                counters[7] = outDrops;
+                counters[8] = sampleGeneration;
+                networkRates.update(name, counters);
+            });
+            networkCounters.values().removeIf(counters -> counters[8] != sampleGeneration);
+            networkRates.end();
+        }
+    }
+
+    /**
+     * Reads memory amounts and publishes ram usage
+     */
+    private void sampleMemory()
+    {
+        synchronized (memory)
+        {
+            metricsProbe.readMemory(memory);
+
+            long totalMemory = memory[MetricsProbe.MEMORY_TOTAL];
+            CgroupComponent.CgroupUsage cgroupUsage = cgroupComponent.getActiveUsage();
+
+            if ((cgroupUsage != null) && !Double.isNaN(cgroupUsage.memoryPercent()))
+            {
+                ramUsage = cgroupUsage.memoryPercent();
+            }
+            else
+            {
+                // Handle possible division by zero
+                ramUsage = (totalMemory == 0) ? 0 : 100 - ((double) memory[MetricsProbe.MEMORY_AVAILABLE] / totalMemory * 100);
+            }
+        }
+    }
+
+    /**
+     * Reads per logical processor ticks and frequencies into reused buffers
+     */
+    private void sampleCores()
+    {
+        synchronized (coreLock)
+        {
+            long[][] swap = previousCoreTicks;
+            previousCoreTicks = currentCoreTicks;
+            currentCoreTicks = swap;
+
+            int logicalProcessorCount = metricsProbe.readCoreTicks(currentCoreTicks);
+
+            if (logicalProcessorCount != currentCoreTicks.length)
+            {
+                // Logical processors were hot-plugged, so there is no valid delta for this sample
+                allocateCoreBuffers(logicalProcessorCount);
+                metricsProbe.readCoreTicks(currentCoreTicks);
+                return;
+            }
+
+            metricsProbe.readCoreFrequency(coreFrequency);
+
+            for (int i = 0; i < coreUsage.length; i++)
+            {
+                coreUsage[i] = getUsage(previousCoreTicks[i], currentCoreTicks[i]);
+            }
+        }
+    }
+
+    /**
+     * Allocates per logical processor buffers
+     *
+     * @param logicalProcessorCount amount of logical processors
+     */
+    private void allocateCoreBuffers(final int logicalProcessorCount)
+    {
+        int tickTypeCount = CentralProcessor.TickType.values().length;
+
+        previousCoreTicks = new long[logicalProcessorCount][tickTypeCount];
+        currentCoreTicks = new long[logicalProcessorCount][tickTypeCount];
+        coreUsage = new double[logicalProcessorCount];
+        coreFrequency = new long[logicalProcessorCount];
+    }
+
+    /**
+     * Calculates processor usage between two tick readings
+     *
+     * @param prevTicksArray previous ticks
+     * @param currTicksArray current ticks
+     * @return double that display processor usage in percents
+     */
+    private double getUsage(final long[] prevTicksArray, final long[] currTicksArray)
+    {
+        long prevTotalTicks = 0;
+        long currTotalTicks = 0;
+
+        for (int i = 0; i < currTicksArray.length; i++)
+        {
+            prevTotalTicks += prevTicksArray[i];
+            currTotalTicks += currTicksArray[i];
+        }
+
+        long idleTicksDelta = currTicksArray[CentralProcessor.TickType.IDLE.getIndex()] - prevTicksArray[CentralProcessor.TickType.IDLE.getIndex()];
+        long totalTicksDelta = currTotalTicks - prevTotalTicks;
+
+        // Handle possible division by zero
+        if (totalTicksDelta <= 0)
+        {
+            return 0;
+        }
+
+        // Calculate CPU usage percentage
+        return (1 - (double) idleTicksDelta / totalTicksDelta) * 100;
+    }
+
+    /**
+     * Copies latest per logical processor usage and frequency
+     *
+     * @return CoresDto with filled fields
+     */
+    public CoresDto getCores()
+    {
+        synchronized (coreLock)
+        {
+            int[] usage = new int[coreUsage.length];
+            int[] clockSpeed = new int[coreFrequency.length];
+
+            for (int i = 0; i < usage.length; i++)
+            {
+                usage[i] = (int) coreUsage[i];
+                clockSpeed[i] = (int) (coreFrequency[i] / 1_000_000);
+            }
+
+            CoresDto coresDto = new CoresDto();
+            coresDto.setUsage(usage);
+            coresDto.setClockSpeed(clockSpeed);
+
+            return coresDto;
+        }
+    }
+
+    /**
+     * Copies latest per logical processor usage and frequency into caller buffers, without creating dtos
+     *
+     * @param usage     buffer for usage in percents
+     * @param frequency buffer for frequency in hertz
+     * @return int with amount of logical processors, buffers shorter than that are filled partially
+     */
+    public int copyCores(final double[] usage, final long[] frequency)
+    {
+        synchronized (coreLock)
+        {
+            System.arraycopy(coreUsage, 0, usage, 0, Math.min(usage.length, coreUsage.length));
+            System.arraycopy(coreFrequency, 0, frequency, 0, Math.min(frequency.length, coreFrequency.length));
+
+            return coreUsage.length;
+        }
+    }
+
+    /**
+     * Gets latest average frequency of all logical processors
+     *
+     * @return long with frequency in hertz
+     */
+    public long getAverageFrequency()
+    {
+        synchronized (coreLock)
+        {
+            if (coreFrequency.length == 0)
+            {
+                return 0;
+            }
+
+            long totalFrequency = 0;
+
+            for (long frequency : coreFrequency)
+            {
+                totalFrequency += frequency;
+            }
+
+            return totalFrequency / coreFrequency.length;
+        }
+    }
+
+    /**
+     * Gets latest processor usage
+     *
+     * @return int that display processor usage
+     */
+    public int getProcessorUsage()
+    {
+        return (int) processorUsage;
+    }
+
+    /**
+     * Gets latest processor usage, without truncating fraction
+     *
+     * @return double with processor usage in percents
+     */
+    public double getProcessorUsagePercent()
+    {
+        return processorUsage;
+    }
+
+    /**
+     * Gets latest ram usage
+     *
+     * @return int that display ram usage
+     */
+    public int getRamUsage()
+    {
+        return (int) ramUsage;
+    }
+
+    /**
+     * Gets latest ram usage, without truncating fraction
+     *
+     * @return double with ram usage in percents
+     */
+    public double getRamUsagePercent()
+    {
+        return ramUsage;
+    }
+
+    /**
+     * Copies latest memory amounts
+     *
+     * @return long array indexed by MetricsProbe memory constants, amounts in bytes
+     */
+    public long[] getMemory()
+    {
+        synchronized (memory)
+        {
+            return memory.clone();
+        }
+    }
+
+    /**
+     * Copies latest cumulative processor ticks
+     *
+     * @param ticks buffer indexed by TickType, in milliseconds
+     */
+    public void getProcessorTicks(final long[] ticks)
+    {
+        synchronized (tickLock)
+        {
+            System.arraycopy(currentTicks, 0, ticks, 0, Math.min(ticks.length, currentTicks.length));
+        }
+    }
+
+    /**
+     * Passes latest disk counters to consumer, without reading the disks again
+     *
+     * @param consumer receives counters of every disk
+     */
+    public void readDisks(final MetricsProbe.DiskConsumer consumer)
+    {
+        synchronized (deviceLock)
+        {
+            for (Map.Entry<String, long[]> entry : diskCounters.entrySet())
+            {
+                long[] counters = entry.getValue();
+                consumer.accept(entry.getKey(), counters[0], counters[1], counters[2], counters[3], counters[4],
+                        counters[5], counters[DISK_QUEUE_LENGTH], counters[6], counters[7]);
+            }
+        }
+    }
+
+    /**
+     * Passes latest network counters to consumer, without reading the interfaces again
+     *
+     * @param consumer receives counters of every interface
+     */
+    public void readNetwork(final MetricsProbe.NetworkConsumer consumer)
+    {
+        synchronized (deviceLock)
+        {
+            for (Map.Entry<String, long[]> entry : networkCounters.entrySet())
+            {
+                long[] counters = entry.getValue();
+                consumer.accept(entry.getKey(), counters[0], counters[1], counters[2], counters[3], counters[4],
+                        counters[5], counters[6], counters[7]);
+            }
+        }
+    }
+
+    /**
+     * Passes latest smoothed network rates to consumer
+     *
+     * @param consumer receives rates per second of every interface, in NetworkConsumer parameter order
+     */
+    public void readNetworkRates(final CounterRates.RateConsumer consumer)
+    {
+        synchronized (deviceLock)
+        {
+            networkRates.read(consumer);
+        }
+    }
+
+    /**
+     * Derives latest disk activity from smoothed disk rates, like iostat does from consecutive readings
+     *
+     * @return Map of DiskActivity by disk name, without /dev/ prefix
+     */
+    public Map<String, DiskActivity> getDiskActivity()
+    {
+        synchronized (deviceLock)
+        {
+            Map<String, DiskActivity> diskActivity = new LinkedHashMap<>();
+
+            diskRates.read((name, rates) ->
+            {
+                double operations = rates[0] + rates[3];
+                double waitMillis = rates[2] + rates[5];
+                double await = Double.isNaN(waitMillis) ? Double.NaN : ((operations > 0) ? waitMillis / operations : 0);
+
+                // Weighted time grows by queue length every millisecond, probes without it fall back to the momentary queue
+                long queueLength = diskCounters.get(name)[DISK_QUEUE_LENGTH];
+                double queueDepth = !Double.isNaN(rates[7]) ? rates[7] / 1_000 : ((queueLength >= 0) ? queueLength : Double.NaN);
+
+                diskActivity.put(name, new DiskActivity(rates[1], rates[4], rates[0], rates[3], await, queueDepth,
+                        Math.min(100, rates[6] / 10)));
+            });
+
+            return diskActivity;
+        }
+    }
+
+    /**
+     * DiskActivity is activity of a disk, averaged by rate smoothing, NaN if unknown
+     *
+     * @param readBytesPerSecond  read throughput, in bytes per second
+     * @param writeBytesPerSecond write throughput, in bytes per second
+     * @param readIops            completed reads per second
+     * @param writeIops           completed writes per second
+     * @param awaitMillis         average time of a request, including time in queue, in milliseconds
+     * @param queueDepth          average amount of requests in flight
+     * @param utilizationPercent  share of time with requests in flight, in percents
+     */
+    public record DiskActivity(double readBytesPerSecond, double writeBytesPerSecond, double readIops, double writeIops,
+                               double awaitMillis, double queueDepth, double utilizationPercent)
+    {
+    }
+}
@@ -0,0 +1,493 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.dto.SensorDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SensorComponent discovers thermal zones and hwmon sensors once, classifies them
+ * and then polls only the discovered files at a fixed cadence
+ *
+ * @version 1.0.0
+ */
+@Component
+public class SensorComponent
+{
+    /**
+     * Constant for matching hwmon input files, such as temp1_input, fan2_input or in0_input
+     */
+    private static final Pattern INPUT_PATTERN = Pattern.compile("(temp|fan|in)(\\d+)_input");
+
+    /**
+     * Kind of sensor, determined from thermal zone type, hwmon name and label
+     */
+    public enum Kind
+    {
+        PACKAGE, CORE, NVME, DRIVE, FAN, VOLTAGE, OTHER
+    }
+
+    /**
+     * Autowired PseudoFileComponent object
+     * Used for reading sysfs
+     */
+    @Autowired
+    private PseudoFileComponent pseudoFileComponent;
+
+    /**
+     * Autowired ProbeStatsComponent object
+     * Used for measuring latency and failures of probes
+     */
+    @Autowired
+    private ProbeStatsComponent probeStatsComponent;
+
+    /**
+     * Index of discovered sensors, replaced only on discovery
+     */
+    private volatile Index index;
+
+    /**
+     * Polls discovered sensors
+     */
+    @Scheduled(fixedRateString = "${ward.sensors.interval:2000}")
+    public void poll()
+    {
+        probeStatsComponent.run("sensors", () -> read(getIndex()));
+    }
+
+    /**
+     * Reads values of all sensors in index
+     *
+     * @param currentIndex index of discovered sensors
+     */
+    private void read(final Index currentIndex)
+    {
+        synchronized (currentIndex)
+        {
+            for (int i = 0; i < currentIndex.paths.length; i++)
+            {
+                long raw = pseudoFileComponent.readLong(currentIndex.paths[i], Long.MIN_VALUE);
+                currentIndex.values[i] = (raw == Long.MIN_VALUE) ? Double.NaN : raw / currentIndex.divisors[i];
+            }
+        }
+    }
+
+    /**
+     * Discovers sensors again, used after hardware was hot-plugged
+     */
+    public void rediscover()
+    {
+        Index discoveredIndex = discover();
+        read(discoveredIndex);
+        index = discoveredIndex;
+    }
+
+    /**
+     * Gets latest values of all discovered sensors
+     *
+     * @return List of SensorDto with filled fields
+     */
+    public List<SensorDto> getSensors()
+    {
+        Index currentIndex = getIndex();
+        List<SensorDto> sensorDtos = new ArrayList<>(currentIndex.paths.length);
+
+        synchronized (currentIndex)
+        {
+            for (int i = 0; i < currentIndex.paths.length; i++)
+            {
+                SensorDto sensorDto = new SensorDto();
+                sensorDto.setName(currentIndex.names[i]);
+                sensorDto.setLabel(currentIndex.labels[i]);
+                sensorDto.setType(currentIndex.kinds[i].name().toLowerCase(Locale.ROOT));
+                sensorDto.setDevice(currentIndex.devices[i]);
+                sensorDto.setValue(Double.isNaN(currentIndex.values[i]) ? null : currentIndex.values[i]);
+                sensorDto.setUnit(getUnit(currentIndex.kinds[i]));
+                sensorDtos.add(sensorDto);
+            }
+        }
+
+        return sensorDtos;
+    }
+
+    /**
+     * Passes latest values of all discovered sensors to consumer, without creating dtos
+     *
+     * @param consumer receives every sensor
+     */
+    public void readSensors(final SensorConsumer consumer)
+    {
+        Index currentIndex = getIndex();
+
+        synchronized (currentIndex)
+        {
+            for (int i = 0; i < currentIndex.paths.length; i++)
+            {
+                consumer.accept(currentIndex.names[i], currentIndex.labels[i], currentIndex.kinds[i], currentIndex.devices[i], currentIndex.values[i]);
+            }
+        }
+    }
+
+    /**
+     * Gets processor temperature, preferring package sensor, then the hottest core sensor
+     *
+     * @return double with temperature in celsius, NaN if there is no processor sensor
+     */
+    public double getProcessorTemperature()
+    {
+        Index currentIndex = getIndex();
+        double hottestCore = Double.NaN;
+
+        synchronized (currentIndex)
+        {
+            for (int i = 0; i < currentIndex.paths.length; i++)
+            {
+                if ((currentIndex.kinds[i] == Kind.PACKAGE) && !Double.isNaN(currentIndex.values[i]))
+                {
+                    return currentIndex.values[i];
+                }
+
+                if ((currentIndex.kinds[i] == Kind.CORE) && !(currentIndex.values[i] <= hottestCore))
+                {
+                    hottestCore = currentIndex.values[i];
+                }
+            }
+        }
+
+        return hottestCore;
+    }
+
+    /**
+     * Gets temperature of a disk from nvme or drivetemp sensor
+     *
+     * @param diskName disk name, such as /dev/sda or nvme0n1
+     * @return double with temperature in celsius, NaN if disk has no sensor
+     */
+    public double getDiskTemperature(final String diskName)
+    {
+        String device = diskName.startsWith("/dev/") ? diskName.substring(5) : diskName;
+        Index currentIndex = getIndex();
+
+        synchronized (currentIndex)
+        {
+            for (int i = 0; i < currentIndex.paths.length; i++)
+            {
+                if (((currentIndex.kinds[i] == Kind.NVME) || (currentIndex.kinds[i] == Kind.DRIVE)) && device.equals(currentIndex.devices[i]))
+                {
+                    return currentIndex.values[i];
+                }
+            }
+        }
+
+        return Double.NaN;
+    }
+
+    /**
+     * Returns index, discovering sensors on first use
+     *
+     * @return Index of discovered sensors
+     */
+    private Index getIndex()
+    {
+        Index currentIndex = index;
+
+        if (currentIndex == null)
+        {
+            synchronized (this)
+            {
+                if (index == null)
+                {
+                    Index discoveredIndex = discover();
+                    read(discoveredIndex);
+                    index = discoveredIndex;
+                }
+
+                currentIndex = index;
+            }
+        }
+
+        return currentIndex;
+    }
+
+    /**
+     * Enumerates thermal zones and hwmon chips
+     *
+     * @return Index of discovered sensors
+     */
+    private Index discover()
+    {
+        List<Sensor> sensors = new ArrayList<>();
+        Map<Path, String> blockDevices = getBlockDevices();
+
+        for (Path zone : list("/sys/class/thermal", "thermal_zone*"))
+        {
+            String zonePath = "/sys/class/thermal/" + zone.getFileName();
+            String type = pseudoFileComponent.readString(zonePath + "/type");
+
+            if (type != null)
+            {
+                sensors.add(new Sensor(type, zone.getFileName().toString(), getThermalZoneKind(type), null, zonePath + "/temp", 1000.0));
+            }
+        }
+
+        for (Path chip : list("/sys/class/hwmon", "hwmon*"))
+        {
+            String chipPath = "/sys/class/hwmon/" + chip.getFileName();
+            String name = pseudoFileComponent.readString(chipPath + "/name");
+            String device = blockDevices.get(getRealPath(chip.resolve("device")));
+
+            for (Path input : list(chipPath, "*_input"))
+            {
+                Matcher matcher = INPUT_PATTERN.matcher(input.getFileName().toString());
+
+                if ((name == null) || !matcher.matches())
+                {
+                    continue;
+                }
+
+                String prefix = matcher.group(1) + matcher.group(2);
+                String label = pseudoFileComponent.readString(chipPath + "/" + prefix + "_label");
+                label = (label != null) ? label : prefix;
+
+                switch (matcher.group(1))
+                {
+                    case "fan" -> sensors.add(new Sensor(name, label, Kind.FAN, device, chipPath + "/" + input.getFileName(), 1.0));
+                    case "in" -> sensors.add(new Sensor(name, label, Kind.VOLTAGE, device, chipPath + "/" + input.getFileName(), 1000.0));
+                    default -> sensors.add(new Sensor(name, label, getHwmonKind(name, label), device, chipPath + "/" + input.getFileName(), 1000.0));
+                }
+            }
+        }
+
+        return new Index(sensors);
+    }
+
+    /**
+     * Classifies thermal zone by its type
+     *
+     * @param type thermal zone type, such as x86_pkg_temp or acpitz
+     * @return Kind of sensor
+     */
+    private Kind getThermalZoneKind(final String type)
+    {
+        return switch (type)
+        {
+            case "x86_pkg_temp", "cpu-thermal", "cpu_thermal", "soc_thermal" -> Kind.PACKAGE;
+            default -> Kind.OTHER;
+        };
+    }
+
+    /**
+     * Classifies hwmon temperature sensor by chip name and label
+     *
+     * @param name  hwmon chip name, such as coretemp, k10temp, nvme or drivetemp
+     * @param label sensor label, such as Package id 0, Core 3 or Tctl
+     * @return Kind of sensor
+     */
+    private Kind getHwmonKind(final String name, final String label)
+    {
+        return switch (name)
+        {
+            case "coretemp" -> label.startsWith("Package") ? Kind.PACKAGE : (label.startsWith("Core") ? Kind.CORE : Kind.OTHER);
+            case "k10temp", "zenpower" -> (label.equals("Tctl") || label.equals("Tdie")) ? Kind.PACKAGE : (label.startsWith("Tccd") ? Kind.CORE : Kind.OTHER);
+            case "cpu_thermal" -> Kind.PACKAGE;
+            case "nvme" -> Kind.NVME;
+            case "drivetemp" -> Kind.DRIVE;
+            default -> Kind.OTHER;
+        };
+    }
+
+    /**
+     * Maps real device paths of block devices to their names, used to match disk sensors with disks
+     *
+     * @return Map of real device paths to block device names
+     */
+    private Map<Path, String> getBlockDevices()
+    {
+        Map<Path, String> blockDevices = new HashMap<>();
+
+        for (Path block : list("/sys/block", "*"))
+        {
+            Path device = getRealPath(block.resolve("device"));
+
+            if (device != null)
+            {
+                blockDevices.putIfAbsent(device, block.getFileName().toString());
+            }
+        }
+
+        return blockDevices;
+    }
+
+    /**
+     * Resolves symbolic links of a sysfs path
+     *
+     * @param path sysfs path
+     * @return Path with resolved links, null if it does not exist
+     */
+    private Path getRealPath(final Path path)
+    {
+        try
+        {
+            return path.toRealPath();
+        }
+        catch (IOException exception)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Lists sysfs directory entries matching glob
+     *
+     * @param path absolute directory path
+     * @param glob glob for entry names
+     * @return List of entries, sorted by name
+     */
+    private List<Path> list(final String path, final String glob)
+    {
+        List<Path> entries = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(pseudoFileComponent.resolve(path), glob))
+        {
+            stream.forEach(entries::add);
+        }
+        catch (IOException exception)
+        {
+            return entries;
+        }
+
+        entries.sort(null);
+        return entries;
+    }
+
+    /**
+     * Gets unit of a sensor kind
+     *
+     * @param kind sensor kind
+     * @return String with unit
+     */
+    private String getUnit(final Kind kind)
+    {
+        return switch (kind)
+        {
+            case FAN -> "RPM";
+            case VOLTAGE -> "V";
+            default -> "°C";
+        };
+    }
+
+    /**
+     * SensorConsumer receives latest value of a sensor
+     */
+    @FunctionalInterface
+    public interface SensorConsumer
+    {
+        /**
+         * Accepts value of a sensor
+         *
+         * @param name   thermal zone type or hwmon chip name
+         * @param label  sensor label
+         * @param kind   sensor kind
+         * @param device block device name for disk sensors, null otherwise
+         * @param value  value in celsius, RPM or volts, NaN if sensor was unreadable
+         */
+        void accept(String name, String label, Kind kind, String device, double value);
+    }
+
+    /**
+     * Sensor describes single discovered sensor
+     *
+     * @param name    thermal zone type or hwmon chip name
+     * @param label   sensor label
+     * @param kind    sensor kind
+     * @param device  block device name for disk sensors, null otherwise
+     * @param path    file with raw value
+     * @param divisor divisor, which converts raw value to unit
+     */
+    private record Sensor(String name, String label, Kind kind, String device, String path, double divisor)
+    {
+    }
+
+    /**
+     * Index keeps discovered sensors in flat arrays, so polling only walks arrays
+     */
+    private static final class Index
+    {
+        /**
+         * Thermal zone types or hwmon chip names
+         */
+        private final String[] names;
+
+        /**
+         * Sensor labels
+         */
+        private final String[] labels;
+
+        /**
+         * Sensor kinds
+         */
+        private final Kind[] kinds;
+
+        /**
+         * Block device names for disk sensors
+         */
+        private final String[] devices;
+
+        /**
+         * Files with raw values
+         */
+        private final String[] paths;
+
+        /**
+         * Divisors, which convert raw values to units
+         */
+        private final double[] divisors;
+
+        /**
+         * Latest polled values, NaN if sensor was unreadable
+         */
+        private final double[] values;
+
+        /**
+         * Flattens discovered sensors
+         *
+         * @param sensors discovered sensors
+         */
+        private Index(final List<Sensor> sensors)
+        {
+            int size = sensors.size();
+
+            names = new String[size];
+            labels = new String[size];
+            kinds = new Kind[size];
+            devices = new String[size];
+            paths = new String[size];
+            divisors = new double[size];
+            values = new double[size];
+
+            for (int i = 0; i < size; i++)
+            {
+                Sensor sensor = sensors.get(i);
+                names[i] = sensor.name();
+                labels[i] = sensor.label();
+                kinds[i] = sensor.kind();
+                devices[i] = sensor.device();
+                paths[i] = sensor.path();
+                divisors[i] = sensor.divisor();
+                values[i] = Double.NaN;
+            }
+        }
+    }
+}
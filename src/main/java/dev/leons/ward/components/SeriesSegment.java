@@ -0,0 +1,531 @@
+package dev.leons.ward.components;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * SeriesSegment is an append-only file of a single metric, memory-mapped while it is appended to.
+ * Existing segments are read into a heap buffer with positional reads instead, so queries over many segments
+ * leave no mappings behind, which would count against vm.max_map_count and keep files from being deleted on Windows.
+ * Timestamps are stored as delta-of-delta and values as XOR with the previous value, as described by Gorilla,
+ * so steady series cost a few bits per sample. Committed length is written to the header after every append,
+ * so a crash loses at most the sample being appended
+ *
+ * @version 1.0.0
+ */
+final class SeriesSegment
+{
+    /**
+     * Constant for determine file signature, "WTS1"
+     */
+    private static final int MAGIC = 0x57545331;
+
+    /**
+     * Constant for determine offset of start timestamp in header
+     */
+    private static final int START_OFFSET = 8;
+
+    /**
+     * Constant for determine offset of committed bit count in header
+     */
+    private static final int BITS_OFFSET = 16;
+
+    /**
+     * Constant for determine offset of sample count in header
+     */
+    private static final int COUNT_OFFSET = 24;
+
+    /**
+     * Constant for determine offset of encoded samples
+     */
+    private static final int DATA_OFFSET = 32;
+
+    /**
+     * Constant for determine how many bits the largest encoded sample can take, used to detect a full segment
+     */
+    private static final int MAX_SAMPLE_BITS = 4 + 32 + 2 + 5 + 6 + 64;
+
+    /**
+     * File content, mapped for appending or read into a heap buffer for reading
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Capacity of data area, in bits
+     */
+    private final long capacityBits;
+
+    /**
+     * Timestamp of the first sample, in epoch milliseconds
+     */
+    private final long start;
+
+    /**
+     * Amount of committed bits
+     */
+    private long bitPosition;
+
+    /**
+     * Amount of committed samples
+     */
+    private int count;
+
+    /**
+     * Timestamp of the previous sample
+     */
+    private long previousTimestamp;
+
+    /**
+     * Delta between the two previous timestamps
+     */
+    private long previousDelta;
+
+    /**
+     * Raw bits of the previous value
+     */
+    private long previousValue;
+
+    /**
+     * Leading zeros of the previous meaningful XOR
+     */
+    private int previousLeading = Integer.MAX_VALUE;
+
+    /**
+     * Trailing zeros of the previous meaningful XOR
+     */
+    private int previousTrailing;
+
+    /**
+     * Wraps file content
+     *
+     * @param buffer file content, up to its limit
+     * @param start  timestamp of the first sample
+     */
+    private SeriesSegment(final ByteBuffer buffer, final long start)
+    {
+        this.buffer = buffer;
+        this.capacityBits = (long) (buffer.limit() - DATA_OFFSET) * 8;
+        this.start = start;
+    }
+
+    /**
+     * Creates new segment file for appending
+     *
+     * @param path     file path
+     * @param start    timestamp of the first sample
+     * @param capacity file size in bytes, file stays sparse until written
+     * @return SeriesSegment ready for appending
+     * @throws IOException if file can not be created
+     */
+    static SeriesSegment create(final Path path, final long start, final int capacity) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            buffer.putInt(0, MAGIC);
+            buffer.putLong(START_OFFSET, start);
+            buffer.putLong(BITS_OFFSET, 0);
+            buffer.putInt(COUNT_OFFSET, 0);
+
+            return new SeriesSegment(buffer, start);
+        }
+    }
+
+    /**
+     * Reads existing segment file into a new buffer
+     *
+     * @param path file path
+     * @return SeriesSegment for reading, null if file is not a segment
+     * @throws IOException if file can not be read
+     */
+    static SeriesSegment open(final Path path) throws IOException
+    {
+        return open(path, null);
+    }
+
+    /**
+     * Reads header and committed samples of an existing segment file with positional reads, without mapping it
+     *
+     * @param path   file path
+     * @param reused buffer of a previously read segment, reused if committed samples fit into it, may be null
+     * @return SeriesSegment for reading, null if file is not a segment
+     * @throws IOException if file can not be read
+     */
+    static SeriesSegment open(final Path path, final ByteBuffer reused) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            long size = channel.size();
+
+            if (size < DATA_OFFSET)
+            {
+                return null;
+            }
+
+            ByteBuffer header = ((reused != null) && (reused.capacity() >= DATA_OFFSET)) ? reused : ByteBuffer.allocate(DATA_OFFSET);
+            readFully(channel, header.clear().limit(DATA_OFFSET));
+
+            if (header.getInt(0) != MAGIC)
+            {
+                return null;
+            }
+
+            long start = header.getLong(START_OFFSET);
+            long bits = Math.min(Math.max(header.getLong(BITS_OFFSET), 0), (size - DATA_OFFSET) * 8);
+            int count = header.getInt(COUNT_OFFSET);
+            int used = (int) (DATA_OFFSET + (bits + 7) / 8);
+
+            ByteBuffer buffer = (header.capacity() >= used) ? header : ByteBuffer.allocate(used);
+            readFully(channel, buffer.clear().limit(used));
+
+            SeriesSegment segment = new SeriesSegment(buffer, start);
+            segment.bitPosition = bits;
+            segment.count = count;
+
+            return segment;
+        }
+    }
+
+    /**
+     * Reads file from its beginning until buffer is full
+     *
+     * @param channel source channel
+     * @param buffer  target buffer, filled up to its limit
+     * @throws IOException if file ends before buffer is full
+     */
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer) throws IOException
+    {
+        while (buffer.hasRemaining())
+        {
+            if (channel.read(buffer, buffer.position()) < 0)
+            {
+                throw new EOFException("Segment ended at byte " + buffer.position());
+            }
+        }
+    }
+
+    /**
+     * Gets buffer holding content of the segment, which can be reused for reading the next segment
+     *
+     * @return ByteBuffer with content
+     */
+    ByteBuffer getBuffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * Gets timestamp of the first sample
+     *
+     * @return long with epoch milliseconds
+     */
+    long getStart()
+    {
+        return start;
+    }
+
+    /**
+     * Gets amount of bytes used by header and committed samples
+     *
+     * @return long with used bytes
+     */
+    long getUsedBytes()
+    {
+        return DATA_OFFSET + (bitPosition + 7) / 8;
+    }
+
+    /**
+     * Appends sample, timestamps must not decrease
+     *
+     * @param timestamp sample time, in epoch milliseconds
+     * @param value     sampled value
+     * @return true if sample was appended, false if segment is full
+     */
+    boolean append(final long timestamp, final double value)
+    {
+        if (bitPosition + MAX_SAMPLE_BITS > capacityBits)
+        {
+            return false;
+        }
+
+        long bits = Double.doubleToRawLongBits(value);
+
+        if (count == 0)
+        {
+            writeBits(timestamp - start, 32);
+            writeBits(bits, 64);
+            previousDelta = 0;
+        }
+        else
+        {
+            long delta = timestamp - previousTimestamp;
+            writeDeltaOfDelta(delta - previousDelta);
+            writeValue(bits);
+            previousDelta = delta;
+        }
+
+        previousTimestamp = timestamp;
+        previousValue = bits;
+        count++;
+
+        buffer.putLong(BITS_OFFSET, bitPosition);
+        buffer.putInt(COUNT_OFFSET, count);
+
+        return true;
+    }
+
+    /**
+     * Decodes committed samples and hands those within range to consumer.
+     * Decoding never reads past committed bits, so a damaged header or data area can not run off the mapped file
+     *
+     * @param from     first timestamp, inclusive
+     * @param to       last timestamp, inclusive
+     * @param consumer receives samples in time order
+     * @throws IllegalStateException if samples are corrupt, samples decoded before were already handed to consumer
+     */
+    void read(final long from, final long to, final SampleConsumer consumer)
+    {
+        long position = 0;
+        long timestamp = 0;
+        long delta = 0;
+        long value = 0;
+        int leading = 0;
+        int trailing = 0;
+
+        for (int i = 0; i < count; i++)
+        {
+            if (i == 0)
+            {
+                timestamp = start + readBits(position, 32);
+                value = readBits(position + 32, 64);
+                position += 96;
+            }
+            else
+            {
+                // Delta-of-delta with prefix 0, 10, 110, 1110 or 1111
+                int prefix = 0;
+
+                while ((prefix < 4) && (readBits(position, 1) == 1))
+                {
+                    prefix++;
+                    position++;
+                }
+
+                if (prefix < 4)
+                {
+                    position++;
+                }
+
+                int width = switch (prefix)
+                {
+                    case 0 -> 0;
+                    case 1 -> 7;
+                    case 2 -> 9;
+                    case 3 -> 12;
+                    default -> 32;
+                };
+
+                if (width > 0)
+                {
+                    long raw = readBits(position, width);
+                    delta += (raw << (64 - width)) >> (64 - width);
+                    position += width;
+                }
+
+                timestamp += delta;
+
+                // XOR with control bits 0, 10 or 11
+                if (readBits(position++, 1) == 1)
+                {
+                    if (readBits(position++, 1) == 1)
+                    {
+                        leading = (int) readBits(position, 5);
+                        int length = (int) readBits(position + 5, 6);
+                        length = (length == 0) ? 64 : length;
+                        trailing = 64 - leading - length;
+                        position += 11;
+
+                        if (trailing < 0)
+                        {
+                            throw new IllegalStateException("Invalid XOR window at bit " + position);
+                        }
+                    }
+
+                    int length = 64 - leading - trailing;
+                    value ^= readBits(position, length) << trailing;
+                    position += length;
+                }
+            }
+
+            if (timestamp > to)
+            {
+                return;
+            }
+
+            if (timestamp >= from)
+            {
+                consumer.accept(timestamp, Double.longBitsToDouble(value));
+            }
+        }
+    }
+
+    /**
+     * Flushes mapped pages to disk, segments read into a heap buffer have nothing to flush
+     */
+    void force()
+    {
+        if (buffer instanceof MappedByteBuffer mappedByteBuffer)
+        {
+            mappedByteBuffer.force();
+        }
+    }
+
+    /**
+     * Encodes delta-of-delta of timestamps
+     *
+     * @param deltaOfDelta difference between current and previous delta
+     */
+    private void writeDeltaOfDelta(final long deltaOfDelta)
+    {
+        if (deltaOfDelta == 0)
+        {
+            writeBits(0b0, 1);
+        }
+        else if ((deltaOfDelta >= -64) && (deltaOfDelta <= 63))
+        {
+            writeBits(0b10, 2);
+            writeBits(deltaOfDelta, 7);
+        }
+        else if ((deltaOfDelta >= -256) && (deltaOfDelta <= 255))
+        {
+            writeBits(0b110, 3);
+            writeBits(deltaOfDelta, 9);
+        }
+        else if ((deltaOfDelta >= -2048) && (deltaOfDelta <= 2047))
+        {
+            writeBits(0b1110, 4);
+            writeBits(deltaOfDelta, 12);
+        }
+        else
+        {
+            writeBits(0b1111, 4);
+            writeBits(deltaOfDelta, 32);
+        }
+    }
+
+    /**
+     * Encodes value as XOR with the previous value, reusing the previous meaningful window if it fits
+     *
+     * @param bits raw bits of current value
+     */
+    private void writeValue(final long bits)
+    {
+        long xor = bits ^ previousValue;
+
+        if (xor == 0)
+        {
+            writeBits(0b0, 1);
+            return;
+        }
+
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+
+        if ((leading >= previousLeading) && (trailing >= previousTrailing))
+        {
+            writeBits(0b10, 2);
+            writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+        }
+        else
+        {
+            int length = 64 - leading - trailing;
+
+            writeBits(0b11, 2);
+            writeBits(leading, 5);
+            writeBits(length, 6);
+            writeBits(xor >>> trailing, length);
+
+            previousLeading = leading;
+            previousTrailing = trailing;
+        }
+    }
+
+    /**
+     * Writes lowest bits of value, most significant first
+     *
+     * @param value bits to write
+     * @param width amount of bits
+     */
+    private void writeBits(final long value, final int width)
+    {
+        int remaining = width;
+
+        while (remaining > 0)
+        {
+            int index = DATA_OFFSET + (int) (bitPosition >>> 3);
+            int free = 8 - (int) (bitPosition & 7);
+            int chunk = Math.min(free, remaining);
+            int bits = (int) ((value >>> (remaining - chunk)) & ((1 << chunk) - 1));
+
+            // Pages of a fresh sparse file are zero, so bits are only ever OR-ed in
+            buffer.put(index, (byte) (buffer.get(index) | (bits << (free - chunk))));
+
+            bitPosition += chunk;
+            remaining -= chunk;
+        }
+    }
+
+    /**
+     * Reads bits, most significant first
+     *
+     * @param position bit position in data area
+     * @param width    amount of bits, at most 64
+     * @return long with bits in lowest positions
+     * @throws IllegalStateException if bits are not committed
+     */
+    private long readBits(final long position, final int width)
+    {
+        if (position + width > bitPosition)
+        {
+            throw new IllegalStateException("Sample exceeds committed length at bit " + position);
+        }
+
+        long value = 0;
+        long current = position;
+        int remaining = width;
+
+        while (remaining > 0)
+        {
+            int index = DATA_OFFSET + (int) (current >>> 3);
+            int available = 8 - (int) (current & 7);
+            int chunk = Math.min(available, remaining);
+            int bits = ((buffer.get(index) & 0xFF) >>> (available - chunk)) & ((1 << chunk) - 1);
+
+            value = (value << chunk) | bits;
+            current += chunk;
+            remaining -= chunk;
+        }
+
+        return value;
+    }
+
+    /**
+     * SampleConsumer receives decoded samples
+     */
+    @FunctionalInterface
+    interface SampleConsumer
+    {
+        /**
+         * Accepts a sample
+         *
+         * @param timestamp sample time, in epoch milliseconds
+         * @param value     sampled value
+         */
+        void accept(long timestamp, double value);
+    }
+}
@@ -1,7 +1,9 @@
 package dev.leons.ward.components;
 
 import dev.leons.ward.Ward;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
 import org.springframework.boot.web.server.WebServerFactoryCustomizer;
 import org.springframework.stereotype.Component;
@@ -9,7 +11,7 @@ import org.springframework.stereotype.Component;
 import java.io.IOException;
 
 /**
- * ServletComponent used for application port changing
+ * ServletComponent used for application port changing, and for serving requests on virtual threads
  * @author Rudolf Barbu
  * @version 1.0.3
  */
@@ -24,7 +26,13 @@ public class ServletComponent implements WebServerFactoryCustomizer<TomcatServle
     private UtilitiesComponent utilitiesComponent;
 
     /**
-     * Customizes port of application
+     * Whether every request runs on its own virtual thread, so requests blocked by slow probes hold no platform thread
+     */
+    @Value("${ward.server.virtual-threads:true}")
+    private boolean virtualThreads;
+
+    /**
+     * Customizes port and request threads of application
      *
      * @param tomcatServletWebServerFactory servlet factory
      */
@@ -46,5 +54,12 @@ public class ServletComponent implements WebServerFactoryCustomizer<TomcatServle
         {
             tomcatServletWebServerFactory.setPort(Ward.INITIAL_PORT);
         }
+
+        if (virtualThreads)
+        {
+            // Same executor spring.threads.virtual.enabled installs, without moving scheduled tasks to virtual threads
+            tomcatServletWebServerFactory.addProtocolHandlerCustomizers(protocolHandler ->
+                    protocolHandler.setExecutor(new VirtualThreadExecutor("ward-http-")));
+        }
     }
 }
\ No newline at end of file
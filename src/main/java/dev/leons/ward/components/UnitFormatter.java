@@ -0,0 +1,350 @@
+package dev.leons.ward.components;
+
+/**
+ * UnitFormatter turns raw amounts into human readable strings with a unit postfix.
+ * Digits are written into a char buffer owned by the calling thread instead of going through DecimalFormat or
+ * String.format, so methods returning a string allocate only that string, zero rates return a cached string and
+ * append methods write into a caller supplied StringBuilder without allocating at all. Methods are thread-safe
+ *
+ * @version 1.0.0
+ */
+public final class UnitFormatter
+{
+    /**
+     * Constant for determine size of buffer, long enough for every formatted value
+     */
+    private static final int BUFFER_SIZE = 32;
+
+    /**
+     * Constant for determine formatted zero rate, returned without formatting as idle devices are common
+     */
+    private static final String ZERO_RATE = "0 B/s";
+
+    /**
+     * Buffer of the calling thread, written from the start by every call and never shared between threads
+     */
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[BUFFER_SIZE]);
+
+    /**
+     * Constant for determine postfixes of binary size units, starting with kilobytes
+     */
+    private static final String[] SIZE_UNITS = {" KB", " MB", " GB", " TB", " PB"};
+
+    /**
+     * Constant for determine cached zero-padded numbers from 00 to 99, used for clock-like values
+     */
+    private static final String[] TWO_DIGITS = new String[100];
+
+    static
+    {
+        for (int i = 0; i < TWO_DIGITS.length; i++)
+        {
+            TWO_DIGITS[i] = new String(new char[]{(char) ('0' + i / 10), (char) ('0' + i % 10)});
+        }
+    }
+
+    /**
+     * Utility class
+     */
+    private UnitFormatter()
+    {
+    }
+
+    /**
+     * Formats capacity in MB, GB or TB, rounding up, as shown for installed memory and disks
+     *
+     * @param bytes capacity in bytes
+     * @return String with formatted capacity and postfix, such as 16 GB or 1.9 TB
+     */
+    public static String capacity(final long bytes)
+    {
+        char[] buffer = BUFFER.get();
+        return new String(buffer, 0, writeCapacity(buffer, bytes));
+    }
+
+    /**
+     * Appends capacity formatted like capacity(long)
+     *
+     * @param target builder to append to
+     * @param bytes  capacity in bytes
+     * @return StringBuilder target, for chaining
+     */
+    public static StringBuilder appendCapacity(final StringBuilder target, final long bytes)
+    {
+        char[] buffer = BUFFER.get();
+        return target.append(buffer, 0, writeCapacity(buffer, bytes));
+    }
+
+    /**
+     * Writes capacity in MB, GB or TB, rounding up
+     *
+     * @param buffer target buffer
+     * @param bytes  capacity in bytes
+     * @return int with amount of written characters
+     */
+    private static int writeCapacity(final char[] buffer, final long bytes)
+    {
+        int length;
+
+        if ((bytes / 1.049E+6) > 999)
+        {
+            if ((bytes / 1.074E+9) > 999)
+            {
+                length = writeTenths(buffer, 0, (long) Math.ceil((bytes / 1.1E+12) * 10.0), false);
+                length = writeString(buffer, length, " TB");
+            }
+            else
+            {
+                length = writeLong(buffer, 0, (long) Math.ceil(bytes / 1.074E+9));
+                length = writeString(buffer, length, " GB");
+            }
+        }
+        else
+        {
+            length = writeLong(buffer, 0, (long) Math.ceil(bytes / 1.049E+6));
+            length = writeString(buffer, length, " MB");
+        }
+
+        return length;
+    }
+
+    /**
+     * Formats size in the largest binary unit, rounding up to one fraction digit, as shown for transferred data
+     *
+     * @param bytes size in bytes
+     * @return String with formatted size and postfix, such as 512 B or 1.5 KB
+     */
+    public static String size(final long bytes)
+    {
+        char[] buffer = BUFFER.get();
+        return new String(buffer, 0, writeSize(buffer, 0, bytes));
+    }
+
+    /**
+     * Appends size formatted like size(long)
+     *
+     * @param target builder to append to
+     * @param bytes  size in bytes
+     * @return StringBuilder target, for chaining
+     */
+    public static StringBuilder appendSize(final StringBuilder target, final long bytes)
+    {
+        char[] buffer = BUFFER.get();
+        return target.append(buffer, 0, writeSize(buffer, 0, bytes));
+    }
+
+    /**
+     * Formats transfer rate like size, followed by per second postfix
+     *
+     * @param bytesPerSecond rate in bytes per second
+     * @return String with formatted rate and postfix, such as 512 B/s or 1.5 MB/s
+     */
+    public static String rate(final long bytesPerSecond)
+    {
+        if (bytesPerSecond == 0)
+        {
+            return ZERO_RATE;
+        }
+
+        char[] buffer = BUFFER.get();
+        return new String(buffer, 0, writeString(buffer, writeSize(buffer, 0, bytesPerSecond), "/s"));
+    }
+
+    /**
+     * Appends rate formatted like rate(long)
+     *
+     * @param target         builder to append to
+     * @param bytesPerSecond rate in bytes per second
+     * @return StringBuilder target, for chaining
+     */
+    public static StringBuilder appendRate(final StringBuilder target, final long bytesPerSecond)
+    {
+        char[] buffer = BUFFER.get();
+        return target.append(buffer, 0, writeString(buffer, writeSize(buffer, 0, bytesPerSecond), "/s"));
+    }
+
+    /**
+     * Formats frequency in MHz, or in GHz with one fraction digit above 999 MHz
+     *
+     * @param hertz frequency in hertz
+     * @return String with formatted frequency and postfix, such as 800 MHz or 3.2 GHz
+     */
+    public static String frequency(final long hertz)
+    {
+        char[] buffer = BUFFER.get();
+        return new String(buffer, 0, writeFrequency(buffer, hertz));
+    }
+
+    /**
+     * Appends frequency formatted like frequency(long)
+     *
+     * @param target builder to append to
+     * @param hertz  frequency in hertz
+     * @return StringBuilder target, for chaining
+     */
+    public static StringBuilder appendFrequency(final StringBuilder target, final long hertz)
+    {
+        char[] buffer = BUFFER.get();
+        return target.append(buffer, 0, writeFrequency(buffer, hertz));
+    }
+
+    /**
+     * Writes frequency in MHz, or in GHz with one fraction digit above 999 MHz
+     *
+     * @param buffer target buffer
+     * @param hertz  frequency in hertz
+     * @return int with amount of written characters
+     */
+    private static int writeFrequency(final char[] buffer, final long hertz)
+    {
+        int length;
+
+        if ((hertz / 1E+6) > 999)
+        {
+            length = writeTenths(buffer, 0, Math.round((hertz / 1E+9) * 10.0), true);
+            length = writeString(buffer, length, " GHz");
+        }
+        else
+        {
+            length = writeLong(buffer, 0, Math.round(hertz / 1E+6));
+            length = writeString(buffer, length, " MHz");
+        }
+
+        return length;
+    }
+
+    /**
+     * Formats temperature with one fraction digit
+     *
+     * @param celsius temperature in celsius, NaN if unknown
+     * @return String with formatted temperature and postfix, such as 45.5°C, null if unknown
+     */
+    public static String temperature(final double celsius)
+    {
+        if (Double.isNaN(celsius))
+        {
+            return null;
+        }
+
+        char[] buffer = BUFFER.get();
+        return new String(buffer, 0, writeString(buffer, writeTenths(buffer, 0, Math.round(celsius * 10.0), true), "°C"));
+    }
+
+    /**
+     * Formats number with at least two digits, padded with zero
+     *
+     * @param value non-negative number
+     * @return String with padded number, cached below 100
+     */
+    public static String twoDigits(final long value)
+    {
+        return ((value >= 0) && (value < TWO_DIGITS.length)) ? TWO_DIGITS[(int) value] : Long.toString(value);
+    }
+
+    /**
+     * Writes size in the largest binary unit, rounding up to one fraction digit
+     *
+     * @param buffer target buffer
+     * @param offset position to write at
+     * @param bytes  size in bytes
+     * @return int with position after written characters
+     */
+    private static int writeSize(final char[] buffer, final int offset, final long bytes)
+    {
+        if (bytes < 1024)
+        {
+            int position = writeLong(buffer, offset, bytes);
+            return writeString(buffer, position, " B");
+        }
+
+        int unit = 0;
+        double divisor = 1024.0;
+
+        while ((unit < SIZE_UNITS.length - 1) && (bytes >= divisor * 1024.0))
+        {
+            divisor *= 1024.0;
+            unit++;
+        }
+
+        int position = writeTenths(buffer, offset, (long) Math.ceil((bytes / divisor) * 10.0), false);
+        return writeString(buffer, position, SIZE_UNITS[unit]);
+    }
+
+    /**
+     * Writes tenths as a decimal number with one fraction digit
+     *
+     * @param buffer       target buffer
+     * @param offset       position to write at
+     * @param tenths       value multiplied by ten
+     * @param keepZeroTenth whether zero fraction is written, as Double.toString does, or dropped, as DecimalFormat does
+     * @return int with position after written characters
+     */
+    private static int writeTenths(final char[] buffer, final int offset, final long tenths, final boolean keepZeroTenth)
+    {
+        int position = offset;
+        long magnitude = tenths;
+
+        if (magnitude < 0)
+        {
+            buffer[position++] = '-';
+            magnitude = -magnitude;
+        }
+
+        position = writeLong(buffer, position, magnitude / 10);
+
+        if (keepZeroTenth || (magnitude % 10 != 0))
+        {
+            buffer[position++] = '.';
+            buffer[position++] = (char) ('0' + magnitude % 10);
+        }
+
+        return position;
+    }
+
+    /**
+     * Writes decimal digits of a non-negative long
+     *
+     * @param buffer target buffer
+     * @param offset position to write at
+     * @param value  written value
+     * @return int with position after written characters
+     */
+    private static int writeLong(final char[] buffer, final int offset, final long value)
+    {
+        if (value < 0)
+        {
+            return writeString(buffer, offset, Long.toString(value));
+        }
+
+        int length = 1;
+
+        for (long remaining = value / 10; remaining > 0; remaining /= 10)
+        {
+            length++;
+        }
+
+        long remaining = value;
+
+        for (int i = offset + length - 1; i >= offset; i--)
+        {
+            buffer[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+
+        return offset + length;
+    }
+
+    /**
+     * Writes characters of a string
+     *
+     * @param buffer target buffer
+     * @param offset position to write at
+     * @param text   written text
+     * @return int with position after written characters
+     */
+    private static int writeString(final char[] buffer, final int offset, final String text)
+    {
+        text.getChars(0, text.length(), buffer, offset);
+        return offset + text.length();
+    }
+}
@@ -1,5 +1,12 @@
 package dev.leons.ward.configurations;
 
+import dev.leons.ward.components.CommandRunner;
+import dev.leons.ward.components.MetricsProbe;
+import dev.leons.ward.components.NativeMetricsProbe;
+import dev.leons.ward.components.OshiMetricsProbe;
+import dev.leons.ward.components.ProcessCommandRunner;
+import dev.leons.ward.components.PseudoFileComponent;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import oshi.SystemInfo;
@@ -21,4 +28,26 @@ public class BeanConfiguration
     {
         return new SystemInfo();
     }
-}
\ No newline at end of file
+
+    /**
+     * @return CommandRunner object, which runs probes as native processes
+     */
+    @Bean
+    public CommandRunner commandRunner()
+    {
+        return new ProcessCommandRunner();
+    }
+
+    /**
+     * @param probe               backend name, "native" for procfs parsing, anything else for OSHI
+     * @param systemInfo          SystemInfo object, used by OSHI backend
+     * @param pseudoFileComponent PseudoFileComponent object, used by native backend
+     * @return MetricsProbe object, which reads frequently sampled metrics
+     */
+    @Bean
+    public MetricsProbe metricsProbe(@Value("${ward.probe:oshi}") final String probe, final SystemInfo systemInfo,
+                                     final PseudoFileComponent pseudoFileComponent)
+    {
+        return "native".equals(probe) ? new NativeMetricsProbe(pseudoFileComponent) : new OshiMetricsProbe(systemInfo);
+    }
+}
@@ -0,0 +1,41 @@
+package dev.leons.ward.controllers;
+
+import dev.leons.ward.dto.ContainerDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.services.ContainerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * ContainerController displays container resources from rest API
+ *
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping(value = "/api/containers")
+public class ContainerController
+{
+    /**
+     * Autowired ContainerService object
+     * Used for getting container resources
+     */
+    @Autowired
+    private ContainerService containerService;
+
+    /**
+     * Get request to display processor, memory, io and process count of every container
+     *
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping
+    public ResponseEntity<List<ContainerDto>> getContainers() throws ApplicationNotConfiguredException
+    {
+        return new ResponseEntity<>(containerService.getContainers(), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,39 @@
+package dev.leons.ward.controllers;
+
+import dev.leons.ward.dto.FleetDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.services.FleetService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * FleetController displays state of peer Ward instances from rest API
+ *
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping(value = "/api/fleet")
+public class FleetController
+{
+    /**
+     * Autowired FleetService object
+     * Used for getting fleet overview
+     */
+    @Autowired
+    private FleetService fleetService;
+
+    /**
+     * Get request to display latest polled usage and info of every peer
+     *
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping
+    public ResponseEntity<FleetDto> getFleet() throws ApplicationNotConfiguredException
+    {
+        return new ResponseEntity<>(fleetService.getFleet(), HttpStatus.OK);
+    }
+}
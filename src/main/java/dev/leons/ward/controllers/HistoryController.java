@@ -0,0 +1,58 @@
+package dev.leons.ward.controllers;
+
+import dev.leons.ward.dto.HistoryDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.exceptions.InvalidParameterException;
+import dev.leons.ward.services.HistoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * HistoryController displays responses from rest API
+ *
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping(value = "/api/history")
+public class HistoryController
+{
+    /**
+     * Autowired HistoryService object
+     * Used for getting history of sampled metrics
+     */
+    @Autowired
+    private HistoryService historyService;
+
+    /**
+     * Get request to display min, avg and max history of a metric
+     *
+     * @param metric metric name, such as processor, ram or storage
+     * @param range  range ending now, such as 15m, 6h or 7d
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping
+    public ResponseEntity<HistoryDto> getHistory(@RequestParam(value = "metric", defaultValue = "processor") final String metric,
+                                                 @RequestParam(value = "range", defaultValue = "15m") final String range)
+            throws ApplicationNotConfiguredException, InvalidParameterException
+    {
+        return new ResponseEntity<>(historyService.getHistory(metric, range), HttpStatus.OK);
+    }
+
+    /**
+     * Get request to display names of tracked metrics
+     *
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping(value = "/metrics")
+    public ResponseEntity<List<String>> getMetrics() throws ApplicationNotConfiguredException
+    {
+        return new ResponseEntity<>(historyService.getMetrics(), HttpStatus.OK);
+    }
+}
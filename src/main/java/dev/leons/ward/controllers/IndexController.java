@@ -38,4 +38,16 @@ public class IndexController
     {
         return indexService.getIndex(model);
     }
-}
\ No newline at end of file
+
+    /**
+     * Get request to display fleet overview page of hub mode
+     *
+     * @param model used for providing values in to html template
+     * @return String name of html template with values from model param
+     */
+    @GetMapping(value = "fleet")
+    public String getFleet(final Model model) throws IOException
+    {
+        return indexService.getFleet(model);
+    }
+}
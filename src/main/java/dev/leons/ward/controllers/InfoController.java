@@ -1,12 +1,17 @@
 package dev.leons.ward.controllers;
 
+import dev.leons.ward.components.AgentComponent;
 import dev.leons.ward.dto.InfoDto;
+import dev.leons.ward.dto.InventoryDto;
 import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.exceptions.InvalidTokenException;
 import dev.leons.ward.services.InfoService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -37,4 +42,28 @@ public class InfoController
     {
         return new ResponseEntity<>(infoService.getInfo(), HttpStatus.OK);
     }
+
+    /**
+     * Get request to display static hardware inventory, collected once
+     *
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping(value = "/inventory")
+    public ResponseEntity<InventoryDto> getInventory() throws ApplicationNotConfiguredException
+    {
+        return new ResponseEntity<>(infoService.getInventory(), HttpStatus.OK);
+    }
+
+    /**
+     * Post request to collect static hardware inventory again, after devices were hot-plugged
+     *
+     * @param token token configured with ward.info.refresh-token
+     * @return ResponseEntity to servlet
+     */
+    @PostMapping(value = "/refresh")
+    public ResponseEntity<InventoryDto> refreshInventory(@RequestHeader(value = AgentComponent.TOKEN_HEADER, required = false) final String token)
+            throws ApplicationNotConfiguredException, InvalidTokenException
+    {
+        return new ResponseEntity<>(infoService.refreshInventory(token), HttpStatus.OK);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package dev.leons.ward.controllers;
+
+import dev.leons.ward.components.AgentComponent;
+import dev.leons.ward.dto.IngestDto;
+import dev.leons.ward.dto.ResponseDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.exceptions.InvalidParameterException;
+import dev.leons.ward.exceptions.InvalidTokenException;
+import dev.leons.ward.services.IngestService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * IngestController receives sample batches of agents and displays their state from rest API
+ *
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping(value = "/api/ingest")
+public class IngestController
+{
+    /**
+     * Constant for determine how long agents are asked to wait when the queue is full, in seconds
+     */
+    private static final String RETRY_AFTER = "10";
+
+    /**
+     * Autowired IngestService object
+     * Used for queueing batches and getting state of agents
+     */
+    @Autowired
+    private IngestService ingestService;
+
+    /**
+     * Post request to queue a batch of samples. Responds with 202 once the batch is queued,
+     * with 503 if the queue is full, so the agent keeps the batch and pushes it again later, and with 403 if token is wrong
+     *
+     * @param token   token sent by the agent
+     * @param request servlet request, body is read from it directly
+     * @return ResponseEntity to servlet
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ResponseDto> postBatch(@RequestHeader(value = AgentComponent.TOKEN_HEADER, required = false) final String token,
+                                                 final HttpServletRequest request)
+            throws IOException, ApplicationNotConfiguredException, InvalidParameterException, InvalidTokenException
+    {
+        if (ingestService.postBatch(request.getInputStream(), token, request.getRemoteAddr()))
+        {
+            return new ResponseEntity<>(new ResponseDto("Batch queued"), HttpStatus.ACCEPTED);
+        }
+
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.set(HttpHeaders.RETRY_AFTER, RETRY_AFTER);
+
+        return new ResponseEntity<>(new ResponseDto("Ingestion queue is full"), httpHeaders, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Get request to display ingestion counters and latest sample of every agent
+     *
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping
+    public ResponseEntity<IngestDto> getIngest() throws ApplicationNotConfiguredException
+    {
+        return new ResponseEntity<>(ingestService.getIngest(), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,47 @@
+package dev.leons.ward.controllers;
+
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.services.MetricsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * MetricsController displays latest sampled values for Prometheus and other OpenMetrics scrapers
+ *
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping(value = "/metrics")
+public class MetricsController
+{
+    /**
+     * Constant for determine content type of OpenMetrics text format
+     */
+    private static final String OPENMETRICS_CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    /**
+     * Autowired MetricsService object
+     * Used for getting exposition of latest sampled values
+     */
+    @Autowired
+    private MetricsService metricsService;
+
+    /**
+     * Get request to display processor, memory, file store, disk, network, sensor and graphics metrics
+     *
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping
+    public ResponseEntity<byte[]> getMetrics() throws ApplicationNotConfiguredException
+    {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.set(HttpHeaders.CONTENT_TYPE, OPENMETRICS_CONTENT_TYPE);
+
+        return new ResponseEntity<>(metricsService.getMetrics(), httpHeaders, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,47 @@
+package dev.leons.ward.controllers;
+
+import dev.leons.ward.dto.ProcessDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.exceptions.InvalidParameterException;
+import dev.leons.ward.services.ProcessService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * ProcessController displays top processes from rest API
+ *
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping(value = "/api/processes")
+public class ProcessController
+{
+    /**
+     * Autowired ProcessService object
+     * Used for getting top processes
+     */
+    @Autowired
+    private ProcessService processService;
+
+    /**
+     * Get request to display top processes by processor or memory usage
+     *
+     * @param sort  order, cpu or mem
+     * @param limit maximal amount of processes
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping
+    public ResponseEntity<List<ProcessDto>> getProcesses(@RequestParam(value = "sort", defaultValue = "cpu") final String sort,
+                                                         @RequestParam(value = "limit", defaultValue = "10") final int limit)
+            throws ApplicationNotConfiguredException, InvalidParameterException
+    {
+        return new ResponseEntity<>(processService.getProcesses(sort, limit), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,41 @@
+package dev.leons.ward.controllers;
+
+import dev.leons.ward.dto.ProbeStatsDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.services.SelfService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * SelfController displays responses from rest API
+ *
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping(value = "/api/self")
+public class SelfController
+{
+    /**
+     * Autowired SelfService object
+     * Used for getting instrumentation of Ward itself
+     */
+    @Autowired
+    private SelfService selfService;
+
+    /**
+     * Get request to display latency percentiles, failure counts and last error of every probe
+     *
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping(value = "/probes")
+    public ResponseEntity<List<ProbeStatsDto>> getProbes() throws ApplicationNotConfiguredException
+    {
+        return new ResponseEntity<>(selfService.getProbes(), HttpStatus.OK);
+    }
+}
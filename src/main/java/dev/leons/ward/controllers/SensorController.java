@@ -0,0 +1,41 @@
+package dev.leons.ward.controllers;
+
+import dev.leons.ward.dto.SensorDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.services.SensorService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * SensorController displays responses from rest API, about temperatures, fans and voltages
+ *
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping(value = "/api/sensors")
+public class SensorController
+{
+    /**
+     * Autowired SensorService object
+     * Used for getting sensor readings
+     */
+    @Autowired
+    private SensorService sensorService;
+
+    /**
+     * Get request to display latest readings of all discovered sensors
+     *
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping
+    public ResponseEntity<List<SensorDto>> getSensors() throws ApplicationNotConfiguredException
+    {
+        return new ResponseEntity<>(sensorService.getSensors(), HttpStatus.OK);
+    }
+}
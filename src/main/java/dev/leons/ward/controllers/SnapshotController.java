@@ -0,0 +1,73 @@
+package dev.leons.ward.controllers;
+
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.services.SnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * SnapshotController displays responses from rest API
+ *
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping(value = "/api/snapshot")
+public class SnapshotController
+{
+    /**
+     * Autowired SnapshotService object
+     * Used for getting latest encoded snapshot
+     */
+    @Autowired
+    private SnapshotService snapshotService;
+
+    /**
+     * Get request to display usage, info and uptime of the latest tick at once.
+     * Responds with 304 if client already has the tick in either encoding, and with gzipped body if client accepts it.
+     * Each encoding has its own strong entity tag, as their bytes differ
+     *
+     * @param ifNoneMatch    entity tags known to client
+     * @param acceptEncoding encodings accepted by client
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping
+    public ResponseEntity<byte[]> getSnapshot(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding)
+            throws ApplicationNotConfiguredException
+    {
+        SnapshotService.EncodedSnapshot encodedSnapshot = snapshotService.getEncodedSnapshot();
+        boolean gzipped = (encodedSnapshot.gzip() != null) && (acceptEncoding != null) && acceptEncoding.contains("gzip");
+
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setETag(gzipped ? encodedSnapshot.gzipEtag() : encodedSnapshot.etag());
+        httpHeaders.setCacheControl(CacheControl.noCache());
+        httpHeaders.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+
+        // Both tags stand for the same tick, so a client which switched encodings does not download it again
+        if ((ifNoneMatch != null) && (ifNoneMatch.trim().equals("*") || ifNoneMatch.contains(encodedSnapshot.etag())
+                || ifNoneMatch.contains(encodedSnapshot.gzipEtag())))
+        {
+            return new ResponseEntity<>(httpHeaders, HttpStatus.NOT_MODIFIED);
+        }
+
+        httpHeaders.setContentType(MediaType.APPLICATION_JSON);
+
+        if (gzipped)
+        {
+            httpHeaders.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return new ResponseEntity<>(encodedSnapshot.gzip(), httpHeaders, HttpStatus.OK);
+        }
+
+        return new ResponseEntity<>(encodedSnapshot.json(), httpHeaders, HttpStatus.OK);
+    }
+}
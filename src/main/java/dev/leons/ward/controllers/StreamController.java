@@ -0,0 +1,40 @@
+package dev.leons.ward.controllers;
+
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.services.StreamService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * StreamController displays responses from rest API
+ *
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping(value = "/api/stream")
+public class StreamController
+{
+    /**
+     * Autowired StreamService object
+     * Used for connecting dashboards to snapshot stream
+     */
+    @Autowired
+    private StreamService streamService;
+
+    /**
+     * Get request to open snapshot stream, full snapshot first, then changed fields every tick
+     *
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> getStream() throws ApplicationNotConfiguredException
+    {
+        return new ResponseEntity<>(streamService.subscribe(), HttpStatus.OK);
+    }
+}
@@ -1,13 +1,18 @@
 package dev.leons.ward.controllers;
 
+import dev.leons.ward.dto.CgroupDto;
+import dev.leons.ward.dto.CoresDto;
 import dev.leons.ward.dto.UsageDto;
+import dev.leons.ward.dto.UsageSeriesDto;
 import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.exceptions.InvalidParameterException;
 import dev.leons.ward.services.UsageService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -37,4 +42,41 @@ public class UsageController
     {
         return new ResponseEntity<>(usageService.getUsage(), HttpStatus.OK);
     }
-}
\ No newline at end of file
+
+    /**
+     * Get request to display current usage and frequency of every logical processor
+     *
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping(value = "/cores")
+    public ResponseEntity<CoresDto> getCores() throws ApplicationNotConfiguredException
+    {
+        return new ResponseEntity<>(usageService.getCores(), HttpStatus.OK);
+    }
+
+    /**
+     * Get request to display limits, usage and throttling of the cgroup Ward runs in
+     *
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping(value = "/cgroup")
+    public ResponseEntity<CgroupDto> getCgroup() throws ApplicationNotConfiguredException
+    {
+        return new ResponseEntity<>(usageService.getCgroup(), HttpStatus.OK);
+    }
+
+    /**
+     * Get request to display processor, RAM and storage usage over a range, downsampled to given amount of points
+     *
+     * @param range  range ending now, such as 15m, 6h or 1d
+     * @param points maximal amount of points per series
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping(value = "/series")
+    public ResponseEntity<UsageSeriesDto> getSeries(@RequestParam(value = "range", defaultValue = "15m") final String range,
+                                                    @RequestParam(value = "points", defaultValue = "300") final int points)
+            throws ApplicationNotConfiguredException, InvalidParameterException
+    {
+        return new ResponseEntity<>(usageService.getSeries(range, points), HttpStatus.OK);
+    }
+}
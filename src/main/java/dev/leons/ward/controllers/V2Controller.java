@@ -0,0 +1,75 @@
+package dev.leons.ward.controllers;
+
+import dev.leons.ward.dto.v2.InfoDto;
+import dev.leons.ward.dto.v2.NetworkThroughputDto;
+import dev.leons.ward.dto.v2.UptimeDto;
+import dev.leons.ward.dto.v2.UsageDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.services.V2Service;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * V2Controller displays typed responses from rest API, with raw numbers in explicit units
+ *
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping(value = "/api/v2")
+public class V2Controller
+{
+    /**
+     * Autowired V2Service object
+     * Used for getting typed server information
+     */
+    @Autowired
+    private V2Service v2Service;
+
+    /**
+     * Get request to display typed server information
+     *
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping(value = "/info")
+    public ResponseEntity<InfoDto> getInfo() throws ApplicationNotConfiguredException
+    {
+        return new ResponseEntity<>(v2Service.getInfo(), HttpStatus.OK);
+    }
+
+    /**
+     * Get request to display typed usage
+     *
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping(value = "/usage")
+    public ResponseEntity<UsageDto> getUsage() throws ApplicationNotConfiguredException
+    {
+        return new ResponseEntity<>(v2Service.getUsage(), HttpStatus.OK);
+    }
+
+    /**
+     * Get request to display smoothed network throughput per interface and in total
+     *
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping(value = "/network")
+    public ResponseEntity<NetworkThroughputDto> getNetworkThroughput() throws ApplicationNotConfiguredException
+    {
+        return new ResponseEntity<>(v2Service.getNetworkThroughput(), HttpStatus.OK);
+    }
+
+    /**
+     * Get request to display typed uptime
+     *
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping(value = "/uptime")
+    public ResponseEntity<UptimeDto> getUptime() throws ApplicationNotConfiguredException
+    {
+        return new ResponseEntity<>(v2Service.getUptime(), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,89 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * AgentDto 是推送样本到中心节点的单个代理的容器，数值来自最近一个样本，未知数值为 null
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class AgentDto
+{
+    /**
+     * 代理名称字段
+     */
+    private String name;
+
+    /**
+     * 代理地址字段，最近一次推送的来源地址
+     */
+    private String address;
+
+    /**
+     * 代理状态字段，up 或 down
+     */
+    private String status;
+
+    /**
+     * 最近一次推送时间字段，毫秒时间戳
+     */
+    private long updatedAt;
+
+    /**
+     * 最近一个样本时间字段，毫秒时间戳
+     */
+    private long sampledAt;
+
+    /**
+     * 推送间隔字段，毫秒
+     */
+    private long pushInterval;
+
+    /**
+     * 已接收批次数字段
+     */
+    private long batches;
+
+    /**
+     * 已接收样本数字段
+     */
+    private long samples;
+
+    /**
+     * 处理器使用率字段，百分比
+     */
+    private Double processor;
+
+    /**
+     * 内存使用率字段，百分比
+     */
+    private Double ram;
+
+    /**
+     * 存储使用率字段，百分比
+     */
+    private Double storage;
+
+    /**
+     * 网络接收速率字段，字节每秒
+     */
+    private Double networkReceive;
+
+    /**
+     * 网络发送速率字段，字节每秒
+     */
+    private Double networkSend;
+
+    /**
+     * 磁盘读取速率字段，字节每秒
+     */
+    private Double diskRead;
+
+    /**
+     * 磁盘写入速率字段，字节每秒
+     */
+    private Double diskWrite;
+}
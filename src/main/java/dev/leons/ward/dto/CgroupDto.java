@@ -0,0 +1,69 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * CgroupDto 是容器 cgroup 限制与使用情况的容器，未检测到 cgroup v2 时只有 active 与 detected 字段
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class CgroupDto
+{
+    /**
+     * 是否检测到 cgroup v2 字段
+     */
+    private boolean detected;
+
+    /**
+     * 使用情况是否按 cgroup 限制报告字段
+     */
+    private boolean active;
+
+    /**
+     * cgroup 目录字段
+     */
+    private String path;
+
+    /**
+     * 处理器配额字段，逻辑处理器个数，无限制时为 null
+     */
+    private Double cpuLimit;
+
+    /**
+     * 处理器使用率字段，相对于有效处理器的百分比，尚无两次读数时为 null
+     */
+    private Double cpuUsage;
+
+    /**
+     * 被限流周期占比字段，百分比，尚无两次读数时为 null
+     */
+    private Double throttledPeriods;
+
+    /**
+     * 被限流时间字段，毫秒每秒，尚无两次读数时为 null
+     */
+    private Double throttledTime;
+
+    /**
+     * 内存限制字段，字节，无限制时为 null
+     */
+    private Long memoryLimit;
+
+    /**
+     * 已用内存字段，包含页缓存，字节
+     */
+    private Long memoryUsed;
+
+    /**
+     * 工作集字段，不含非活跃页缓存，字节
+     */
+    private Long memoryWorkingSet;
+
+    /**
+     * 内存使用率字段，相对于内存限制或主机内存的百分比
+     */
+    private Double memoryUsage;
+}
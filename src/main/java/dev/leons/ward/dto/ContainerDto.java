@@ -0,0 +1,59 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * ContainerDto 是单个容器资源使用情况的容器，对应控制器未启用时计数为 -1
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class ContainerDto
+{
+    /**
+     * 短容器 ID 字段，与 docker ps 相同
+     */
+    private String id;
+
+    /**
+     * 容器名称字段，无法读取 docker 配置时为短 ID
+     */
+    private String name;
+
+    /**
+     * 处理器使用率字段，百分比，100 为一个逻辑处理器
+     */
+    private double cpuPercent;
+
+    /**
+     * 已用内存字段，包含页缓存，字节
+     */
+    private long memoryBytes;
+
+    /**
+     * 累计读取字段，字节
+     */
+    private long readBytes;
+
+    /**
+     * 累计写入字段，字节
+     */
+    private long writtenBytes;
+
+    /**
+     * 读取速率字段，字节每秒
+     */
+    private double readBytesPerSecond;
+
+    /**
+     * 写入速率字段，字节每秒
+     */
+    private double writeBytesPerSecond;
+
+    /**
+     * 进程与线程数字段
+     */
+    private long pids;
+}
@@ -0,0 +1,24 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * CoresDto 是一个值容器，用于显示每个逻辑处理器的占用率和频率
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class CoresDto
+{
+    /**
+     * 每个逻辑处理器的占用率，按逻辑处理器编号排列
+     */
+    private int[] usage;
+
+    /**
+     * 每个逻辑处理器的频率 (MHz)，按逻辑处理器编号排列
+     */
+    private int[] clockSpeed;
+}
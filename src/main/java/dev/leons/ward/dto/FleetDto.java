@@ -0,0 +1,36 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * FleetDto 是集群概览的容器，节点按配置顺序排列，推送样本的代理按名称排在其后
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class FleetDto
+{
+    /**
+     * 在线节点数字段
+     */
+    private int up;
+
+    /**
+     * 离线节点数字段
+     */
+    private int down;
+
+    /**
+     * 尚未轮询节点数字段
+     */
+    private int pending;
+
+    /**
+     * 节点列表字段
+     */
+    private List<PeerDto> peers;
+}
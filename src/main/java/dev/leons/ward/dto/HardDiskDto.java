@@ -39,15 +39,40 @@ public class HardDiskDto
     private int usage;
 
     /**
-     * 硬盘读取
+     * 硬盘读取速度，平滑后的每秒字节数
      */
     private String read;
 
     /**
-     * 硬盘写入
+     * 硬盘写入速度，平滑后的每秒字节数
      */
     private String write;
 
+    /**
+     * 每秒读取次数
+     */
+    private int readIops;
+
+    /**
+     * 每秒写入次数
+     */
+    private int writeIops;
+
+    /**
+     * 平均请求耗时，包含排队时间，毫秒
+     */
+    private double await;
+
+    /**
+     * 平均队列深度
+     */
+    private double queueDepth;
+
+    /**
+     * 硬盘繁忙时间占比，百分比
+     */
+    private int utilization;
+
     /**
      * 硬盘所属存储空间
      */
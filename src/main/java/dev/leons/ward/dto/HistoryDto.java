@@ -0,0 +1,49 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * HistoryDto 是单个指标历史数据的容器
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class HistoryDto
+{
+    /**
+     * 指标名称字段
+     */
+    private String metric;
+
+    /**
+     * 查询时间范围字段，毫秒
+     */
+    private long range;
+
+    /**
+     * 数据点间隔字段，毫秒
+     */
+    private long step;
+
+    /**
+     * 第一个数据点的时间戳字段，毫秒
+     */
+    private long start;
+
+    /**
+     * 每个间隔内的最小值，没有数据时为 null
+     */
+    private Float[] min;
+
+    /**
+     * 每个间隔内的平均值，没有数据时为 null
+     */
+    private Float[] avg;
+
+    /**
+     * 每个间隔内的最大值，没有数据时为 null
+     */
+    private Float[] max;
+}
@@ -0,0 +1,51 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * IngestDto 是中心节点样本接收情况的容器，代理按名称排列
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class IngestDto
+{
+    /**
+     * 队列中待解码批次数字段
+     */
+    private int queued;
+
+    /**
+     * 队列容量字段
+     */
+    private int capacity;
+
+    /**
+     * 已接收批次数字段
+     */
+    private long accepted;
+
+    /**
+     * 因队列已满被拒绝的批次数字段
+     */
+    private long rejected;
+
+    /**
+     * 无法解码的批次数字段
+     */
+    private long malformed;
+
+    /**
+     * 已解码样本数字段
+     */
+    private long samples;
+
+    /**
+     * 代理列表字段
+     */
+    private List<AgentDto> agents;
+}
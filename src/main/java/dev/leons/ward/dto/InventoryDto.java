@@ -0,0 +1,193 @@
+package dev.leons.ward.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * InventoryDto 是静态硬件清单的不可变容器，只在启动或手动刷新时采集
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Builder
+public final class InventoryDto
+{
+    /**
+     * 处理器名称字段
+     */
+    private final String processorName;
+
+    /**
+     * 核心线程数字段
+     * 8c/16t
+     */
+    private final String coreCount;
+
+    /**
+     * 物理核心数字段
+     */
+    private final int physicalProcessorCount;
+
+    /**
+     * 逻辑处理器数字段
+     */
+    private final int logicalProcessorCount;
+
+    /**
+     * 内存总量字段，字节
+     */
+    private final long totalRamBytes;
+
+    /**
+     * 总安装的 内存大小
+     */
+    private final String totalRam;
+
+    /**
+     * 内存代数字段
+     */
+    private final String ramTypeOrOSBitDepth;
+
+    /**
+     * 内存频率
+     */
+    private final String ramClockSpeed;
+
+    /**
+     * 内存频率字段，赫兹，未知时为 0
+     */
+    private final long ramClockSpeedHertz;
+
+    /**
+     * 虚拟内存总量（Linux 上的交换）字段
+     */
+    private final String swapAmount;
+
+    /**
+     * gpu名称字段
+     */
+    private final String graphicsName;
+
+    /**
+     * 显存大小字段
+     */
+    private final String graphicsMemory;
+
+    /**
+     * 显存大小字段，字节
+     */
+    private final long graphicsMemoryBytes;
+
+    /**
+     * Host0 存储名称字段
+     */
+    private final String mainStorage;
+
+    /**
+     * 存储总量
+     */
+    private final String storageTotal;
+
+    /**
+     * 存储总量字段，字节
+     */
+    private final long storageTotalBytes;
+
+    /**
+     * 磁盘总数字段
+     */
+    private final String diskCount;
+
+    /**
+     * 磁盘数量字段
+     */
+    private final int diskCountValue;
+
+    /**
+     * 是否为 Linux 字段，显卡探测只在 Linux 上进行
+     */
+    private final boolean linux;
+
+    /**
+     * 是否为 Windows 字段，内存频率探测只在 Linux 和 Windows 上进行
+     */
+    private final boolean windows;
+
+    /**
+     * 硬盘清单
+     */
+    private final List<HardDisk> hardDisks;
+
+    /**
+     * 网卡清单
+     */
+    private final List<Network> networks;
+
+    /**
+     * HardDisk 是单个硬盘的静态信息
+     */
+    @Getter
+    @Builder
+    public static final class HardDisk
+    {
+        /**
+         *  名称
+         */
+        private final String name;
+
+        /**
+         * 硬盘型号
+         */
+        private final String model;
+
+        /**
+         * 硬盘序列号
+         */
+        private final String serial;
+
+        /**
+         * 硬盘大小
+         */
+        private final String total;
+
+        /**
+         * 硬盘大小字段，字节
+         */
+        private final long size;
+    }
+
+    /**
+     * Network 是单个网卡的静态信息
+     */
+    @Getter
+    @Builder
+    public static final class Network
+    {
+        /**
+         *  网卡名称
+         */
+        private final String name;
+
+        /**
+         * 网卡显示名称
+         */
+        private final String displayName;
+
+        /**
+         * mac地址
+         */
+        private final String macaddr;
+
+        /**
+         * ipv4地址
+         */
+        private final List<String> iPv4addr;
+
+        /**
+         * ipv6地址
+         */
+        private final List<String> iPv6addr;
+    }
+}
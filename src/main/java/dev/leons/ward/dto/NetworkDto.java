@@ -30,12 +30,12 @@ public class NetworkDto
 
 
     /**
-     * 网卡上传速度
+     * 网卡上传速度，平滑后的每秒字节数
      */
     private String upload;
 
     /**
-     * 网卡下载速度
+     * 网卡下载速度，平滑后的每秒字节数
      */
     private String download;
     /**
@@ -0,0 +1,79 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * PeerDto 是集群中单个 Ward 节点的容器，数值来自最近一次成功轮询，节点离线时保留旧值
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class PeerDto
+{
+    /**
+     * 节点名称字段
+     */
+    private String name;
+
+    /**
+     * 节点地址字段
+     */
+    private String url;
+
+    /**
+     * 节点状态字段，up、down 或 pending
+     */
+    private String status;
+
+    /**
+     * 最近一次失败原因字段，成功后为 null
+     */
+    private String error;
+
+    /**
+     * 最近一次成功轮询时间字段，毫秒时间戳
+     */
+    private Long updatedAt;
+
+    /**
+     * 最近一次成功轮询耗时字段，毫秒
+     */
+    private Long latency;
+
+    /**
+     * 处理器使用情况字段
+     */
+    private Integer processor;
+
+    /**
+     * 内存使用字段
+     */
+    private Integer ram;
+
+    /**
+     * 存储使用情况字段
+     */
+    private Integer storage;
+
+    /**
+     * 处理器名称字段
+     */
+    private String processorName;
+
+    /**
+     * 处理器核心数字段
+     */
+    private String coreCount;
+
+    /**
+     * 内存总量字段
+     */
+    private String totalRam;
+
+    /**
+     * 存储总量字段
+     */
+    private String totalStorage;
+}
@@ -0,0 +1,74 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * ProbeStatsDto 是单个采集探针耗时与失败统计的容器，耗时单位均为毫秒
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class ProbeStatsDto
+{
+    /**
+     * 探针名称字段
+     */
+    private String name;
+
+    /**
+     * 运行次数字段
+     */
+    private long count;
+
+    /**
+     * 失败次数字段
+     */
+    private long errors;
+
+    /**
+     * 最近一次耗时字段
+     */
+    private double last;
+
+    /**
+     * 平均耗时字段
+     */
+    private double mean;
+
+    /**
+     * 50 百分位耗时字段
+     */
+    private double p50;
+
+    /**
+     * 90 百分位耗时字段
+     */
+    private double p90;
+
+    /**
+     * 99 百分位耗时字段
+     */
+    private double p99;
+
+    /**
+     * 最大耗时字段
+     */
+    private double max;
+
+    /**
+     * 累计耗时字段
+     */
+    private double total;
+
+    /**
+     * 最近一次失败原因字段，从未失败时为 null
+     */
+    private String lastError;
+
+    /**
+     * 最近一次失败时间戳字段，毫秒，从未失败时为 null
+     */
+    private Long lastErrorAt;
+}
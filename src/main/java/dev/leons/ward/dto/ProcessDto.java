@@ -0,0 +1,49 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * ProcessDto 是进程表中单个进程的容器
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class ProcessDto
+{
+    /**
+     * 进程号字段
+     */
+    private int pid;
+
+    /**
+     * 进程名称字段
+     */
+    private String name;
+
+    /**
+     * 进程状态字段，与 ps 相同，例如 R、S、Z
+     */
+    private String state;
+
+    /**
+     * 处理器使用率字段，百分比，100 为一个逻辑处理器
+     */
+    private double cpuPercent;
+
+    /**
+     * 常驻内存字段，字节
+     */
+    private long memoryBytes;
+
+    /**
+     * 内存使用率字段，百分比
+     */
+    private double memoryPercent;
+
+    /**
+     * 线程数字段
+     */
+    private int threads;
+}
@@ -0,0 +1,45 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * SensorDto 是一个值容器，用于显示单个传感器的读数
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class SensorDto
+{
+    /**
+     * 温区类型或 hwmon 芯片名称
+     */
+    private String name;
+
+    /**
+     * 传感器标签
+     */
+    private String label;
+
+    /**
+     * 传感器类型
+     * package, core, nvme, drive, fan, voltage, other
+     */
+    private String type;
+
+    /**
+     * 硬盘传感器所属的块设备名称
+     */
+    private String device;
+
+    /**
+     * 传感器读数
+     */
+    private Double value;
+
+    /**
+     * 读数单位
+     */
+    private String unit;
+}
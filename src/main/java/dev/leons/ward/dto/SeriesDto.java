@@ -0,0 +1,24 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * SeriesDto 是单条降采样曲线的容器
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class SeriesDto
+{
+    /**
+     * 数据点时间戳字段，毫秒
+     */
+    private long[] timestamps;
+
+    /**
+     * 数据点数值字段
+     */
+    private float[] values;
+}
@@ -0,0 +1,34 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * SnapshotDto 是一次采样周期的完整快照，所有客户端共享同一份
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class SnapshotDto
+{
+    /**
+     * 采样序号字段，每个采样周期递增
+     */
+    private long sequence;
+
+    /**
+     * 使用情况 dto 字段
+     */
+    private UsageDto usage;
+
+    /**
+     * 服务器信息 dto 字段
+     */
+    private InfoDto info;
+
+    /**
+     * 运行时间 dto 字段
+     */
+    private UptimeDto uptime;
+}
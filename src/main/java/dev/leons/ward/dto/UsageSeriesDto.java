@@ -0,0 +1,29 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * UsageSeriesDto 是处理器、内存和存储使用情况曲线的容器，字段顺序与 UsageDto 相同
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class UsageSeriesDto
+{
+    /**
+     * 处理器使用情况曲线字段
+     */
+    private SeriesDto processor;
+
+    /**
+     * 内存使用曲线字段
+     */
+    private SeriesDto ram;
+
+    /**
+     * 存储使用情况曲线字段
+     */
+    private SeriesDto storage;
+}
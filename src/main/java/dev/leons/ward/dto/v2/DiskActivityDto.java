@@ -0,0 +1,49 @@
+package dev.leons.ward.dto.v2;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * DiskActivityDto 是 v2 接口硬盘活动的容器，均由相邻两次采样得出并经过平滑，尚无两次读数或不支持时为 null
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class DiskActivityDto
+{
+    /**
+     * 读取速率字段，字节每秒
+     */
+    private Double readBytesPerSecond;
+
+    /**
+     * 写入速率字段，字节每秒
+     */
+    private Double writeBytesPerSecond;
+
+    /**
+     * 读取次数字段，次每秒
+     */
+    private Double readIops;
+
+    /**
+     * 写入次数字段，次每秒
+     */
+    private Double writeIops;
+
+    /**
+     * 平均请求耗时字段，包含排队时间，毫秒
+     */
+    private Double awaitMillis;
+
+    /**
+     * 平均队列深度字段
+     */
+    private Double queueDepth;
+
+    /**
+     * 繁忙时间占比字段，百分比
+     */
+    private Double utilizationPercent;
+}
@@ -0,0 +1,64 @@
+package dev.leons.ward.dto.v2;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * DiskDto 是 v2 接口单个硬盘的容器，计数器为开机以来的累计值
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class DiskDto
+{
+    /**
+     * 硬盘名称字段
+     */
+    private String name;
+
+    /**
+     * 硬盘型号字段
+     */
+    private String model;
+
+    /**
+     * 硬盘序列号字段
+     */
+    private String serial;
+
+    /**
+     * 硬盘容量字段，字节
+     */
+    private long sizeBytes;
+
+    /**
+     * 读取次数字段，没有计数器时为 null
+     */
+    private Long reads;
+
+    /**
+     * 写入次数字段，没有计数器时为 null
+     */
+    private Long writes;
+
+    /**
+     * 读取字节数字段，没有计数器时为 null
+     */
+    private Long readBytes;
+
+    /**
+     * 写入字节数字段，没有计数器时为 null
+     */
+    private Long writtenBytes;
+
+    /**
+     * 温度字段，摄氏度，未知时为 null
+     */
+    private Double temperatureCelsius;
+
+    /**
+     * 硬盘活动字段
+     */
+    private DiskActivityDto activity;
+}
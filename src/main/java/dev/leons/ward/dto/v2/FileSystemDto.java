@@ -0,0 +1,49 @@
+package dev.leons.ward.dto.v2;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * FileSystemDto 是 v2 接口单个文件系统的容器
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class FileSystemDto
+{
+    /**
+     * 挂载点字段
+     */
+    private String mount;
+
+    /**
+     * 所在设备字段，未知时为挂载点
+     */
+    private String device;
+
+    /**
+     * 文件系统类型字段
+     */
+    private String type;
+
+    /**
+     * 总容量字段，字节
+     */
+    private long totalBytes;
+
+    /**
+     * 可用空间字段，字节
+     */
+    private long freeBytes;
+
+    /**
+     * 普通用户可用空间字段，不含为 root 保留的空间，字节
+     */
+    private long usableBytes;
+
+    /**
+     * 使用率字段，百分比
+     */
+    private double usagePercent;
+}
@@ -0,0 +1,39 @@
+package dev.leons.ward.dto.v2;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * GraphicsDto 是 v2 接口显卡信息的容器
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class GraphicsDto
+{
+    /**
+     * 显卡名称字段
+     */
+    private String name;
+
+    /**
+     * 显存大小字段，字节
+     */
+    private long memoryBytes;
+
+    /**
+     * 显存占用字段，字节
+     */
+    private long memoryUsedBytes;
+
+    /**
+     * 使用率字段，百分比
+     */
+    private double usagePercent;
+
+    /**
+     * 频率字段，赫兹，未知时为 null
+     */
+    private Long frequencyHertz;
+}
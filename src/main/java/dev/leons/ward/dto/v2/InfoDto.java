@@ -0,0 +1,46 @@
+package dev.leons.ward.dto.v2;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * InfoDto 是 v2 接口服务器信息的容器，所有数值均为原始值，单位体现在字段名中
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class InfoDto
+{
+    /**
+     * 处理器信息字段
+     */
+    private ProcessorDto processor;
+
+    /**
+     * 内存信息字段
+     */
+    private MemoryDto memory;
+
+    /**
+     * 显卡信息字段
+     */
+    private GraphicsDto graphics;
+
+    /**
+     * 存储信息字段
+     */
+    private StorageDto storage;
+
+    /**
+     * 硬盘列表字段
+     */
+    private List<DiskDto> disks;
+
+    /**
+     * 网卡列表字段
+     */
+    private List<NetworkDto> networks;
+}
@@ -0,0 +1,54 @@
+package dev.leons.ward.dto.v2;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * MemoryDto 是 v2 接口内存信息的容器
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class MemoryDto
+{
+    /**
+     * 内存类型字段，例如 DDR4
+     */
+    private String type;
+
+    /**
+     * 内存频率字段，赫兹，未知时为 null
+     */
+    private Long frequencyHertz;
+
+    /**
+     * 内存总量字段，字节
+     */
+    private long totalBytes;
+
+    /**
+     * 可用内存字段，字节
+     */
+    private long availableBytes;
+
+    /**
+     * 已用内存字段，字节
+     */
+    private long usedBytes;
+
+    /**
+     * 使用率字段，百分比
+     */
+    private double usagePercent;
+
+    /**
+     * 交换空间总量字段，字节
+     */
+    private long swapTotalBytes;
+
+    /**
+     * 已用交换空间字段，字节
+     */
+    private long swapUsedBytes;
+}
@@ -0,0 +1,66 @@
+package dev.leons.ward.dto.v2;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * NetworkDto 是 v2 接口单个网卡的容器，计数器为开机以来的累计值
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class NetworkDto
+{
+    /**
+     * 网卡名称字段
+     */
+    private String name;
+
+    /**
+     * 网卡显示名称字段
+     */
+    private String displayName;
+
+    /**
+     * mac 地址字段
+     */
+    private String mac;
+
+    /**
+     * ipv4 地址字段
+     */
+    private List<String> ipv4;
+
+    /**
+     * ipv6 地址字段
+     */
+    private List<String> ipv6;
+
+    /**
+     * 接收字节数字段，没有计数器时为 null
+     */
+    private Long receivedBytes;
+
+    /**
+     * 发送字节数字段，没有计数器时为 null
+     */
+    private Long sentBytes;
+
+    /**
+     * 接收包数字段，没有计数器时为 null
+     */
+    private Long receivedPackets;
+
+    /**
+     * 发送包数字段，没有计数器时为 null
+     */
+    private Long sentPackets;
+
+    /**
+     * 平滑后的吞吐量字段
+     */
+    private ThroughputDto throughput;
+}
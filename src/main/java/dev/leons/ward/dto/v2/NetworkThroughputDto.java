@@ -0,0 +1,26 @@
+package dev.leons.ward.dto.v2;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * NetworkThroughputDto 是 v2 接口所有网卡吞吐量的容器
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class NetworkThroughputDto
+{
+    /**
+     * 除回环网卡外所有网卡的合计吞吐量字段
+     */
+    private ThroughputDto total;
+
+    /**
+     * 按网卡名称排列的吞吐量字段
+     */
+    private Map<String, ThroughputDto> interfaces;
+}
@@ -0,0 +1,54 @@
+package dev.leons.ward.dto.v2;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * ProcessorDto 是 v2 接口处理器信息的容器
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class ProcessorDto
+{
+    /**
+     * 处理器名称字段
+     */
+    private String name;
+
+    /**
+     * 物理核心数字段
+     */
+    private int physicalCores;
+
+    /**
+     * 逻辑处理器数字段
+     */
+    private int logicalProcessors;
+
+    /**
+     * 平均频率字段，赫兹
+     */
+    private long frequencyHertz;
+
+    /**
+     * 使用率字段，百分比
+     */
+    private double usagePercent;
+
+    /**
+     * 温度字段，摄氏度，未知时为 null
+     */
+    private Double temperatureCelsius;
+
+    /**
+     * 每个逻辑处理器的使用率字段，百分比
+     */
+    private double[] coreUsagePercent;
+
+    /**
+     * 每个逻辑处理器的频率字段，赫兹
+     */
+    private long[] coreFrequencyHertz;
+}
@@ -0,0 +1,51 @@
+package dev.leons.ward.dto.v2;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * StorageDto 是 v2 接口存储信息的容器
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class StorageDto
+{
+    /**
+     * 主硬盘名称字段
+     */
+    private String mainStorage;
+
+    /**
+     * 硬盘数量字段
+     */
+    private int diskCount;
+
+    /**
+     * 所有硬盘总容量字段，字节
+     */
+    private long diskTotalBytes;
+
+    /**
+     * 所有文件系统总容量字段，字节
+     */
+    private long totalBytes;
+
+    /**
+     * 所有文件系统可用空间字段，字节
+     */
+    private long freeBytes;
+
+    /**
+     * 文件系统使用率字段，百分比
+     */
+    private double usagePercent;
+
+    /**
+     * 文件系统列表字段
+     */
+    private List<FileSystemDto> fileSystems;
+}
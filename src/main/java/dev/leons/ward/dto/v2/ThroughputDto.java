@@ -0,0 +1,54 @@
+package dev.leons.ward.dto.v2;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * ThroughputDto 是 v2 接口网卡吞吐量的容器，均为平滑后的每秒速率，尚无两次读数或不支持时为 null
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class ThroughputDto
+{
+    /**
+     * 接收速率字段，字节每秒
+     */
+    private Double receiveBytesPerSecond;
+
+    /**
+     * 发送速率字段，字节每秒
+     */
+    private Double sendBytesPerSecond;
+
+    /**
+     * 接收包速率字段，包每秒
+     */
+    private Double receivePacketsPerSecond;
+
+    /**
+     * 发送包速率字段，包每秒
+     */
+    private Double sendPacketsPerSecond;
+
+    /**
+     * 接收错误速率字段，错误每秒
+     */
+    private Double receiveErrorsPerSecond;
+
+    /**
+     * 发送错误速率字段，错误每秒
+     */
+    private Double sendErrorsPerSecond;
+
+    /**
+     * 接收丢包速率字段，包每秒
+     */
+    private Double receiveDropsPerSecond;
+
+    /**
+     * 发送丢包速率字段，包每秒
+     */
+    private Double sendDropsPerSecond;
+}
@@ -0,0 +1,24 @@
+package dev.leons.ward.dto.v2;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * UptimeDto 是 v2 接口运行时间的容器
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class UptimeDto
+{
+    /**
+     * 运行时间字段，秒
+     */
+    private long seconds;
+
+    /**
+     * 开机时间字段，Unix 时间戳，秒
+     */
+    private long bootTime;
+}
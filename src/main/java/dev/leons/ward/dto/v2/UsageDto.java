@@ -0,0 +1,29 @@
+package dev.leons.ward.dto.v2;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * UsageDto 是 v2 接口使用率的容器，字段顺序与 v1 相同
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class UsageDto
+{
+    /**
+     * 处理器使用率字段，百分比
+     */
+    private double processorPercent;
+
+    /**
+     * 内存使用率字段，百分比
+     */
+    private double ramPercent;
+
+    /**
+     * 存储使用率字段，百分比
+     */
+    private double storagePercent;
+}
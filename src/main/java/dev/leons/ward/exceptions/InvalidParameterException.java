@@ -0,0 +1,19 @@
+package dev.leons.ward.exceptions;
+
+/**
+ * InvalidParameterException indicates that user requested api with unknown or malformed parameter
+ *
+ * @version 1.0.0
+ */
+public final class InvalidParameterException extends Exception
+{
+    /**
+     * Call super class with exception message
+     *
+     * @param message description of invalid parameter
+     */
+    public InvalidParameterException(final String message)
+    {
+        super(message);
+    }
+}
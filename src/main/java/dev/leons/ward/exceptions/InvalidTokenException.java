@@ -0,0 +1,18 @@
+package dev.leons.ward.exceptions;
+
+/**
+ * InvalidTokenException indicates that a protected request, such as a pushed batch of an agent or a refresh of the inventory,
+ * came without the configured token
+ *
+ * @version 1.0.0
+ */
+public final class InvalidTokenException extends Exception
+{
+    /**
+     * Call super class with exception message
+     */
+    public InvalidTokenException()
+    {
+        super("Invalid token");
+    }
+}
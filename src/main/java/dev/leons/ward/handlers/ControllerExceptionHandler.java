@@ -4,6 +4,8 @@ import dev.leons.ward.components.UtilitiesComponent;
 import dev.leons.ward.dto.ErrorDto;
 import dev.leons.ward.exceptions.ApplicationAlreadyConfiguredException;
 import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.exceptions.InvalidParameterException;
+import dev.leons.ward.exceptions.InvalidTokenException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
@@ -40,12 +42,22 @@ public class ControllerExceptionHandler
      * Handles exceptions with BAD_REQUEST status, then they thrown
      */
     @ResponseBody
-    @ExceptionHandler(value = {ApplicationNotConfiguredException.class, ApplicationAlreadyConfiguredException.class})
+    @ExceptionHandler(value = {ApplicationNotConfiguredException.class, ApplicationAlreadyConfiguredException.class, InvalidParameterException.class})
     public ResponseEntity<ErrorDto> applicationNotSetUpExceptionHandler(final Exception exception)
     {
         return new ResponseEntity<>(new ErrorDto(exception), HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles exceptions with FORBIDDEN status, then they thrown
+     */
+    @ResponseBody
+    @ExceptionHandler(value = InvalidTokenException.class)
+    public ResponseEntity<ErrorDto> invalidTokenExceptionHandler(final Exception exception)
+    {
+        return new ResponseEntity<>(new ErrorDto(exception), HttpStatus.FORBIDDEN);
+    }
+
     /**
      * Handles exceptions with UNPROCESSABLE_ENTITY status, then they thrown
      */
@@ -0,0 +1,43 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.components.ContainerComponent;
+import dev.leons.ward.dto.ContainerDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * ContainerService provides resources of containers on the host to rest controller
+ *
+ * @version 1.0.0
+ */
+@Service
+public class ContainerService
+{
+    /**
+     * Autowired ContainerComponent object
+     * Used for getting latest read container resources
+     */
+    @Autowired
+    private ContainerComponent containerComponent;
+
+    /**
+     * Used to deliver container resources to corresponding controller
+     *
+     * @return List of ContainerDto, in order of names
+     */
+    public List<ContainerDto> getContainers() throws ApplicationNotConfiguredException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            return containerComponent.getContainers();
+        }
+        else
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.components.HubComponent;
+import dev.leons.ward.components.IngestComponent;
+import dev.leons.ward.dto.FleetDto;
+import dev.leons.ward.dto.PeerDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * FleetService provides cached state of peer Ward instances and of agents pushing to this instance to rest controller
+ *
+ * @version 1.0.0
+ */
+@Service
+public class FleetService
+{
+    /**
+     * Autowired HubComponent object
+     * Used for getting cached state of peers
+     */
+    @Autowired
+    private HubComponent hubComponent;
+
+    /**
+     * Autowired IngestComponent object
+     * Used for getting latest state of agents
+     */
+    @Autowired
+    private IngestComponent ingestComponent;
+
+    /**
+     * Used to deliver fleet overview to corresponding controller
+     *
+     * @return FleetDto filled with every configured peer followed by every agent, empty if neither mode is enabled
+     */
+    public FleetDto getFleet() throws ApplicationNotConfiguredException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            FleetDto fleetDto = hubComponent.getFleet();
+            List<PeerDto> agents = ingestComponent.getPeers();
+
+            if (!agents.isEmpty())
+            {
+                List<PeerDto> peers = new ArrayList<>(fleetDto.getPeers());
+                peers.addAll(agents);
+
+                // Agents are either up or down, they are never polled
+                long up = agents.stream().filter(agent -> HubComponent.UP.equals(agent.getStatus())).count();
+                fleetDto.setUp(fleetDto.getUp() + (int) up);
+                fleetDto.setDown(fleetDto.getDown() + agents.size() - (int) up);
+                fleetDto.setPeers(peers);
+            }
+
+            return fleetDto;
+        }
+        else
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+    }
+}
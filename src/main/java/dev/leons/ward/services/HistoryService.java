@@ -0,0 +1,177 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.components.HistoryComponent;
+import dev.leons.ward.components.MetricStoreComponent;
+import dev.leons.ward.dto.HistoryDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.exceptions.InvalidParameterException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * HistoryService provides history of sampled metrics to rest controller
+ *
+ * @version 1.0.0
+ */
+@Service
+public class HistoryService
+{
+    /**
+     * Autowired HistoryComponent object
+     * Used for getting recorded history
+     */
+    @Autowired
+    private HistoryComponent historyComponent;
+
+    /**
+     * Autowired MetricStoreComponent object
+     * Used for getting persisted history, which is longer than in-memory history
+     */
+    @Autowired
+    private MetricStoreComponent metricStoreComponent;
+
+    /**
+     * Used to deliver dto to corresponding controller
+     *
+     * @param metric metric name, such as processor
+     * @param range  range ending now, such as 90s, 15m, 6h or 7d
+     * @return HistoryDto filled with recorded buckets
+     */
+    public HistoryDto getHistory(final String metric, final String range) throws ApplicationNotConfiguredException, InvalidParameterException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            long rangeMillis = parseRange(range);
+            HistoryDto historyDto = (rangeMillis > historyComponent.getMaxRange())
+                    ? metricStoreComponent.getHistory(metric, rangeMillis)
+                    : historyComponent.getHistory(metric, rangeMillis);
+
+            if (historyDto == null)
+            {
+                throw new InvalidParameterException("Unknown metric: " + metric);
+            }
+
+            return historyDto;
+        }
+        else
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+    }
+
+    /**
+     * Used to deliver names of tracked metrics to corresponding controller
+     *
+     * @return List of metric names
+     */
+    public List<String> getMetrics() throws ApplicationNotConfiguredException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            return historyComponent.getMetrics();
+        }
+        else
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+    }
+
+    /**
+     * Gets averages of a metric, from memory or from store for ranges longer than in-memory history
+     *
+     * @param metric metric name, such as processor
+     * @param range  range ending now, in milliseconds
+     * @return Samples with bucket timestamps and averages, empty if metric is not tracked
+     */
+    public HistoryComponent.Samples getSamples(final String metric, final long range)
+    {
+        HistoryComponent.Samples samples;
+
+        if (range > historyComponent.getMaxRange())
+        {
+            HistoryDto historyDto = metricStoreComponent.getHistory(metric, range);
+            samples = (historyDto != null) ? toSamples(historyDto) : null;
+        }
+        else
+        {
+            samples = historyComponent.getSamples(metric, range);
+        }
+
+        return (samples != null) ? samples : new HistoryComponent.Samples(new long[0], new float[0], 0);
+    }
+
+    /**
+     * Parses range with unit postfix, plain numbers are seconds
+     *
+     * @param range range, such as 90s, 15m, 6h or 7d
+     * @return long with range in milliseconds
+     */
+    public long parseRange(final String range) throws InvalidParameterException
+    {
+        String value = range.trim();
+
+        if (value.isEmpty())
+        {
+            throw new InvalidParameterException("Empty range");
+        }
+
+        long multiplier = switch (value.charAt(value.length() - 1))
+        {
+            case 's' -> 1_000L;
+            case 'm' -> 60_000L;
+            case 'h' -> 3_600_000L;
+            case 'd' -> 86_400_000L;
+            default -> 0L;
+        };
+
+        try
+        {
+            // Exact product, so a huge amount is rejected instead of wrapping into a valid range
+            long rangeMillis = (multiplier == 0) ? Math.multiplyExact(Long.parseLong(value), 1_000L)
+                    : Math.multiplyExact(Long.parseLong(value.substring(0, value.length() - 1)), multiplier);
+
+            if ((rangeMillis <= 0) || ((rangeMillis > historyComponent.getMaxRange()) && !metricStoreComponent.covers(rangeMillis)))
+            {
+                throw new InvalidParameterException("Range must be positive and within retention period");
+            }
+
+            return rangeMillis;
+        }
+        catch (NumberFormatException exception)
+        {
+            throw new InvalidParameterException("Malformed range: " + range);
+        }
+        catch (ArithmeticException exception)
+        {
+            throw new InvalidParameterException("Range must be positive and within retention period");
+        }
+    }
+
+    /**
+     * Converts averages of history buckets to samples, empty buckets are skipped
+     *
+     * @param historyDto history with buckets
+     * @return Samples with filled arrays
+     */
+    private HistoryComponent.Samples toSamples(final HistoryDto historyDto)
+    {
+        Float[] averages = historyDto.getAvg();
+        long[] timestamps = new long[averages.length];
+        float[] values = new float[averages.length];
+        int size = 0;
+
+        for (int i = 0; i < averages.length; i++)
+        {
+            if (averages[i] != null)
+            {
+                timestamps[size] = historyDto.getStart() + i * historyDto.getStep();
+                values[size++] = averages[i];
+            }
+        }
+
+        return new HistoryComponent.Samples(timestamps, values, size);
+    }
+}
@@ -92,6 +92,30 @@ public class IndexService
         return "index";
     }
 
+    /**
+     * Fills model of fleet overview page and returns template name
+     *
+     * @param model strings container
+     * @return template name
+     */
+    public String getFleet(final Model model) throws IOException
+    {
+        if (Ward.isFirstLaunch())
+        {
+            return "setup";
+        }
+
+        updateDefaultsInSetupFile();
+
+        model.addAttribute("theme", utilitiesComponent.getFromIniFile("theme"));
+        model.addAttribute("serverName", utilitiesComponent.getFromIniFile("serverName"));
+        model.addAttribute("enableFog", utilitiesComponent.getFromIniFile("enableFog"));
+        model.addAttribute("backgroundColor", utilitiesComponent.getFromIniFile("backgroundColor"));
+        model.addAttribute("version", getVersion());
+
+        return "fleet";
+    }
+
     private void updateDefaultsInSetupFile() throws IOException {
         if (utilitiesComponent.getFromIniFile("enableFog") == null) {
             utilitiesComponent.putInIniFile("enableFog", "true");
@@ -2,24 +2,41 @@ package dev.leons.ward.services;
 
 import dev.leons.ward.Ward;
 import dev.leons.ward.dto.*;
+import dev.leons.ward.components.CommandProbeComponent;
+import dev.leons.ward.components.FileSystemComponent;
+import dev.leons.ward.components.MetricsProbe;
+import dev.leons.ward.components.ProbeStatsComponent;
+import dev.leons.ward.components.PseudoFileComponent;
+import dev.leons.ward.components.SamplerComponent;
+import dev.leons.ward.components.SensorComponent;
+import dev.leons.ward.components.UnitFormatter;
 import dev.leons.ward.components.UtilitiesComponent;
 import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.exceptions.InvalidTokenException;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import oshi.SystemInfo;
 import oshi.hardware.*;
-import oshi.software.os.FileSystem;
-import oshi.software.os.OSFileStore;
-import oshi.software.os.OperatingSystem;
-import oshi.util.ExecutingCommand;
 import oshi.util.FileUtil;
-import oshi.util.Util;
 
-import java.text.DecimalFormat;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -33,12 +50,170 @@ import java.util.stream.Collectors;
 @Service
 public class InfoService
 {
+    /**
+     * Constant for determine how long output of probes for static values is reused, in milliseconds
+     */
+    private static final long STATIC_PROBE_TTL = 3_600_000;
+
+    /**
+     * Constant for determine how long output of probes for dynamic values is reused, in milliseconds
+     */
+    private static final long DYNAMIC_PROBE_TTL = 2_000;
+
+    /**
+     * Constant for determine after which time probe commands are killed, in milliseconds
+     */
+    private static final long COMMAND_TIMEOUT = 1_500;
+
+    /**
+     * Constant for matching engine usages with two fraction digits in intel_gpu_top output
+     */
+    private static final Pattern GRAPHICS_USAGE_PATTERN = Pattern.compile("\\d+\\.\\d{2}");
+
     /**
      * Autowired SystemInfo object
      * Used for getting machine information
      */
     @Autowired
     private SystemInfo systemInfo;
+
+    /**
+     * Autowired SamplerComponent object
+     * Used for getting latest sampled processor and ram usage, disk and network counters
+     */
+    @Autowired
+    private SamplerComponent samplerComponent;
+
+    /**
+     * Autowired MetricsProbe object
+     * Used for enumerating disks and network interfaces again after hot-plug
+     */
+    @Autowired
+    private MetricsProbe metricsProbe;
+
+    /**
+     * Autowired CommandProbeComponent object
+     * Used for getting cached output of external commands
+     */
+    @Autowired
+    private CommandProbeComponent commandProbeComponent;
+
+    /**
+     * Autowired PseudoFileComponent object
+     * Used for reading sysfs, procfs and debugfs without forking processes
+     */
+    @Autowired
+    private PseudoFileComponent pseudoFileComponent;
+
+    /**
+     * Autowired SensorComponent object
+     * Used for getting processor and disk temperatures
+     */
+    @Autowired
+    private SensorComponent sensorComponent;
+
+    /**
+     * Autowired FileSystemComponent object
+     * Used for getting deduplicated and cached file system usage
+     */
+    @Autowired
+    private FileSystemComponent fileSystemComponent;
+
+    /**
+     * Autowired ProbeStatsComponent object
+     * Used for measuring latency and failures of probes
+     */
+    @Autowired
+    private ProbeStatsComponent probeStatsComponent;
+
+    /**
+     * Time after which info is published without sections still being collected, in milliseconds
+     */
+    @Value("${ward.info.deadline:500}")
+    private long deadline;
+
+    /**
+     * Token a refresh of the inventory has to send, empty disables refreshing
+     */
+    @Value("${ward.info.refresh-token:}")
+    private String refreshToken;
+
+    /**
+     * Minimal time between two refreshes of the inventory, in milliseconds
+     */
+    @Value("${ward.info.refresh-interval:60000}")
+    private long refreshInterval;
+
+    /**
+     * Whether a refresh of the inventory is in flight
+     */
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    /**
+     * Time of the latest refresh of the inventory, in epoch milliseconds
+     */
+    private volatile long refreshedAt;
+
+    /**
+     * Runs every section on its own virtual thread
+     */
+    private final ExecutorService sectionExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Processor section
+     */
+    private final Section<ProcessorDto> processorSection = new Section<>("info.processor", this::getProcessor, ProcessorDto::new);
+
+    /**
+     * Memory section
+     */
+    private final Section<MachineDto> machineSection = new Section<>("info.machine", this::getMachine, MachineDto::new);
+
+    /**
+     * Graphics section
+     */
+    private final Section<GraphicsDto> graphicsSection = new Section<>("info.graphics", this::getGraphics, GraphicsDto::new);
+
+    /**
+     * Storage section
+     */
+    private final Section<StorageDto> storageSection = new Section<>("info.storage", this::getStorage, StorageDto::new);
+
+    /**
+     * Hard disks section
+     */
+    private final Section<List<HardDiskDto>> hardDiskSection = new Section<>("info.hardDisks", this::getHardDisk, List::of);
+
+    /**
+     * Network section
+     */
+    private final Section<List<NetworkDto>> networkSection = new Section<>("info.network", this::getNetwork, List::of);
+
+    /**
+     * Static hardware inventory, collected once and replaced only on refresh
+     */
+    private volatile InventoryDto inventory;
+
+    /**
+     * Latest sampled info, published for request threads
+     */
+    private volatile InfoDto info;
+
+    /**
+     * Latest sampled graphics memory usage in bytes, published for metrics exposition
+     */
+    private volatile long graphicsMemoryUsage;
+
+    /**
+     * Latest sampled graphics usage in percents, published for typed api
+     */
+    private volatile int graphicsUsage;
+
+    /**
+     * Latest sampled graphics frequency in hertz, 0 if unknown, published for typed api
+     */
+    private volatile long graphicsFrequency;
+
     /**
      * 用于将 dto 传送到相应的控制器
      *
@@ -48,22 +223,8 @@ public class InfoService
     {
         if (!Ward.isFirstLaunch())
         {
-            InfoDto infoDto = new InfoDto();
-            HardwareAbstractionLayer hardware = systemInfo.getHardware();
-            //cpu信息
-            infoDto.setProcessor(getProcessor(hardware));
-            //内存信息
-            infoDto.setMachine(getMachine(hardware));
-            //gpu信息
-            infoDto.setGraphics(getGraphics(hardware));
-            //存储信息
-            infoDto.setStorage(getStorage(hardware));
-            //硬盘信息
-            infoDto.setHardDisks(getHardDisk(hardware));
-            //网络信息
-            infoDto.setNetworks(getNetwork(hardware));
-
-            return infoDto;
+            InfoDto infoDto = info;
+            return (infoDto != null) ? infoDto : sampleInfo();
         }
         else
         {
@@ -71,64 +232,305 @@ public class InfoService
         }
     }
 
+    /**
+     * 用于将静态硬件清单传送到相应的控制器
+     *
+     * @return InventoryDto filled with static hardware info
+     */
+    public InventoryDto getInventory() throws ApplicationNotConfiguredException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            return getOrCollectInventory();
+        }
+        else
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+    }
 
     /**
-     * 读取cpu信息
+     * 重新采集静态硬件清单，用于热插拔硬盘、网卡等设备后。
+     * 需要配置的令牌，刷新进行中或距上次刷新不足最小间隔时，直接返回当前清单而不重新采集
      *
-     * @return ProcessorDto with filled fields
+     * @param token token sent by the client, may be null
+     * @return InventoryDto filled with refreshed static hardware info, or current one if refresh was skipped
      */
-    private ProcessorDto getProcessor(HardwareAbstractionLayer hardware) {
-        ProcessorDto processorDto = new ProcessorDto();
+    public InventoryDto refreshInventory(final String token) throws ApplicationNotConfiguredException, InvalidTokenException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            if (refreshToken.isEmpty() || (token == null)
+                    || !MessageDigest.isEqual(refreshToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8)))
+            {
+                throw new InvalidTokenException();
+            }
+
+            if ((System.currentTimeMillis() - refreshedAt < refreshInterval) || !refreshing.compareAndSet(false, true))
+            {
+                return getOrCollectInventory();
+            }
+
+            try
+            {
+                InventoryDto inventoryDto = probeStatsComponent.measure("info.inventory", this::collectInventory);
+                metricsProbe.refresh();
+                sensorComponent.rediscover();
+                sampleInfo();
+
+                return inventoryDto;
+            }
+            finally
+            {
+                refreshedAt = System.currentTimeMillis();
+                refreshing.set(false);
+            }
+        }
+        else
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+    }
+
+    /**
+     * 返回最近一次采集的显存占用，不重新读取
+     *
+     * @return long with graphics memory usage in bytes
+     */
+    public long getGraphicsMemoryUsageBytes()
+    {
+        return graphicsMemoryUsage;
+    }
+
+    /**
+     * 返回最近一次采集的显卡占用，不重新读取
+     *
+     * @return int with graphics usage in percents
+     */
+    public int getGraphicsUsagePercent()
+    {
+        return graphicsUsage;
+    }
+
+    /**
+     * 返回最近一次采集的显卡频率，不重新读取
+     *
+     * @return long with graphics frequency in hertz, 0 if unknown
+     */
+    public long getGraphicsFrequencyHertz()
+    {
+        return graphicsFrequency;
+    }
+
+    /**
+     * 定时采集动态信息
+     */
+    @Scheduled(fixedRateString = "${ward.sampler.interval:1000}")
+    public void sample()
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            sampleInfo();
+        }
+    }
+
+    /**
+     * 停止仍在采集的部分，用于应用上下文关闭时
+     */
+    @PreDestroy
+    public void close()
+    {
+        sectionExecutor.shutdownNow();
+    }
+
+    /**
+     * 并行采集动态信息并与静态硬件清单合并，总耗时受截止时间限制，超时的部分沿用上一次的值
+     *
+     * @return InfoDto filled with server info
+     */
+    private synchronized InfoDto sampleInfo()
+    {
+        InventoryDto inventoryDto = getOrCollectInventory();
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadline);
+
+        processorSection.fork(inventoryDto);
+        machineSection.fork(inventoryDto);
+        graphicsSection.fork(inventoryDto);
+        storageSection.fork(inventoryDto);
+        hardDiskSection.fork(inventoryDto);
+        networkSection.fork(inventoryDto);
+
+        InfoDto infoDto = new InfoDto();
+        //cpu信息
+        infoDto.setProcessor(processorSection.join(deadlineNanos));
+        //内存信息
+        infoDto.setMachine(machineSection.join(deadlineNanos));
+        //gpu信息
+        infoDto.setGraphics(graphicsSection.join(deadlineNanos));
+        //存储信息
+        infoDto.setStorage(storageSection.join(deadlineNanos));
+        //硬盘信息
+        infoDto.setHardDisks(hardDiskSection.join(deadlineNanos));
+        //网络信息
+        infoDto.setNetworks(networkSection.join(deadlineNanos));
+
+        info = infoDto;
+        return infoDto;
+    }
+
+    /**
+     * 返回静态硬件清单，首次调用时采集。并发的首次调用只采集一次，其余调用等待结果
+     *
+     * @return InventoryDto filled with static hardware info
+     */
+    private InventoryDto getOrCollectInventory()
+    {
+        InventoryDto inventoryDto = inventory;
+
+        if (inventoryDto != null)
+        {
+            return inventoryDto;
+        }
+
+        synchronized (this)
+        {
+            inventoryDto = inventory;
+            return (inventoryDto != null) ? inventoryDto : probeStatsComponent.measure("info.inventory", this::collectInventory);
+        }
+    }
+
+    /**
+     * 采集静态硬件清单
+     *
+     * @return InventoryDto filled with static hardware info
+     */
+    private synchronized InventoryDto collectInventory()
+    {
+        HardwareAbstractionLayer hardware = systemInfo.getHardware();
+
         //cpu 信息
         CentralProcessor centralProcessor = hardware.getProcessor();
-
         // cpu型号
-        String name = centralProcessor.getProcessorIdentifier().getName().split("@")[0].trim();
-        processorDto.setName(name);
-
+        String processorName = centralProcessor.getProcessorIdentifier().getName().split("@")[0].trim();
         // 核心数
         int coreCount = centralProcessor.getPhysicalProcessorCount();
-
         //线程数
         int threads = centralProcessor.getLogicalProcessorCount();
-        processorDto.setCoreCount(coreCount+"c/"+threads+"t");
+
+        //内存信息
+        GlobalMemory globalMemory = hardware.getMemory();
+        //内存类型 ddr4
+        String ramTypeOrOSBitDepth = globalMemory.getPhysicalMemory().stream().findFirst()
+                .map(PhysicalMemory::getMemoryType).orElse("Undefined");
+
+        //显卡信息
+        List<GraphicsCard> gpus = hardware.getGraphicsCards();
+        String graphicsName = gpus.isEmpty() ? "Undefined" : extractFirstOrSelf(gpus.get(0).getName());
+        long graphicsMemoryBytes = gpus.isEmpty() ? 0 : gpus.get(0).getVRam();
+        String graphicsMemory = UnitFormatter.capacity(graphicsMemoryBytes);
+
+        //硬盘信息
+        List<HWDiskStore> diskStores = hardware.getDiskStores();
+        String mainStorage = diskStores.isEmpty() ? "Undefined"
+            : diskStores.get(0).getModel().replaceAll("\\(.+?\\)", "").trim();
+        long total = diskStores.stream().mapToLong(HWDiskStore::getSize).sum();
+        int diskCount = diskStores.size();
+
+        List<InventoryDto.HardDisk> hardDisks = new ArrayList<>();
+        diskStores.forEach(hwDiskStore -> hardDisks.add(InventoryDto.HardDisk.builder()
+                .name(hwDiskStore.getName())
+                .model(hwDiskStore.getModel())
+                .serial(hwDiskStore.getSerial())
+                .total(UnitFormatter.capacity(hwDiskStore.getSize()))
+                .size(hwDiskStore.getSize())
+                .build()));
+
+        //网卡信息
+        List<NetworkIF> interfaces = hardware.getNetworkIFs();
+        List<InventoryDto.Network> networks = new ArrayList<>();
+        interfaces.forEach(networkIF -> networks.add(InventoryDto.Network.builder()
+                .name(networkIF.getName())
+                .displayName(networkIF.getDisplayName())
+                .macaddr(networkIF.getMacaddr())
+                .iPv4addr(List.of(networkIF.getIPv4addr()))
+                .iPv6addr(List.of(networkIF.getIPv6addr()))
+                .build()));
+
+        //操作系统只检测一次，不支持的系统跳过对应探测
+        String family = systemInfo.getOperatingSystem().getFamily();
+        boolean linux = family.contains("Linux");
+        boolean windows = family.contains("Windows");
+
+        if (!linux)
+        {
+            System.out.println("不支持的操作系统, 跳过显卡探测" + (windows ? ": " : "和内存频率探测: ") + family);
+        }
+
+        //内存频率 MHz
+        long ramFrequency = (linux || windows) ? getRamFrequency(linux) : 0;
+
+        InventoryDto inventoryDto = InventoryDto.builder()
+                .processorName(processorName)
+                .coreCount(coreCount + "c/" + threads + "t")
+                .physicalProcessorCount(coreCount)
+                .logicalProcessorCount(threads)
+                .totalRam(UnitFormatter.appendCapacity(new StringBuilder(), globalMemory.getTotal()).append(" RAM").toString())
+                .totalRamBytes(globalMemory.getTotal())
+                .ramTypeOrOSBitDepth(ramTypeOrOSBitDepth)
+                .ramClockSpeed((ramFrequency > 0) ? ramFrequency + " MHz" : null)
+                .ramClockSpeedHertz(ramFrequency * 1_000_000)
+                .swapAmount(UnitFormatter.appendCapacity(new StringBuilder(), globalMemory.getVirtualMemory().getSwapTotal()).append(" Swap").toString())
+                .graphicsName(graphicsName)
+                .graphicsMemory(graphicsMemory)
+                .graphicsMemoryBytes(graphicsMemoryBytes)
+                .mainStorage(mainStorage)
+                .storageTotal(UnitFormatter.appendCapacity(new StringBuilder(), total).append(" Total").toString())
+                .storageTotalBytes(total)
+                .diskCount(diskCount + (diskCount > 1 ? " Disks" : " Disk"))
+                .diskCountValue(diskCount)
+                .linux(linux)
+                .windows(windows)
+                .hardDisks(List.copyOf(hardDisks))
+                .networks(List.copyOf(networks))
+                .build();
+
+        inventory = inventoryDto;
+
+        return inventoryDto;
+    }
+
+    /**
+     * 读取cpu信息
+     *
+     * @return ProcessorDto with filled fields
+     */
+    private ProcessorDto getProcessor(InventoryDto inventoryDto) {
+        ProcessorDto processorDto = new ProcessorDto();
+
+        // cpu型号
+        processorDto.setName(inventoryDto.getProcessorName());
+
+        // 核心数和线程数
+        processorDto.setCoreCount(inventoryDto.getCoreCount());
 
         // cpu频率
-        processorDto.setClockSpeed(getConvertedFrequency(centralProcessor.getCurrentFreq()));
+        processorDto.setClockSpeed(UnitFormatter.frequency(samplerComponent.getAverageFrequency()));
 
         // cpu使用率
-        processorDto.setUsage(getProcessorUsage(hardware));
+        processorDto.setUsage(samplerComponent.getProcessorUsage());
 
         //cpu温度
-        processorDto.setTemp(getProcessorTemp() + "°C");
+        processorDto.setTemp(getProcessorTemp());
         return processorDto;
     }
 
     /**
      * 读取CPU温度
      *
-     * @return
+     * @return 45.5°C, null if there is no processor sensor
      */
     private String getProcessorTemp(){
-        SystemInfo si = new SystemInfo();
-        OperatingSystem os = si.getOperatingSystem();
-        String processorTemp = null;
-        if (os.getFamily().contains("Linux")) {
-            List<String> gemObjects = ExecutingCommand.runNative("sudo cat /sys/class/thermal/thermal_zone3/temp");
-            System.out.println("GPU频率查询输出"+gemObjects.size());
-            for (String line : gemObjects) {
-                System.out.println("GPU频率查询输出"+line);
-                double temp = Integer.parseInt(line)/1000.0;
-                processorTemp = String.valueOf(temp);
-            }
-
-        } else if (os.getFamily().contains("Windows")) {
-            // Windows系统实现
-            System.out.println("读取CPU温度:不支持的操作系统"+os.getFamily());
-        } else {
-            System.out.println("读取CPU温度:不支持的操作系统"+os.getFamily());
-        }
-        return processorTemp;
+        return UnitFormatter.temperature(sensorComponent.getProcessorTemperature());
     }
 
     /**
@@ -136,29 +538,23 @@ public class InfoService
      *
      * @return MachineDto with filled fields
      */
-    private MachineDto getMachine(HardwareAbstractionLayer hardware) {
+    private MachineDto getMachine(InventoryDto inventoryDto) {
         MachineDto machineDto = new MachineDto();
 
-        //内存信息
-        GlobalMemory globalMemory = hardware.getMemory();
-
         //内存总大小
-        long totalRam = globalMemory.getTotal();
-        machineDto.setTotalRam(getConvertedCapacity(totalRam) + " RAM");
+        machineDto.setTotalRam(inventoryDto.getTotalRam());
 
         //内存类型 ddr4
-        Optional<PhysicalMemory> physicalMemoryOptional = globalMemory.getPhysicalMemory().stream().findFirst();
-        String ramTypeOrOSBitDepth = physicalMemoryOptional.get().getMemoryType();
-        machineDto.setRamTypeOrOSBitDepth(ramTypeOrOSBitDepth);
+        machineDto.setRamTypeOrOSBitDepth(inventoryDto.getRamTypeOrOSBitDepth());
 
         //内存使用率
-        machineDto.setUsage(getRamUsage(hardware));
+        machineDto.setUsage(samplerComponent.getRamUsage());
 
         //内存频率
-        machineDto.setClockSpeed(getRamFrequency());
+        machineDto.setClockSpeed(inventoryDto.getRamClockSpeed());
 
         //swap信息
-        machineDto.setSwapAmount(getConvertedCapacity(globalMemory.getVirtualMemory().getSwapTotal()) + " Swap");
+        machineDto.setSwapAmount(inventoryDto.getSwapAmount());
 
         return machineDto;
     }
@@ -168,26 +564,24 @@ public class InfoService
      *
      * @return GraphicsDto with filled fields
      */
-    private GraphicsDto getGraphics(HardwareAbstractionLayer hardware) {
-        SystemInfo si = new SystemInfo();
-        OperatingSystem os = si.getOperatingSystem();
+    private GraphicsDto getGraphics(InventoryDto inventoryDto) {
         GraphicsDto graphicsDto = new GraphicsDto();
-        //显卡信息
-        List<GraphicsCard> gpus = hardware.getGraphicsCards();
-        GraphicsCard gpu = gpus.get(0);
         //gpu型号
-        graphicsDto.setName(extractFirstOrSelf(gpu.getName()));
+        graphicsDto.setName(inventoryDto.getGraphicsName());
         //显存大小
-        graphicsDto.setMemory(getConvertedCapacity(gpu.getVRam()));
+        graphicsDto.setMemory(inventoryDto.getGraphicsMemory());
 
-        //显存占用
-        graphicsDto.setMemoryUsage(getConvertedCapacity(getGraphicsMemoryUsage()));
+        //显存占用，显卡探测只支持 Linux
+        graphicsMemoryUsage = inventoryDto.isLinux() ? getGraphicsMemoryUsage() : 0;
+        graphicsDto.setMemoryUsage(UnitFormatter.capacity(graphicsMemoryUsage));
 
         //gpu占用
-        graphicsDto.setUsage(getGraphicsUsage());
+        graphicsUsage = inventoryDto.isLinux() ? getGraphicsUsage() : 0;
+        graphicsDto.setUsage(graphicsUsage);
 
         //gpu频率
-        graphicsDto.setClockSpeed(getGpuDetailsFrequency());
+        graphicsFrequency = inventoryDto.isLinux() ? getGpuDetailsFrequency() * 1_000_000 : 0;
+        graphicsDto.setClockSpeed((graphicsFrequency > 0) ? graphicsFrequency / 1_000_000 + " MHz" : null);
         return graphicsDto;
     }
 
@@ -208,381 +602,366 @@ public class InfoService
     /**
      * 读取存储信息
      *
-     * @return GraphicsDto with filled fields
+     * @return StorageDto with filled fields
      */
-    private StorageDto getStorage(HardwareAbstractionLayer hardware)
+    private StorageDto getStorage(InventoryDto inventoryDto)
     {
         StorageDto storageDto = new StorageDto();
-        List<HWDiskStore> hwDiskStores = hardware.getDiskStores();
 
         // 硬盘名称
-        String mainStorage = hwDiskStores.isEmpty() ? "Undefined"
-            : hwDiskStores.get(0).getModel().replaceAll("\\(.+?\\)", "").trim();
-        storageDto.setMainStorage(mainStorage);
+        storageDto.setMainStorage(inventoryDto.getMainStorage());
 
         //存储总大小
-        long total = hwDiskStores.stream().mapToLong(HWDiskStore::getSize).sum();
-        storageDto.setTotal(getConvertedCapacity(total) + " Total");
+        storageDto.setTotal(inventoryDto.getStorageTotal());
 
         //硬盘总数
-        int diskCount = hwDiskStores.size();
-        storageDto.setDiskCount(diskCount + (diskCount > 1 ? " Disks" : " Disk"));
+        storageDto.setDiskCount(inventoryDto.getDiskCount());
 
         //存储空间占用
-        storageDto.setUsage(getStorageUsage(hardware));
+        storageDto.setUsage((int) Math.round(fileSystemComponent.getUsagePercent()));
         return storageDto;
     }
     /**
      * 读取硬盘信息
      *
-     * @return GraphicsDto with filled fields
+     * @return List of HardDiskDto with filled fields
      */
-    private List<HardDiskDto> getHardDisk(HardwareAbstractionLayer hardware)
+    private List<HardDiskDto> getHardDisk(InventoryDto inventoryDto)
     {
         List<HardDiskDto> hardDiskDtos = new ArrayList<>();
-        List<HWDiskStore> hwDiskStores = hardware.getDiskStores();
+        // 由相邻两次采样的差值得出的速率，而不是开机以来的累计值
+        Map<String, SamplerComponent.DiskActivity> diskActivity = samplerComponent.getDiskActivity();
+
+        for (InventoryDto.HardDisk hardDisk : inventoryDto.getHardDisks())
+        {
+            String name = hardDisk.getName();
+            SamplerComponent.DiskActivity activity = diskActivity.get(name.startsWith("/dev/") ? name.substring(5) : name);
 
-        hwDiskStores.forEach(hwDiskStore -> {
             HardDiskDto hardDiskDto = new HardDiskDto();
             //硬盘名称
-            hardDiskDto.setName(hwDiskStore.getName());
+            hardDiskDto.setName(hardDisk.getName());
             //硬盘型号
-            hardDiskDto.setModel(hwDiskStore.getModel());
+            hardDiskDto.setModel(hardDisk.getModel());
             //硬盘序列号
-            hardDiskDto.setSerial(hwDiskStore.getSerial());
+            hardDiskDto.setSerial(hardDisk.getSerial());
             //硬盘总大小
-            hardDiskDto.setTotal(getConvertedCapacity(hwDiskStore.getSize()));
-            //硬盘读取
-            hardDiskDto.setRead(getConvertedSize(hwDiskStore.getReads()));
-            //硬盘写入
-            hardDiskDto.setWrite(getConvertedSize(hwDiskStore.getWrites()));
+            hardDiskDto.setTotal(hardDisk.getTotal());
+            if (activity != null)
+            {
+                //硬盘读取和写入速度
+                hardDiskDto.setRead(UnitFormatter.rate(Math.round(activity.readBytesPerSecond())));
+                hardDiskDto.setWrite(UnitFormatter.rate(Math.round(activity.writeBytesPerSecond())));
+                //每秒读写次数
+                hardDiskDto.setReadIops((int) Math.round(activity.readIops()));
+                hardDiskDto.setWriteIops((int) Math.round(activity.writeIops()));
+                //平均耗时和队列深度，保留一位小数
+                hardDiskDto.setAwait(roundTenths(activity.awaitMillis()));
+                hardDiskDto.setQueueDepth(roundTenths(activity.queueDepth()));
+                //繁忙时间占比
+                hardDiskDto.setUtilization((int) Math.round(activity.utilizationPercent()));
+            }
+            else
+            {
+                hardDiskDto.setRead(UnitFormatter.rate(0));
+                hardDiskDto.setWrite(UnitFormatter.rate(0));
+            }
             //硬盘温度
-            hardDiskDto.setTemp(hwDiskStore.getPartitions().get(0).getName());
+            hardDiskDto.setTemp(UnitFormatter.temperature(sensorComponent.getDiskTemperature(hardDisk.getName())));
             hardDiskDtos.add(hardDiskDto);
-        });
+        }
         return hardDiskDtos;
     }
     /**
      * 读取网络信息
      *
-     * @return GraphicsDto with filled fields
+     * @return List of NetworkDto with filled fields
      */
-    private List<NetworkDto> getNetwork(HardwareAbstractionLayer hardware)
+    private List<NetworkDto> getNetwork(InventoryDto inventoryDto)
     {
         List<NetworkDto> networkDtos = new ArrayList<>();
-        List<NetworkIF> networkIFs = hardware.getNetworkIFs();
+        Map<String, long[]> rates = new HashMap<>();
+        // 平滑后的每秒字节数，而不是开机以来的累计值
+        samplerComponent.readNetworkRates((name, networkRates) ->
+                rates.put(name, new long[]{Math.round(networkRates[0]), Math.round(networkRates[4])}));
+
+        for (InventoryDto.Network network : inventoryDto.getNetworks())
+        {
+            long[] networkRates = rates.getOrDefault(network.getName(), new long[2]);
 
-        networkIFs.forEach(networkIF -> {
             NetworkDto networkDto = new NetworkDto();
-            networkDto.setName(networkIF.getName());
-            networkDto.setDisplayName(networkIF.getDisplayName());
-            networkDto.setMacaddr(networkIF.getMacaddr());
-            networkDto.setIPv4addr(networkIF.getIPv4addr());
-            networkDto.setIPv6addr(networkIF.getIPv6addr());
-            networkDto.setDownload(getConvertedSize(networkIF.getBytesRecv()));
-            networkDto.setUpload(getConvertedSize(networkIF.getBytesSent()));
+            networkDto.setName(network.getName());
+            networkDto.setDisplayName(network.getDisplayName());
+            networkDto.setMacaddr(network.getMacaddr());
+            networkDto.setIPv4addr(network.getIPv4addr().toArray(new String[0]));
+            networkDto.setIPv6addr(network.getIPv6addr().toArray(new String[0]));
+            networkDto.setDownload(UnitFormatter.rate(networkRates[0]));
+            networkDto.setUpload(UnitFormatter.rate(networkRates[1]));
             networkDtos.add(networkDto);
-        });
-        return networkDtos;
-    }
-
-
-    /**
-     * cpu占用
-     *
-     * @return int that display processor usage
-     */
-    private int getProcessorUsage(HardwareAbstractionLayer hardware) {
-        CentralProcessor centralProcessor = hardware.getProcessor();
-        long[] prevTicksArray = centralProcessor.getSystemCpuLoadTicks();
-        long prevTotalTicks = Arrays.stream(prevTicksArray).sum();
-        long prevIdleTicks = prevTicksArray[CentralProcessor.TickType.IDLE.getIndex()];
-
-        Util.sleep(1000);
-
-        long[] currTicksArray = centralProcessor.getSystemCpuLoadTicks();
-        long currTotalTicks = Arrays.stream(currTicksArray).sum();
-        long currIdleTicks = currTicksArray[CentralProcessor.TickType.IDLE.getIndex()];
-
-        long idleTicksDelta = currIdleTicks - prevIdleTicks;
-        long totalTicksDelta = currTotalTicks - prevTotalTicks;
-
-        // Handle possible division by zero
-        if (totalTicksDelta == 0) {
-            return 0; // or handle in a way suitable for your application
         }
-
-        // Calculate CPU usage percentage
-        return (int) ((1 - (double) idleTicksDelta / totalTicksDelta) * 100);
+        return networkDtos;
     }
 
-    /**
-     * 内存占用
-     *
-     * @return int that display ram usage
-     */
-    private int getRamUsage(HardwareAbstractionLayer hardware) {
-        GlobalMemory globalMemory = hardware.getMemory();
-        long totalMemory = globalMemory.getTotal();
-        long availableMemory = globalMemory.getAvailable();
-
-        // Handle possible division by zero
-        if (totalMemory == 0) {
-            return 0; // or handle in a way suitable for your application
-        }
-
-        // Calculate RAM usage percentage
-        return (int) (100 - ((double) availableMemory / totalMemory * 100));
-    }
-
-    /**
-     * 存储空间总空间占用
-     *
-     * @return int that display storage usage
-     */
-    private int getStorageUsage(HardwareAbstractionLayer hardware) {
-        FileSystem fileSystem = systemInfo.getOperatingSystem().getFileSystem();
-
-        // Calculate total storage and free storage for all drives
-        long totalStorage = 0;
-        long freeStorage = 0;
-        for (OSFileStore fileStore : fileSystem.getFileStores()) {
-            totalStorage += fileStore.getTotalSpace();
-            freeStorage += fileStore.getFreeSpace();
-        }
-
-        // Handle possible division by zero
-        if (totalStorage == 0) {
-            return 0; // or handle in a way suitable for your application
-        }
-
-        // Calculate total storage usage percentage for all drives
-        return (int) Math.round(((double) (totalStorage - freeStorage) / totalStorage) * 100);
-    }
 
     /**
      * 读取内存频率
      *
-     * @return 3200 MHz
+     * @param linux true on Linux, Windows otherwise
+     * @return 3200, in MHz, 0 if unknown
      */
-    private String getRamFrequency(){
-        SystemInfo si = new SystemInfo();
-        OperatingSystem os = si.getOperatingSystem();
-        String ramFrequency = null;
-        if (os.getFamily().contains("Linux")) {
+    private long getRamFrequency(final boolean linux){
+        long ramFrequency = 0;
+        if (linux) {
             // 方法1: 使用dmidecode
-            List<String> dmidecodeOutput = ExecutingCommand.runNative("sudo dmidecode --type memory");
+            List<String> dmidecodeOutput = commandProbeComponent.probe("sudo dmidecode --type memory", STATIC_PROBE_TTL, COMMAND_TIMEOUT);
             for (String line : dmidecodeOutput) {
                 if (line.contains("Speed:") && !line.contains("Unknown")) {
-                    ramFrequency = line.trim().replaceAll("[^0-9]", "") + " MHz";
+                    ramFrequency = parseMegahertz(line, ramFrequency);
                 }
             }
 
-        } else if (os.getFamily().contains("Windows")) {
+        } else {
             // Windows系统实现
-            List<String> wmicOutput = ExecutingCommand.runNative("wmic memorychip get speed");
+            List<String> wmicOutput = commandProbeComponent.probe("wmic memorychip get speed", STATIC_PROBE_TTL, COMMAND_TIMEOUT);
             for (String line : wmicOutput) {
                 if (!line.trim().equals("Speed") && !line.trim().isEmpty()) {
-                    ramFrequency = line.trim() + " MHz";
+                    ramFrequency = parseMegahertz(line, ramFrequency);
                 }
             }
-        } else {
-            System.out.println("内存频率读取:不支持的操作系统"+os.getFamily());
         }
         return ramFrequency;
     }
 
     /**
-     * 读取GPU频率
+     * 读取GPU频率，只支持 Linux
      *
-     * @return 320 MHz
-     */
-    private String getGpuDetailsFrequency(){
-        SystemInfo si = new SystemInfo();
-        OperatingSystem os = si.getOperatingSystem();
-        String ramFrequency = null;
-        if (os.getFamily().contains("Linux")) {
-            // 方法1:
-            List<String> gemObjects = ExecutingCommand.runNative("cat /sys/kernel/debug/dri/0/i915_frequency_info | grep \"Actual freq\"");
-            for (String line : gemObjects) {
-//                System.out.println("GPU频率查询输出"+line);
-                if (line.contains("Actual")) {
-                    ramFrequency = line.trim().replaceAll("[^0-9]", "") + " MHz";
-                }
+     * @return 320, in MHz, 0 if unknown
+     */
+    private long getGpuDetailsFrequency(){
+        long ramFrequency = 0;
+        // 方法1:
+        List<String> gemObjects = pseudoFileComponent.readLines("/sys/kernel/debug/dri/0/i915_frequency_info");
+        for (String line : gemObjects) {
+//            System.out.println("GPU频率查询输出"+line);
+            if (line.contains("Actual")) {
+                ramFrequency = parseMegahertz(line, ramFrequency);
             }
-
-        } else if (os.getFamily().contains("Windows")) {
-            // Windows系统实现
-            System.out.println("读取GPU频率:不支持的操作系统"+os.getFamily());
-        } else {
-            System.out.println("读取GPU频率:不支持的操作系统"+os.getFamily());
         }
         return ramFrequency;
     }
 
     /**
-     * 读取GPU显存占用
+     * 读取GPU显存占用，只支持 Linux
      *
      * @return 350 MHz
      */
     private long getGraphicsMemoryUsage(){
-        SystemInfo si = new SystemInfo();
-        OperatingSystem os = si.getOperatingSystem();
         long ramFrequency = 0;
-        if (os.getFamily().contains("Linux")) {
-            // 方法1:
-            List<String> gemObjects = ExecutingCommand.runNative("cat /sys/kernel/debug/dri/0/i915_gem_objects");
-            for (String line : gemObjects) {
-//                System.out.println("GPU频率查询输出"+line);
-                if (line.contains("shrinkable")) {
-                    String[] parts = line.split(",");
-                    if (parts.length > 1) {
-                        // 提取 "212799488 bytes" 中的数字
-                        String bytesPart = parts[1].trim(); // 去除前后空格
-                        String bytesStr = bytesPart.split("\\s+")[0]; // 按空格分割取第一个词
-                        ramFrequency = Long.parseLong(bytesStr);
-                    }
+        // 方法1:
+        List<String> gemObjects = pseudoFileComponent.readLines("/sys/kernel/debug/dri/0/i915_gem_objects");
+        for (String line : gemObjects) {
+//            System.out.println("GPU频率查询输出"+line);
+            if (line.contains("shrinkable")) {
+                String[] parts = line.split(",");
+                if (parts.length > 1) {
+                    // 提取 "212799488 bytes" 中的数字
+                    String bytesPart = parts[1].trim(); // 去除前后空格
+                    String bytesStr = bytesPart.split("\\s+")[0]; // 按空格分割取第一个词
+                    ramFrequency = Long.parseLong(bytesStr);
                 }
             }
-
-        } else if (os.getFamily().contains("Windows")) {
-            // Windows系统实现
-            System.out.println("读取GPU显存占用:不支持的操作系统"+os.getFamily());
-        } else {
-            System.out.println("读取GPU显存占用:不支持的操作系统"+os.getFamily());
         }
         return ramFrequency;
     }
 
     /**
-     * 读取GPU占用
+     * 读取GPU占用，只支持 Linux
      *
      * @return 350 MHz
      */
     private int getGraphicsUsage(){
-        SystemInfo si = new SystemInfo();
-        OperatingSystem os = si.getOperatingSystem();
-        int ramFrequency = 10;
-        if (os.getFamily().contains("Linux")) {
-            // 方法1:
-            List<String> gemObjects = ExecutingCommand.runNative("sudo timeout 0.05 intel_gpu_top -l -s 1");
-            for (String line : gemObjects) {
-//                System.out.println("GPU占用查询输出"+line);
-                if (!line.contains("Freq")&& !line.contains("req")) {
-                    // 1. 提取所有两位小数
-                    List<Double> decimals = new ArrayList<>();
-                    Matcher matcher = Pattern.compile("\\d+\\.\\d{2}").matcher(line);
-                    while (matcher.find()) {
-                        decimals.add(Double.parseDouble(matcher.group()));
-                    }
-
-                    // 2. 取最后4个并四舍五入
-                    List<Integer> rounded = decimals.stream()
-                            .skip(Math.max(0, decimals.size() - 4))
-                            .map(d -> (int) Math.round(d))
-                            .collect(Collectors.toList());
-
-                    // 3. 找出最大值
-                    ramFrequency = rounded.stream().max(Integer::compare).orElse(0);
-                }
-            }
+        // 方法1:
+        List<String> gemObjects = commandProbeComponent.probe("sudo timeout 0.05 intel_gpu_top -l -s 1", DYNAMIC_PROBE_TTL, COMMAND_TIMEOUT);
+        return parseGraphicsUsage(gemObjects);
+    }
 
-        } else if (os.getFamily().contains("Windows")) {
-            // Windows系统实现
-            System.out.println("读取GPU占用:不支持的操作系统"+os.getFamily());
-        } else {
-            System.out.println("读取GPU占用:不支持的操作系统"+os.getFamily());
+    /**
+     * 提取行中的数字作为频率，没有数字时保留原值
+     *
+     * @param line         line with a single number, such as Speed: 3200 MT/s
+     * @param defaultValue value returned if line has no digits
+     * @return long with frequency in MHz
+     */
+    private long parseMegahertz(final String line, final long defaultValue) {
+        String digits = line.replaceAll("[^0-9]", "");
+        try {
+            return digits.isEmpty() ? defaultValue : Long.parseLong(digits);
+        } catch (NumberFormatException exception) {
+            System.out.println("频率解析失败: " + line);
+            return defaultValue;
         }
-        return ramFrequency;
     }
 
     /**
-     * 将频率转换为最易读的格式
+     * 保留一位小数，未知值为 0
      *
-     * @param hertzArray raw frequency array values in hertz for each logical processor
-     * @return String with formatted frequency and postfix
+     * @param value value, NaN if unknown
+     * @return double rounded to tenths
      */
-    private String getConvertedFrequency(final long[] hertzArray)
-    {
-        long totalFrequency = Arrays.stream(hertzArray).sum();
-        long hertz = totalFrequency / hertzArray.length;
-
-        if ((hertz / 1E+6) > 999)
-        {
-            return (Math.round((hertz / 1E+9) * 10.0) / 10.0) + " GHz";
-        }
-        else
-        {
-            return Math.round(hertz / 1E+6) + " MHz";
-        }
+    private double roundTenths(final double value) {
+        return Double.isNaN(value) ? 0 : Math.round(value * 10) / 10.0;
     }
 
     /**
-     * 将容量转换为最易读的格式
+     * 解析 intel_gpu_top 输出，取最后一行各引擎占用的最大值
      *
-     * @param bits raw capacity value in bits
-     * @return String with formatted capacity and postfix
+     * @param lines output lines of intel_gpu_top -l
+     * @return int with graphics usage, 10 if output has no data line
      */
-    private String getConvertedCapacity(final long bits)
-    {
-        DecimalFormat df = new DecimalFormat("#.##"); // 最多保留两位小数，并去掉末尾的0
-        df.setDecimalSeparatorAlwaysShown(false); // 不显示多余的小数点
-
-        if ((bits / 1.049E+6) > 999) {
-            if ((bits / 1.074E+9) > 999) {
-                double value = Math.ceil((bits / 1.1E+12) * 10.0) / 10.0;
-                return df.format(value) + " TB";
-            } else {
-                long value = (long) Math.ceil(bits / 1.074E+9);
-                return df.format(value) + " GB";
+    int parseGraphicsUsage(final List<String> lines) {
+        int usage = 10;
+        for (String line : lines) {
+//                System.out.println("GPU占用查询输出"+line);
+            if (!line.contains("Freq")&& !line.contains("req")) {
+                // 1. 提取所有两位小数
+                List<Double> decimals = new ArrayList<>();
+                Matcher matcher = GRAPHICS_USAGE_PATTERN.matcher(line);
+                while (matcher.find()) {
+                    decimals.add(Double.parseDouble(matcher.group()));
+                }
+
+                // 2. 取最后4个并四舍五入
+                List<Integer> rounded = decimals.stream()
+                        .skip(Math.max(0, decimals.size() - 4))
+                        .map(d -> (int) Math.round(d))
+                        .collect(Collectors.toList());
+
+                // 3. 找出最大值
+                usage = rounded.stream().max(Integer::compare).orElse(0);
             }
-        } else {
-            long value = (long) Math.ceil(bits / 1.049E+6);
-            return df.format(value) + " MB";
         }
+        return usage;
     }
 
     /**
-     * 将字节数转换为最易读的格式
+     * Section is a part of info collected on its own virtual thread. A section which misses the deadline is not
+     * interrupted, as statvfs and waits for probe commands do not react to it, instead its previous value is published,
+     * or an empty section until the first value arrives, and the straggler is joined on the next tick rather than forked
+     * again, so a hung section holds one virtual thread and never the sampler
      *
-     * @param bytes raw byte value
-     * @return String with formatted size and postfix (e.g., "1.5 KB", "2.3 GB")
-     */
-    private String getConvertedSize(final long bytes) {
-        DecimalFormat df = new DecimalFormat("#.##"); // 最多保留两位小数，并去掉末尾的0
-        df.setDecimalSeparatorAlwaysShown(false); // 不显示多余的小数点
-
-        // 定义字节单位的阈值 (基于 1024)
-        final double KB = 1024.0;
-        final double MB = KB * 1024.0; // 1,048,576
-        final double GB = MB * 1024.0; // 1,073,741,824
-        final double TB = GB * 1024.0; // 1,099,511,627,776
-        final double PB = TB * 1024.0; // 1,125,899,906,842,624
-
-        // 根据字节数大小选择合适的单位
-        if (bytes < KB) {
-            // 小于 1KB，直接显示字节
-            return bytes + " B";
-        } else if (bytes < MB) {
-            // KB 级别
-            double value = Math.ceil((bytes / KB) * 10.0) / 10.0; // 保留一位小数向上取整
-            return df.format(value) + " KB";
-        } else if (bytes < GB) {
-            // MB 级别
-            double value = Math.ceil((bytes / MB) * 10.0) / 10.0; // 保留一位小数向上取整
-            return df.format(value) + " MB";
-        } else if (bytes < TB) {
-            // GB 级别
-            double value = Math.ceil((bytes / GB) * 10.0) / 10.0; // 保留一位小数向上取整
-            return df.format(value) + " GB";
-        } else if (bytes < PB) {
-            // TB 级别
-            double value = Math.ceil((bytes / TB) * 10.0) / 10.0; // 保留一位小数向上取整
-            return df.format(value) + " TB";
-        } else {
-            // PB 级别及以上
-            double value = Math.ceil((bytes / PB) * 10.0) / 10.0; // 保留一位小数向上取整
-            return df.format(value) + " PB";
+     * @param <T> type of section dto
+     */
+    private final class Section<T>
+    {
+        /**
+         * Probe name, such as info.processor
+         */
+        private final String probe;
+
+        /**
+         * Collects section from static hardware inventory
+         */
+        private final Function<InventoryDto, T> collector;
+
+        /**
+         * Creates empty section, published until the first value arrives
+         */
+        private final Supplier<T> empty;
+
+        /**
+         * Whether collection is in flight
+         */
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        /**
+         * Latest collected value, null before the first collection
+         */
+        private volatile T latest;
+
+        /**
+         * Latest forked collection, guarded by the lock of sampleInfo
+         */
+        private Future<T> pending;
+
+        /**
+         * Creates section without value
+         *
+         * @param probe     probe name
+         * @param collector collects section from static hardware inventory
+         * @param empty     creates empty section
+         */
+        private Section(final String probe, final Function<InventoryDto, T> collector, final Supplier<T> empty)
+        {
+            this.probe = probe;
+            this.collector = collector;
+            this.empty = empty;
+        }
+
+        /**
+         * Starts collection, unless the previous one is still in flight
+         *
+         * @param inventoryDto static hardware inventory
+         */
+        private void fork(final InventoryDto inventoryDto)
+        {
+            if (running.compareAndSet(false, true))
+            {
+                pending = sectionExecutor.submit(() -> collect(inventoryDto));
+            }
+        }
+
+        /**
+         * Waits for collection until deadline
+         *
+         * @param deadlineNanos deadline, as System.nanoTime()
+         * @return T with collected value, or the fallback if collection failed or missed the deadline
+         */
+        private T join(final long deadlineNanos)
+        {
+            try
+            {
+                return pending.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+            catch (TimeoutException | ExecutionException exception)
+            {
+                // Failure is already recorded by probe stats
+                return getFallback();
+            }
+            catch (InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+                return getFallback();
+            }
+        }
+
+        /**
+         * Gets value published while collection is late or failing
+         *
+         * @return T with previous value, or empty section before the first value
+         */
+        private T getFallback()
+        {
+            T value = latest;
+            return (value != null) ? value : empty.get();
+        }
+
+        /**
+         * Collects section, recording its latency and failure
+         *
+         * @param inventoryDto static hardware inventory
+         * @return T with collected value
+         */
+        private T collect(final InventoryDto inventoryDto)
+        {
+            try
+            {
+                T value = probeStatsComponent.measure(probe, () -> collector.apply(inventoryDto));
+                latest = value;
+                return value;
+            }
+            finally
+            {
+                running.set(false);
+            }
         }
     }
-}
\ No newline at end of file
+}
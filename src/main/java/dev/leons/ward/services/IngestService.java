@@ -0,0 +1,85 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.components.IngestComponent;
+import dev.leons.ward.dto.IngestDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.exceptions.InvalidParameterException;
+import dev.leons.ward.exceptions.InvalidTokenException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * IngestService accepts sample batches pushed by agents and provides their latest state to rest controller
+ *
+ * @version 1.0.0
+ */
+@Service
+public class IngestService
+{
+    /**
+     * Autowired IngestComponent object
+     * Used for queueing batches and getting state of agents
+     */
+    @Autowired
+    private IngestComponent ingestComponent;
+
+    /**
+     * Used to queue a batch pushed by an agent. Body is read only after the agent is authorized,
+     * and never beyond the configured maximum
+     *
+     * @param body    request body with gzipped batch
+     * @param token   token sent by the agent, may be null
+     * @param address address of the agent
+     * @return true if batch was queued, false if the queue is full and agent has to push it again later
+     */
+    public boolean postBatch(final InputStream body, final String token, final String address)
+            throws IOException, ApplicationNotConfiguredException, InvalidParameterException, InvalidTokenException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            if (!ingestComponent.isEnabled())
+            {
+                throw new InvalidParameterException("Ingestion is disabled");
+            }
+
+            if (!ingestComponent.isAuthorized(token))
+            {
+                throw new InvalidTokenException();
+            }
+
+            byte[] batch = body.readNBytes(ingestComponent.getMaxBatch() + 1);
+
+            if ((batch.length == 0) || (batch.length > ingestComponent.getMaxBatch()))
+            {
+                throw new InvalidParameterException("Batch is empty or larger than " + ingestComponent.getMaxBatch() + " bytes");
+            }
+
+            return ingestComponent.offer(batch, address);
+        }
+        else
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+    }
+
+    /**
+     * Used to deliver ingestion counters and latest state of every agent to corresponding controller
+     *
+     * @return IngestDto filled with every agent which pushed a batch
+     */
+    public IngestDto getIngest() throws ApplicationNotConfiguredException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            return ingestComponent.getIngest();
+        }
+        else
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+    }
+}
@@ -0,0 +1,431 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.components.CgroupComponent;
+import dev.leons.ward.components.FileSystemComponent;
+import dev.leons.ward.components.MetricsProbe;
+import dev.leons.ward.components.OpenMetricsWriter;
+import dev.leons.ward.components.SamplerComponent;
+import dev.leons.ward.components.SensorComponent;
+import dev.leons.ward.dto.SnapshotDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import oshi.hardware.CentralProcessor;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * MetricsService exposes latest sampled values in OpenMetrics text format.
+ * Exposition is built only from values, which scheduled samplers already published, so scraping never collects hardware
+ *
+ * @version 1.0.0
+ */
+@Service
+public class MetricsService
+{
+    /**
+     * Constant for determine postfix of counter samples
+     */
+    private static final String TOTAL = "_total";
+
+    /**
+     * Constant for determine mode labels of processor ticks, indexed by TickType
+     */
+    private static final String[] MODES = new String[CentralProcessor.TickType.values().length];
+
+    static
+    {
+        for (CentralProcessor.TickType tickType : CentralProcessor.TickType.values())
+        {
+            MODES[tickType.getIndex()] = tickType.name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Autowired SamplerComponent object
+     * Used for getting latest sampled processor, memory, disk and network values
+     */
+    @Autowired
+    private SamplerComponent samplerComponent;
+
+    /**
+     * Autowired CgroupComponent object
+     * Used for getting limits, usage and throttling of the container
+     */
+    @Autowired
+    private CgroupComponent cgroupComponent;
+
+    /**
+     * Autowired SensorComponent object
+     * Used for getting latest polled sensor values
+     */
+    @Autowired
+    private SensorComponent sensorComponent;
+
+    /**
+     * Autowired SnapshotService object
+     * Used for getting latest storage and graphics usage
+     */
+    @Autowired
+    private SnapshotService snapshotService;
+
+    /**
+     * Autowired InfoService object
+     * Used for getting latest sampled graphics memory
+     */
+    @Autowired
+    private InfoService infoService;
+
+    /**
+     * Autowired FileSystemComponent object
+     * Used for getting deduplicated and cached file system usage
+     */
+    @Autowired
+    private FileSystemComponent fileSystemComponent;
+
+    /**
+     * Writer, reused by every exposition
+     */
+    private final OpenMetricsWriter writer = new OpenMetricsWriter();
+
+    /**
+     * Processor ticks buffer, reused by every exposition
+     */
+    private final long[] ticks = new long[CentralProcessor.TickType.values().length];
+
+    /**
+     * Per logical processor usage buffer, reused by every exposition
+     */
+    private double[] coreUsage = new double[0];
+
+    /**
+     * Per logical processor frequency buffer, reused by every exposition
+     */
+    private long[] coreFrequency = new long[0];
+
+    /**
+     * Disk or network counters of the device being written, reused by every exposition
+     */
+    private final long[] counters = new long[9];
+
+    /**
+     * Used to deliver exposition to corresponding controller
+     *
+     * @return byte array with UTF-8 OpenMetrics text
+     */
+    public synchronized byte[] getMetrics() throws ApplicationNotConfiguredException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            SnapshotDto snapshotDto = snapshotService.getSnapshot();
+
+            writer.reset();
+            writeProcessor();
+            writeMemory();
+            writeCgroup();
+            writeStorage();
+            writeDisks();
+            writeNetwork();
+            writeSensors();
+            writeGraphics(snapshotDto);
+            writer.eof();
+
+            return writer.toByteArray();
+        }
+        else
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+    }
+
+    /**
+     * Writes total and per logical processor usage, frequency and time
+     */
+    private void writeProcessor()
+    {
+        writer.family("ward_cpu_usage_ratio", "gauge", "ratio", "Processor usage of all logical processors");
+        writer.sample("ward_cpu_usage_ratio").value(samplerComponent.getProcessorUsagePercent() / 100.0);
+
+        samplerComponent.getProcessorTicks(ticks);
+        writer.family("ward_cpu_seconds", "counter", "seconds", "Processor time of all logical processors by mode");
+
+        for (int i = 0; i < ticks.length; i++)
+        {
+            writer.sample("ward_cpu_seconds", TOTAL).label("mode", MODES[i]).value(ticks[i] / 1000.0);
+        }
+
+        int coreCount = samplerComponent.copyCores(coreUsage, coreFrequency);
+
+        if (coreCount != coreUsage.length)
+        {
+            coreUsage = new double[coreCount];
+            coreFrequency = new long[coreCount];
+            samplerComponent.copyCores(coreUsage, coreFrequency);
+        }
+
+        writer.family("ward_cpu_core_usage_ratio", "gauge", "ratio", "Usage of a logical processor");
+
+        for (int i = 0; i < coreUsage.length; i++)
+        {
+            writer.sample("ward_cpu_core_usage_ratio").label("core", i).value(coreUsage[i] / 100);
+        }
+
+        writer.family("ward_cpu_core_frequency_hertz", "gauge", "hertz", "Current frequency of a logical processor");
+
+        for (int i = 0; i < coreFrequency.length; i++)
+        {
+            if (coreFrequency[i] > 0)
+            {
+                writer.sample("ward_cpu_core_frequency_hertz").label("core", i).value(coreFrequency[i]);
+            }
+        }
+    }
+
+    /**
+     * Writes memory and swap amounts
+     */
+    private void writeMemory()
+    {
+        long[] memory = samplerComponent.getMemory();
+
+        writeGauge("ward_memory_total_bytes", "bytes", "Total physical memory", memory[MetricsProbe.MEMORY_TOTAL]);
+        writeGauge("ward_memory_available_bytes", "bytes", "Physical memory available without swapping", memory[MetricsProbe.MEMORY_AVAILABLE]);
+        writeGauge("ward_swap_total_bytes", "bytes", "Total swap space", memory[MetricsProbe.SWAP_TOTAL]);
+        writeGauge("ward_swap_used_bytes", "bytes", "Used swap space", memory[MetricsProbe.SWAP_USED]);
+    }
+
+    /**
+     * Writes limits, usage and throttling of the cgroup, nothing if there is no cgroup v2
+     */
+    private void writeCgroup()
+    {
+        CgroupComponent.CgroupUsage cgroupUsage = cgroupComponent.getUsage();
+
+        if (cgroupUsage == null)
+        {
+            return;
+        }
+
+        if (!Double.isNaN(cgroupUsage.cpuLimit()))
+        {
+            writer.family("ward_cgroup_cpu_limit", "gauge", null, "Processor quota of the cgroup, in logical processors");
+            writer.sample("ward_cgroup_cpu_limit").value(cgroupUsage.cpuLimit());
+        }
+
+        writer.family("ward_cgroup_cpu_seconds", "counter", "seconds", "Processor time consumed by the cgroup");
+        writer.sample("ward_cgroup_cpu_seconds", TOTAL).value(cgroupUsage.usageMicros() / 1E+6);
+        writer.family("ward_cgroup_cpu_throttled_seconds", "counter", "seconds", "Time the cgroup was throttled by its processor quota");
+        writer.sample("ward_cgroup_cpu_throttled_seconds", TOTAL).value(cgroupUsage.throttledMicros() / 1E+6);
+        writer.family("ward_cgroup_cpu_throttled_periods", "counter", null, "Enforcement periods in which the cgroup was throttled");
+        writer.sample("ward_cgroup_cpu_throttled_periods", TOTAL).value(cgroupUsage.throttledPeriods());
+
+        if (cgroupUsage.memoryLimit() >= 0)
+        {
+            writeGauge("ward_cgroup_memory_limit_bytes", "bytes", "Memory limit of the cgroup", cgroupUsage.memoryLimit());
+        }
+
+        writeGauge("ward_cgroup_memory_used_bytes", "bytes", "Memory used by the cgroup, including page cache", cgroupUsage.memoryUsed());
+        writeGauge("ward_cgroup_memory_working_set_bytes", "bytes", "Memory used by the cgroup, without inactive page cache", cgroupUsage.memoryWorkingSet());
+    }
+
+    /**
+     * Writes capacity of every file system and total storage usage
+     */
+    private void writeStorage()
+    {
+        List<FileSystemComponent.FileSystemUsage> fileSystems = fileSystemComponent.getUsage();
+
+        writer.family("ward_filesystem_size_bytes", "gauge", "bytes", "Total space of a file store");
+
+        for (FileSystemComponent.FileSystemUsage fileStore : fileSystems)
+        {
+            writer.sample("ward_filesystem_size_bytes").label("mountpoint", fileStore.mount()).label("fstype", fileStore.type()).value(fileStore.total());
+        }
+
+        writer.family("ward_filesystem_free_bytes", "gauge", "bytes", "Free space of a file store");
+
+        for (FileSystemComponent.FileSystemUsage fileStore : fileSystems)
+        {
+            writer.sample("ward_filesystem_free_bytes").label("mountpoint", fileStore.mount()).label("fstype", fileStore.type()).value(fileStore.free());
+        }
+
+        writer.family("ward_storage_usage_ratio", "gauge", "ratio", "Used space of all file stores");
+        writer.sample("ward_storage_usage_ratio").value(fileSystemComponent.getUsagePercent(fileSystems) / 100.0);
+    }
+
+    /**
+     * Writes cumulative disk counters
+     */
+    private void writeDisks()
+    {
+        writeDiskFamily("ward_disk_reads", "counter", null, "Completed reads of a disk", 0, 1);
+        writeDiskFamily("ward_disk_read_bytes", "counter", "bytes", "Bytes read from a disk", 1, 1);
+        writeDiskFamily("ward_disk_read_time_seconds", "counter", "seconds", "Time spent reading from a disk", 2, 1000);
+        writeDiskFamily("ward_disk_writes", "counter", null, "Completed writes of a disk", 3, 1);
+        writeDiskFamily("ward_disk_written_bytes", "counter", "bytes", "Bytes written to a disk", 4, 1);
+        writeDiskFamily("ward_disk_write_time_seconds", "counter", "seconds", "Time spent writing to a disk", 5, 1000);
+        writeDiskFamily("ward_disk_queue_length", "gauge", null, "Requests in flight of a disk", 6, 1);
+        writeDiskFamily("ward_disk_io_time_seconds", "counter", "seconds", "Time a disk was busy", 7, 1000);
+        writeDiskFamily("ward_disk_io_time_weighted_seconds", "counter", "seconds", "Time spent in queue and service of a disk, weighted by queue length", 8, 1000);
+    }
+
+    /**
+     * Writes cumulative network counters
+     */
+    private void writeNetwork()
+    {
+        writeNetworkFamily("ward_network_receive_bytes", "bytes", "Bytes received by an interface", 0);
+        writeNetworkFamily("ward_network_receive_packets", null, "Packets received by an interface", 1);
+        writeNetworkFamily("ward_network_receive_errors", null, "Receive errors of an interface", 2);
+        writeNetworkFamily("ward_network_receive_drops", null, "Dropped incoming packets of an interface", 3);
+        writeNetworkFamily("ward_network_transmit_bytes", "bytes", "Bytes sent by an interface", 4);
+        writeNetworkFamily("ward_network_transmit_packets", null, "Packets sent by an interface", 5);
+        writeNetworkFamily("ward_network_transmit_errors", null, "Send errors of an interface", 6);
+        writeNetworkFamily("ward_network_transmit_drops", null, "Dropped outgoing packets of an interface", 7);
+    }
+
+    /**
+     * Writes temperatures, fan speeds and voltages
+     */
+    private void writeSensors()
+    {
+        writeSensorFamily("ward_sensor_temperature_celsius", "celsius", "Temperature reported by a sensor", null);
+        writeSensorFamily("ward_sensor_fan_rpm", null, "Fan speed reported by a sensor, in revolutions per minute", SensorComponent.Kind.FAN);
+        writeSensorFamily("ward_sensor_voltage_volts", "volts", "Voltage reported by a sensor", SensorComponent.Kind.VOLTAGE);
+    }
+
+    /**
+     * Writes graphics usage and memory
+     *
+     * @param snapshotDto latest snapshot
+     */
+    private void writeGraphics(final SnapshotDto snapshotDto)
+    {
+        writer.family("ward_gpu_usage_ratio", "gauge", "ratio", "Graphics processor usage");
+        writer.sample("ward_gpu_usage_ratio").value(snapshotDto.getInfo().getGraphics().getUsage() / 100.0);
+
+        writeGauge("ward_gpu_memory_used_bytes", "bytes", "Graphics memory in use", infoService.getGraphicsMemoryUsageBytes());
+    }
+
+    /**
+     * Writes family with a single unlabelled gauge sample
+     *
+     * @param name  family name
+     * @param unit  unit, null if family has no unit
+     * @param help  description
+     * @param value sample value
+     */
+    private void writeGauge(final String name, final String unit, final String help, final long value)
+    {
+        writer.family(name, "gauge", unit, help);
+        writer.sample(name).value(value);
+    }
+
+    /**
+     * Writes family with a sample of one counter of every disk, unknown counters are skipped
+     *
+     * @param name  family name
+     * @param type  counter or gauge
+     * @param unit  unit, null if family has no unit
+     * @param help  description
+     * @param field index of counter in DiskConsumer parameter order
+     * @param scale divisor, which converts counter to unit
+     */
+    private void writeDiskFamily(final String name, final String type, final String unit, final String help, final int field, final int scale)
+    {
+        String postfix = type.equals("counter") ? TOTAL : "";
+
+        writer.family(name, type, unit, help);
+        samplerComponent.readDisks((disk, reads, readBytes, readMillis, writes, writeBytes, writeMillis, queueLength, ioMillis, weightedMillis) ->
+        {
+            counters[0] = reads;
+            counters[1] = readBytes;
+            counters[2] = readMillis;
+            counters[3] = writes;
+            counters[4] = writeBytes;
+            counters[5] = writeMillis;
+            counters[6] = queueLength;
+            counters[7] = ioMillis;
+            counters[8] = weightedMillis;
+
+            writeCounter(name, postfix, "disk", disk, counters[field], scale);
+        });
+    }
+
+    /**
+     * Writes family with a sample of one counter of every network interface, unknown counters are skipped
+     *
+     * @param name  family name
+     * @param unit  unit, null if family has no unit
+     * @param help  description
+     * @param field index of counter in NetworkConsumer parameter order
+     */
+    private void writeNetworkFamily(final String name, final String unit, final String help, final int field)
+    {
+        writer.family(name, "counter", unit, help);
+        samplerComponent.readNetwork((networkInterface, bytesRecv, packetsRecv, inErrors, inDrops, bytesSent, packetsSent, outErrors, outDrops) ->
+        {
+            counters[0] = bytesRecv;
+            counters[1] = packetsRecv;
+            counters[2] = inErrors;
+            counters[3] = inDrops;
+            counters[4] = bytesSent;
+            counters[5] = packetsSent;
+            counters[6] = outErrors;
+            counters[7] = outDrops;
+
+            writeCounter(name, TOTAL, "interface", networkInterface, counters[field], 1);
+        });
+    }
+
+    /**
+     * Writes labelled sample of a device counter, unknown counters are skipped
+     *
+     * @param name    family name
+     * @param postfix sample name postfix
+     * @param label   device label name
+     * @param device  device name
+     * @param value   counter value, -1 if unknown
+     * @param scale   divisor, which converts counter to unit
+     */
+    private void writeCounter(final String name, final String postfix, final String label, final String device, final long value, final int scale)
+    {
+        if (value < 0)
+        {
+            return;
+        }
+
+        if (scale == 1)
+        {
+            writer.sample(name, postfix).label(label, device).value(value);
+        }
+        else
+        {
+            writer.sample(name, postfix).label(label, device).value((double) value / scale);
+        }
+    }
+
+    /**
+     * Writes family with a sample of every readable sensor of a kind
+     *
+     * @param name family name
+     * @param unit unit, null if family has no unit
+     * @param help description
+     * @param kind sensor kind, null for all temperature kinds
+     */
+    private void writeSensorFamily(final String name, final String unit, final String help, final SensorComponent.Kind kind)
+    {
+        writer.family(name, "gauge", unit, help);
+        sensorComponent.readSensors((chip, label, sensorKind, device, value) ->
+        {
+            boolean matches = (kind != null) ? (sensorKind == kind) : ((sensorKind != SensorComponent.Kind.FAN) && (sensorKind != SensorComponent.Kind.VOLTAGE));
+
+            if (matches && !Double.isNaN(value))
+            {
+                writer.sample(name).label("chip", chip).label("sensor", label).label("device", device).value(value);
+            }
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.components.ProcessComponent;
+import dev.leons.ward.dto.ProcessDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.exceptions.InvalidParameterException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * ProcessService provides top processes by processor or memory usage to rest controller
+ *
+ * @version 1.0.0
+ */
+@Service
+public class ProcessService
+{
+    /**
+     * Constant for determine maximal amount of returned processes
+     */
+    private static final int MAX_LIMIT = 1_000;
+
+    /**
+     * Autowired ProcessComponent object
+     * Used for getting top processes
+     */
+    @Autowired
+    private ProcessComponent processComponent;
+
+    /**
+     * Used to deliver top processes to corresponding controller
+     *
+     * @param sort  order, cpu or mem
+     * @param limit maximal amount of processes
+     * @return List of ProcessDto, in descending order
+     */
+    public List<ProcessDto> getProcesses(final String sort, final int limit) throws ApplicationNotConfiguredException, InvalidParameterException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            ProcessComponent.Order order = switch (sort)
+            {
+                case "cpu" -> ProcessComponent.Order.CPU;
+                case "mem" -> ProcessComponent.Order.MEMORY;
+                default -> throw new InvalidParameterException("Sort must be cpu or mem");
+            };
+
+            if ((limit < 1) || (limit > MAX_LIMIT))
+            {
+                throw new InvalidParameterException("Limit must be between 1 and " + MAX_LIMIT);
+            }
+
+            return processComponent.getTop(order, limit);
+        }
+        else
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+    }
+}
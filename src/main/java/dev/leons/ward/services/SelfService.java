@@ -0,0 +1,43 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.components.ProbeStatsComponent;
+import dev.leons.ward.dto.ProbeStatsDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * SelfService provides instrumentation of Ward itself to rest controller
+ *
+ * @version 1.0.0
+ */
+@Service
+public class SelfService
+{
+    /**
+     * Autowired ProbeStatsComponent object
+     * Used for getting latency and failure statistics of probes
+     */
+    @Autowired
+    private ProbeStatsComponent probeStatsComponent;
+
+    /**
+     * Used to deliver probe statistics to corresponding controller
+     *
+     * @return List of ProbeStatsDto, sorted by probe name
+     */
+    public List<ProbeStatsDto> getProbes() throws ApplicationNotConfiguredException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            return probeStatsComponent.getStats();
+        }
+        else
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+    }
+}
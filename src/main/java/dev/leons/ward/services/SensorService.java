@@ -0,0 +1,43 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.components.SensorComponent;
+import dev.leons.ward.dto.SensorDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * SensorService provides temperatures, fan speeds and voltages to rest controller
+ *
+ * @version 1.0.0
+ */
+@Service
+public class SensorService
+{
+    /**
+     * Autowired SensorComponent object
+     * Used for getting latest polled sensor values
+     */
+    @Autowired
+    private SensorComponent sensorComponent;
+
+    /**
+     * Used to deliver dto to corresponding controller
+     *
+     * @return List of SensorDto filled with latest polled values
+     */
+    public List<SensorDto> getSensors() throws ApplicationNotConfiguredException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            return sensorComponent.getSensors();
+        }
+        else
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+    }
+}
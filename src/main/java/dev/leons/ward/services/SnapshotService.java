@@ -0,0 +1,276 @@
+package dev.leons.ward.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.leons.ward.Ward;
+import dev.leons.ward.components.HistoryComponent;
+import dev.leons.ward.components.MetricStoreComponent;
+import dev.leons.ward.components.SamplerComponent;
+import dev.leons.ward.components.SensorComponent;
+import dev.leons.ward.dto.InventoryDto;
+import dev.leons.ward.dto.SnapshotDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * SnapshotService collects usage, info and uptime once per sampling tick into a shared snapshot,
+ * which is then handed to every connected dashboard and encoded at most once for polling clients
+ *
+ * @version 1.0.0
+ */
+@Service
+public class SnapshotService
+{
+    /**
+     * Autowired UsageService object
+     * Used for getting usage information
+     */
+    @Autowired
+    private UsageService usageService;
+
+    /**
+     * Autowired InfoService object
+     * Used for getting latest sampled server info
+     */
+    @Autowired
+    private InfoService infoService;
+
+    /**
+     * Autowired UptimeService object
+     * Used for getting uptime information
+     */
+    @Autowired
+    private UptimeService uptimeService;
+
+    /**
+     * Autowired StreamService object
+     * Used for broadcasting snapshots to connected dashboards
+     */
+    @Autowired
+    private StreamService streamService;
+
+    /**
+     * Autowired HistoryComponent object
+     * Used for recording sampled metrics
+     */
+    @Autowired
+    private HistoryComponent historyComponent;
+
+    /**
+     * Autowired MetricStoreComponent object
+     * Used for persisting sampled metrics
+     */
+    @Autowired
+    private MetricStoreComponent metricStoreComponent;
+
+    /**
+     * Autowired SensorComponent object
+     * Used for recording processor temperature
+     */
+    @Autowired
+    private SensorComponent sensorComponent;
+
+    /**
+     * Autowired SamplerComponent object
+     * Used for getting disk activity, recorded per disk
+     */
+    @Autowired
+    private SamplerComponent samplerComponent;
+
+    /**
+     * Autowired ObjectMapper object
+     * Used for serializing snapshots
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Minimal size of serialized snapshot in bytes, from which it is also kept gzipped
+     */
+    @Value("${ward.snapshot.gzip-threshold:1024}")
+    private int gzipThreshold;
+
+    /**
+     * Start time of this instance, part of entity tags, so tags of a restarted instance never match old ones
+     */
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+
+    /**
+     * Sequence number of the latest snapshot
+     */
+    private long sequence;
+
+    /**
+     * Latest snapshot, published for request threads
+     */
+    private volatile SnapshotDto snapshot;
+
+    /**
+     * Latest encoded snapshot, replaced at most once per tick
+     */
+    private volatile EncodedSnapshot encodedSnapshot;
+
+    /**
+     * Collects snapshot once per tick, broadcasts it and records its metrics into history and store
+     */
+    @Scheduled(fixedRateString = "${ward.sampler.interval:1000}")
+    public synchronized void sample() throws ApplicationNotConfiguredException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            SnapshotDto snapshotDto = new SnapshotDto();
+            snapshotDto.setSequence(++sequence);
+            snapshotDto.setUsage(usageService.getUsage());
+            snapshotDto.setInfo(infoService.getInfo());
+            snapshotDto.setUptime(uptimeService.getUptime());
+
+            snapshot = snapshotDto;
+            streamService.publish(snapshotDto);
+
+            record("processor", snapshotDto.getUsage().getProcessor());
+            record("ram", snapshotDto.getUsage().getRam());
+            record("storage", snapshotDto.getUsage().getStorage());
+            record("temperature", sensorComponent.getProcessorTemperature());
+            recordDisks();
+        }
+    }
+
+    /**
+     * Records throughput and utilization of inventory disks, such as disk.sda.read, devices missing from inventory are left out
+     */
+    private void recordDisks() throws ApplicationNotConfiguredException
+    {
+        Map<String, SamplerComponent.DiskActivity> diskActivity = samplerComponent.getDiskActivity();
+
+        for (InventoryDto.HardDisk hardDisk : infoService.getInventory().getHardDisks())
+        {
+            String name = hardDisk.getName().startsWith("/dev/") ? hardDisk.getName().substring(5) : hardDisk.getName();
+            SamplerComponent.DiskActivity activity = diskActivity.get(name);
+
+            if (activity != null)
+            {
+                record("disk." + name + ".read", activity.readBytesPerSecond());
+                record("disk." + name + ".write", activity.writeBytesPerSecond());
+                record("disk." + name + ".utilization", activity.utilizationPercent());
+            }
+        }
+    }
+
+    /**
+     * Records metric into in-memory history and persistent store
+     *
+     * @param metric metric name
+     * @param value  sampled value
+     */
+    private void record(final String metric, final double value)
+    {
+        historyComponent.record(metric, value);
+        metricStoreComponent.append(metric, value);
+    }
+
+    /**
+     * Gets latest snapshot, collecting the first one if scheduler has not run yet
+     *
+     * @return SnapshotDto of the latest tick
+     */
+    public SnapshotDto getSnapshot() throws ApplicationNotConfiguredException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            SnapshotDto snapshotDto = snapshot;
+
+            if (snapshotDto == null)
+            {
+                sample();
+                snapshotDto = snapshot;
+            }
+
+            return snapshotDto;
+        }
+        else
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+    }
+
+    /**
+     * Used to deliver latest snapshot to corresponding controller, serialized and tagged
+     *
+     * @return EncodedSnapshot of the latest tick
+     */
+    public EncodedSnapshot getEncodedSnapshot() throws ApplicationNotConfiguredException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            SnapshotDto snapshotDto = getSnapshot();
+            EncodedSnapshot encoded = encodedSnapshot;
+
+            if ((encoded == null) || (encoded.sequence() != snapshotDto.getSequence()))
+            {
+                encoded = encode(snapshotDto);
+                encodedSnapshot = encoded;
+            }
+
+            return encoded;
+        }
+        else
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+    }
+
+    /**
+     * Serializes snapshot and gzips it, if it is larger than threshold
+     *
+     * @param snapshotDto snapshot to encode
+     * @return EncodedSnapshot with filled fields
+     */
+    private EncodedSnapshot encode(final SnapshotDto snapshotDto)
+    {
+        try
+        {
+            byte[] json = objectMapper.writeValueAsBytes(snapshotDto);
+            byte[] gzip = null;
+
+            if (json.length >= gzipThreshold)
+            {
+                ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(json.length / 4);
+
+                try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(byteArrayOutputStream))
+                {
+                    gzipOutputStream.write(json);
+                }
+
+                gzip = byteArrayOutputStream.toByteArray();
+            }
+
+            String tag = epoch + "-" + snapshotDto.getSequence();
+            return new EncodedSnapshot(snapshotDto.getSequence(), "\"" + tag + "\"", "\"" + tag + "-gz\"", json, gzip);
+        }
+        catch (IOException exception)
+        {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * EncodedSnapshot keeps serialized snapshot, shared by all requests of the same tick
+     *
+     * @param sequence sequence number of snapshot
+     * @param etag     strong entity tag of the json body, quoted
+     * @param gzipEtag strong entity tag of the gzipped body, quoted, as its bytes differ from the json body
+     * @param json     serialized snapshot
+     * @param gzip     gzipped serialized snapshot, null if snapshot is below threshold
+     */
+    public record EncodedSnapshot(long sequence, String etag, String gzipEtag, byte[] json, byte[] gzip)
+    {
+    }
+}
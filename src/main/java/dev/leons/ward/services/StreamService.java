@@ -0,0 +1,321 @@
+package dev.leons.ward.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dev.leons.ward.Ward;
+import dev.leons.ward.dto.SnapshotDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * StreamService broadcasts snapshots to connected dashboards over Server-Sent Events.
+ * New subscribers receive the full snapshot, then every tick only the fields which changed since the previous one.
+ * Events are serialized once per tick, however many dashboards are connected. Publishing only offers events to
+ * a bounded queue of every dashboard, each dashboard is written to by its own virtual thread, so a slow dashboard
+ * never delays the sampler. A dashboard whose queue is full has fallen behind and is disconnected, as skipping
+ * a delta would leave it inconsistent, browsers reconnect and start again from a full snapshot
+ *
+ * @version 1.0.0
+ */
+@Service
+public class StreamService
+{
+    /**
+     * Constant for determine name of full snapshot events
+     */
+    private static final String SNAPSHOT_EVENT = "snapshot";
+
+    /**
+     * Constant for determine name of delta events
+     */
+    private static final String DELTA_EVENT = "delta";
+
+    /**
+     * Autowired ObjectMapper object
+     * Used for serializing snapshots
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Timeout of a stream in milliseconds, 0 for streams which never time out
+     */
+    @Value("${ward.stream.timeout:0}")
+    private long timeout;
+
+    /**
+     * Maximal amount of events waiting to be sent to a dashboard, a dashboard with more is disconnected
+     */
+    @Value("${ward.stream.queue:16}")
+    private int queueSize;
+
+    /**
+     * Connected dashboards
+     */
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Latest published snapshot as json tree, used for diffing and for new subscribers
+     */
+    private ObjectNode previous;
+
+    /**
+     * Latest published snapshot serialized, sent to new subscribers
+     */
+    private String previousJson;
+
+    /**
+     * Connects a dashboard and sends it the latest full snapshot
+     *
+     * @return SseEmitter of connected dashboard
+     */
+    public SseEmitter subscribe() throws ApplicationNotConfiguredException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            SseEmitter emitter = new SseEmitter(timeout);
+            Subscriber subscriber = new Subscriber(emitter);
+
+            emitter.onCompletion(subscriber::stop);
+            emitter.onTimeout(emitter::complete);
+            emitter.onError(throwable -> subscriber.stop());
+
+            // Guarded by the same monitor as publish, so no delta can be queued between full snapshot and registration
+            synchronized (this)
+            {
+                if (previousJson != null)
+                {
+                    subscriber.offer(new Event(SNAPSHOT_EVENT, previousJson));
+                }
+
+                subscribers.add(subscriber);
+                subscriber.start();
+            }
+
+            return emitter;
+        }
+        else
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+    }
+
+    /**
+     * Broadcasts snapshot to all connected dashboards, only changed fields are sent.
+     * Never waits for a dashboard, events are only queued
+     *
+     * @param snapshotDto snapshot of current tick
+     */
+    public synchronized void publish(final SnapshotDto snapshotDto)
+    {
+        ObjectNode current = objectMapper.valueToTree(snapshotDto);
+
+        try
+        {
+            String snapshotJson = objectMapper.writeValueAsString(current);
+
+            if (!subscribers.isEmpty())
+            {
+                Event event = (previous == null) ? new Event(SNAPSHOT_EVENT, snapshotJson)
+                        : new Event(DELTA_EVENT, objectMapper.writeValueAsString(getDelta(previous, current)));
+
+                for (Subscriber subscriber : subscribers)
+                {
+                    if (!subscriber.offer(event))
+                    {
+                        subscriber.drop();
+                    }
+                }
+            }
+
+            previous = current;
+            previousJson = snapshotJson;
+        }
+        catch (IOException exception)
+        {
+            System.out.println("快照序列化失败: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Computes fields of current tree, which differ from previous tree.
+     * Objects are compared field by field, arrays and values are replaced as a whole
+     *
+     * @param previousNode previous tree
+     * @param currentNode  current tree
+     * @return ObjectNode with changed fields only
+     */
+    private ObjectNode getDelta(final ObjectNode previousNode, final ObjectNode currentNode)
+    {
+        ObjectNode delta = objectMapper.createObjectNode();
+
+        for (Map.Entry<String, JsonNode> field : currentNode.properties())
+        {
+            JsonNode previousValue = previousNode.get(field.getKey());
+            JsonNode currentValue = field.getValue();
+
+            if ((previousValue instanceof ObjectNode previousObject) && (currentValue instanceof ObjectNode currentObject))
+            {
+                ObjectNode nestedDelta = getDelta(previousObject, currentObject);
+
+                if (!nestedDelta.isEmpty())
+                {
+                    delta.set(field.getKey(), nestedDelta);
+                }
+            }
+            else if (!currentValue.equals(previousValue))
+            {
+                delta.set(field.getKey(), currentValue);
+            }
+        }
+
+        return delta;
+    }
+
+    /**
+     * Sends event to a dashboard
+     *
+     * @param emitter SseEmitter of dashboard
+     * @param event   serialized event
+     * @return true if event was sent, false if dashboard disconnected
+     */
+    private static boolean send(final SseEmitter emitter, final Event event)
+    {
+        try
+        {
+            emitter.send(SseEmitter.event().name(event.name()).data(event.json()));
+            return true;
+        }
+        catch (IOException | IllegalStateException exception)
+        {
+            // Disconnected dashboards are completed by the container, completing them here would dispatch an error
+            return false;
+        }
+    }
+
+    /**
+     * Event is a serialized event, shared by every dashboard
+     *
+     * @param name event name
+     * @param json serialized event data
+     */
+    private record Event(String name, String json)
+    {
+    }
+
+    /**
+     * Subscriber is a connected dashboard with its queue of events and the virtual thread sending them
+     */
+    private final class Subscriber
+    {
+        /**
+         * SseEmitter of dashboard
+         */
+        private final SseEmitter emitter;
+
+        /**
+         * Events waiting to be sent
+         */
+        private final BlockingQueue<Event> events = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+
+        /**
+         * Thread sending events, null before start
+         */
+        private Thread sender;
+
+        /**
+         * Whether dashboard fell behind and is completed by its sender
+         */
+        private volatile boolean dropped;
+
+        /**
+         * Creates subscriber of a dashboard
+         *
+         * @param emitter SseEmitter of dashboard
+         */
+        private Subscriber(final SseEmitter emitter)
+        {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Starts sending queued events
+         */
+        private void start()
+        {
+            sender = Thread.ofVirtual().name("ward-stream").start(this::run);
+        }
+
+        /**
+         * Queues event without waiting
+         *
+         * @param event serialized event
+         * @return true if event was queued, false if queue is full
+         */
+        private boolean offer(final Event event)
+        {
+            return events.offer(event);
+        }
+
+        /**
+         * Unregisters dashboard which fell behind, the sender completes it, as completing may wait for a send in progress
+         */
+        private void drop()
+        {
+            dropped = true;
+            stop();
+        }
+
+        /**
+         * Unregisters dashboard and stops its sender
+         */
+        private void stop()
+        {
+            subscribers.remove(this);
+
+            if (sender != null)
+            {
+                sender.interrupt();
+            }
+        }
+
+        /**
+         * Sends queued events until dashboard disconnects or falls behind
+         */
+        private void run()
+        {
+            try
+            {
+                while (!dropped)
+                {
+                    if (!send(emitter, events.take()))
+                    {
+                        break;
+                    }
+                }
+            }
+            catch (InterruptedException exception)
+            {
+                // Dashboard disconnected or fell behind
+            }
+
+            subscribers.remove(this);
+
+            if (dropped)
+            {
+                emitter.complete();
+            }
+        }
+    }
+}
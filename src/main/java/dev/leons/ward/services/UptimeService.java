@@ -1,5 +1,7 @@
 package dev.leons.ward.services;
 
+import dev.leons.ward.components.ProbeStatsComponent;
+import dev.leons.ward.components.UnitFormatter;
 import dev.leons.ward.dto.UptimeDto;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -11,6 +13,13 @@ public class UptimeService
     @Autowired
     private SystemInfo systemInfo;
 
+    /**
+     * Autowired ProbeStatsComponent object
+     * Used for measuring latency and failures of probes
+     */
+    @Autowired
+    private ProbeStatsComponent probeStatsComponent;
+
     /**
      * Gets uptime information
      *
@@ -18,14 +27,25 @@ public class UptimeService
      */
     public UptimeDto getUptime()
     {
-        UptimeDto uptimeDto = new UptimeDto();
+        long uptimeInSeconds = probeStatsComponent.measure("uptime", () -> systemInfo.getOperatingSystem().getSystemUptime());
+
+        return getUptime(uptimeInSeconds);
+    }
 
-        long uptimeInSeconds = systemInfo.getOperatingSystem().getSystemUptime();
+    /**
+     * Splits uptime into days, hours, minutes and seconds
+     *
+     * @param uptimeInSeconds uptime in seconds
+     * @return UptimeDto with filled fields
+     */
+    UptimeDto getUptime(final long uptimeInSeconds)
+    {
+        UptimeDto uptimeDto = new UptimeDto();
 
-        uptimeDto.setDays(String.format("%02d", (int) uptimeInSeconds / 86400));
-        uptimeDto.setHours(String.format("%02d", (int) (uptimeInSeconds % 86400) / 3600));
-        uptimeDto.setMinutes(String.format("%02d", (int) (uptimeInSeconds / 60) % 60));
-        uptimeDto.setSeconds(String.format("%02d", (int) uptimeInSeconds % 60));
+        uptimeDto.setDays(UnitFormatter.twoDigits((int) uptimeInSeconds / 86400));
+        uptimeDto.setHours(UnitFormatter.twoDigits((int) (uptimeInSeconds % 86400) / 3600));
+        uptimeDto.setMinutes(UnitFormatter.twoDigits((int) (uptimeInSeconds / 60) % 60));
+        uptimeDto.setSeconds(UnitFormatter.twoDigits((int) uptimeInSeconds % 60));
 
         return uptimeDto;
     }
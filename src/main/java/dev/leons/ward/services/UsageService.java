@@ -1,17 +1,20 @@
 package dev.leons.ward.services;
 
 import dev.leons.ward.Ward;
+import dev.leons.ward.components.CgroupComponent;
+import dev.leons.ward.components.DownsamplingComponent;
+import dev.leons.ward.components.FileSystemComponent;
+import dev.leons.ward.components.HistoryComponent;
+import dev.leons.ward.components.SamplerComponent;
+import dev.leons.ward.dto.CgroupDto;
+import dev.leons.ward.dto.CoresDto;
+import dev.leons.ward.dto.SeriesDto;
 import dev.leons.ward.dto.UsageDto;
+import dev.leons.ward.dto.UsageSeriesDto;
 import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.exceptions.InvalidParameterException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import oshi.SystemInfo;
-import oshi.hardware.CentralProcessor;
-import oshi.hardware.GlobalMemory;
-import oshi.hardware.HardwareAbstractionLayer;
-import oshi.software.os.FileSystem;
-import oshi.software.os.OSFileStore;
-import oshi.util.Util;
 
 import java.util.Arrays;
 
@@ -25,105 +28,183 @@ import java.util.Arrays;
 public class UsageService
 {
     /**
-     * Autowired SystemInfo object
-     * Used for getting usage information
+     * Constant for determine maximal amount of points of a series
+     */
+    private static final int MAX_POINTS = 5_000;
+
+    /**
+     * Autowired FileSystemComponent object
+     * Used for getting deduplicated and cached file system usage
      */
     @Autowired
-    private SystemInfo systemInfo;
+    private FileSystemComponent fileSystemComponent;
 
     /**
-     * Gets processor usage
-     *
-     * @return int that display processor usage
+     * Autowired SamplerComponent object
+     * Used for getting latest sampled processor and ram usage
      */
-    private int getProcessor(HardwareAbstractionLayer hardware) {
-        CentralProcessor centralProcessor = hardware.getProcessor();
-        long[] prevTicksArray = centralProcessor.getSystemCpuLoadTicks();
-        long prevTotalTicks = Arrays.stream(prevTicksArray).sum();
-        long prevIdleTicks = prevTicksArray[CentralProcessor.TickType.IDLE.getIndex()];
+    @Autowired
+    private SamplerComponent samplerComponent;
 
-        Util.sleep(1000);
+    /**
+     * Autowired CgroupComponent object
+     * Used for getting limits and usage of the container
+     */
+    @Autowired
+    private CgroupComponent cgroupComponent;
 
-        long[] currTicksArray = centralProcessor.getSystemCpuLoadTicks();
-        long currTotalTicks = Arrays.stream(currTicksArray).sum();
-        long currIdleTicks = currTicksArray[CentralProcessor.TickType.IDLE.getIndex()];
+    /**
+     * Autowired HistoryService object
+     * Used for getting recorded usage samples
+     */
+    @Autowired
+    private HistoryService historyService;
 
-        long idleTicksDelta = currIdleTicks - prevIdleTicks;
-        long totalTicksDelta = currTotalTicks - prevTotalTicks;
+    /**
+     * Autowired DownsamplingComponent object
+     * Used for reducing usage samples to requested amount of points
+     */
+    @Autowired
+    private DownsamplingComponent downsamplingComponent;
 
-        // Handle possible division by zero
-        if (totalTicksDelta == 0) {
-            return 0; // or handle in a way suitable for your application
-        }
+    /**
+     * Used to deliver dto to corresponding controller
+     *
+     * @return ResponseEntityWrapperAsset filled with usageDto
+     */
+    public UsageDto getUsage() throws ApplicationNotConfiguredException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            UsageDto usageDto = new UsageDto();
+            usageDto.setProcessor(samplerComponent.getProcessorUsage());
+            usageDto.setRam(samplerComponent.getRamUsage());
+            usageDto.setStorage((int) Math.round(fileSystemComponent.getUsagePercent()));
 
-        // Calculate CPU usage percentage
-        return (int) ((1 - (double) idleTicksDelta / totalTicksDelta) * 100);
+            return usageDto;
+        }
+        else
+        {
+            throw new ApplicationNotConfiguredException();
+        }
     }
 
     /**
-     * Gets ram usage
+     * Used to deliver per logical processor dto to corresponding controller
      *
-     * @return int that display ram usage
+     * @return CoresDto filled with latest sampled values
      */
-    private int getRam(HardwareAbstractionLayer hardware) {
-        GlobalMemory globalMemory = hardware.getMemory();
-        long totalMemory = globalMemory.getTotal();
-        long availableMemory = globalMemory.getAvailable();
-
-        // Handle possible division by zero
-        if (totalMemory == 0) {
-            return 0; // or handle in a way suitable for your application
+    public CoresDto getCores() throws ApplicationNotConfiguredException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            return samplerComponent.getCores();
+        }
+        else
+        {
+            throw new ApplicationNotConfiguredException();
         }
-
-        // Calculate RAM usage percentage
-        return (int) (100 - ((double) availableMemory / totalMemory * 100));
     }
 
     /**
-     * Gets storage usage
+     * Used to deliver cgroup limits and usage to corresponding controller
      *
-     * @return int that display storage usage
+     * @return CgroupDto filled with latest read values, only detection fields if there is no cgroup v2
      */
-    private int getStorage(HardwareAbstractionLayer hardware) {
-        FileSystem fileSystem = systemInfo.getOperatingSystem().getFileSystem();
-
-        // Calculate total storage and free storage for all drives
-        long totalStorage = 0;
-        long freeStorage = 0;
-        for (OSFileStore fileStore : fileSystem.getFileStores()) {
-            totalStorage += fileStore.getTotalSpace();
-            freeStorage += fileStore.getFreeSpace();
+    public CgroupDto getCgroup() throws ApplicationNotConfiguredException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            CgroupComponent.CgroupUsage cgroupUsage = cgroupComponent.getUsage();
+
+            CgroupDto cgroupDto = new CgroupDto();
+            cgroupDto.setDetected(cgroupUsage != null);
+            cgroupDto.setActive(cgroupComponent.getActiveUsage() != null);
+
+            if (cgroupUsage != null)
+            {
+                cgroupDto.setPath(cgroupUsage.path());
+                cgroupDto.setCpuLimit(toNullable(cgroupUsage.cpuLimit()));
+                cgroupDto.setCpuUsage(toNullable(cgroupUsage.cpuPercent()));
+                cgroupDto.setThrottledPeriods(toNullable(cgroupUsage.throttledPercent()));
+                cgroupDto.setThrottledTime(toNullable(cgroupUsage.throttledMillisPerSecond()));
+                cgroupDto.setMemoryLimit((cgroupUsage.memoryLimit() >= 0) ? cgroupUsage.memoryLimit() : null);
+                cgroupDto.setMemoryUsed(cgroupUsage.memoryUsed());
+                cgroupDto.setMemoryWorkingSet(cgroupUsage.memoryWorkingSet());
+                cgroupDto.setMemoryUsage(toNullable(cgroupUsage.memoryPercent()));
+            }
+
+            return cgroupDto;
         }
-
-        // Handle possible division by zero
-        if (totalStorage == 0) {
-            return 0; // or handle in a way suitable for your application
+        else
+        {
+            throw new ApplicationNotConfiguredException();
         }
-
-        // Calculate total storage usage percentage for all drives
-        return (int) Math.round(((double) (totalStorage - freeStorage) / totalStorage) * 100);
     }
 
     /**
-     * Used to deliver dto to corresponding controller
+     * Used to deliver downsampled usage series to corresponding controller
      *
-     * @return ResponseEntityWrapperAsset filled with usageDto
+     * @param range  range ending now, such as 15m, 6h or 1d
+     * @param points maximal amount of points per series
+     * @return UsageSeriesDto filled with downsampled series
      */
-    public UsageDto getUsage() throws ApplicationNotConfiguredException
+    public UsageSeriesDto getSeries(final String range, final int points) throws ApplicationNotConfiguredException, InvalidParameterException
     {
         if (!Ward.isFirstLaunch())
         {
-            UsageDto usageDto = new UsageDto();
-            HardwareAbstractionLayer hardware = systemInfo.getHardware();
-            usageDto.setProcessor(getProcessor(hardware));
-            usageDto.setRam(getRam(hardware));
-            usageDto.setStorage(getStorage(hardware));
+            if ((points < 3) || (points > MAX_POINTS))
+            {
+                throw new InvalidParameterException("Points must be between 3 and " + MAX_POINTS);
+            }
 
-            return usageDto;
+            long rangeMillis = historyService.parseRange(range);
+
+            UsageSeriesDto usageSeriesDto = new UsageSeriesDto();
+            usageSeriesDto.setProcessor(getSeries("processor", rangeMillis, points));
+            usageSeriesDto.setRam(getSeries("ram", rangeMillis, points));
+            usageSeriesDto.setStorage(getSeries("storage", rangeMillis, points));
+
+            return usageSeriesDto;
         }
         else
         {
             throw new ApplicationNotConfiguredException();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Reduces recorded samples of a metric with LTTB
+     *
+     * @param metric metric name
+     * @param range  range ending now, in milliseconds
+     * @param points maximal amount of points
+     * @return SeriesDto with filled fields
+     */
+    private SeriesDto getSeries(final String metric, final long range, final int points)
+    {
+        HistoryComponent.Samples samples = historyService.getSamples(metric, range);
+        int capacity = Math.min(samples.size(), points);
+
+        long[] timestamps = new long[capacity];
+        float[] values = new float[capacity];
+        int size = downsamplingComponent.lttb(samples.timestamps(), samples.values(), samples.size(), points, timestamps, values);
+
+        SeriesDto seriesDto = new SeriesDto();
+        seriesDto.setTimestamps((size == capacity) ? timestamps : Arrays.copyOf(timestamps, size));
+        seriesDto.setValues((size == capacity) ? values : Arrays.copyOf(values, size));
+
+        return seriesDto;
+    }
+
+    /**
+     * Boxes value, so unknown values are serialized as null
+     *
+     * @param value value, NaN if unknown
+     * @return Double with value, null if unknown
+     */
+    private Double toNullable(final double value)
+    {
+        return Double.isNaN(value) ? null : value;
+    }
+}
@@ -0,0 +1,473 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.components.FileSystemComponent;
+import dev.leons.ward.components.MetricsProbe;
+import dev.leons.ward.components.ProbeStatsComponent;
+import dev.leons.ward.components.SamplerComponent;
+import dev.leons.ward.components.SensorComponent;
+import dev.leons.ward.dto.InventoryDto;
+import dev.leons.ward.dto.v2.DiskActivityDto;
+import dev.leons.ward.dto.v2.DiskDto;
+import dev.leons.ward.dto.v2.FileSystemDto;
+import dev.leons.ward.dto.v2.GraphicsDto;
+import dev.leons.ward.dto.v2.InfoDto;
+import dev.leons.ward.dto.v2.MemoryDto;
+import dev.leons.ward.dto.v2.NetworkDto;
+import dev.leons.ward.dto.v2.NetworkThroughputDto;
+import dev.leons.ward.dto.v2.ProcessorDto;
+import dev.leons.ward.dto.v2.StorageDto;
+import dev.leons.ward.dto.v2.ThroughputDto;
+import dev.leons.ward.dto.v2.UptimeDto;
+import dev.leons.ward.dto.v2.UsageDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import oshi.SystemInfo;
+import oshi.software.os.OperatingSystem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * V2Service provides typed server information, with raw numbers in explicit units instead of formatted strings.
+ * Everything is read from latest samples and static inventory, so requests never probe hardware themselves
+ *
+ * @version 1.0.0
+ */
+@Service
+public class V2Service
+{
+    /**
+     * Constant for determine name of loopback interface, left out of aggregated throughput
+     */
+    private static final String LOOPBACK = "lo";
+
+    /**
+     * Autowired SystemInfo object
+     * Used for getting uptime and boot time
+     */
+    @Autowired
+    private SystemInfo systemInfo;
+
+    /**
+     * Autowired InfoService object
+     * Used for getting static inventory and graphics samples
+     */
+    @Autowired
+    private InfoService infoService;
+
+    /**
+     * Autowired FileSystemComponent object
+     * Used for getting deduplicated and cached file system usage
+     */
+    @Autowired
+    private FileSystemComponent fileSystemComponent;
+
+    /**
+     * Autowired SamplerComponent object
+     * Used for getting latest sampled processor, memory, disk and network values
+     */
+    @Autowired
+    private SamplerComponent samplerComponent;
+
+    /**
+     * Autowired SensorComponent object
+     * Used for getting processor and disk temperatures
+     */
+    @Autowired
+    private SensorComponent sensorComponent;
+
+    /**
+     * Autowired ProbeStatsComponent object
+     * Used for measuring latency and failures of probes
+     */
+    @Autowired
+    private ProbeStatsComponent probeStatsComponent;
+
+    /**
+     * Used to deliver typed info to corresponding controller
+     *
+     * @return InfoDto filled with server info
+     */
+    public InfoDto getInfo() throws ApplicationNotConfiguredException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            InventoryDto inventoryDto = infoService.getInventory();
+            long[] memory = samplerComponent.getMemory();
+            List<FileSystemComponent.FileSystemUsage> fileStores = fileSystemComponent.getUsage();
+
+            InfoDto infoDto = new InfoDto();
+            infoDto.setProcessor(getProcessor(inventoryDto));
+            infoDto.setMemory(getMemory(inventoryDto, memory));
+            infoDto.setGraphics(getGraphics(inventoryDto));
+            infoDto.setStorage(getStorage(inventoryDto, fileStores));
+            infoDto.setDisks(getDisks(inventoryDto));
+            infoDto.setNetworks(getNetworks(inventoryDto));
+
+            return infoDto;
+        }
+        else
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+    }
+
+    /**
+     * Used to deliver typed usage to corresponding controller
+     *
+     * @return UsageDto filled with usage in percents
+     */
+    public UsageDto getUsage() throws ApplicationNotConfiguredException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            UsageDto usageDto = new UsageDto();
+            usageDto.setProcessorPercent(samplerComponent.getProcessorUsagePercent());
+            usageDto.setRamPercent(samplerComponent.getRamUsagePercent());
+            usageDto.setStoragePercent(fileSystemComponent.getUsagePercent());
+
+            return usageDto;
+        }
+        else
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+    }
+
+    /**
+     * Used to deliver smoothed network throughput to corresponding controller
+     *
+     * @return NetworkThroughputDto filled with rates per interface and their total
+     */
+    public NetworkThroughputDto getNetworkThroughput() throws ApplicationNotConfiguredException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            double[] total = new double[8];
+            Arrays.fill(total, Double.NaN);
+            Map<String, ThroughputDto> interfaces = new LinkedHashMap<>();
+
+            samplerComponent.readNetworkRates((name, rates) ->
+            {
+                interfaces.put(name, toThroughput(rates));
+
+                if (!LOOPBACK.equals(name))
+                {
+                    for (int i = 0; i < total.length; i++)
+                    {
+                        // Unsupported rates are left out, total stays unknown only if no interface supports it
+                        if (!Double.isNaN(rates[i]))
+                        {
+                            total[i] = Double.isNaN(total[i]) ? rates[i] : total[i] + rates[i];
+                        }
+                    }
+                }
+            });
+
+            NetworkThroughputDto networkThroughputDto = new NetworkThroughputDto();
+            networkThroughputDto.setTotal(toThroughput(total));
+            networkThroughputDto.setInterfaces(interfaces);
+
+            return networkThroughputDto;
+        }
+        else
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+    }
+
+    /**
+     * Used to deliver typed uptime to corresponding controller
+     *
+     * @return UptimeDto filled with uptime and boot time in seconds
+     */
+    public UptimeDto getUptime() throws ApplicationNotConfiguredException
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            OperatingSystem operatingSystem = systemInfo.getOperatingSystem();
+
+            UptimeDto uptimeDto = new UptimeDto();
+            uptimeDto.setSeconds(probeStatsComponent.measure("uptime", operatingSystem::getSystemUptime));
+            uptimeDto.setBootTime(operatingSystem.getSystemBootTime());
+
+            return uptimeDto;
+        }
+        else
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+    }
+
+    /**
+     * Gets processor info with per logical processor values
+     *
+     * @param inventoryDto static inventory
+     * @return ProcessorDto with filled fields
+     */
+    private ProcessorDto getProcessor(final InventoryDto inventoryDto)
+    {
+        int logicalProcessors = inventoryDto.getLogicalProcessorCount();
+        double[] coreUsage = new double[logicalProcessors];
+        long[] coreFrequency = new long[logicalProcessors];
+        int copied = samplerComponent.copyCores(coreUsage, coreFrequency);
+
+        ProcessorDto processorDto = new ProcessorDto();
+        processorDto.setName(inventoryDto.getProcessorName());
+        processorDto.setPhysicalCores(inventoryDto.getPhysicalProcessorCount());
+        processorDto.setLogicalProcessors(logicalProcessors);
+        processorDto.setFrequencyHertz(samplerComponent.getAverageFrequency());
+        processorDto.setUsagePercent(samplerComponent.getProcessorUsagePercent());
+        processorDto.setTemperatureCelsius(toNullable(sensorComponent.getProcessorTemperature()));
+        processorDto.setCoreUsagePercent((copied < logicalProcessors) ? Arrays.copyOf(coreUsage, copied) : coreUsage);
+        processorDto.setCoreFrequencyHertz((copied < logicalProcessors) ? Arrays.copyOf(coreFrequency, copied) : coreFrequency);
+
+        return processorDto;
+    }
+
+    /**
+     * Gets memory info
+     *
+     * @param inventoryDto static inventory
+     * @param memory       latest memory amounts, indexed by MetricsProbe memory constants
+     * @return MemoryDto with filled fields
+     */
+    private MemoryDto getMemory(final InventoryDto inventoryDto, final long[] memory)
+    {
+        long total = memory[MetricsProbe.MEMORY_TOTAL];
+        long available = memory[MetricsProbe.MEMORY_AVAILABLE];
+
+        MemoryDto memoryDto = new MemoryDto();
+        memoryDto.setType(inventoryDto.getRamTypeOrOSBitDepth());
+        memoryDto.setFrequencyHertz((inventoryDto.getRamClockSpeedHertz() > 0) ? inventoryDto.getRamClockSpeedHertz() : null);
+        memoryDto.setTotalBytes(total);
+        memoryDto.setAvailableBytes(available);
+        memoryDto.setUsedBytes(total - available);
+        memoryDto.setUsagePercent(getRamPercent(memory));
+        memoryDto.setSwapTotalBytes(memory[MetricsProbe.SWAP_TOTAL]);
+        memoryDto.setSwapUsedBytes(memory[MetricsProbe.SWAP_USED]);
+
+        return memoryDto;
+    }
+
+    /**
+     * Gets graphics info
+     *
+     * @param inventoryDto static inventory
+     * @return GraphicsDto with filled fields
+     */
+    private GraphicsDto getGraphics(final InventoryDto inventoryDto)
+    {
+        long frequency = infoService.getGraphicsFrequencyHertz();
+
+        GraphicsDto graphicsDto = new GraphicsDto();
+        graphicsDto.setName(inventoryDto.getGraphicsName());
+        graphicsDto.setMemoryBytes(inventoryDto.getGraphicsMemoryBytes());
+        graphicsDto.setMemoryUsedBytes(infoService.getGraphicsMemoryUsageBytes());
+        graphicsDto.setUsagePercent(infoService.getGraphicsUsagePercent());
+        graphicsDto.setFrequencyHertz((frequency > 0) ? frequency : null);
+
+        return graphicsDto;
+    }
+
+    /**
+     * Gets storage info with every file system
+     *
+     * @param inventoryDto static inventory
+     * @param fileStores   latest sampled file stores
+     * @return StorageDto with filled fields
+     */
+    private StorageDto getStorage(final InventoryDto inventoryDto, final List<FileSystemComponent.FileSystemUsage> fileStores)
+    {
+        long total = 0;
+        long free = 0;
+        List<FileSystemDto> fileSystemDtos = new ArrayList<>(fileStores.size());
+
+        for (FileSystemComponent.FileSystemUsage fileStore : fileStores)
+        {
+            total += fileStore.total();
+            free += fileStore.free();
+
+            FileSystemDto fileSystemDto = new FileSystemDto();
+            fileSystemDto.setMount(fileStore.mount());
+            fileSystemDto.setDevice(fileStore.device());
+            fileSystemDto.setType(fileStore.type());
+            fileSystemDto.setTotalBytes(fileStore.total());
+            fileSystemDto.setFreeBytes(fileStore.free());
+            fileSystemDto.setUsableBytes(fileStore.usable());
+            fileSystemDto.setUsagePercent((fileStore.total() == 0) ? 0 : (double) (fileStore.total() - fileStore.free()) / fileStore.total() * 100);
+            fileSystemDtos.add(fileSystemDto);
+        }
+
+        StorageDto storageDto = new StorageDto();
+        storageDto.setMainStorage(inventoryDto.getMainStorage());
+        storageDto.setDiskCount(inventoryDto.getDiskCountValue());
+        storageDto.setDiskTotalBytes(inventoryDto.getStorageTotalBytes());
+        storageDto.setTotalBytes(total);
+        storageDto.setFreeBytes(free);
+        storageDto.setUsagePercent(fileSystemComponent.getUsagePercent(fileStores));
+        storageDto.setFileSystems(fileSystemDtos);
+
+        return storageDto;
+    }
+
+    /**
+     * Gets disks with latest cumulative counters
+     *
+     * @param inventoryDto static inventory
+     * @return List of DiskDto with filled fields
+     */
+    private List<DiskDto> getDisks(final InventoryDto inventoryDto)
+    {
+        Map<String, long[]> counters = new HashMap<>();
+        samplerComponent.readDisks((name, reads, readBytes, readMillis, writes, writeBytes, writeMillis, queueLength, ioMillis, weightedMillis) ->
+                counters.put(name, new long[]{reads, readBytes, writes, writeBytes}));
+        Map<String, SamplerComponent.DiskActivity> diskActivity = samplerComponent.getDiskActivity();
+
+        List<DiskDto> diskDtos = new ArrayList<>(inventoryDto.getHardDisks().size());
+
+        for (InventoryDto.HardDisk hardDisk : inventoryDto.getHardDisks())
+        {
+            String name = hardDisk.getName();
+            String deviceName = name.startsWith("/dev/") ? name.substring(5) : name;
+            long[] diskCounters = counters.get(deviceName);
+            SamplerComponent.DiskActivity activity = diskActivity.get(deviceName);
+
+            DiskDto diskDto = new DiskDto();
+            diskDto.setName(name);
+            diskDto.setModel(hardDisk.getModel());
+            diskDto.setSerial(hardDisk.getSerial());
+            diskDto.setSizeBytes(hardDisk.getSize());
+            diskDto.setReads(toNullable(diskCounters, 0));
+            diskDto.setReadBytes(toNullable(diskCounters, 1));
+            diskDto.setWrites(toNullable(diskCounters, 2));
+            diskDto.setWrittenBytes(toNullable(diskCounters, 3));
+            diskDto.setTemperatureCelsius(toNullable(sensorComponent.getDiskTemperature(name)));
+            diskDto.setActivity((activity != null) ? toActivity(activity) : new DiskActivityDto());
+            diskDtos.add(diskDto);
+        }
+
+        return diskDtos;
+    }
+
+    /**
+     * Gets network interfaces with latest cumulative counters
+     *
+     * @param inventoryDto static inventory
+     * @return List of NetworkDto with filled fields
+     */
+    private List<NetworkDto> getNetworks(final InventoryDto inventoryDto)
+    {
+        Map<String, long[]> counters = new HashMap<>();
+        samplerComponent.readNetwork((name, bytesRecv, packetsRecv, inErrors, inDrops, bytesSent, packetsSent, outErrors, outDrops) ->
+                counters.put(name, new long[]{bytesRecv, bytesSent, packetsRecv, packetsSent}));
+        Map<String, ThroughputDto> throughputs = new HashMap<>();
+        samplerComponent.readNetworkRates((name, rates) -> throughputs.put(name, toThroughput(rates)));
+
+        List<NetworkDto> networkDtos = new ArrayList<>(inventoryDto.getNetworks().size());
+
+        for (InventoryDto.Network network : inventoryDto.getNetworks())
+        {
+            long[] networkCounters = counters.get(network.getName());
+
+            NetworkDto networkDto = new NetworkDto();
+            networkDto.setName(network.getName());
+            networkDto.setDisplayName(network.getDisplayName());
+            networkDto.setMac(network.getMacaddr());
+            networkDto.setIpv4(network.getIPv4addr());
+            networkDto.setIpv6(network.getIPv6addr());
+            networkDto.setReceivedBytes(toNullable(networkCounters, 0));
+            networkDto.setSentBytes(toNullable(networkCounters, 1));
+            networkDto.setReceivedPackets(toNullable(networkCounters, 2));
+            networkDto.setSentPackets(toNullable(networkCounters, 3));
+            networkDto.setThroughput(throughputs.getOrDefault(network.getName(), new ThroughputDto()));
+            networkDtos.add(networkDto);
+        }
+
+        return networkDtos;
+    }
+
+    /**
+     * Calculates ram usage without truncating fraction
+     *
+     * @param memory latest memory amounts, indexed by MetricsProbe memory constants
+     * @return double with ram usage in percents
+     */
+    private double getRamPercent(final long[] memory)
+    {
+        long total = memory[MetricsProbe.MEMORY_TOTAL];
+
+        // Handle possible division by zero
+        return (total == 0) ? 0 : 100 - ((double) memory[MetricsProbe.MEMORY_AVAILABLE] / total * 100);
+    }
+
+    /**
+     * Maps disk activity to dto
+     *
+     * @param activity disk activity, NaN if unknown
+     * @return DiskActivityDto with filled fields
+     */
+    private DiskActivityDto toActivity(final SamplerComponent.DiskActivity activity)
+    {
+        DiskActivityDto diskActivityDto = new DiskActivityDto();
+        diskActivityDto.setReadBytesPerSecond(toNullable(activity.readBytesPerSecond()));
+        diskActivityDto.setWriteBytesPerSecond(toNullable(activity.writeBytesPerSecond()));
+        diskActivityDto.setReadIops(toNullable(activity.readIops()));
+        diskActivityDto.setWriteIops(toNullable(activity.writeIops()));
+        diskActivityDto.setAwaitMillis(toNullable(activity.awaitMillis()));
+        diskActivityDto.setQueueDepth(toNullable(activity.queueDepth()));
+        diskActivityDto.setUtilizationPercent(toNullable(activity.utilizationPercent()));
+
+        return diskActivityDto;
+    }
+
+    /**
+     * Maps smoothed network rates to dto
+     *
+     * @param rates rates per second, in NetworkConsumer parameter order, NaN if unknown
+     * @return ThroughputDto with filled fields
+     */
+    private ThroughputDto toThroughput(final double[] rates)
+    {
+        ThroughputDto throughputDto = new ThroughputDto();
+        throughputDto.setReceiveBytesPerSecond(toNullable(rates[0]));
+        throughputDto.setReceivePacketsPerSecond(toNullable(rates[1]));
+        throughputDto.setReceiveErrorsPerSecond(toNullable(rates[2]));
+        throughputDto.setReceiveDropsPerSecond(toNullable(rates[3]));
+        throughputDto.setSendBytesPerSecond(toNullable(rates[4]));
+        throughputDto.setSendPacketsPerSecond(toNullable(rates[5]));
+        throughputDto.setSendErrorsPerSecond(toNullable(rates[6]));
+        throughputDto.setSendDropsPerSecond(toNullable(rates[7]));
+
+        return throughputDto;
+    }
+
+    /**
+     * Boxes value, so unknown values are serialized as null
+     *
+     * @param value value, NaN if unknown
+     * @return Double with value, null if unknown
+     */
+    private Double toNullable(final double value)
+    {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    /**
+     * Boxes a counter, so devices without counters and unsupported counters are serialized as null
+     *
+     * @param counters counters of a device, null if device has none
+     * @param index    index of the counter
+     * @return Long with counter, null if unknown
+     */
+    private Long toNullable(final long[] counters, final int index)
+    {
+        return ((counters == null) || (counters[index] < 0)) ? null : counters[index];
+    }
+}
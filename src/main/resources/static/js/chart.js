@@ -161,6 +161,49 @@ function chartInitialization()
     processorRectangle.addEventListener("click", (event) => {hideDataset(event.target || event.srcElement)});
     ramRectangle.addEventListener("click", (event) => {hideDataset(event.target || event.srcElement)});
     storageRectangle.addEventListener("click", (event) => {hideDataset(event.target || event.srcElement)});
+
+    chartPrefill();
+}
+
+/**
+ * Fills datasets with recorded usage, so chart is not empty after reload
+ */
+function chartPrefill()
+{
+    const points = chart.data.labels.length;
+
+    fetch("/api/usage/series?range=" + points + "s&points=" + points)
+        .then((response) => response.ok ? response.json() : null)
+        .then((series) =>
+        {
+            if (series == null)
+            {
+                return;
+            }
+
+            // Datasets are in processor, ram, storage order, series are looked up by name rather than by property order
+            const seriesByDataset = [series.processor, series.ram, series.storage];
+            const datasets = chart.data.datasets;
+
+            for (let i = 0; i < datasets.length; i++)
+            {
+                if (seriesByDataset[i] == null)
+                {
+                    continue;
+                }
+
+                const dataset = datasets[i].data;
+                const values = seriesByDataset[i].values.slice(-dataset.length);
+
+                // Recorded values are aligned to the right edge, as new ticks are appended there
+                for (let k = 0; k < values.length; k++)
+                {
+                    dataset[dataset.length - values.length + k] = values[k];
+                }
+            }
+
+            chart.update();
+        });
 }
 
 /**
@@ -0,0 +1,111 @@
+/**
+ * Initializes fleet overview and polls hub for cached state of peers
+ */
+function fleetInitialization()
+{
+    fleetSummary = document.getElementById("fleet-summary");
+    fleetPeers = document.getElementById("fleet-peers");
+
+    fleetTick();
+    setInterval(fleetTick, 5000);
+}
+
+/**
+ * Requests cached state of peers, hub never waits for peers, so the request is answered at once
+ */
+function fleetTick()
+{
+    fetch("/api/fleet")
+        .then(response => response.json())
+        .then(fleet => renderFleet(fleet))
+        .catch(() => fleetSummary.textContent = "Hub is unreachable");
+}
+
+/**
+ * Renders summary and a card for every peer
+ *
+ * @param {*} fleet fleet overview
+ */
+function renderFleet(fleet)
+{
+    if (fleet.peers.length === 0)
+    {
+        fleetSummary.textContent = "No peers configured, set ward.hub.peers to enable hub mode";
+    }
+    else
+    {
+        fleetSummary.textContent = fleet.up + " UP    " + fleet.down + " DOWN    " + fleet.pending + " PENDING";
+    }
+
+    fleetPeers.replaceChildren(...fleet.peers.map(peer => createPeerCard(peer)));
+}
+
+/**
+ * Creates card of a peer, text is assigned through textContent, as values come from remote machines
+ *
+ * @param {*} peer peer state
+ */
+function createPeerCard(peer)
+{
+    const column = createElement("div", "col-sm-12 col-md-6 col-lg-6 col-xl-4 px-3");
+    const card = createElement("div", "card");
+    const type = createElement("div", "hw-type");
+    const status = createElement("span", "peer-status " + peer.status);
+    const name = createElement("div", "hw-name");
+    const usage = createElement("div", "peer-usage");
+
+    type.append(status, " ", peer.name);
+    type.title = peer.url;
+
+    const details = [peer.processorName, peer.coreCount, peer.totalRam, peer.totalStorage].filter(value => value != null);
+    name.textContent = (peer.error != null) ? peer.error : details.join(" · ");
+
+    usage.append(createUsage("CPU", peer.processor, "first"), createUsage("RAM", peer.ram, "second"), createUsage("STORAGE", peer.storage, "third"));
+    card.append(type, name, usage);
+
+    if (peer.updatedAt != null)
+    {
+        const updated = createElement("div", "info-label");
+        updated.textContent = "UPDATED " + new Date(peer.updatedAt).toLocaleTimeString() + ((peer.latency != null) ? " · " + peer.latency + " MS" : "");
+        card.append(updated);
+    }
+
+    column.append(card);
+    return column;
+}
+
+/**
+ * Creates usage value with its bar
+ *
+ * @param {*} label usage label
+ * @param {*} value usage in percents, null if unknown
+ * @param {*} order color order of bar
+ */
+function createUsage(label, value, order)
+{
+    const container = document.createElement("div");
+    const number = createElement("div", "peer-value");
+    const bar = createElement("div", "peer-bar " + order);
+    const caption = createElement("div", "info-label");
+
+    number.textContent = (value != null) ? value + "%" : "—";
+    bar.style.width = ((value != null) ? Math.min(value, 100) : 0) + "%";
+    caption.textContent = label;
+
+    container.append(number, bar, caption);
+    return container;
+}
+
+/**
+ * Creates element with classes
+ *
+ * @param {*} tag element tag
+ * @param {*} classes space separated classes
+ */
+function createElement(tag, classes)
+{
+    const element = document.createElement(tag);
+    element.className = classes;
+
+    return element;
+}
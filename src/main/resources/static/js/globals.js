@@ -46,19 +46,14 @@ let port;
 let setupXHR;
 
 /**
- * Used for sending usage requests
+ * Used for receiving snapshot stream
  */
-let usageXHR;
+let snapshotStream;
 
 /**
- * Used for sending info requests
+ * Used to hold latest snapshot, merged from stream events
  */
-let infoXHR;
-
-/**
- * Used for sending uptime requests
- */
-let uptimeXHR;
+let snapshot;
 
 /**
  * Used to hold values of processor usage
@@ -145,6 +140,16 @@ let seconds;
  */
 let chart;
 
+/**
+ * Used to display fleet summary of hub mode
+ */
+let fleetSummary;
+
+/**
+ * Used to hold cards of fleet peers
+ */
+let fleetPeers;
+
 /**
  * Initialises html object and theme value
  */
@@ -19,11 +19,7 @@ function indexInitialization()
     minutes = document.getElementById("uptime-minutes");
     seconds = document.getElementById("uptime-seconds");
 
-    usageXHR = new XMLHttpRequest();
-    infoXHR = new XMLHttpRequest();
-    uptimeXHR = new XMLHttpRequest();
-
-    sendUsageRequest();
+    openSnapshotStream();
 }
 
 /**
@@ -71,73 +67,68 @@ function getRandomSequenceArray()
 }
 
 /**
- * Sending ajax request to receive usage info
+ * Opens snapshot stream, browser reconnects by itself and receives full snapshot again
  */
-function sendUsageRequest()
+function openSnapshotStream()
 {
-    usageXHR.onreadystatechange = function()
-    {
-        if ((this.readyState === 4) && (this.status === 200))
-        {
-            const response = JSON.parse(this.response);
+    snapshotStream = new EventSource("/api/stream");
 
-            labelsTick(response);
-            chartTick(response);
+    snapshotStream.addEventListener("snapshot", function(event)
+    {
+        snapshot = JSON.parse(event.data);
+        snapshotTick();
+    });
 
-            sendInfoRequest();
+    snapshotStream.addEventListener("delta", function(event)
+    {
+        if (snapshot != null)
+        {
+            mergeDelta(snapshot, JSON.parse(event.data));
+            snapshotTick();
         }
-    }
-
-    usageXHR.open("GET", "/api/usage");
-    usageXHR.send();
+    });
 }
 
 /**
- * Sending ajax request to receive info about server
+ * Merges changed fields into snapshot, objects are merged field by field, other values are replaced
+ *
+ * @param {*} target snapshot or its part
+ * @param {*} delta changed fields
  */
-function sendInfoRequest()
+function mergeDelta(target, delta)
 {
-    infoXHR.onreadystatechange = function()
+    for (const key of Object.keys(delta))
     {
-        if ((this.readyState === 4) && (this.status === 200))
-        {
-            const response = JSON.parse(this.response);
-
-            currentClockSpeed.innerHTML = response.processor.clockSpeed;
-            currentProcCount.innerHTML = response.machine.procCount;
-            currentTotalStorage.innerHTML = response.storage.total;
-            currentDiskCount.innerHTML = response.storage.diskCount;
+        const value = delta[key];
 
-            sendUptimeRequest();
+        if ((value !== null) && (typeof value === "object") && !Array.isArray(value) && (target[key] != null) && (typeof target[key] === "object"))
+        {
+            mergeDelta(target[key], value);
+        }
+        else
+        {
+            target[key] = value;
         }
     }
-
-    infoXHR.open("GET", "/api/info");
-    infoXHR.send();
 }
 
 /**
- * Sending ajax request to receive server uptime
+ * Updates labels, chart, info and uptime from snapshot
  */
-function sendUptimeRequest()
+function snapshotTick()
 {
-    infoXHR.onreadystatechange = function()
-    {
-        if ((this.readyState === 4) && (this.status === 200))
-        {
-            const response = JSON.parse(this.response);
-
-            days.innerHTML = response.days;
-            hours.innerHTML = response.hours;
-            minutes.innerHTML = response.minutes;
-            seconds.innerHTML = response.seconds;
-
-            sendUsageRequest()
-        }
-    }
-
-    infoXHR.open("GET", "/api/uptime");
-    infoXHR.send();
+    labelsTick(snapshot.usage);
+    chartTick(snapshot.usage);
+
+    currentClockSpeed.innerHTML = snapshot.info.processor.clockSpeed;
+    currentProcCount.innerHTML = snapshot.info.machine.procCount;
+    currentTotalStorage.innerHTML = snapshot.info.storage.total;
+    currentDiskCount.innerHTML = snapshot.info.storage.diskCount;
+
+    days.innerHTML = snapshot.uptime.days;
+    hours.innerHTML = snapshot.uptime.hours;
+    minutes.innerHTML = snapshot.uptime.minutes;
+    seconds.innerHTML = snapshot.uptime.seconds;
 }
 
 /**
@@ -0,0 +1,239 @@
+package dev.leons.ward.components;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * CgroupComponentTest checks cgroup detection and parsing of interface files against fake trees in a temporary directory
+ *
+ * @version 1.0.0
+ */
+class CgroupComponentTest
+{
+    /**
+     * Constant for determine memory of the fake host, in bytes
+     */
+    private static final long HOST_MEMORY = 8L * 1024 * 1024 * 1024;
+
+    /**
+     * Constant for determine mountinfo line of a cgroup v2 hierarchy mounted at /sys/fs/cgroup
+     */
+    private static final String CGROUP2_MOUNT = "35 24 0:30 / /sys/fs/cgroup rw,nosuid,nodev,noexec,relatime shared:9 - cgroup2 cgroup2 rw\n";
+
+    /**
+     * Temporary directory standing in for the root
+     */
+    @TempDir
+    private Path root;
+
+    /**
+     * Fake trees never carry the service environment of Kubernetes, which would mark every host as a container
+     */
+    @BeforeEach
+    void requireBareEnvironment()
+    {
+        assumeTrue(System.getenv("KUBERNETES_SERVICE_HOST") == null);
+    }
+
+    /**
+     * Limits of a container with a cgroup namespace replace host usage, page cache is left out of the working set
+     */
+    @Test
+    void readsLimitsInContainer() throws IOException
+    {
+        write("proc/self/cgroup", "0::/\n");
+        write("proc/self/mountinfo", CGROUP2_MOUNT);
+        writeCgroup("sys/fs/cgroup", "200000 100000", "1073741824");
+
+        CgroupComponent cgroupComponent = createComponent("auto", "");
+        cgroupComponent.sample(8, HOST_MEMORY);
+
+        CgroupComponent.CgroupUsage usage = cgroupComponent.getActiveUsage();
+        assertNotNull(usage);
+        assertEquals("/sys/fs/cgroup", usage.path());
+        assertEquals(2.0, usage.cpuLimit());
+        assertEquals(2.0, usage.effectiveProcessors());
+        assertEquals(1_073_741_824L, usage.memoryLimit());
+        assertEquals(536_870_912L - 134_217_728L, usage.memoryWorkingSet());
+        assertEquals(37.5, usage.memoryPercent());
+        assertTrue(Double.isNaN(usage.cpuPercent()));
+    }
+
+    /**
+     * Throttling is the delta of enforcement periods between two ticks
+     */
+    @Test
+    void derivesThrottlingFromDelta() throws IOException
+    {
+        write("proc/self/cgroup", "0::/\n");
+        write("proc/self/mountinfo", CGROUP2_MOUNT);
+        writeCgroup("sys/fs/cgroup", "200000 100000", "max");
+
+        CgroupComponent cgroupComponent = createComponent("auto", "");
+        cgroupComponent.sample(8, HOST_MEMORY);
+
+        write("sys/fs/cgroup/cpu.stat", "usage_usec 2000000\nuser_usec 1500000\nsystem_usec 500000\nnr_periods 200\nnr_throttled 35\nthrottled_usec 400000\n");
+        cgroupComponent.sample(8, HOST_MEMORY);
+
+        CgroupComponent.CgroupUsage usage = cgroupComponent.getActiveUsage();
+        assertEquals(25.0, usage.throttledPercent());
+        assertEquals(35, usage.throttledPeriods());
+        assertEquals(-1, usage.memoryLimit());
+        assertTrue(usage.cpuPercent() > 0);
+    }
+
+    /**
+     * Cgroup of a session on a bare host is found through the mount point, but does not replace host usage in auto mode
+     */
+    @Test
+    void keepsHostUsageOnBareHost() throws IOException
+    {
+        String session = "/user.slice/user-1000.slice/session-1.scope";
+
+        write("proc/self/cgroup", "0::" + session + "\n");
+        write("proc/self/mountinfo", CGROUP2_MOUNT);
+        writeCgroup("sys/fs/cgroup" + session, "max 100000", "1073741824");
+
+        CgroupComponent auto = createComponent("auto", "");
+        auto.sample(8, HOST_MEMORY);
+
+        assertEquals("/sys/fs/cgroup" + session, auto.getUsage().path());
+        assertTrue(Double.isNaN(auto.getUsage().cpuLimit()));
+        assertNull(auto.getActiveUsage());
+
+        CgroupComponent on = createComponent("on", "");
+        on.sample(8, HOST_MEMORY);
+
+        assertNotNull(on.getActiveUsage());
+    }
+
+    /**
+     * Marker file of a container runtime marks a container without a cgroup namespace
+     */
+    @Test
+    void detectsContainerByMarker() throws IOException
+    {
+        String container = "/system.slice/docker-0123abcd.scope";
+
+        write("proc/self/cgroup", "0::" + container + "\n");
+        write("proc/self/mountinfo", CGROUP2_MOUNT);
+        write(".dockerenv", "");
+        writeCgroup("sys/fs/cgroup" + container, "50000 100000", "max");
+
+        CgroupComponent cgroupComponent = createComponent("auto", "");
+        cgroupComponent.sample(8, HOST_MEMORY);
+
+        assertEquals(0.5, cgroupComponent.getActiveUsage().cpuLimit());
+        assertEquals(0.5, cgroupComponent.getActiveUsage().effectiveProcessors());
+    }
+
+    /**
+     * Configured directory is used as it is and counts as contained
+     */
+    @Test
+    void usesConfiguredPath() throws IOException
+    {
+        writeCgroup("custom/cgroup", "max 100000", "2147483648");
+
+        CgroupComponent cgroupComponent = createComponent("auto", "/custom/cgroup");
+        cgroupComponent.sample(8, HOST_MEMORY);
+
+        assertEquals("/custom/cgroup", cgroupComponent.getActiveUsage().path());
+        assertEquals(2_147_483_648L, cgroupComponent.getActiveUsage().memoryLimit());
+    }
+
+    /**
+     * Host with cgroup v1 only has no usage, as only cgroup v2 interface files are understood
+     */
+    @Test
+    void ignoresCgroupV1() throws IOException
+    {
+        write("proc/self/cgroup", "12:memory:/docker/0123abcd\n11:cpu,cpuacct:/docker/0123abcd\n1:name=systemd:/docker/0123abcd\n");
+        write("proc/self/mountinfo", "40 30 0:35 /docker/0123abcd /sys/fs/cgroup/memory ro,nosuid - cgroup cgroup rw,memory\n");
+        write(".dockerenv", "");
+        write("sys/fs/cgroup/memory/memory.limit_in_bytes", "1073741824\n");
+
+        CgroupComponent cgroupComponent = createComponent("auto", "");
+        cgroupComponent.sample(8, HOST_MEMORY);
+
+        assertNull(cgroupComponent.getUsage());
+        assertNull(cgroupComponent.getActiveUsage());
+    }
+
+    /**
+     * Off mode does not even detect the cgroup
+     */
+    @Test
+    void staysOffWhenDisabled() throws IOException
+    {
+        write("proc/self/cgroup", "0::/\n");
+        write("proc/self/mountinfo", CGROUP2_MOUNT);
+        writeCgroup("sys/fs/cgroup", "200000 100000", "1073741824");
+
+        CgroupComponent cgroupComponent = createComponent("off", "");
+        cgroupComponent.sample(8, HOST_MEMORY);
+
+        assertNull(cgroupComponent.getUsage());
+    }
+
+    /**
+     * Creates component reading the fake tree, as Spring would wire it
+     *
+     * @param mode cgroup mode, auto, on or off
+     * @param path configured cgroup directory, empty to detect it
+     * @return CgroupComponent after initialization
+     */
+    private CgroupComponent createComponent(final String mode, final String path)
+    {
+        CgroupComponent cgroupComponent = new CgroupComponent();
+        ReflectionTestUtils.setField(cgroupComponent, "pseudoFileComponent", new PseudoFileComponent(root.toString()));
+        ReflectionTestUtils.setField(cgroupComponent, "mode", mode);
+        ReflectionTestUtils.setField(cgroupComponent, "path", path);
+        cgroupComponent.initialize();
+
+        return cgroupComponent;
+    }
+
+    /**
+     * Writes interface files of a cgroup v2 directory, with half a gigabyte used and a quarter of it inactive page cache
+     *
+     * @param directory cgroup directory relative to the root
+     * @param cpuMax    content of cpu.max
+     * @param memoryMax content of memory.max
+     */
+    private void writeCgroup(final String directory, final String cpuMax, final String memoryMax) throws IOException
+    {
+        write(directory + "/cgroup.controllers", "cpuset cpu io memory pids\n");
+        write(directory + "/cpu.max", cpuMax + "\n");
+        write(directory + "/cpu.stat", "usage_usec 1000000\nuser_usec 800000\nsystem_usec 200000\nnr_periods 100\nnr_throttled 10\nthrottled_usec 50000\n");
+        write(directory + "/cpuset.cpus.effective", "0-3\n");
+        write(directory + "/memory.max", memoryMax + "\n");
+        write(directory + "/memory.current", "536870912\n");
+        write(directory + "/memory.stat", "anon 268435456\nfile 268435456\nactive_file 134217728\ninactive_file 134217728\n");
+    }
+
+    /**
+     * Writes a file of the fake tree, creating its directories
+     *
+     * @param path    path relative to the root
+     * @param content file content
+     */
+    private void write(final String path, final String content) throws IOException
+    {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
@@ -0,0 +1,166 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.dto.ProbeStatsDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CommandProbeComponentTest checks caching of command output with a fake runner, and how the process runner drops
+ * output of failing commands
+ *
+ * @version 1.0.0
+ */
+class CommandProbeComponentTest
+{
+    /**
+     * Constant for determine command of the tests
+     */
+    private static final String COMMAND = "sudo dmidecode --type memory";
+
+    /**
+     * Times the fake runner was called
+     */
+    private final AtomicInteger runs = new AtomicInteger();
+
+    /**
+     * Statistics, which record every run of the fake runner
+     */
+    private final ProbeStatsComponent probeStatsComponent = new ProbeStatsComponent();
+
+    /**
+     * Component under test, its executor is stopped after every test
+     */
+    private CommandProbeComponent commandProbeComponent;
+
+    /**
+     * Stops background refreshes
+     */
+    @AfterEach
+    void shutdown()
+    {
+        if (commandProbeComponent != null)
+        {
+            commandProbeComponent.shutdown();
+        }
+    }
+
+    /**
+     * First probe runs the command, further probes within ttl reuse its output
+     */
+    @Test
+    void cachesOutputWithinTtl()
+    {
+        createComponent((command, timeoutMillis) -> List.of("run " + runs.incrementAndGet()));
+
+        assertEquals(List.of("run 1"), commandProbeComponent.probe(COMMAND, 60_000, 1_000));
+        assertEquals(List.of("run 1"), commandProbeComponent.probe(COMMAND, 60_000, 1_000));
+        assertEquals(List.of("run 1"), commandProbeComponent.probe(COMMAND, 60_000, 1_000));
+        assertEquals(1, runs.get());
+        assertEquals(1, getStats().getCount());
+        assertEquals(0, getStats().getErrors());
+    }
+
+    /**
+     * Stale output is returned at once, while the command runs again in background
+     */
+    @Test
+    void refreshesStaleOutputInBackground() throws InterruptedException
+    {
+        CountDownLatch refreshed = new CountDownLatch(1);
+
+        createComponent((command, timeoutMillis) ->
+        {
+            int run = runs.incrementAndGet();
+
+            if (run == 2)
+            {
+                refreshed.countDown();
+            }
+
+            return List.of("run " + run);
+        });
+
+        assertEquals(List.of("run 1"), commandProbeComponent.probe(COMMAND, 0, 1_000));
+        Thread.sleep(5);
+        assertEquals(List.of("run 1"), commandProbeComponent.probe(COMMAND, 0, 1_000));
+        assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; (i < 500) && commandProbeComponent.probe(COMMAND, 60_000, 1_000).equals(List.of("run 1")); i++)
+        {
+            Thread.sleep(10);
+        }
+
+        assertEquals(List.of("run 2"), commandProbeComponent.probe(COMMAND, 60_000, 1_000));
+    }
+
+    /**
+     * Empty output counts as a failure of the probe
+     */
+    @Test
+    void recordsEmptyOutputAsFailure()
+    {
+        createComponent((command, timeoutMillis) -> List.of());
+
+        assertEquals(List.of(), commandProbeComponent.probe(COMMAND, 60_000, 1_000));
+        assertEquals(1, getStats().getErrors());
+    }
+
+    /**
+     * Process runner keeps output of a successful command
+     */
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    void keepsOutputOfSuccessfulCommand()
+    {
+        assertEquals(List.of("3200"), new ProcessCommandRunner().run("echo 3200", 5_000));
+    }
+
+    /**
+     * Process runner drops output of a command which exits with a failure, or which is killed on timeout
+     */
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    void dropsOutputOfFailingCommand()
+    {
+        ProcessCommandRunner processCommandRunner = new ProcessCommandRunner();
+        long start = System.nanoTime();
+
+        assertEquals(List.of(), processCommandRunner.run("ls /missing-directory-of-ward", 5_000));
+        assertEquals(List.of(), processCommandRunner.run("sleep 10", 200));
+        assertEquals(List.of(), processCommandRunner.run("missing-command-of-ward", 5_000));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    }
+
+    /**
+     * Creates component with fake runner, as Spring would wire it
+     *
+     * @param commandRunner fake runner
+     */
+    private void createComponent(final CommandRunner commandRunner)
+    {
+        commandProbeComponent = new CommandProbeComponent();
+        ReflectionTestUtils.setField(commandProbeComponent, "commandRunner", commandRunner);
+        ReflectionTestUtils.setField(commandProbeComponent, "probeStatsComponent", probeStatsComponent);
+    }
+
+    /**
+     * Gets statistics of the command of the tests
+     *
+     * @return ProbeStatsDto of the command
+     */
+    private ProbeStatsDto getStats()
+    {
+        return probeStatsComponent.getStats().stream().filter(stats -> stats.getName().equals("command." + COMMAND)).findFirst().orElseThrow();
+    }
+}
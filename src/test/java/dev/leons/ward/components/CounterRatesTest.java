@@ -0,0 +1,177 @@
+package dev.leons.ward.components;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CounterRatesTest checks increase of counters across wraps and resets, and rates derived from it
+ *
+ * @version 1.0.0
+ */
+class CounterRatesTest
+{
+    /**
+     * Constant for determine modulus of 32 bit counters
+     */
+    private static final long WRAP_32 = 1L << 32;
+
+    /**
+     * Constant for determine one second, in nanoseconds
+     */
+    private static final long SECOND = 1_000_000_000L;
+
+    /**
+     * Increasing and steady counters give their difference
+     */
+    @Test
+    void deltaOfIncrease()
+    {
+        assertEquals(0, CounterRates.delta(100, 100));
+        assertEquals(50, CounterRates.delta(100, 150));
+        assertEquals(WRAP_32 * 4, CounterRates.delta(WRAP_32, WRAP_32 * 5));
+    }
+
+    /**
+     * Counter going backwards from the top quarter of 32 bits wrapped around
+     */
+    @Test
+    void deltaOfWrap()
+    {
+        assertEquals(20, CounterRates.delta(WRAP_32 - 10, 10));
+        assertEquals(WRAP_32 / 4 + 5, CounterRates.delta(WRAP_32 - WRAP_32 / 4, 5));
+    }
+
+    /**
+     * Counter going backwards from anywhere else was reset, as do 64 bit counters which never wrap in practice
+     */
+    @Test
+    void deltaOfReset()
+    {
+        assertTrue(Double.isNaN(CounterRates.delta(1_000_000, 10)));
+        assertTrue(Double.isNaN(CounterRates.delta(WRAP_32 - WRAP_32 / 4 - 1, 10)));
+        assertTrue(Double.isNaN(CounterRates.delta(WRAP_32, 10)));
+        assertTrue(Double.isNaN(CounterRates.delta(Long.MAX_VALUE, 10)));
+    }
+
+    /**
+     * Negative counters are unsupported
+     */
+    @Test
+    void deltaOfUnsupported()
+    {
+        assertTrue(Double.isNaN(CounterRates.delta(-1, 10)));
+        assertTrue(Double.isNaN(CounterRates.delta(10, -1)));
+        assertTrue(Double.isNaN(CounterRates.delta(-1, -1)));
+    }
+
+    /**
+     * Rates are NaN after the first reading, then increase per second, a reset gives NaN for a single tick
+     */
+    @Test
+    void ratesAcrossTicks()
+    {
+        CounterRates counterRates = new CounterRates(2, 0);
+
+        tick(counterRates, 0, "eth0", 1000, -1);
+        assertArrayEquals(new double[] {Double.NaN, Double.NaN}, read(counterRates).get("eth0"));
+
+        tick(counterRates, 2 * SECOND, "eth0", 3000, -1);
+        assertArrayEquals(new double[] {1000, Double.NaN}, read(counterRates).get("eth0"));
+
+        tick(counterRates, 3 * SECOND, "eth0", 10, -1);
+        assertTrue(Double.isNaN(read(counterRates).get("eth0")[0]));
+
+        tick(counterRates, 4 * SECOND, "eth0", 510, -1);
+        assertEquals(500, read(counterRates).get("eth0")[0]);
+    }
+
+    /**
+     * Wrap of a 32 bit counter keeps the rate going
+     */
+    @Test
+    void rateAcrossWrap()
+    {
+        CounterRates counterRates = new CounterRates(1, 0);
+
+        tick(counterRates, 0, "eth0", WRAP_32 - 100);
+        tick(counterRates, SECOND, "eth0", 300);
+
+        assertEquals(400, read(counterRates).get("eth0")[0]);
+    }
+
+    /**
+     * Smoothed rate moves towards the current rate by the weight of the elapsed time
+     */
+    @Test
+    void smoothesRates()
+    {
+        CounterRates counterRates = new CounterRates(1, 1000);
+
+        tick(counterRates, 0, "sda", 0);
+        tick(counterRates, SECOND, "sda", 100);
+        assertEquals(100, read(counterRates).get("sda")[0]);
+
+        tick(counterRates, 2 * SECOND, "sda", 100);
+        assertEquals(100 * Math.exp(-1), read(counterRates).get("sda")[0], 1E-9);
+    }
+
+    /**
+     * Devices which were not updated during a tick are dropped, devices which come back start without rates
+     */
+    @Test
+    void dropsMissingDevices()
+    {
+        CounterRates counterRates = new CounterRates(1, 0);
+
+        counterRates.begin(0);
+        counterRates.update("eth0", new long[] {0});
+        counterRates.update("wlan0", new long[] {0});
+        counterRates.end();
+
+        tick(counterRates, SECOND, "eth0", 100);
+        assertEquals(1, read(counterRates).size());
+
+        counterRates.begin(2 * SECOND);
+        counterRates.update("eth0", new long[] {200});
+        counterRates.update("wlan0", new long[] {500});
+        counterRates.end();
+
+        assertEquals(100, read(counterRates).get("eth0")[0]);
+        assertTrue(Double.isNaN(read(counterRates).get("wlan0")[0]));
+    }
+
+    /**
+     * Runs a tick with a single device
+     *
+     * @param counterRates rates to update
+     * @param nanos        timestamp of the tick, in nanoseconds
+     * @param name         device name
+     * @param counters     current counters
+     */
+    private void tick(final CounterRates counterRates, final long nanos, final String name, final long... counters)
+    {
+        counterRates.begin(nanos);
+        counterRates.update(name, counters);
+        counterRates.end();
+    }
+
+    /**
+     * Copies rates of every device
+     *
+     * @param counterRates rates to read
+     * @return Map of rates by device name
+     */
+    private Map<String, double[]> read(final CounterRates counterRates)
+    {
+        Map<String, double[]> rates = new LinkedHashMap<>();
+        counterRates.read((name, deviceRates) -> rates.put(name, deviceRates.clone()));
+
+        return rates;
+    }
+}
@@ -0,0 +1,210 @@
+package dev.leons.ward.components;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * NativeMetricsProbeTest checks procfs parsing against a fake tree in a temporary directory
+ *
+ * @version 1.0.0
+ */
+class NativeMetricsProbeTest
+{
+    /**
+     * Constant for determine clock ticks per second of the fake tree
+     */
+    private static final long USER_HZ = 100;
+
+    /**
+     * Constant for determine page size of the fake tree, in bytes
+     */
+    private static final long PAGE_SIZE = 4096;
+
+    /**
+     * Temporary directory standing in for the root
+     */
+    @TempDir
+    private Path root;
+
+    /**
+     * Aggregated and per processor ticks are converted to milliseconds
+     */
+    @Test
+    void readsProcessorTicks() throws IOException
+    {
+        write("proc/stat", """
+                cpu  100 2 50 1000 10 1 5 3 0 0
+                cpu0 60 1 30 500 5 1 3 2 0 0
+                cpu1 40 1 20 500 5 0 2 1 0 0
+                intr 12345 0 0
+                """);
+
+        NativeMetricsProbe probe = createProbe();
+        long[] ticks = new long[8];
+        long[][] coreTicks = new long[2][8];
+
+        probe.readProcessorTicks(ticks);
+
+        assertArrayEquals(new long[]{1000, 20, 500, 10_000, 100, 10, 50, 30}, ticks);
+        assertEquals(2, probe.readCoreTicks(coreTicks));
+        assertArrayEquals(new long[]{400, 10, 200, 5000, 50, 0, 20, 10}, coreTicks[1]);
+    }
+
+    /**
+     * Available memory is taken from MemAvailable, swap usage is total minus free
+     */
+    @Test
+    void readsMemory() throws IOException
+    {
+        write("proc/meminfo", """
+                MemTotal:       16000000 kB
+                MemFree:         1000000 kB
+                MemAvailable:    8000000 kB
+                Buffers:          200000 kB
+                Cached:          3000000 kB
+                SwapCached:         1000 kB
+                SwapTotal:       2000000 kB
+                SwapFree:        1500000 kB
+                """);
+
+        long[] memory = new long[MetricsProbe.MEMORY_SIZE];
+        createProbe().readMemory(memory);
+
+        assertEquals(16_000_000L * 1024, memory[MetricsProbe.MEMORY_TOTAL]);
+        assertEquals(8_000_000L * 1024, memory[MetricsProbe.MEMORY_AVAILABLE]);
+        assertEquals(2_000_000L * 1024, memory[MetricsProbe.SWAP_TOTAL]);
+        assertEquals(500_000L * 1024, memory[MetricsProbe.SWAP_USED]);
+    }
+
+    /**
+     * Kernels without MemAvailable estimate available memory from free memory, buffers and page cache
+     */
+    @Test
+    void estimatesAvailableMemoryOnOldKernels() throws IOException
+    {
+        write("proc/meminfo", """
+                MemTotal:       16000000 kB
+                MemFree:         1000000 kB
+                Buffers:          200000 kB
+                Cached:          3000000 kB
+                SwapCached:         1000 kB
+                SwapTotal:             0 kB
+                SwapFree:              0 kB
+                """);
+
+        long[] memory = new long[MetricsProbe.MEMORY_SIZE];
+        createProbe().readMemory(memory);
+
+        assertEquals(4_200_000L * 1024, memory[MetricsProbe.MEMORY_AVAILABLE]);
+        assertEquals(0, memory[MetricsProbe.SWAP_USED]);
+    }
+
+    /**
+     * Interface counters are parsed from both halves of every line, names are reused between reads
+     */
+    @Test
+    void readsNetwork() throws IOException
+    {
+        write("proc/net/dev", """
+                Inter-|   Receive                                                |  Transmit
+                 face |bytes    packets errs drop fifo frame compressed multicast|bytes    packets errs drop fifo colls carrier compressed
+                    lo:    1000      10    0    0    0     0          0         0     1000      10    0    0    0     0       0          0
+                  eth0: 5000000    4000    1    2    0     0          0         7  3000000    2500    3    4    0     0       0          0
+                """);
+
+        NativeMetricsProbe probe = createProbe();
+        List<String> names = new ArrayList<>();
+        List<long[]> counters = new ArrayList<>();
+
+        probe.readNetwork((name, bytesRecv, packetsRecv, inErrors, inDrops, bytesSent, packetsSent, outErrors, outDrops) ->
+        {
+            names.add(name);
+            counters.add(new long[]{bytesRecv, packetsRecv, inErrors, inDrops, bytesSent, packetsSent, outErrors, outDrops});
+        });
+
+        assertEquals(List.of("lo", "eth0"), names);
+        assertArrayEquals(new long[]{5_000_000, 4000, 1, 2, 3_000_000, 2500, 3, 4}, counters.get(1));
+
+        List<String> namesAgain = new ArrayList<>();
+        probe.readNetwork((name, bytesRecv, packetsRecv, inErrors, inDrops, bytesSent, packetsSent, outErrors, outDrops) -> namesAgain.add(name));
+
+        assertSame(names.get(1), namesAgain.get(1));
+    }
+
+    /**
+     * Only whole disks listed in /sys/block are read, loop devices and partitions are skipped
+     */
+    @Test
+    void readsDisks() throws IOException
+    {
+        Files.createDirectories(root.resolve("sys/block/sda"));
+        Files.createDirectories(root.resolve("sys/block/loop0"));
+        write("proc/diskstats", """
+                   7       0 loop0 100 0 200 10 0 0 0 0 0 10 10 0 0 0 0
+                   8       0 sda 1000 50 20000 300 500 20 8000 200 2 400 600 0 0 0 0
+                   8       1 sda1 900 50 18000 280 500 20 8000 200 0 380 580 0 0 0 0
+                """);
+
+        List<String> names = new ArrayList<>();
+        List<long[]> counters = new ArrayList<>();
+
+        createProbe().readDisks((name, reads, readBytes, readMillis, writes, writeBytes, writeMillis, queueLength, ioMillis, weightedMillis) ->
+        {
+            names.add(name);
+            counters.add(new long[]{reads, readBytes, readMillis, writes, writeBytes, writeMillis, queueLength, ioMillis, weightedMillis});
+        });
+
+        assertEquals(List.of("sda"), names);
+        assertArrayEquals(new long[]{1000, 20000 * 512, 300, 500, 8000 * 512, 200, 2, 400, 600}, counters.get(0));
+    }
+
+    /**
+     * Process names with spaces and parentheses are read whole, other /proc entries are skipped
+     */
+    @Test
+    void readsProcesses() throws IOException
+    {
+        write("proc/self/stat", "1 (init) S 0 1 1 0 -1 4194560 1 2 3 4 50 25 0 0 20 0 1 0 10 1000 10\n");
+        write("proc/4242/stat", "4242 (my (odd) proc) R 1 4242 4242 0 -1 4194304 100 0 0 0 300 200 0 0 20 0 4 0 5000 123456789 250\n");
+
+        List<String> read = new ArrayList<>();
+
+        createProbe().readProcesses(pid -> null, (pid, name, state, cpuMillis, startTime, residentBytes, threads) ->
+                read.add(pid + " " + name + " " + state + " " + cpuMillis + " " + startTime + " " + residentBytes + " " + threads));
+
+        assertEquals(List.of("4242 my (odd) proc R 5000 5000 " + 250 * PAGE_SIZE + " 4"), read);
+    }
+
+    /**
+     * Creates probe reading the fake tree
+     *
+     * @return NativeMetricsProbe with fixed USER_HZ and page size
+     */
+    private NativeMetricsProbe createProbe()
+    {
+        return new NativeMetricsProbe(new PseudoFileComponent(root.toString()), USER_HZ, PAGE_SIZE);
+    }
+
+    /**
+     * Writes a file of the fake tree, creating its directories
+     *
+     * @param path    path relative to the root
+     * @param content file content
+     */
+    private void write(final String path, final String content) throws IOException
+    {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
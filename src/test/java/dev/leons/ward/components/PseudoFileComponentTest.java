@@ -0,0 +1,231 @@
+package dev.leons.ward.components;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SecureDirectoryStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * PseudoFileComponentTest checks reading and in-place parsing of pseudo files, with a temporary directory as root
+ *
+ * @version 1.0.0
+ */
+class PseudoFileComponentTest
+{
+    /**
+     * Temporary directory standing in for the root
+     */
+    @TempDir
+    private Path root;
+
+    /**
+     * First integer of a file is read, missing files and files without digits give the default value
+     */
+    @Test
+    void readsLong() throws IOException
+    {
+        write("sys/class/thermal/thermal_zone0/temp", "45000\n");
+        write("sys/fs/cgroup/memory.min", "-17\n");
+        write("sys/fs/cgroup/memory.max", "max\n");
+
+        PseudoFileComponent pseudoFileComponent = new PseudoFileComponent(root.toString());
+
+        assertEquals(45000, pseudoFileComponent.readLong("/sys/class/thermal/thermal_zone0/temp", -1));
+        assertEquals(-17, pseudoFileComponent.readLong("/sys/fs/cgroup/memory.min", 0));
+        assertEquals(-1, pseudoFileComponent.readLong("/sys/fs/cgroup/memory.max", -1));
+        assertEquals(-1, pseudoFileComponent.readLong("/sys/fs/cgroup/missing", -1));
+    }
+
+    /**
+     * Strings are trimmed, lines are split with or without trailing newline
+     */
+    @Test
+    void readsStringsAndLines() throws IOException
+    {
+        write("sys/class/hwmon/hwmon0/name", "coretemp\n");
+        write("proc/self/cgroup", "0::/\n1:name=systemd:/init.scope");
+
+        PseudoFileComponent pseudoFileComponent = new PseudoFileComponent(root.toString());
+
+        assertEquals("coretemp", pseudoFileComponent.readString("/sys/class/hwmon/hwmon0/name"));
+        assertNull(pseudoFileComponent.readString("/sys/class/hwmon/hwmon1/name"));
+        assertEquals(List.of("0::/", "1:name=systemd:/init.scope"), pseudoFileComponent.readLines("/proc/self/cgroup"));
+        assertEquals(List.of(), pseudoFileComponent.readLines("/proc/self/missing"));
+    }
+
+    /**
+     * Files larger than the initial buffer are read completely
+     */
+    @Test
+    void growsBuffer() throws IOException
+    {
+        StringBuilder content = new StringBuilder();
+
+        for (int i = 0; i < 20_000; i++)
+        {
+            content.append("line ").append(i).append('\n');
+        }
+
+        write("proc/large", content.toString());
+
+        List<String> lines = new PseudoFileComponent(root.toString()).readLines("/proc/large");
+
+        assertEquals(20_000, lines.size());
+        assertEquals("line 19999", lines.get(19_999));
+    }
+
+    /**
+     * Integers are parsed line by line, end of a line gives -1 until cursor moves to next line
+     */
+    @Test
+    void parsesIntegersByLine() throws IOException
+    {
+        write("proc/stat", "cpu  10 20 30\ncpu0 1 2\nintr 99");
+
+        PseudoFileComponent pseudoFileComponent = new PseudoFileComponent(root.toString());
+        List<Long> values = new ArrayList<>();
+
+        assertTrue(pseudoFileComponent.parse("/proc/stat", cursor ->
+        {
+            assertTrue(cursor.startsWith("cpu "));
+            cursor.skip(3);
+
+            for (long value = cursor.nextLong(); value >= 0; value = cursor.nextLong())
+            {
+                values.add(value);
+            }
+
+            cursor.nextLine();
+            assertTrue(cursor.startsWith("cpu0"));
+            assertFalse(cursor.startsWith("cpu "));
+
+            // Digit of the device name is skipped, as parsing starts after it
+            cursor.skip(4);
+            values.add(cursor.nextLong());
+            values.add(cursor.nextLong());
+            values.add(cursor.nextLong());
+
+            cursor.nextLine();
+            assertTrue(cursor.startsWith("intr"));
+            values.add(cursor.nextLong());
+            values.add(cursor.nextLong());
+
+            cursor.nextLine();
+            assertFalse(cursor.hasRemaining());
+            assertFalse(cursor.startsWith("intr"));
+        }));
+
+        assertEquals(List.of(10L, 20L, 30L, 1L, 2L, -1L, 99L, -1L), values);
+        assertFalse(pseudoFileComponent.parse("/proc/missing", cursor -> values.clear()));
+        assertEquals(8, values.size());
+    }
+
+    /**
+     * Tokens end at whitespace or colon, equal tokens reuse the previous string
+     */
+    @Test
+    void parsesTokens() throws IOException
+    {
+        write("proc/net/dev", "  eth0: 1500 12\n\tlo:0\n");
+
+        PseudoFileComponent pseudoFileComponent = new PseudoFileComponent(root.toString());
+        String previous = new String("eth0");
+
+        pseudoFileComponent.parse("/proc/net/dev", cursor ->
+        {
+            String name = cursor.nextToken(previous);
+
+            assertSame(previous, name);
+            assertEquals(1500, cursor.nextLong());
+            assertEquals("12", cursor.nextToken(null));
+            assertEquals("", cursor.nextToken("eth0"));
+
+            cursor.nextLine();
+            assertEquals("lo", cursor.nextToken("eth0"));
+            assertEquals(0, cursor.nextLong());
+        });
+    }
+
+    /**
+     * Process name is the text between the first opening and the last closing parenthesis, followed by the state letter
+     */
+    @Test
+    void parsesEnclosedNameAndState() throws IOException
+    {
+        write("proc/42/stat", "42 (my (odd) name) S 1 42 42\n43 no name here\n");
+
+        PseudoFileComponent pseudoFileComponent = new PseudoFileComponent(root.toString());
+        String previous = new String("my (odd) name");
+
+        pseudoFileComponent.parse("/proc/42/stat", cursor ->
+        {
+            assertEquals(42, cursor.nextLong());
+            assertSame(previous, cursor.nextEnclosed(previous));
+            assertEquals('S', cursor.nextChar());
+            assertEquals(1, cursor.nextLong());
+
+            cursor.nextLine();
+            assertEquals("", cursor.nextEnclosed(null));
+            assertEquals(43, cursor.nextLong());
+            assertEquals('n', cursor.nextChar());
+            assertTrue(cursor.startsWith(" name"));
+        });
+
+        pseudoFileComponent.parse("/proc/42/stat", cursor ->
+        {
+            cursor.nextLong();
+            assertEquals("my (odd) name", cursor.nextEnclosed("other name"));
+        });
+    }
+
+    /**
+     * Files of an open directory are read relative to its handle
+     */
+    @Test
+    void readsThroughDirectoryHandle() throws IOException
+    {
+        write("sys/fs/cgroup/system.slice/pids.current", "12\n");
+        write("sys/fs/cgroup/system.slice/cpu.stat", "usage_usec 500\n");
+
+        PseudoFileComponent pseudoFileComponent = new PseudoFileComponent(root.toString());
+        SecureDirectoryStream<Path> directory = pseudoFileComponent.openDirectory("/sys/fs/cgroup/system.slice");
+        assumeTrue(directory != null);
+
+        try (directory)
+        {
+            long[] usage = {-1};
+
+            assertEquals(12, pseudoFileComponent.readLong(directory, Path.of("pids.current"), -1));
+            assertEquals(-1, pseudoFileComponent.readLong(directory, Path.of("pids.max"), -1));
+            assertTrue(pseudoFileComponent.parse(directory, Path.of("cpu.stat"), cursor -> usage[0] = cursor.nextLong()));
+            assertEquals(500, usage[0]);
+        }
+
+        assertNull(pseudoFileComponent.openDirectory("/sys/fs/cgroup/missing.slice"));
+    }
+
+    /**
+     * Writes a file of the fake tree, creating its directories
+     *
+     * @param path    path relative to the root
+     * @param content file content
+     */
+    private void write(final String path, final String content) throws IOException
+    {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
@@ -0,0 +1,263 @@
+package dev.leons.ward.components;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SampleBatchTest checks that batches survive encoding, and that receivers cope with agents of other versions
+ *
+ * @version 1.0.0
+ */
+class SampleBatchTest
+{
+    /**
+     * Constant for determine batch signature, "WSB1"
+     */
+    private static final int MAGIC = 0x57534231;
+
+    /**
+     * Constant for determine timestamp of the first sample, in epoch milliseconds
+     */
+    private static final long START = 1_700_000_000_000L;
+
+    /**
+     * Deltas of every size and sign, unknown values and extremes survive the zigzag varint round trip
+     */
+    @Test
+    void roundTripsValues() throws IOException
+    {
+        long[] extremes = {0, 1, -1, 63, -64, 64, -65, 8191, -8192, 8192, Integer.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, SampleBatch.UNKNOWN};
+        int count = extremes.length;
+        long[] timestamps = new long[count];
+        long[] values = new long[count * SampleBatch.FIELDS];
+
+        for (int sample = 0; sample < count; sample++)
+        {
+            // Timestamps go backwards once, as a clock step would
+            timestamps[sample] = START + ((sample == 5) ? -5000 : sample * 1000L);
+
+            for (int field = 0; field < SampleBatch.FIELDS; field++)
+            {
+                values[sample * SampleBatch.FIELDS + field] = extremes[(sample + field) % count];
+            }
+        }
+
+        SampleBatch decoded = SampleBatch.decode(new SampleBatch("agent-1", 10_000, count, timestamps, values).encode());
+
+        assertEquals("agent-1", decoded.getAgent());
+        assertEquals(10_000, decoded.getPushInterval());
+        assertEquals(count, decoded.getCount());
+
+        for (int sample = 0; sample < count; sample++)
+        {
+            assertEquals(timestamps[sample], decoded.getTimestamp(sample));
+
+            for (int field = 0; field < SampleBatch.FIELDS; field++)
+            {
+                assertEquals(values[sample * SampleBatch.FIELDS + field], decoded.getValue(sample, field));
+            }
+        }
+    }
+
+    /**
+     * Batch larger than the initial capacity of decoding decodes completely
+     */
+    @Test
+    void roundTripsLargeBatch() throws IOException
+    {
+        int count = 1000;
+        long[] timestamps = new long[count];
+        long[] values = new long[count * SampleBatch.FIELDS];
+
+        for (int sample = 0; sample < count; sample++)
+        {
+            timestamps[sample] = START + sample * 1000L;
+            values[sample * SampleBatch.FIELDS + SampleBatch.PROCESSOR] = sample % 10_000;
+            values[sample * SampleBatch.FIELDS + SampleBatch.DISK_WRITE] = sample * 1_000_000L;
+        }
+
+        SampleBatch decoded = SampleBatch.decode(new SampleBatch("agent-1", 10_000, count, timestamps, values).encode());
+
+        assertEquals(count, decoded.getCount());
+        assertEquals(timestamps[count - 1], decoded.getTimestamp(count - 1));
+        assertEquals(999_000_000L, decoded.getValue(count - 1, SampleBatch.DISK_WRITE));
+    }
+
+    /**
+     * Fields added by a newer agent are skipped, without shifting the fields the receiver knows
+     */
+    @Test
+    void skipsFieldsOfNewerAgent() throws IOException
+    {
+        int fields = SampleBatch.FIELDS + 3;
+        long[][] samples = new long[2][fields];
+
+        for (int field = 0; field < fields; field++)
+        {
+            samples[0][field] = field * 100L;
+            samples[1][field] = field * 100L + ((field % 2 == 0) ? 7 : -7);
+        }
+
+        SampleBatch decoded = SampleBatch.decode(encode("agent-new", fields, samples));
+
+        assertEquals(2, decoded.getCount());
+        assertEquals(START + 1000, decoded.getTimestamp(1));
+
+        for (int field = 0; field < SampleBatch.FIELDS; field++)
+        {
+            assertEquals(samples[0][field], decoded.getValue(0, field));
+            assertEquals(samples[1][field], decoded.getValue(1, field));
+        }
+    }
+
+    /**
+     * Fields unknown to an older agent decode as unknown
+     */
+    @Test
+    void fillsFieldsMissingFromOlderAgent() throws IOException
+    {
+        SampleBatch decoded = SampleBatch.decode(encode("agent-old", 2, new long[][]{{5000, 2500}}));
+
+        assertEquals(5000, decoded.getValue(0, SampleBatch.PROCESSOR));
+        assertEquals(2500, decoded.getValue(0, SampleBatch.RAM));
+
+        for (int field = SampleBatch.STORAGE; field < SampleBatch.FIELDS; field++)
+        {
+            assertEquals(SampleBatch.UNKNOWN, decoded.getValue(0, field));
+        }
+    }
+
+    /**
+     * Header claiming the maximal amount of samples without sending them fails on the missing samples
+     */
+    @Test
+    void rejectsTruncatedBatch() throws IOException
+    {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+
+        try (DataOutputStream output = new DataOutputStream(new GZIPOutputStream(byteArrayOutputStream)))
+        {
+            output.writeInt(MAGIC);
+            output.writeUTF("agent-liar");
+            writeVarLong(output, 10_000);
+            writeVarLong(output, SampleBatch.MAX_SAMPLES);
+            writeVarLong(output, SampleBatch.FIELDS);
+            output.writeLong(START);
+            writeVarLong(output, 0);
+        }
+
+        assertThrows(IOException.class, () -> SampleBatch.decode(byteArrayOutputStream.toByteArray()));
+    }
+
+    /**
+     * Header with too many samples or fields, or a foreign signature, is rejected
+     */
+    @Test
+    void rejectsMalformedHeader() throws IOException
+    {
+        assertThrows(IOException.class, () -> SampleBatch.decode(encode("agent-1", 65, new long[0][])));
+        assertThrows(IOException.class, () -> SampleBatch.decode(encode(" ", 1, new long[0][])));
+        assertThrows(IOException.class, () -> SampleBatch.decode(new byte[]{1, 2, 3}));
+    }
+
+    /**
+     * Agent name longer than the limit is rejected, a name of exactly the limit is accepted
+     */
+    @Test
+    void limitsAgentName() throws IOException
+    {
+        String longest = "a".repeat(SampleBatch.MAX_AGENT_LENGTH);
+
+        assertEquals(longest, SampleBatch.decode(encode(longest, 1, new long[0][])).getAgent());
+        assertThrows(IOException.class, () -> SampleBatch.decode(encode(longest + "a", 1, new long[0][])));
+    }
+
+    /**
+     * Quantized percents keep two decimals, unknown values stay unknown
+     */
+    @Test
+    void quantizesValues()
+    {
+        assertEquals(4213, SampleBatch.quantize(SampleBatch.PROCESSOR, 42.125));
+        assertEquals(42.13, SampleBatch.restore(SampleBatch.PROCESSOR, 4213));
+        assertEquals(1_500_000, SampleBatch.quantize(SampleBatch.NETWORK_SEND, 1_500_000.4));
+        assertEquals(SampleBatch.UNKNOWN, SampleBatch.quantize(SampleBatch.RAM, Double.NaN));
+        assertTrue(Double.isNaN(SampleBatch.restore(SampleBatch.RAM, SampleBatch.UNKNOWN)));
+    }
+
+    /**
+     * Encodes batch the way an agent with another amount of fields would, samples are a second apart
+     *
+     * @param agent   agent name
+     * @param fields  amount of fields per sample
+     * @param samples quantized values of every sample, fields long each
+     * @return byte array with gzipped batch
+     */
+    private static byte[] encode(final String agent, final int fields, final long[][] samples) throws IOException
+    {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+
+        try (DataOutputStream output = new DataOutputStream(new GZIPOutputStream(byteArrayOutputStream)))
+        {
+            output.writeInt(MAGIC);
+            output.writeUTF(agent);
+            writeVarLong(output, 10_000);
+            writeVarLong(output, samples.length);
+            writeVarLong(output, fields);
+            output.writeLong(START);
+
+            long[] previous = new long[fields];
+
+            for (int sample = 0; sample < samples.length; sample++)
+            {
+                writeVarLong(output, (sample == 0) ? 0 : zigzag(1000));
+
+                for (int field = 0; field < fields; field++)
+                {
+                    writeVarLong(output, zigzag(samples[sample][field] - previous[field]));
+                    previous[field] = samples[sample][field];
+                }
+            }
+        }
+
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    /**
+     * Maps signed value to unsigned, as agents do
+     *
+     * @param value signed value
+     * @return long with zigzag encoded value
+     */
+    private static long zigzag(final long value)
+    {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Writes value as varint, as agents do
+     *
+     * @param output target output
+     * @param value  unsigned value
+     */
+    private static void writeVarLong(final DataOutputStream output, final long value) throws IOException
+    {
+        long remaining = value;
+
+        while ((remaining & ~0x7FL) != 0)
+        {
+            output.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+
+        output.writeByte((int) remaining);
+    }
+}
@@ -0,0 +1,252 @@
+package dev.leons.ward.components;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SeriesSegmentTest checks that Gorilla encoded samples decode to exactly what was appended
+ *
+ * @version 1.0.0
+ */
+class SeriesSegmentTest
+{
+    /**
+     * Constant for determine start of every test series, in epoch milliseconds
+     */
+    private static final long START = 1_700_000_000_000L;
+
+    /**
+     * Temporary directory for segment files
+     */
+    @TempDir
+    private Path directory;
+
+    /**
+     * Delta-of-delta on and around every encoding boundary survives the round trip
+     */
+    @Test
+    void roundTripsEdgeDeltas() throws IOException
+    {
+        long[] deltasOfDeltas = {0, 1, -1, 63, -64, 64, -65, 255, -256, 256, -257, 2047, -2048, 2048, -2049, 86_400_000, -86_400_000};
+        List<Sample> expected = new ArrayList<>();
+        long timestamp = START + 1_000_000;
+        long delta = 100_000_000;
+
+        expected.add(new Sample(timestamp, Double.doubleToRawLongBits(1.0)));
+
+        for (long deltaOfDelta : deltasOfDeltas)
+        {
+            delta += deltaOfDelta;
+            timestamp += delta;
+            expected.add(new Sample(timestamp, Double.doubleToRawLongBits(expected.size())));
+        }
+
+        assertRoundTrip(expected);
+    }
+
+    /**
+     * Special and repeated values keep their exact bits, including NaN and signed zero
+     */
+    @Test
+    void roundTripsSpecialValues() throws IOException
+    {
+        double[] values = {42.5, 42.5, 42.5, Double.NaN, Double.NaN, 0.0, -0.0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                Double.MIN_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, 1E-300, 0.1, 0.1, 0.2, 42.5};
+        List<Sample> expected = new ArrayList<>();
+
+        for (int i = 0; i < values.length; i++)
+        {
+            expected.add(new Sample(START + i * 1000L, Double.doubleToRawLongBits(values[i])));
+        }
+
+        assertRoundTrip(expected);
+    }
+
+    /**
+     * Full segment refuses samples, every accepted sample decodes and the next segment continues the series
+     */
+    @Test
+    void rollsOverWhenFull() throws IOException
+    {
+        SeriesSegment first = SeriesSegment.create(directory.resolve("first"), START, 256);
+        List<Sample> expected = new ArrayList<>();
+        long timestamp = START;
+
+        while (first.append(timestamp, Math.sin(timestamp)))
+        {
+            expected.add(new Sample(timestamp, Double.doubleToRawLongBits(Math.sin(timestamp))));
+            timestamp += 1000;
+        }
+
+        assertTrue(expected.size() > 1);
+        assertFalse(first.append(timestamp, 0));
+
+        SeriesSegment second = SeriesSegment.create(directory.resolve("second"), timestamp, 256);
+        assertTrue(second.append(timestamp, Math.sin(timestamp)));
+        first.force();
+        second.force();
+
+        assertEquals(expected, decode(SeriesSegment.open(directory.resolve("first"))));
+        assertEquals(List.of(new Sample(timestamp, Double.doubleToRawLongBits(Math.sin(timestamp)))),
+                decode(SeriesSegment.open(directory.resolve("second"))));
+    }
+
+    /**
+     * Range bounds are inclusive and samples outside are left out
+     */
+    @Test
+    void readsRange() throws IOException
+    {
+        SeriesSegment segment = SeriesSegment.create(directory.resolve("range"), START, 4096);
+
+        for (int i = 0; i < 10; i++)
+        {
+            segment.append(START + i * 1000L, i);
+        }
+
+        List<Double> values = new ArrayList<>();
+        segment.read(START + 2000, START + 5000, (timestamp, value) -> values.add(value));
+
+        assertEquals(List.of(2.0, 3.0, 4.0, 5.0), values);
+    }
+
+    /**
+     * Reading segments one after another reuses the buffer while committed samples fit, and grows it when they do not
+     */
+    @Test
+    void reusesReadBuffer() throws IOException
+    {
+        List<Sample> small = new ArrayList<>();
+        List<Sample> large = new ArrayList<>();
+        SeriesSegment smallSegment = SeriesSegment.create(directory.resolve("small"), START, 64 * 1024);
+        SeriesSegment largeSegment = SeriesSegment.create(directory.resolve("large"), START, 64 * 1024);
+
+        for (int i = 0; i < 1000; i++)
+        {
+            long timestamp = START + i * 1000L;
+
+            if (i < 10)
+            {
+                smallSegment.append(timestamp, i);
+                small.add(new Sample(timestamp, Double.doubleToRawLongBits(i)));
+            }
+
+            largeSegment.append(timestamp, Math.sin(i));
+            large.add(new Sample(timestamp, Double.doubleToRawLongBits(Math.sin(i))));
+        }
+
+        smallSegment.force();
+        largeSegment.force();
+
+        SeriesSegment first = SeriesSegment.open(directory.resolve("large"));
+        SeriesSegment second = SeriesSegment.open(directory.resolve("small"), first.getBuffer());
+        assertSame(first.getBuffer(), second.getBuffer());
+        assertEquals(small, decode(second));
+
+        SeriesSegment third = SeriesSegment.open(directory.resolve("large"), second.getBuffer());
+        assertEquals(large, decode(third));
+
+        SeriesSegment fourth = SeriesSegment.open(directory.resolve("large"), SeriesSegment.open(directory.resolve("small")).getBuffer());
+        assertNotSame(second.getBuffer(), fourth.getBuffer());
+        assertEquals(large, decode(fourth));
+    }
+
+    /**
+     * Header claiming more samples than were committed fails without reading past the committed bits
+     */
+    @Test
+    void rejectsCorruptCount() throws IOException
+    {
+        Path path = directory.resolve("corrupt");
+        SeriesSegment segment = SeriesSegment.create(path, START, 4096);
+
+        for (int i = 0; i < 5; i++)
+        {
+            segment.append(START + i * 1000L, i * 1.5);
+        }
+
+        segment.force();
+        overwriteInt(path, 24, Integer.MAX_VALUE);
+
+        List<Double> values = new ArrayList<>();
+        SeriesSegment corrupt = SeriesSegment.open(path);
+
+        assertThrows(IllegalStateException.class, () -> corrupt.read(Long.MIN_VALUE, Long.MAX_VALUE, (timestamp, value) -> values.add(value)));
+        assertEquals(List.of(0.0, 1.5, 3.0, 4.5, 6.0), values);
+    }
+
+    /**
+     * Appends samples to a fresh segment, then checks both the live and a reopened segment decode them
+     *
+     * @param expected appended samples
+     */
+    private void assertRoundTrip(final List<Sample> expected) throws IOException
+    {
+        Path path = directory.resolve("segment");
+        SeriesSegment segment = SeriesSegment.create(path, START, 64 * 1024);
+
+        for (Sample sample : expected)
+        {
+            assertTrue(segment.append(sample.timestamp(), Double.longBitsToDouble(sample.bits())));
+        }
+
+        segment.force();
+
+        assertEquals(expected, decode(segment));
+        assertEquals(expected, decode(SeriesSegment.open(path)));
+    }
+
+    /**
+     * Decodes every sample of a segment
+     *
+     * @param segment segment to decode
+     * @return List of Sample, in time order
+     */
+    private static List<Sample> decode(final SeriesSegment segment)
+    {
+        List<Sample> samples = new ArrayList<>();
+        segment.read(Long.MIN_VALUE, Long.MAX_VALUE, (timestamp, value) -> samples.add(new Sample(timestamp, Double.doubleToRawLongBits(value))));
+
+        return samples;
+    }
+
+    /**
+     * Overwrites an integer of a file, as a damaged header would contain
+     *
+     * @param path   file path
+     * @param offset byte offset
+     * @param value  new value
+     */
+    private static void overwriteInt(final Path path, final long offset, final int value) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE))
+        {
+            channel.write(ByteBuffer.allocate(4).putInt(0, value), offset);
+        }
+    }
+
+    /**
+     * Sample keeps raw bits of the value, so NaN and signed zero compare exactly
+     *
+     * @param timestamp sample time, in epoch milliseconds
+     * @param bits      raw bits of the value
+     */
+    private record Sample(long timestamp, long bits)
+    {
+    }
+}
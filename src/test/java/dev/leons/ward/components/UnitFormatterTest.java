@@ -0,0 +1,68 @@
+package dev.leons.ward.components;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * UnitFormatterTest checks that formatted values keep the output of the replaced DecimalFormat helpers
+ *
+ * @version 1.0.0
+ */
+class UnitFormatterTest
+{
+    /**
+     * Capacity is rounded up in MB, GB or TB
+     */
+    @Test
+    void formatsCapacity()
+    {
+        assertEquals("512 MB", UnitFormatter.capacity(512L * 1024 * 1024));
+        assertEquals("16 GB", UnitFormatter.capacity(16L * 1024 * 1024 * 1024));
+        assertEquals("1.9 TB", UnitFormatter.capacity(2_000_000_000_000L));
+        assertEquals("2 TB", UnitFormatter.capacity(2_200_000_000_000L));
+    }
+
+    /**
+     * Sizes and rates use the largest binary unit, zero rate is cached
+     */
+    @Test
+    void formatsSizeAndRate()
+    {
+        assertEquals("512 B", UnitFormatter.size(512));
+        assertEquals("1.5 KB", UnitFormatter.size(1536));
+        assertEquals("1 MB/s", UnitFormatter.rate(1024 * 1024));
+        assertEquals("0 B/s", UnitFormatter.rate(0));
+        assertSame(UnitFormatter.rate(0), UnitFormatter.rate(0));
+    }
+
+    /**
+     * Frequency and temperature keep a zero fraction digit, unknown temperature is null
+     */
+    @Test
+    void formatsFrequencyAndTemperature()
+    {
+        assertEquals("800 MHz", UnitFormatter.frequency(800_000_000));
+        assertEquals("3.0 GHz", UnitFormatter.frequency(3_000_000_000L));
+        assertEquals("45.5°C", UnitFormatter.temperature(45.5));
+        assertEquals("-3.0°C", UnitFormatter.temperature(-3));
+        assertNull(UnitFormatter.temperature(Double.NaN));
+    }
+
+    /**
+     * Append methods write the same characters after existing content of the builder
+     */
+    @Test
+    void appendsToBuilder()
+    {
+        StringBuilder builder = new StringBuilder("Total: ");
+        UnitFormatter.appendCapacity(builder, 16L * 1024 * 1024 * 1024).append(", ");
+        UnitFormatter.appendRate(builder, 1536).append(", ");
+        UnitFormatter.appendFrequency(builder, 3_200_000_000L).append(", ");
+        UnitFormatter.appendSize(builder, 100);
+
+        assertEquals("Total: 16 GB, 1.5 KB/s, 3.2 GHz, 100 B", builder.toString());
+    }
+}
@@ -0,0 +1,76 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.components.HistoryComponent;
+import dev.leons.ward.components.MetricStoreComponent;
+import dev.leons.ward.exceptions.InvalidParameterException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * HistoryServiceTest checks parsing and validation of history ranges
+ *
+ * @version 1.0.0
+ */
+class HistoryServiceTest
+{
+    /**
+     * Service under test, with a store keeping 28 days
+     */
+    private final HistoryService historyService = new HistoryService();
+
+    /**
+     * Wires components, as Spring would wire them
+     */
+    @BeforeEach
+    void wire()
+    {
+        MetricStoreComponent metricStoreComponent = new MetricStoreComponent();
+        ReflectionTestUtils.setField(metricStoreComponent, "enabled", true);
+        ReflectionTestUtils.setField(metricStoreComponent, "retentionDays", 28L);
+
+        ReflectionTestUtils.setField(historyService, "historyComponent", new HistoryComponent(64));
+        ReflectionTestUtils.setField(historyService, "metricStoreComponent", metricStoreComponent);
+    }
+
+    /**
+     * Unit postfix selects the multiplier, plain numbers are seconds
+     */
+    @Test
+    void parsesUnits() throws InvalidParameterException
+    {
+        assertEquals(90_000L, historyService.parseRange("90"));
+        assertEquals(90_000L, historyService.parseRange(" 90s "));
+        assertEquals(900_000L, historyService.parseRange("15m"));
+        assertEquals(21_600_000L, historyService.parseRange("6h"));
+        assertEquals(28 * 86_400_000L, historyService.parseRange("28d"));
+    }
+
+    /**
+     * Empty, malformed, non-positive and too long ranges are rejected
+     */
+    @Test
+    void rejectsInvalidRanges()
+    {
+        assertThrows(InvalidParameterException.class, () -> historyService.parseRange(""));
+        assertThrows(InvalidParameterException.class, () -> historyService.parseRange("7w"));
+        assertThrows(InvalidParameterException.class, () -> historyService.parseRange("0h"));
+        assertThrows(InvalidParameterException.class, () -> historyService.parseRange("-5m"));
+        assertThrows(InvalidParameterException.class, () -> historyService.parseRange("29d"));
+    }
+
+    /**
+     * Amounts, product of which with the unit does not fit in a long, are rejected instead of wrapping
+     */
+    @Test
+    void rejectsOverflowingRanges()
+    {
+        // 2^64 / 86_400_000 + 1 days wraps to less than ten minutes without an exact product
+        assertThrows(InvalidParameterException.class, () -> historyService.parseRange("213503982335d"));
+        assertThrows(InvalidParameterException.class, () -> historyService.parseRange("99999999999999999d"));
+        assertThrows(InvalidParameterException.class, () -> historyService.parseRange("9223372036854775807"));
+    }
+}
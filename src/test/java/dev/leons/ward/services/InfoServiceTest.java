@@ -0,0 +1,134 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.components.CommandProbeComponent;
+import dev.leons.ward.components.CommandRunner;
+import dev.leons.ward.components.ProbeStatsComponent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * InfoServiceTest checks parsing of command probes, with a fake runner replaying recorded output
+ *
+ * @version 1.0.0
+ */
+class InfoServiceTest
+{
+    /**
+     * Constant for determine recorded output of dmidecode, with a populated and an empty memory slot
+     */
+    private static final List<String> DMIDECODE = List.of(
+            "# dmidecode 3.5",
+            "Handle 0x0040, DMI type 17, 92 bytes",
+            "Memory Device",
+            "\tSize: 16 GB",
+            "\tType: DDR4",
+            "\tSpeed: 3200 MT/s",
+            "\tConfigured Memory Speed: 2933 MT/s",
+            "",
+            "Handle 0x0041, DMI type 17, 92 bytes",
+            "Memory Device",
+            "\tSize: No Module Installed",
+            "\tSpeed: Unknown",
+            "\tConfigured Memory Speed: Unknown");
+
+    /**
+     * Constant for determine recorded output of wmic
+     */
+    private static final List<String> WMIC = List.of("Speed  ", "3200   ", "", "3200   ");
+
+    /**
+     * Constant for determine recorded output of intel_gpu_top, a header and a single data line
+     */
+    private static final List<String> INTEL_GPU_TOP = List.of(
+            " Freq MHz      IRQ RC6 Power W     IMC MiB/s           RCS/0           BCS/0           VCS/0          VECS/0",
+            " req  act       /s   %   gpu   pkg  rd   wr       %  se  wa       %  se  wa       %  se  wa       %  se  wa",
+            " 350  300      120  85  0.50  4.10 512  128   12.40   0   0    3.51   0   0   27.66   0   0    0.00   0   0");
+
+    /**
+     * Command probe, stopped after every test
+     */
+    private CommandProbeComponent commandProbeComponent;
+
+    /**
+     * Stops background refreshes
+     */
+    @AfterEach
+    void shutdown()
+    {
+        if (commandProbeComponent != null)
+        {
+            commandProbeComponent.shutdown();
+        }
+    }
+
+    /**
+     * Frequency is taken from the last known speed of dmidecode, unknown speeds of empty slots are skipped
+     */
+    @Test
+    void parsesDmidecodeFrequency()
+    {
+        InfoService infoService = createService(Map.of("sudo dmidecode --type memory", DMIDECODE));
+
+        assertEquals(2933L, (Long) ReflectionTestUtils.invokeMethod(infoService, "getRamFrequency", true));
+    }
+
+    /**
+     * Frequency is taken from the speed column of wmic, header and blank lines are skipped
+     */
+    @Test
+    void parsesWmicFrequency()
+    {
+        InfoService infoService = createService(Map.of("wmic memorychip get speed", WMIC));
+
+        assertEquals(3200L, (Long) ReflectionTestUtils.invokeMethod(infoService, "getRamFrequency", false));
+    }
+
+    /**
+     * Failing command leaves frequency unknown
+     */
+    @Test
+    void keepsFrequencyUnknownWithoutOutput()
+    {
+        InfoService infoService = createService(Map.of());
+
+        assertEquals(0L, (Long) ReflectionTestUtils.invokeMethod(infoService, "getRamFrequency", true));
+    }
+
+    /**
+     * Graphics usage is the largest rounded engine usage of the data line
+     */
+    @Test
+    void parsesGraphicsUsage()
+    {
+        InfoService infoService = createService(Map.of("sudo timeout 0.05 intel_gpu_top -l -s 1", INTEL_GPU_TOP));
+
+        assertEquals(28, (Integer) ReflectionTestUtils.invokeMethod(infoService, "getGraphicsUsage"));
+        assertEquals(10, infoService.parseGraphicsUsage(INTEL_GPU_TOP.subList(0, 2)));
+    }
+
+    /**
+     * Creates service with a command probe, runner of which replays recorded output
+     *
+     * @param outputs recorded output by command, other commands fail with empty output
+     * @return InfoService wired like Spring would wire it
+     */
+    private InfoService createService(final Map<String, List<String>> outputs)
+    {
+        CommandRunner commandRunner = (command, timeoutMillis) -> outputs.getOrDefault(command, List.of());
+
+        commandProbeComponent = new CommandProbeComponent();
+        ReflectionTestUtils.setField(commandProbeComponent, "commandRunner", commandRunner);
+        ReflectionTestUtils.setField(commandProbeComponent, "probeStatsComponent", new ProbeStatsComponent());
+
+        InfoService infoService = new InfoService();
+        ReflectionTestUtils.setField(infoService, "commandProbeComponent", commandProbeComponent);
+
+        return infoService;
+    }
+}